@@ -23,12 +23,15 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.storage.Storage;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
@@ -52,15 +55,11 @@ import org.openhab.binding.amazonechocontrol.internal.channelhandler.ChannelHand
 import org.openhab.binding.amazonechocontrol.internal.channelhandler.IAmazonThingHandler;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonActivities.Activity;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonActivities.Activity.SourceDeviceId;
-import org.openhab.binding.amazonechocontrol.internal.jsons.JsonAscendingAlarm.AscendingAlarmModel;
-import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates;
-import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates.BluetoothState;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushActivity;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushActivity.Key;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushDevice;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushDevice.DopplerId;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonCommandPayloadPushNotificationChange;
-import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDeviceNotificationState.DeviceNotificationState;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDevices.Device;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonFeed;
 import org.openhab.binding.amazonechocontrol.internal.jsons.JsonMusicProvider;
@@ -84,6 +83,8 @@ import com.google.gson.JsonSyntaxException;
 @NonNullByDefault
 public class AccountHandler extends BaseBridgeHandler implements IWebSocketCommandHandler, IAmazonThingHandler {
 
+    private static final String REFRESH_THREADPOOL_NAME = "amazonechocontrol";
+
     private final Logger logger = LoggerFactory.getLogger(AccountHandler.class);
     private Storage<String> stateStorage;
     private @Nullable Connection connection;
@@ -100,12 +101,15 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
     private final HttpService httpService;
     private @Nullable AccountServlet accountServlet;
     private final Gson gson;
+    private final ChangedFragmentFilter<EchoHandler> changedFragmentFilter;
+    private final ExecutorService refreshExecutor = ThreadPoolManager.getPool(REFRESH_THREADPOOL_NAME);
     int checkDataCounter;
     private List<ChannelHandler> channelHandlers = new ArrayList<>();
 
     public AccountHandler(Bridge bridge, HttpService httpService, Storage<String> stateStorage, Gson gson) {
         super(bridge);
         this.gson = gson;
+        this.changedFragmentFilter = new ChangedFragmentFilter<>(gson);
         this.httpService = httpService;
         this.stateStorage = stateStorage;
         channelHandlers.add(new ChannelHandlerSendMessage(this, this.gson));
@@ -243,6 +247,7 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
             synchronized (echoHandlers) {
                 echoHandlers.remove(childHandler);
             }
+            changedFragmentFilter.remove((EchoHandler) childHandler);
         }
         // check for flash briefing profile handler
         if (childHandler instanceof FlashBriefingProfileHandler) {
@@ -401,6 +406,8 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                     if (checkDataCounter > 60 || foceCheckDataJob != null) {
                         checkDataCounter = 0;
                         foceCheckDataJob = null;
+                        // forward all data on a full refresh, even if it did not change
+                        changedFragmentFilter.clear();
                     }
                     if (!checkWebSocketConnection() || checkDataCounter == 0) {
                         refreshData();
@@ -442,96 +449,48 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         synchronized (synchronizeConnection) {
             try {
                 logger.debug("refreshing data {}", getThing().getUID().getAsString());
+                long startTime = System.currentTimeMillis();
 
                 // check if logged in
-                Connection currentConnection = null;
-                currentConnection = connection;
-                if (currentConnection != null) {
-                    if (!currentConnection.getIsLoggedIn()) {
-                        return;
-                    }
-                }
-                if (currentConnection == null) {
+                Connection currentConnection = connection;
+                if (currentConnection == null || !currentConnection.getIsLoggedIn()) {
                     return;
                 }
 
-                // get all devices registered in the account
-                updateDeviceList();
-                updateFlashBriefingHandlers();
-
-                DeviceNotificationState[] deviceNotificationStates = null;
-                AscendingAlarmModel[] ascendingAlarmModels = null;
-                JsonBluetoothStates states = null;
-                List<JsonMusicProvider> musicProviders = null;
-                if (currentConnection.getIsLoggedIn()) {
-                    // update notification states
-                    deviceNotificationStates = currentConnection.getDeviceNotificationStates();
-
-                    // update ascending alarm
-                    ascendingAlarmModels = currentConnection.getAscendingAlarm();
-
-                    // update bluetooth states
-                    states = currentConnection.getBluetoothConnectionStates();
-
-                    // update music providers
-                    if (currentConnection.getIsLoggedIn()) {
-                        try {
-                            musicProviders = currentConnection.getMusicProviders();
-                        } catch (HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update music provider failed", e);
-                        }
-                    }
-                }
-                // forward device information to echo handler
-                for (EchoHandler child : echoHandlers) {
-                    Device device = findDeviceJson(child);
-
-                    @Nullable
-                    JsonNotificationSound[] notificationSounds = null;
-                    JsonPlaylists playlists = null;
-                    if (device != null && currentConnection.getIsLoggedIn()) {
-                        // update notification sounds
-                        try {
-                            notificationSounds = currentConnection.getNotificationSounds(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update notification sounds failed", e);
-                        }
-                        // update playlists
-                        try {
-                            playlists = currentConnection.getPlaylists(device);
-                        } catch (IOException | HttpException | JsonSyntaxException | ConnectionException e) {
-                            logger.debug("Update playlist failed", e);
-                        }
-                    }
-
-                    BluetoothState state = null;
-                    if (states != null) {
-                        state = states.findStateByDevice(device);
-                    }
-                    DeviceNotificationState deviceNotificationState = null;
-                    AscendingAlarmModel ascendingAlarmModel = null;
-                    if (device != null) {
-                        if (ascendingAlarmModels != null) {
-                            for (AscendingAlarmModel current : ascendingAlarmModels) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    ascendingAlarmModel = current;
-                                    break;
-                                }
+                // the account data sections are independent of each other, so they are requested in parallel
+                CompletableFuture<List<Device>> devicesFuture = CompletableFuture.supplyAsync(this::updateDeviceList,
+                        refreshExecutor);
+                CompletableFuture<String> flashBriefingFuture = CompletableFuture
+                        .supplyAsync(this::updateFlashBriefingHandlers, refreshExecutor);
+                AccountRefreshData data = AccountRefreshData.request(currentConnection::getDeviceNotificationStates,
+                        currentConnection::getAscendingAlarm, currentConnection::getBluetoothConnectionStates, () -> {
+                            try {
+                                return currentConnection.getMusicProviders();
+                            } catch (HttpException | JsonSyntaxException | ConnectionException e) {
+                                logger.debug("Update music provider failed", e);
+                                return null;
                             }
-                        }
-
-                        if (deviceNotificationStates != null) {
-                            for (DeviceNotificationState current : deviceNotificationStates) {
-                                if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
-                                    deviceNotificationState = current;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                    child.updateState(this, device, state, deviceNotificationState, ascendingAlarmModel, playlists,
-                            notificationSounds, musicProviders);
+                        }, refreshExecutor);
+                AccountRefreshData.join(devicesFuture);
+                AccountRefreshData.join(flashBriefingFuture);
+                @Nullable
+                List<JsonMusicProvider> musicProviders = data.getMusicProviders();
+                Integer musicProvidersHash = musicProviders != null ? changedFragmentFilter.getHash(musicProviders)
+                        : null;
+
+                // forward device information to the echo handlers, each of them requests its own data in parallel
+                List<EchoHandler> currentEchoHandlers;
+                synchronized (echoHandlers) {
+                    currentEchoHandlers = new ArrayList<>(echoHandlers);
+                }
+                List<CompletableFuture<Void>> echoHandlerUpdates = new ArrayList<>();
+                for (EchoHandler child : currentEchoHandlers) {
+                    echoHandlerUpdates.add(CompletableFuture.runAsync(
+                            () -> updateEchoHandler(currentConnection, child, data, musicProvidersHash),
+                            refreshExecutor));
                 }
+                AccountRefreshData
+                        .join(CompletableFuture.allOf(echoHandlerUpdates.toArray(new CompletableFuture<?>[0])));
 
                 // refresh notifications
                 refreshNotifications(null);
@@ -539,7 +498,8 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
                 // update account state
                 updateStatus(ThingStatus.ONLINE);
 
-                logger.debug("refresh data {} finished", getThing().getUID().getAsString());
+                logger.debug("refresh data {} finished in {} ms", getThing().getUID().getAsString(),
+                        System.currentTimeMillis() - startTime);
             } catch (HttpException | JsonSyntaxException | ConnectionException e) {
                 logger.debug("refresh data fails", e);
             } catch (Exception e) { // this handler can be removed later, if we know that nothing else can fail.
@@ -548,6 +508,46 @@ public class AccountHandler extends BaseBridgeHandler implements IWebSocketComma
         }
     }
 
+    private void updateEchoHandler(Connection currentConnection, EchoHandler child, AccountRefreshData data,
+            @Nullable Integer musicProvidersHash) {
+        try {
+            Device device = findDeviceJson(child);
+
+            @Nullable
+            JsonNotificationSound[] notificationSounds = null;
+            JsonPlaylists playlists = null;
+            if (device != null && currentConnection.getIsLoggedIn()) {
+                // update notification sounds
+                try {
+                    notificationSounds = currentConnection.getNotificationSounds(device);
+                } catch (IOException | URISyntaxException | HttpException | JsonSyntaxException
+                        | ConnectionException e) {
+                    logger.debug("Update notification sounds failed", e);
+                }
+                // update playlists
+                try {
+                    playlists = currentConnection.getPlaylists(device);
+                } catch (IOException | URISyntaxException | HttpException | JsonSyntaxException
+                        | ConnectionException e) {
+                    logger.debug("Update playlist failed", e);
+                }
+            }
+
+            // only the fragments, which changed since the last update of the handler, are forwarded
+            child.updateState(this, device, data.findBluetoothState(device),
+                    changedFragmentFilter.filter(child, "notificationState", data.findDeviceNotificationState(device)),
+                    changedFragmentFilter.filter(child, "ascendingAlarm", data.findAscendingAlarmModel(device)),
+                    changedFragmentFilter.filter(child, "playlists", playlists),
+                    changedFragmentFilter.filter(child, "notificationSounds", notificationSounds),
+                    changedFragmentFilter.filter(child, "musicProviders", data.getMusicProviders(),
+                            musicProvidersHash));
+        } catch (HttpException | JsonSyntaxException | ConnectionException e) {
+            logger.debug("refresh data of {} fails", child.getThing().getUID(), e);
+        } catch (RuntimeException e) {
+            logger.error("refresh data of {} fails with unexpected error", child.getThing().getUID(), e);
+        }
+    }
+
     public @Nullable Device findDeviceJson(EchoHandler echoHandler) {
         String serialNumber = echoHandler.findSerialNumber();
         return findDeviceJson(serialNumber);
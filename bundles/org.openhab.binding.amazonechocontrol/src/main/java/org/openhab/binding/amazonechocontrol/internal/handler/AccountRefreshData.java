@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.amazonechocontrol.internal.handler;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonAscendingAlarm.AscendingAlarmModel;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates.BluetoothState;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDeviceNotificationState.DeviceNotificationState;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDevices.Device;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonMusicProvider;
+
+/**
+ * The {@link AccountRefreshData} holds the account wide data requested on a refresh of the account and selects the
+ * data of a single device from it.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AccountRefreshData {
+
+    private final DeviceNotificationState[] deviceNotificationStates;
+    private final AscendingAlarmModel[] ascendingAlarmModels;
+    private final JsonBluetoothStates bluetoothStates;
+    private final @Nullable List<JsonMusicProvider> musicProviders;
+
+    public AccountRefreshData(DeviceNotificationState[] deviceNotificationStates,
+            AscendingAlarmModel[] ascendingAlarmModels, JsonBluetoothStates bluetoothStates,
+            @Nullable List<JsonMusicProvider> musicProviders) {
+        this.deviceNotificationStates = deviceNotificationStates;
+        this.ascendingAlarmModels = ascendingAlarmModels;
+        this.bluetoothStates = bluetoothStates;
+        this.musicProviders = musicProviders;
+    }
+
+    /**
+     * Requests the account wide data in parallel and waits for all requests.
+     *
+     * @param deviceNotificationStates requests the notification states of all devices
+     * @param ascendingAlarmModels requests the ascending alarm settings of all devices
+     * @param bluetoothStates requests the bluetooth states of all devices
+     * @param musicProviders requests the music providers, may return null if they are not available
+     * @param executor executor the requests run on
+     * @return the account data
+     * @throws RuntimeException the exception of the first failed request
+     */
+    public static AccountRefreshData request(Supplier<DeviceNotificationState[]> deviceNotificationStates,
+            Supplier<AscendingAlarmModel[]> ascendingAlarmModels, Supplier<JsonBluetoothStates> bluetoothStates,
+            Supplier<@Nullable List<JsonMusicProvider>> musicProviders, Executor executor) {
+        CompletableFuture<DeviceNotificationState[]> deviceNotificationStatesFuture = CompletableFuture
+                .supplyAsync(deviceNotificationStates, executor);
+        CompletableFuture<AscendingAlarmModel[]> ascendingAlarmModelsFuture = CompletableFuture
+                .supplyAsync(ascendingAlarmModels, executor);
+        CompletableFuture<JsonBluetoothStates> bluetoothStatesFuture = CompletableFuture.supplyAsync(bluetoothStates,
+                executor);
+        CompletableFuture<@Nullable List<JsonMusicProvider>> musicProvidersFuture = CompletableFuture
+                .supplyAsync(musicProviders, executor);
+        return new AccountRefreshData(join(deviceNotificationStatesFuture), join(ascendingAlarmModelsFuture),
+                join(bluetoothStatesFuture), join(musicProvidersFuture));
+    }
+
+    /**
+     * Waits for the result of a parallel request and throws the original exception, if the request failed.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw e;
+        }
+    }
+
+    public @Nullable DeviceNotificationState findDeviceNotificationState(@Nullable Device device) {
+        if (device == null) {
+            return null;
+        }
+        for (DeviceNotificationState current : deviceNotificationStates) {
+            if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    public @Nullable AscendingAlarmModel findAscendingAlarmModel(@Nullable Device device) {
+        if (device == null) {
+            return null;
+        }
+        for (AscendingAlarmModel current : ascendingAlarmModels) {
+            if (StringUtils.equals(current.deviceSerialNumber, device.serialNumber)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    public @Nullable BluetoothState findBluetoothState(@Nullable Device device) {
+        return bluetoothStates.findStateByDevice(device);
+    }
+
+    public @Nullable List<JsonMusicProvider> getMusicProviders() {
+        return musicProviders;
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.amazonechocontrol.internal.handler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+/**
+ * The {@link ChangedFragmentFilter} remembers the hash of each data fragment forwarded to a receiver, so a fragment
+ * which did not change since it was forwarded last can be skipped.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ChangedFragmentFilter<R> {
+
+    private final Gson gson;
+    private final Map<R, Map<String, Integer>> forwardedHashes = new ConcurrentHashMap<>();
+
+    public ChangedFragmentFilter(Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Returns the fragment, if it changed since it was forwarded to the receiver last, otherwise null.
+     *
+     * @param receiver the receiver of the fragment
+     * @param section name of the fragment
+     * @param fragment the fragment, may be null if it is not available
+     * @return the fragment or null, if it is unchanged or not available
+     */
+    public <T> @Nullable T filter(R receiver, String section, @Nullable T fragment) {
+        return filter(receiver, section, fragment, fragment != null ? getHash(fragment) : null);
+    }
+
+    /**
+     * Returns the fragment, if it changed since it was forwarded to the receiver last, otherwise null. Used for
+     * fragments which are forwarded to several receivers, so the hash is only calculated once.
+     *
+     * @param receiver the receiver of the fragment
+     * @param section name of the fragment
+     * @param fragment the fragment, may be null if it is not available
+     * @param hash the hash of the fragment, calculated with {@link #getHash(Object)}
+     * @return the fragment or null, if it is unchanged or not available
+     */
+    public <T> @Nullable T filter(R receiver, String section, @Nullable T fragment, @Nullable Integer hash) {
+        if (fragment == null || hash == null) {
+            return null;
+        }
+        Map<String, Integer> hashes = forwardedHashes.computeIfAbsent(receiver, key -> new ConcurrentHashMap<>());
+        Integer forwardedHash = hashes.put(section, hash);
+        if (hash.equals(forwardedHash)) {
+            return null;
+        }
+        return fragment;
+    }
+
+    /**
+     * Returns the hash of the JSON representation of a fragment.
+     */
+    public int getHash(Object fragment) {
+        return gson.toJson(fragment).hashCode();
+    }
+
+    /**
+     * Forgets the fragments forwarded to the receiver, so all of them are forwarded again.
+     */
+    public void remove(R receiver) {
+        forwardedHashes.remove(receiver);
+    }
+
+    /**
+     * Forgets all forwarded fragments, so all of them are forwarded again.
+     */
+    public void clear() {
+        forwardedHashes.clear();
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.amazonechocontrol.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.binding.amazonechocontrol.internal.ConnectionException;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonAscendingAlarm.AscendingAlarmModel;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonBluetoothStates.BluetoothState;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDeviceNotificationState.DeviceNotificationState;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonDevices.Device;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonMusicProvider;
+
+/**
+ * Tests {@link AccountRefreshData}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AccountRefreshDataTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static Device device(String serialNumber) {
+        Device device = new Device();
+        device.serialNumber = serialNumber;
+        return device;
+    }
+
+    private static DeviceNotificationState notificationState(String serialNumber) {
+        DeviceNotificationState state = new DeviceNotificationState();
+        state.deviceSerialNumber = serialNumber;
+        return state;
+    }
+
+    private static AscendingAlarmModel ascendingAlarm(String serialNumber) {
+        AscendingAlarmModel alarm = new AscendingAlarmModel();
+        alarm.deviceSerialNumber = serialNumber;
+        return alarm;
+    }
+
+    private static JsonBluetoothStates bluetoothStates(String... serialNumbers) {
+        JsonBluetoothStates states = new JsonBluetoothStates();
+        BluetoothState[] bluetoothStates = new BluetoothState[serialNumbers.length];
+        for (int i = 0; i < serialNumbers.length; i++) {
+            bluetoothStates[i] = new BluetoothState();
+            bluetoothStates[i].deviceSerialNumber = serialNumbers[i];
+        }
+        states.bluetoothStates = bluetoothStates;
+        return states;
+    }
+
+    /**
+     * Returns a request which only completes, when all requests of the latch have been started
+     */
+    private static <T> Supplier<T> parallelRequest(CountDownLatch started, T result) {
+        return () -> {
+            started.countDown();
+            try {
+                assertTrue("Requests are not running in parallel", started.await(2, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result;
+        };
+    }
+
+    @Test
+    public void testRequestsRunInParallel() {
+        CountDownLatch started = new CountDownLatch(4);
+        List<JsonMusicProvider> musicProviders = Collections.singletonList(new JsonMusicProvider());
+
+        AccountRefreshData data = AccountRefreshData.request(
+                parallelRequest(started, new DeviceNotificationState[] { notificationState("A") }),
+                parallelRequest(started, new AscendingAlarmModel[] { ascendingAlarm("A") }),
+                parallelRequest(started, bluetoothStates("A")), parallelRequest(started, musicProviders), executor);
+
+        assertNotNull(data.findDeviceNotificationState(device("A")));
+        assertNotNull(data.findAscendingAlarmModel(device("A")));
+        assertNotNull(data.findBluetoothState(device("A")));
+        assertSame(musicProviders, data.getMusicProviders());
+    }
+
+    @Test
+    public void testFailedRequestThrowsOriginalException() {
+        ConnectionException failure = new ConnectionException("login expired");
+        try {
+            AccountRefreshData.request(() -> new DeviceNotificationState[0], () -> {
+                throw failure;
+            }, JsonBluetoothStates::new, () -> null, executor);
+            fail("ConnectionException expected");
+        } catch (ConnectionException e) {
+            assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void testDataOfDeviceIsSelectedBySerialNumber() {
+        DeviceNotificationState notificationStateA = notificationState("A");
+        DeviceNotificationState notificationStateB = notificationState("B");
+        AscendingAlarmModel ascendingAlarmB = ascendingAlarm("B");
+        AccountRefreshData data = new AccountRefreshData(
+                new DeviceNotificationState[] { notificationStateA, notificationStateB },
+                new AscendingAlarmModel[] { ascendingAlarmB }, bluetoothStates("A"), null);
+
+        assertSame(notificationStateB, data.findDeviceNotificationState(device("B")));
+        assertSame(ascendingAlarmB, data.findAscendingAlarmModel(device("B")));
+        assertNull(data.findBluetoothState(device("B")));
+        assertSame(notificationStateA, data.findDeviceNotificationState(device("A")));
+        assertNull(data.findAscendingAlarmModel(device("A")));
+        assertNull(data.findDeviceNotificationState(device("C")));
+        assertNull(data.getMusicProviders());
+    }
+
+    @Test
+    public void testNoDataForUnknownDevice() {
+        AccountRefreshData data = new AccountRefreshData(new DeviceNotificationState[] { notificationState("A") },
+                new AscendingAlarmModel[] { ascendingAlarm("A") }, bluetoothStates("A"), null);
+        @Nullable
+        Device unknown = null;
+
+        assertNull(data.findDeviceNotificationState(unknown));
+        assertNull(data.findAscendingAlarmModel(unknown));
+        assertNull(data.findBluetoothState(unknown));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.amazonechocontrol.internal.handler;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+import org.openhab.binding.amazonechocontrol.internal.jsons.JsonAscendingAlarm.AscendingAlarmModel;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests {@link ChangedFragmentFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ChangedFragmentFilterTest {
+
+    private final ChangedFragmentFilter<String> filter = new ChangedFragmentFilter<>(new Gson());
+
+    private static AscendingAlarmModel alarm(String serialNumber, boolean enabled) {
+        AscendingAlarmModel alarm = new AscendingAlarmModel();
+        alarm.deviceSerialNumber = serialNumber;
+        alarm.ascendingAlarmEnabled = enabled;
+        return alarm;
+    }
+
+    @Test
+    public void testUnchangedFragmentIsSkipped() {
+        AscendingAlarmModel first = alarm("A", true);
+        assertSame(first, filter.filter("echo", "ascendingAlarm", first));
+
+        // equal content, but a new instance from the next refresh
+        assertNull(filter.filter("echo", "ascendingAlarm", alarm("A", true)));
+
+        AscendingAlarmModel changed = alarm("A", false);
+        assertSame(changed, filter.filter("echo", "ascendingAlarm", changed));
+    }
+
+    @Test
+    public void testMissingFragmentKeepsForwardedHash() {
+        filter.filter("echo", "ascendingAlarm", alarm("A", true));
+
+        assertNull(filter.filter("echo", "ascendingAlarm", null));
+        assertNull(filter.filter("echo", "ascendingAlarm", alarm("A", true)));
+    }
+
+    @Test
+    public void testReceiversAndSectionsAreIndependent() {
+        filter.filter("echo", "ascendingAlarm", alarm("A", true));
+
+        assertNotNull(filter.filter("other echo", "ascendingAlarm", alarm("A", true)));
+        assertNotNull(filter.filter("echo", "otherSection", alarm("A", true)));
+    }
+
+    @Test
+    public void testFragmentsAreForwardedAgainAfterRemoveAndClear() {
+        filter.filter("echo", "ascendingAlarm", alarm("A", true));
+        filter.filter("other echo", "ascendingAlarm", alarm("A", true));
+
+        filter.remove("echo");
+        assertNotNull(filter.filter("echo", "ascendingAlarm", alarm("A", true)));
+        assertNull(filter.filter("other echo", "ascendingAlarm", alarm("A", true)));
+
+        filter.clear();
+        assertNotNull(filter.filter("echo", "ascendingAlarm", alarm("A", true)));
+        assertNotNull(filter.filter("other echo", "ascendingAlarm", alarm("A", true)));
+    }
+
+    @Test
+    public void testPrecalculatedHash() {
+        AscendingAlarmModel alarm = alarm("A", true);
+        int hash = filter.getHash(alarm);
+
+        assertSame(alarm, filter.filter("echo", "ascendingAlarm", alarm, hash));
+        assertNull(filter.filter("echo", "ascendingAlarm", alarm("A", true)));
+        assertNull(filter.filter("echo", "ascendingAlarm", alarm, null));
+    }
+}
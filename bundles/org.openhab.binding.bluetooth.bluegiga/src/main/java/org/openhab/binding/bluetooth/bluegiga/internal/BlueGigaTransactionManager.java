@@ -12,13 +12,12 @@
  */
 package org.openhab.binding.bluetooth.bluegiga.internal;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.Callable;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -26,6 +25,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -34,6 +34,13 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class provides transaction management and queuing of {@link BlueGigaCommand} frames.
+ * <p>
+ * BGAPI only allows a single command to be outstanding on the serial line, and responses carry no correlation id.
+ * The GATT procedures started by those commands, however, run concurrently on the dongle for all open connections and
+ * report their results through events. To keep several connected devices busy at the same time, commands are queued
+ * per connection handle and the queues are served round robin, so a device issuing many commands cannot delay the
+ * commands of the other devices. Waiting callers do not occupy any executor thread, and transactions whose timeout has
+ * already expired while queued are dropped without being sent.
  *
  * @author Pauli Anttila - Initial contribution
  *
@@ -43,41 +50,115 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
 
     private static final int TRANSACTION_TIMEOUT_PERIOD_MS = 100;
 
+    /**
+     * Queue key for commands that are not bound to a connection
+     */
+    private static final int ADAPTER_QUEUE = -1;
+
     private final Logger logger = LoggerFactory.getLogger(BlueGigaTransactionManager.class);
 
     /**
      * Unique transaction id for request and response correlation
      */
-    private AtomicInteger transactionId = new AtomicInteger();
+    private final AtomicInteger transactionId = new AtomicInteger();
 
     /**
-     * Ongoing transaction id. If not present, no ongoing transaction.
+     * The event listeners will be notified of any asynchronous events
      */
-    private volatile Optional<Integer> ongoingTransactionId = Optional.empty();
+    private final Set<BlueGigaEventListener> eventListeners = new CopyOnWriteArraySet<>();
 
     /**
-     * Transaction listeners are used internally to correlate the commands and responses
+     * Send queues by connection handle, guarded by this
      */
-    private final List<BluetoothListener<? extends BlueGigaResponse>> transactionListeners = new CopyOnWriteArrayList<>();
+    private final Map<Integer, Queue<Transaction<?>>> sendQueues = new HashMap<>();
 
     /**
-     * The event listeners will be notified of any asynchronous events
+     * Connection handles with pending transactions in the order they are served, guarded by this
      */
-    private final Set<BlueGigaEventListener> eventListeners = new CopyOnWriteArraySet<>();
+    private final Queue<Integer> pendingConnections = new ArrayDeque<>();
 
-    private final Queue<BlueGigaUniqueCommand> sendQueue = new LinkedList<>();
     private final ScheduledExecutorService executor;
     private final BlueGigaSerialHandler serialHandler;
 
+    /**
+     * Ongoing transaction. If null, no ongoing transaction. Guarded by this.
+     */
+    private @Nullable Transaction<?> ongoingTransaction;
+
     private @Nullable Future<?> transactionTimeoutTimer;
 
+    private int queueDepth;
+
+    // Statistics
+    private final AtomicLong completedTransactions = new AtomicLong();
+    private final AtomicLong failedTransactions = new AtomicLong();
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
     /**
-     * Internal interface for transaction listeners.
+     * A queued or ongoing command together with the future its caller waits on.
      */
-    interface BluetoothListener<T extends BlueGigaResponse> {
-        boolean transactionEvent(BlueGigaResponse response, int transactionId);
+    private class Transaction<T extends BlueGigaResponse> {
+        private final BlueGigaUniqueCommand query;
+        private final Class<T> expected;
+        private final int connection;
+        private final long queuedNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Transaction(BlueGigaCommand bleCommand, Class<T> expected, long timeoutMillis) {
+            this.query = new BlueGigaUniqueCommand(bleCommand, transactionId.getAndIncrement());
+            this.expected = expected;
+            this.connection = bleCommand instanceof BlueGigaDeviceCommand
+                    ? ((BlueGigaDeviceCommand) bleCommand).getConnection()
+                    : ADAPTER_QUEUE;
+            this.deadlineNanos = queuedNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - deadlineNanos >= 0;
+        }
+
+        boolean matches(BlueGigaResponse bleResponse) {
+            logger.trace("Expected frame: {}, received frame: {}", expected.getSimpleName(), bleResponse);
+
+            BlueGigaCommand bleCommand = query.getMessage();
+            if (bleCommand instanceof BlueGigaDeviceCommand && bleResponse instanceof BlueGigaDeviceResponse) {
+                BlueGigaDeviceCommand devCommand = (BlueGigaDeviceCommand) bleCommand;
+                BlueGigaDeviceResponse devResponse = (BlueGigaDeviceResponse) bleResponse;
+
+                logger.trace("Expected connection id: {}, received connection id: {}", devCommand.getConnection(),
+                        devResponse.getConnection());
 
-        boolean transactionTimeout(int transactionId);
+                if (devCommand.getConnection() != devResponse.getConnection()) {
+                    logger.trace("Ignore response as received connection id {} doesn't match expected id {}.",
+                            devResponse.getConnection(), devCommand.getConnection());
+                    return false;
+                }
+            }
+
+            if (!expected.isInstance(bleResponse)) {
+                logger.trace("Ignoring {} frame which has not been requested.", bleResponse.getClass().getSimpleName());
+                return false;
+            }
+            return true;
+        }
+
+        void complete(BlueGigaResponse bleResponse) {
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - queuedNanos);
+            completedTransactions.incrementAndGet();
+            totalLatencyMillis.addAndGet(latencyMillis);
+            maxLatencyMillis.accumulateAndGet(latencyMillis, Math::max);
+            logger.debug("Received frame #{} after {} ms: {}", query.getTransactionId(), latencyMillis, bleResponse);
+            future.complete(expected.cast(bleResponse));
+        }
+
+        void fail(Exception e) {
+            if (future.completeExceptionally(e)) {
+                failedTransactions.incrementAndGet();
+            }
+        }
     }
 
     public BlueGigaTransactionManager(BlueGigaSerialHandler serialHandler, ScheduledExecutorService executor) {
@@ -91,207 +172,117 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
      */
     public void close() {
         serialHandler.removeEventListener(this);
-        cancelTransactionTimer();
-        sendQueue.clear();
-        transactionListeners.clear();
+        synchronized (this) {
+            cancelTransactionTimer();
+            Transaction<?> transaction = ongoingTransaction;
+            if (transaction != null) {
+                transaction.fail(new BlueGigaException("Transaction manager closed"));
+                ongoingTransaction = null;
+            }
+            for (Queue<Transaction<?>> queue : sendQueues.values()) {
+                queue.forEach(queued -> queued.fail(new BlueGigaException("Transaction manager closed")));
+            }
+            sendQueues.clear();
+            pendingConnections.clear();
+            queueDepth = 0;
+        }
         eventListeners.clear();
-        logger.debug("Closed");
+        logger.debug("Closed, {}", getStatistics());
     }
 
-    private void startTransactionTimer() {
+    private void startTransactionTimer(Transaction<?> transaction) {
         transactionTimeoutTimer = executor.schedule(() -> {
-            notifyTransactionTimeout(ongoingTransactionId);
+            notifyTransactionTimeout(transaction);
         }, TRANSACTION_TIMEOUT_PERIOD_MS, TimeUnit.MILLISECONDS);
     }
 
     private void cancelTransactionTimer() {
-        if (transactionTimeoutTimer != null) {
-            transactionTimeoutTimer.cancel(true);
+        Future<?> timer = transactionTimeoutTimer;
+        if (timer != null) {
+            timer.cancel(false);
             transactionTimeoutTimer = null;
         }
     }
 
+    /**
+     * Sends the next queued transaction, if there is no ongoing one. Must be called with the lock held.
+     */
     private void sendNextFrame() {
-        getNextFrame().ifPresent(frame -> {
-            cancelTransactionTimer();
-            logger.debug("Send frame #{}: {}", frame.getTransactionId(), frame.getMessage());
-            ongoingTransactionId = Optional.of(frame.getTransactionId());
-            serialHandler.sendFrame(frame.getMessage());
-            startTransactionTimer();
-        });
-    }
-
-    @SuppressWarnings({ "null", "unused" })
-    private Optional<BlueGigaUniqueCommand> getNextFrame() {
-        while (!sendQueue.isEmpty()) {
-            BlueGigaUniqueCommand frame = sendQueue.poll();
-            if (frame != null) {
-                if (frame.getMessage() != null) {
-                    return Optional.of(frame);
-                } else {
-                    logger.debug("Null message found from queue, skip it");
-                    continue;
-                }
-            } else {
-                logger.debug("Null frame found from queue, skip it");
+        while (ongoingTransaction == null) {
+            Transaction<?> transaction = pollNextTransaction();
+            if (transaction == null) {
+                return;
+            }
+            if (transaction.future.isDone()) {
+                // the caller already gave up
+                continue;
+            }
+            if (transaction.isExpired(System.nanoTime())) {
+                logger.debug("Transaction #{} timed out while queued, skip it", transaction.query.getTransactionId());
+                transaction.fail(new TimeoutException("Transaction timed out while queued"));
+                continue;
+            }
+            logger.debug("Send frame #{}: {}", transaction.query.getTransactionId(), transaction.query.getMessage());
+            try {
+                serialHandler.sendFrame(transaction.query.getMessage());
+            } catch (RuntimeException e) {
+                transaction.fail(e);
                 continue;
             }
+            ongoingTransaction = transaction;
+            startTransactionTimer(transaction);
         }
-        return Optional.empty();
     }
 
     /**
-     * Add a {@link BlueGigaUniqueCommand} frame to the send queue. The sendQueue is a
-     * FIFO queue. This method queues a {@link BlueGigaCommand} frame without
-     * waiting for a response.
-     *
-     * @param transaction
-     *            {@link BlueGigaUniqueCommand}
+     * Takes the next transaction from the connection queues in round robin order. Must be called with the lock held.
      */
-    public void queueFrame(BlueGigaUniqueCommand request) {
-        logger.trace("Queue TX BLE frame: {}", request);
-        sendQueue.add(request);
-        logger.trace("TX BLE queue size: {}", sendQueue.size());
-    }
-
-    private void sendNextTransactionIfNoOngoing() {
-        synchronized (this) {
-            logger.trace("Send next transaction if no ongoing");
-            if (!ongoingTransactionId.isPresent()) {
-                sendNextFrame();
+    private @Nullable Transaction<?> pollNextTransaction() {
+        Integer connection;
+        while ((connection = pendingConnections.poll()) != null) {
+            Queue<Transaction<?>> queue = sendQueues.get(connection);
+            if (queue == null) {
+                continue;
+            }
+            Transaction<?> transaction = queue.poll();
+            if (queue.isEmpty()) {
+                sendQueues.remove(connection);
+            } else {
+                // serve the other connections first
+                pendingConnections.add(connection);
+            }
+            if (transaction != null) {
+                queueDepth--;
+                return transaction;
             }
         }
+        return null;
     }
 
-    private void clearOngoingTransactionAndSendNext() {
-        synchronized (this) {
-            logger.trace("Clear ongoing transaction and send next frame from queue");
-            ongoingTransactionId = Optional.empty();
-            sendNextFrame();
-        }
-    }
-
-    private void addTransactionListener(BluetoothListener<? extends BlueGigaResponse> listener) {
-        if (transactionListeners.contains(listener)) {
-            return;
+    private synchronized void queueTransaction(Transaction<?> transaction) {
+        logger.trace("Queue TX BLE frame: {}", transaction.query);
+        Queue<Transaction<?>> queue = sendQueues.get(transaction.connection);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            sendQueues.put(transaction.connection, queue);
+            pendingConnections.add(transaction.connection);
         }
-
-        transactionListeners.add(listener);
+        queue.add(transaction);
+        queueDepth++;
+        maxQueueDepth.accumulateAndGet(queueDepth, Math::max);
+        logger.trace("TX BLE queue size: {} ({} for connection {})", queueDepth, queue.size(), transaction.connection);
+        sendNextFrame();
     }
 
-    private void removeTransactionListener(BluetoothListener<?> listener) {
-        transactionListeners.remove(listener);
-    }
-
-    /**
-     * Sends an BlueGiga request without waiting for the response.
-     *
-     * @param bleCommand {@link BlueGigaCommand}
-     * @return response {@link Future} {@link BlueGigaResponse}
-     */
-    private <T extends BlueGigaResponse> Future<T> sendBleRequestAsync(final BlueGigaCommand bleCommand,
-            final Class<T> expected) {
-        class TransactionWaiter implements Callable<T>, BluetoothListener<T> {
-            private volatile boolean complete;
-            private Optional<BlueGigaResponse> response = Optional.empty();
-            private BlueGigaUniqueCommand query = new BlueGigaUniqueCommand(bleCommand,
-                    transactionId.getAndIncrement());
-
-            @SuppressWarnings("unchecked")
-            @Override
-            public T call() throws TimeoutException {
-                // Register a listener
-                addTransactionListener(this);
-
-                // Send the transaction
-                queueFrame(query);
-                sendNextTransactionIfNoOngoing();
-
-                // Wait transaction completed or timeout
-                synchronized (this) {
-                    while (!complete) {
-                        try {
-                            wait();
-                        } catch (InterruptedException e) {
-                            complete = true;
-                        }
-                    }
-                }
-
-                cancelTransactionTimer();
-
-                // Remove the listener
-                removeTransactionListener(this);
-
-                // Send next transaction if any
-                executor.submit(BlueGigaTransactionManager.this::clearOngoingTransactionAndSendNext);
-
-                if (response.isPresent()) {
-                    return (T) response.get();
-                } else {
-                    throw new TimeoutException("No response from BlueGiga controller");
-                }
-            }
-
-            @Override
-            public boolean transactionEvent(BlueGigaResponse bleResponse, int transactionId) {
-                logger.trace("Expected transactionId: {}, received transactionId: {}", query.getTransactionId(),
-                        transactionId);
-
-                if (transactionId != query.getTransactionId()) {
-                    logger.trace("Ignore frame as received transaction Id {} doesn't match expected transaction Id {}.",
-                            transactionId, query.getTransactionId());
-                    return false;
-                }
-
-                logger.trace("Expected frame: {}, received frame: {}", expected.getSimpleName(), bleResponse);
-
-                if (bleCommand instanceof BlueGigaDeviceCommand && bleResponse instanceof BlueGigaDeviceResponse) {
-                    BlueGigaDeviceCommand devCommand = (BlueGigaDeviceCommand) bleCommand;
-                    BlueGigaDeviceResponse devResponse = (BlueGigaDeviceResponse) bleResponse;
-
-                    logger.trace("Expected connection id: {}, received connection id: {}", devCommand.getConnection(),
-                            devResponse.getConnection());
-
-                    if (devCommand.getConnection() != devResponse.getConnection()) {
-                        logger.trace("Ignore response as received connection id {} doesn't match expected id {}.",
-                                devResponse.getConnection(), devCommand.getConnection());
-                        return false;
-                    }
-                }
-
-                if (!expected.isInstance(bleResponse)) {
-                    logger.trace("Ignoring {} frame which has not been requested.",
-                            bleResponse.getClass().getSimpleName());
-                    return false;
-                }
-
-                // Response received, notify waiter
-                response = Optional.of(bleResponse);
-                complete = true;
-                logger.debug("Received frame #{}: {}", transactionId, bleResponse);
-                synchronized (this) {
-                    notify();
-                }
-                return true;
-            }
-
-            @Override
-            public boolean transactionTimeout(int transactionId) {
-                if (transactionId != query.getTransactionId()) {
-                    return false;
-                }
-                logger.debug("Timeout, no response received for transaction {}", query.getTransactionId());
-                complete = true;
-                synchronized (this) {
-                    notify();
-                }
-                return true;
+    private synchronized void removeTransaction(Transaction<?> transaction) {
+        Queue<Transaction<?>> queue = sendQueues.get(transaction.connection);
+        if (queue != null && queue.remove(transaction)) {
+            queueDepth--;
+            if (queue.isEmpty()) {
+                sendQueues.remove(transaction.connection);
+                pendingConnections.remove(transaction.connection);
             }
         }
-
-        Callable<T> worker = new TransactionWaiter();
-        return executor.submit(worker);
     }
 
     /**
@@ -300,21 +291,90 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
      * contains the request and response data.
      *
      * @param bleCommand {@link BlueGigaCommand}
-     * @param timeout milliseconds to wait until {@link TimeoutException} is thrown
+     * @param timeout milliseconds to wait until {@link TimeoutException} is thrown. This includes the time the
+     *            command spends in the queue.
      * @return response {@link BlueGigaResponse}
      * @throws BlueGigaException when any error occurred
      */
     public <T extends BlueGigaResponse> T sendTransaction(BlueGigaCommand bleCommand, Class<T> expected, long timeout)
             throws BlueGigaException {
-        Future<T> futureResponse = sendBleRequestAsync(bleCommand, expected);
+        Transaction<T> transaction = new Transaction<>(bleCommand, expected, timeout);
+        queueTransaction(transaction);
         try {
-            return futureResponse.get(timeout, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException | InterruptedException | ExecutionException e) {
-            futureResponse.cancel(true);
+            return transaction.future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException e) {
+            removeTransaction(transaction);
+            transaction.fail(e);
             throw new BlueGigaException(String.format("Error sending BLE transaction: %s", e.getMessage()), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new BlueGigaException(String.format("Error sending BLE transaction: %s", cause.getMessage()), e);
         }
     }
 
+    /**
+     * Returns the number of queued transactions over all connections
+     */
+    public synchronized int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the number of queued transactions of the given connection
+     *
+     * @param connection the connection handle
+     */
+    public synchronized int getQueueDepth(int connection) {
+        Queue<Transaction<?>> queue = sendQueues.get(connection);
+        return queue == null ? 0 : queue.size();
+    }
+
+    /**
+     * Returns the highest number of queued transactions seen so far
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Returns the number of transactions which received their response
+     */
+    public long getCompletedTransactions() {
+        return completedTransactions.get();
+    }
+
+    /**
+     * Returns the number of transactions which timed out, were cancelled or could not be sent
+     */
+    public long getFailedTransactions() {
+        return failedTransactions.get();
+    }
+
+    /**
+     * Returns the longest time in milliseconds from queuing a transaction until its response was received
+     */
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    /**
+     * Returns the average time in milliseconds from queuing a transaction until its response was received
+     */
+    public long getAverageLatencyMillis() {
+        long completed = completedTransactions.get();
+        return completed == 0 ? 0 : totalLatencyMillis.get() / completed;
+    }
+
+    /**
+     * Returns a human readable summary of the transaction statistics
+     */
+    public String getStatistics() {
+        return String.format(
+                "transactions completed: %d, failed: %d, latency avg: %d ms, max: %d ms, queue depth: %d, max: %d",
+                getCompletedTransactions(), getFailedTransactions(), getAverageLatencyMillis(), getMaxLatencyMillis(),
+                getQueueDepth(), getMaxQueueDepth());
+    }
+
     public void addEventListener(BlueGigaEventListener listener) {
         eventListeners.add(listener);
     }
@@ -347,36 +407,37 @@ public class BlueGigaTransactionManager implements BlueGigaSerialEventListener {
     }
 
     /**
-     * Notify any internal transaction listeners when we receive a response.
+     * Completes the ongoing transaction when we receive its response.
      *
      * @param response
      *            the response data received
      */
-    private void notifyTransactionComplete(final BlueGigaResponse response) {
-        ongoingTransactionId.ifPresent(id -> {
-            boolean processed = false;
-            for (BluetoothListener<? extends BlueGigaResponse> listener : transactionListeners) {
-                if (listener.transactionEvent(response, id)) {
-                    processed = true;
-                }
-            }
-            if (!processed) {
-                logger.debug("No listener found for received response: {}", response);
-            }
-        });
+    private synchronized void notifyTransactionComplete(final BlueGigaResponse response) {
+        Transaction<?> transaction = ongoingTransaction;
+        if (transaction == null || !transaction.matches(response)) {
+            logger.debug("No transaction found for received response: {}", response);
+            return;
+        }
+        cancelTransactionTimer();
+        ongoingTransaction = null;
+        transaction.complete(response);
+        // Send next transaction if any, without blocking the serial reader thread
+        executor.execute(this::sendNextTransactionIfNoOngoing);
     }
 
-    private void notifyTransactionTimeout(final Optional<Integer> transactionId) {
-        transactionId.ifPresent(id -> {
-            boolean processed = false;
-            for (BluetoothListener<? extends BlueGigaResponse> listener : transactionListeners) {
-                if (listener.transactionTimeout(id)) {
-                    processed = true;
-                }
-            }
-            if (!processed) {
-                logger.debug("No listener found for transaction timeout event, transaction id {}", id);
-            }
-        });
+    private synchronized void notifyTransactionTimeout(Transaction<?> transaction) {
+        if (ongoingTransaction != transaction) {
+            return;
+        }
+        logger.debug("Timeout, no response received for transaction {}", transaction.query.getTransactionId());
+        transactionTimeoutTimer = null;
+        ongoingTransaction = null;
+        transaction.fail(new TimeoutException("No response from BlueGiga controller"));
+        sendNextFrame();
+    }
+
+    private synchronized void sendNextTransactionIfNoOngoing() {
+        logger.trace("Send next transaction if no ongoing");
+        sendNextFrame();
     }
 }
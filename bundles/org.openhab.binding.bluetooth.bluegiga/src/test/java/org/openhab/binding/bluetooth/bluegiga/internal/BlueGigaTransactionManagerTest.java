@@ -0,0 +1,229 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.bluegiga.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.attributeclient.BlueGigaReadByHandleCommand;
+import org.openhab.binding.bluetooth.bluegiga.internal.command.attributeclient.BlueGigaReadByHandleResponse;
+
+/**
+ * Tests {@link BlueGigaTransactionManager}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class BlueGigaTransactionManagerTest {
+
+    private static final long WAIT_MILLIS = 2000;
+
+    /**
+     * Serial handler which records the sent frames instead of writing them to a dongle
+     */
+    private static class RecordingSerialHandler extends BlueGigaSerialHandler {
+        private final BlockingQueue<BlueGigaCommand> sentFrames = new LinkedBlockingQueue<>();
+
+        RecordingSerialHandler() throws IOException {
+            super(new PipedInputStream(new PipedOutputStream()), new ByteArrayOutputStream());
+        }
+
+        @Override
+        public void sendFrame(BlueGigaCommand bleFrame) {
+            sentFrames.add(bleFrame);
+        }
+
+        int nextSentConnection() throws InterruptedException {
+            BlueGigaCommand frame = sentFrames.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            assertNotNull("No frame sent", frame);
+            return ((BlueGigaDeviceCommand) frame).getConnection();
+        }
+    }
+
+    private @NonNullByDefault({}) RecordingSerialHandler serialHandler;
+    private @NonNullByDefault({}) ScheduledExecutorService scheduler;
+    private @NonNullByDefault({}) ExecutorService callers;
+    private @NonNullByDefault({}) BlueGigaTransactionManager transactionManager;
+
+    @Before
+    public void setUp() throws IOException {
+        serialHandler = new RecordingSerialHandler();
+        scheduler = Executors.newScheduledThreadPool(1);
+        callers = Executors.newCachedThreadPool();
+        transactionManager = new BlueGigaTransactionManager(serialHandler, scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        transactionManager.close();
+        callers.shutdownNow();
+        scheduler.shutdownNow();
+        serialHandler.close(0);
+    }
+
+    private Future<BlueGigaReadByHandleResponse> read(int connection, long timeout) {
+        BlueGigaReadByHandleCommand command = new BlueGigaReadByHandleCommand.CommandBuilder()
+                .withConnection(connection).withChrHandle(0x10).build();
+        return callers.submit(
+                () -> transactionManager.sendTransaction(command, BlueGigaReadByHandleResponse.class, timeout));
+    }
+
+    private void respond(int connection) {
+        int[] frame = { 0x00, 0x03, 0x04, 0x04, connection, 0x00, 0x00 };
+        transactionManager.bluegigaFrameReceived(new BlueGigaReadByHandleResponse(frame));
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (transactionManager.getQueueDepth() != depth) {
+            assertTrue("Queue depth " + depth + " not reached", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static @Nullable Throwable failureOf(Future<?> future) throws InterruptedException {
+        try {
+            future.get(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            throw new AssertionError("Caller did not return", e);
+        }
+    }
+
+    @Test
+    public void testConnectionsAreServedRoundRobin() throws Exception {
+        Future<BlueGigaReadByHandleResponse> first = read(1, WAIT_MILLIS);
+        assertEquals(1, serialHandler.nextSentConnection());
+
+        read(1, WAIT_MILLIS);
+        awaitQueueDepth(1);
+        read(1, WAIT_MILLIS);
+        awaitQueueDepth(2);
+        Future<BlueGigaReadByHandleResponse> other = read(2, WAIT_MILLIS);
+        awaitQueueDepth(3);
+        assertEquals(2, transactionManager.getQueueDepth(1));
+        assertEquals(1, transactionManager.getQueueDepth(2));
+
+        respond(1);
+        assertEquals(1, first.get(WAIT_MILLIS, TimeUnit.MILLISECONDS).getConnection());
+        assertEquals(1, serialHandler.nextSentConnection());
+
+        // connection 2 is served before the last command of connection 1
+        respond(1);
+        assertEquals(2, serialHandler.nextSentConnection());
+        respond(2);
+        assertEquals(2, other.get(WAIT_MILLIS, TimeUnit.MILLISECONDS).getConnection());
+        assertEquals(1, serialHandler.nextSentConnection());
+        respond(1);
+
+        awaitQueueDepth(0);
+        assertEquals(3, transactionManager.getMaxQueueDepth());
+    }
+
+    @Test
+    public void testResponseOfOtherConnectionIsIgnored() throws Exception {
+        Future<BlueGigaReadByHandleResponse> future = read(1, WAIT_MILLIS);
+        assertEquals(1, serialHandler.nextSentConnection());
+
+        respond(2);
+        assertFalse(future.isDone());
+
+        respond(1);
+        assertEquals(1, future.get(WAIT_MILLIS, TimeUnit.MILLISECONDS).getConnection());
+        assertEquals(1, transactionManager.getCompletedTransactions());
+        assertEquals(0, transactionManager.getFailedTransactions());
+    }
+
+    @Test
+    public void testUnansweredTransactionTimesOutAndNextOneIsSent() throws Exception {
+        Future<BlueGigaReadByHandleResponse> unanswered = read(1, 50);
+        assertEquals(1, serialHandler.nextSentConnection());
+        Future<BlueGigaReadByHandleResponse> next = read(2, WAIT_MILLIS);
+        awaitQueueDepth(1);
+
+        assertTrue(failureOf(unanswered) instanceof BlueGigaException);
+        // the ongoing transaction is released by the transaction timer, without any response
+        assertEquals(2, serialHandler.nextSentConnection());
+        respond(2);
+        assertNull(failureOf(next));
+
+        assertEquals(1, transactionManager.getFailedTransactions());
+        assertEquals(1, transactionManager.getCompletedTransactions());
+    }
+
+    @Test
+    public void testTransactionExpiredWhileQueuedIsNotSent() throws Exception {
+        Future<BlueGigaReadByHandleResponse> ongoing = read(1, WAIT_MILLIS);
+        assertEquals(1, serialHandler.nextSentConnection());
+        Future<BlueGigaReadByHandleResponse> expired = read(2, 50);
+        awaitQueueDepth(1);
+
+        assertTrue(failureOf(expired) instanceof BlueGigaException);
+        assertEquals(0, transactionManager.getQueueDepth());
+
+        respond(1);
+        assertNull(failureOf(ongoing));
+        assertNull(serialHandler.sentFrames.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInterruptedCallerRemovesQueuedTransaction() throws Exception {
+        read(1, WAIT_MILLIS);
+        assertEquals(1, serialHandler.nextSentConnection());
+        Future<BlueGigaReadByHandleResponse> cancelled = read(2, WAIT_MILLIS);
+        awaitQueueDepth(1);
+
+        cancelled.cancel(true);
+        awaitQueueDepth(0);
+        assertEquals(0, transactionManager.getQueueDepth(2));
+        assertEquals(1, transactionManager.getFailedTransactions());
+
+        respond(1);
+        assertNull(serialHandler.sentFrames.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testCloseFailsOngoingAndQueuedTransactions() throws Exception {
+        Future<BlueGigaReadByHandleResponse> ongoing = read(1, WAIT_MILLIS);
+        assertEquals(1, serialHandler.nextSentConnection());
+        Future<BlueGigaReadByHandleResponse> queued = read(2, WAIT_MILLIS);
+        awaitQueueDepth(1);
+
+        transactionManager.close();
+
+        assertTrue(failureOf(ongoing) instanceof BlueGigaException);
+        assertTrue(failureOf(queued) instanceof BlueGigaException);
+        assertEquals(0, transactionManager.getQueueDepth());
+        assertEquals(2, transactionManager.getFailedTransactions());
+    }
+}
@@ -47,6 +47,8 @@ public class BlueZBluetoothDevice extends BluetoothDevice {
 
     private tinyb.BluetoothDevice device;
 
+    private final BlueZBridgeHandler bridgeHandler;
+
     private final Logger logger = LoggerFactory.getLogger(BlueZBluetoothDevice.class);
 
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool("bluetooth");
@@ -60,6 +62,7 @@ public class BlueZBluetoothDevice extends BluetoothDevice {
      */
     public BlueZBluetoothDevice(BlueZBridgeHandler adapter, BluetoothAddress address) {
         super(adapter, address);
+        this.bridgeHandler = adapter;
         logger.debug("Creating BlueZ device with address '{}'", address);
     }
 
@@ -113,12 +116,19 @@ public class BlueZBluetoothDevice extends BluetoothDevice {
     private void enableNotifications() {
         logger.debug("Enabling notifications for device '{}'", device.getAddress());
         device.enableRSSINotifications(n -> {
+            Integer oldRssi = rssi;
             rssi = (int) n;
+            updateLastSeenTime();
+            if ((oldRssi == null || oldRssi == 0) && n != 0) {
+                // the device has just become reachable, let the bridge decide whether to report it to discovery
+                bridgeHandler.deviceDiscovered(this);
+            }
             BluetoothScanNotification notification = new BluetoothScanNotification();
             notification.setRssi(n);
             notifyListeners(BluetoothEventType.SCAN_RECORD, notification);
         });
         device.enableManufacturerDataNotifications(n -> {
+            updateLastSeenTime();
             for (Map.Entry<Short, byte[]> entry : n.entrySet()) {
                 BluetoothScanNotification notification = new BluetoothScanNotification();
                 byte[] data = new byte[entry.getValue().length + 2];
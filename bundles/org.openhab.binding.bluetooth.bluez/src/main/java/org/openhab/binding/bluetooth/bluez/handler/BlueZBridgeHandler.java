@@ -97,6 +97,13 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
             }
             if (adapter.getAddress().equals(adapterAddress.toString())) {
                 this.adapter = adapter;
+                // For whatever reason, bluez will sometimes turn off scanning, so we restart it as soon as we notice
+                adapter.enableDiscoveringNotifications(discovering -> {
+                    if (!discovering) {
+                        logger.debug("BlueZ stopped discovery on adapter '{}', restarting it", adapterAddress);
+                        scheduler.execute(this::restartDiscovery);
+                    }
+                });
                 discoveryJob = scheduler.scheduleWithFixedDelay(this::refreshDevices, 0, 10, TimeUnit.SECONDS);
                 return;
             }
@@ -115,17 +122,38 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
         }
     }
 
+    private void restartDiscovery() {
+        try {
+            startDiscovery();
+        } catch (BluetoothException e) {
+            logger.debug("Failed to restart discovery on adapter '{}': {}", adapterAddress, e.getMessage());
+        }
+    }
+
+    /**
+     * Picks up devices that BlueZ has found since the last run. Devices that are already known are not touched here,
+     * as they update themselves through their RSSI, manufacturer data and connection notifications.
+     */
     private void refreshDevices() {
         refreshTry: try {
             logger.debug("Refreshing Bluetooth device list...");
             List<tinyb.BluetoothDevice> tinybDevices = adapter.getDevices();
-            logger.debug("Found {} Bluetooth devices.", tinybDevices.size());
+            int newDevices = 0;
             for (tinyb.BluetoothDevice tinybDevice : tinybDevices) {
-                BlueZBluetoothDevice device = getDevice(new BluetoothAddress(tinybDevice.getAddress()));
+                BluetoothAddress address = new BluetoothAddress(tinybDevice.getAddress());
+                if (hasDevice(address)) {
+                    BlueZBluetoothDevice device = getDevice(address);
+                    // only does something if BlueZ has replaced the underlying device object
+                    device.updateTinybDevice(tinybDevice);
+                    continue;
+                }
+                BlueZBluetoothDevice device = getDevice(address);
                 device.updateTinybDevice(tinybDevice);
                 deviceDiscovered(device);
+                newDevices++;
             }
-            // For whatever reason, bluez will sometimes turn off scanning. So we just make sure it keeps running.
+            logger.debug("Found {} Bluetooth devices, {} of them new.", tinybDevices.size(), newDevices);
+            // Safety net in case a discovering notification got lost
             startDiscovery();
         } catch (BluetoothException ex) {
             String message = ex.getMessage();
@@ -161,8 +189,11 @@ public class BlueZBridgeHandler extends AbstractBluetoothBridgeHandler<BlueZBlue
             discoveryJob.cancel(true);
             discoveryJob = null;
         }
-        if (adapter != null && adapter.getDiscovering()) {
-            adapter.stopDiscovery();
+        if (adapter != null) {
+            adapter.disableDiscoveringNotifications();
+            if (adapter.getDiscovering()) {
+                adapter.stopDiscovery();
+            }
         }
         super.dispose();
     }
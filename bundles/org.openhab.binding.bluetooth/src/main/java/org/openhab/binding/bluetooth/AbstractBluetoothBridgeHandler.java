@@ -13,6 +13,7 @@
 package org.openhab.binding.bluetooth;
 
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,6 +30,7 @@ import org.eclipse.smarthome.core.thing.ThingUID;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.bluetooth.BluetoothDevice.ConnectionState;
+import org.openhab.binding.bluetooth.internal.TimingWheel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +39,9 @@ import org.slf4j.LoggerFactory;
  * as well as handling background and active discovery logic.
  *
  * Subclasses will primarily be responsible for device discovery
+ * <p>
+ * The device map is maintained without locking, and inactive devices are expired through a {@link TimingWheel}, so
+ * that a cleanup run only looks at the devices whose inactivity deadline has passed.
  *
  * @author Connor Petty - Initial contribution from refactored code
  */
@@ -60,6 +65,8 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     private @Nullable ScheduledFuture<?> inactiveRemovalJob;
 
+    private @Nullable TimingWheel<BD> inactivityWheel;
+
     /**
      * Constructor
      *
@@ -79,6 +86,11 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
         config = getConfigAs(BaseBluetoothBridgeHandlerConfiguration.class);
 
         int intervalSecs = config.inactiveDeviceCleanupInterval;
+        TimingWheel<BD> wheel = createInactivityWheel(intervalSecs, config.inactiveDeviceCleanupThreshold);
+        for (BD device : devices.values()) {
+            scheduleInactivityCheck(wheel, device);
+        }
+        inactivityWheel = wheel;
         inactiveRemovalJob = scheduler.scheduleWithFixedDelay(this::removeInactiveDevices, intervalSecs, intervalSecs,
                 TimeUnit.SECONDS);
     }
@@ -90,11 +102,10 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
             inactiveRemovalJob.cancel(true);
         }
         this.inactiveRemovalJob = null;
+        this.inactivityWheel = null;
 
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                removeDevice(device);
-            }
+        for (BD device : devices.values()) {
+            removeDevice(device);
         }
     }
 
@@ -102,33 +113,65 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
     public void handleCommand(ChannelUID channelUID, Command command) {
     }
 
+    private TimingWheel<BD> createInactivityWheel(int intervalSecs, int thresholdSecs) {
+        long tickMillis = TimeUnit.SECONDS.toMillis(Math.max(1, intervalSecs));
+        // one slot more than needed to cover the threshold, so a fresh device never wraps around the wheel
+        int slotCount = (int) (TimeUnit.SECONDS.toMillis(Math.max(0, thresholdSecs)) / tickMillis) + 2;
+        return new TimingWheel<>(tickMillis, slotCount, System.currentTimeMillis());
+    }
+
+    private void scheduleInactivityCheck(TimingWheel<BD> wheel, BD device) {
+        ZonedDateTime lastActivity = device.getLastSeenTime();
+        if (isPinned(device)) {
+            // a pinned device cannot expire before the next full threshold period
+            lastActivity = ZonedDateTime.now();
+        }
+        ZonedDateTime deadline = lastActivity.plusSeconds(config.inactiveDeviceCleanupThreshold);
+        wheel.schedule(device, deadline.toInstant().toEpochMilli());
+    }
+
     private void removeInactiveDevices() {
-        // clean up orphaned entries
-        synchronized (devices) {
-            for (BD device : devices.values()) {
-                if (shouldRemove(device)) {
-                    logger.debug("Removing device '{}' due to inactivity", device.getAddress());
-                    removeDevice(device);
-                }
+        TimingWheel<BD> wheel = inactivityWheel;
+        if (wheel == null) {
+            return;
+        }
+        // only devices whose inactivity deadline has passed are checked, the others are not touched at all
+        List<BD> dueDevices = wheel.advance(System.currentTimeMillis());
+        for (BD device : dueDevices) {
+            if (devices.get(device.getAddress()) != device) {
+                // already removed or replaced in the meantime
+                continue;
+            }
+            if (shouldRemove(device)) {
+                logger.debug("Removing device '{}' due to inactivity", device.getAddress());
+                removeDevice(device);
+            } else {
+                // the device has been active since it was scheduled, check again once its new deadline has passed
+                scheduleInactivityCheck(wheel, device);
             }
         }
+        logger.trace("Checked {} of {} Bluetooth devices for inactivity", dueDevices.size(), devices.size());
     }
 
+    @SuppressWarnings("unchecked")
     protected void removeDevice(BluetoothDevice device) {
         device.dispose();
-        synchronized (devices) {
-            devices.remove(device.getAddress());
+        devices.remove(device.getAddress(), device);
+        TimingWheel<BD> wheel = inactivityWheel;
+        if (wheel != null) {
+            wheel.remove((BD) device);
         }
         discoveryListeners.forEach(listener -> listener.deviceRemoved(device));
     }
 
-    private boolean shouldRemove(BluetoothDevice device) {
+    private boolean isPinned(BluetoothDevice device) {
         // we can't remove devices with listeners since that means they have a handler.
-        if (device.hasListeners()) {
-            return false;
-        }
         // devices that are connected won't receive any scan notifications so we can't remove them for being idle
-        if (device.getConnectionState() == ConnectionState.CONNECTED) {
+        return device.hasListeners() || device.getConnectionState() == ConnectionState.CONNECTED;
+    }
+
+    private boolean shouldRemove(BluetoothDevice device) {
+        if (isPinned(device)) {
             return false;
         }
 
@@ -156,9 +199,7 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     protected void refreshDiscoveredDevices() {
         logger.debug("Refreshing Bluetooth device list...");
-        synchronized (devices) {
-            devices.values().forEach(this::deviceDiscovered);
-        }
+        devices.values().forEach(this::deviceDiscovered);
     }
 
     @Override
@@ -170,15 +211,29 @@ public abstract class AbstractBluetoothBridgeHandler<BD extends BluetoothDevice>
 
     @Override
     public BD getDevice(BluetoothAddress address) {
-        synchronized (devices) {
-            if (devices.containsKey(address)) {
-                return devices.get(address);
-            }
-            BD device = createDevice(address);
-            device.updateLastSeenTime();
-            devices.put(address, device);
+        BD device = devices.get(address);
+        if (device != null) {
             return device;
         }
+        return devices.computeIfAbsent(address, addr -> {
+            BD newDevice = createDevice(addr);
+            newDevice.updateLastSeenTime();
+            TimingWheel<BD> wheel = inactivityWheel;
+            if (wheel != null) {
+                scheduleInactivityCheck(wheel, newDevice);
+            }
+            return newDevice;
+        });
+    }
+
+    /**
+     * Checks whether a device for the given address is already known to this bridge, without creating one.
+     *
+     * @param address the address of the device
+     * @return true if the device is known
+     */
+    protected boolean hasDevice(BluetoothAddress address) {
+        return devices.containsKey(address);
     }
 
     protected abstract BD createDevice(BluetoothAddress address);
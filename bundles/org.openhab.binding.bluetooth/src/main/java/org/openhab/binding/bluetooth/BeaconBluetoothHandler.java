@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.bluetooth;
 
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -81,6 +83,7 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         try {
             deviceLock.lock();
             device = adapter.getDevice(address);
+            configureScanRecordFilter(device);
             device.addListener(this);
         } finally {
             deviceLock.unlock();
@@ -89,6 +92,17 @@ public class BeaconBluetoothHandler extends BaseThingHandler implements Bluetoot
         updateStatus(ThingStatus.UNKNOWN);
     }
 
+    private void configureScanRecordFilter(BluetoothDevice device) {
+        Object minInterval = getConfig().get(BluetoothBindingConstants.CONFIGURATION_MIN_SCAN_INTERVAL);
+        if (minInterval instanceof BigDecimal) {
+            device.setScanRecordMinInterval(TimeUnit.SECONDS.toMillis(((BigDecimal) minInterval).longValue()));
+        }
+        Object keepAlive = getConfig().get(BluetoothBindingConstants.CONFIGURATION_DUPLICATE_SCAN_KEEP_ALIVE);
+        if (keepAlive instanceof BigDecimal) {
+            device.setScanRecordDuplicateKeepAlive(TimeUnit.SECONDS.toMillis(((BigDecimal) keepAlive).longValue()));
+        }
+    }
+
     @Override
     public void dispose() {
         try {
@@ -38,6 +38,8 @@ public class BluetoothBindingConstants {
     public static final String PROPERTY_MAXCONNECTIONS = "maxconnections";
 
     public static final String CONFIGURATION_ADDRESS = "address";
+    public static final String CONFIGURATION_MIN_SCAN_INTERVAL = "minScanInterval";
+    public static final String CONFIGURATION_DUPLICATE_SCAN_KEEP_ALIVE = "duplicateScanKeepAlive";
 
     public static final long BLUETOOTH_BASE_UUID = 0x800000805f9b34fbL;
 
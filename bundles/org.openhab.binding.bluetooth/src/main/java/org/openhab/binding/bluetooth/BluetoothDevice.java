@@ -137,6 +137,11 @@ public abstract class BluetoothDevice {
      */
     private final List<BluetoothDeviceListener> eventListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Suppresses duplicate and too frequent scan records before they reach the listeners
+     */
+    private final ScanRecordFilter scanRecordFilter = new ScanRecordFilter();
+
     /**
      * Construct a Bluetooth device taking the Bluetooth address
      *
@@ -619,6 +624,44 @@ public abstract class BluetoothDevice {
         return !eventListeners.isEmpty();
     }
 
+    /**
+     * Sets the minimum time between two scan records that are passed on to the listeners. Scan records received in
+     * between are dropped.
+     *
+     * @param minIntervalMillis the minimum interval in milliseconds, 0 to pass on every scan record
+     */
+    public void setScanRecordMinInterval(long minIntervalMillis) {
+        scanRecordFilter.setMinInterval(minIntervalMillis);
+    }
+
+    /**
+     * Sets the time after which a scan record with unchanged payload is passed on to the listeners again.
+     *
+     * @param keepAliveMillis the keep-alive interval in milliseconds, 0 to pass on duplicates as well
+     */
+    public void setScanRecordDuplicateKeepAlive(long keepAliveMillis) {
+        scanRecordFilter.setDuplicateKeepAlive(keepAliveMillis);
+    }
+
+    /**
+     * Returns the number of scan records that have been passed on to the listeners
+     *
+     * @return the number of delivered scan records
+     */
+    public long getDeliveredScanRecords() {
+        return scanRecordFilter.getDelivered();
+    }
+
+    /**
+     * Returns the number of scan records that have been dropped, either because their payload was identical to the
+     * previous one or because they arrived within the minimum interval
+     *
+     * @return the number of dropped scan records
+     */
+    public long getDroppedScanRecords() {
+        return scanRecordFilter.getDroppedDuplicates() + scanRecordFilter.getDroppedSampled();
+    }
+
     /**
      * Releases resources that this device is using.
      *
@@ -633,6 +676,12 @@ public abstract class BluetoothDevice {
      * @param args an array of arguments to pass to the callback
      */
     protected void notifyListeners(BluetoothEventType event, Object... args) {
+        if (event == BluetoothEventType.SCAN_RECORD && !eventListeners.isEmpty()
+                && !scanRecordFilter.accept((BluetoothScanNotification) args[0], System.currentTimeMillis())) {
+            logger.trace("Dropped scan record for device {}, {} delivered / {} dropped so far", address,
+                    getDeliveredScanRecords(), getDroppedScanRecords());
+            return;
+        }
         for (BluetoothDeviceListener listener : eventListeners) {
             try {
                 switch (event) {
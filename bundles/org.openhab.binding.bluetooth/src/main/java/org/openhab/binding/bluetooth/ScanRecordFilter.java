@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * The {@link ScanRecordFilter} decides which scan records of a single device are passed on to the device listeners.
+ * <p>
+ * Filtering is opt-in, by default every scan record is delivered. When a duplicate keep-alive interval is set, a scan
+ * record whose payload (raw and manufacturer specific data) is identical to the last delivered one is dropped, unless
+ * the last delivery is older than the keep-alive interval, so that handlers which watch for missing data still get a
+ * regular update. Additionally, a minimum interval between two delivered scan records can be configured to sample
+ * devices that advertise at a high rate. The interval is applied separately to scan records with payload and to scan
+ * records which only carry the RSSI (as sent by BlueZ), so an RSSI update never suppresses the data of a sensor
+ * beacon. Dropped scan records do not reach the listeners, so they do not update the RSSI either.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class ScanRecordFilter {
+
+    private long minIntervalMillis = 0;
+    private long keepAliveMillis = 0;
+
+    private long lastRssiDeliveryMillis = Long.MIN_VALUE;
+    private long lastPayloadDeliveryMillis = Long.MIN_VALUE;
+    private int lastPayloadHash;
+    private byte @Nullable [] lastData;
+    private byte @Nullable [] lastManufacturerData;
+
+    private long delivered;
+    private long droppedDuplicates;
+    private long droppedSampled;
+
+    /**
+     * Sets the minimum time between two delivered scan records. 0 delivers every (non-duplicate) scan record.
+     *
+     * @param minIntervalMillis the minimum interval in milliseconds
+     */
+    synchronized void setMinInterval(long minIntervalMillis) {
+        this.minIntervalMillis = Math.max(0, minIntervalMillis);
+    }
+
+    /**
+     * Sets the time after which a scan record is delivered even though its payload has not changed. 0 disables
+     * duplicate suppression.
+     *
+     * @param keepAliveMillis the keep-alive interval in milliseconds
+     */
+    synchronized void setDuplicateKeepAlive(long keepAliveMillis) {
+        this.keepAliveMillis = Math.max(0, keepAliveMillis);
+    }
+
+    /**
+     * Checks whether the scan record should be delivered to the listeners and updates the counters accordingly.
+     *
+     * @param notification the received scan record
+     * @param nowMillis the current time in milliseconds
+     * @return true if the scan record should be delivered
+     */
+    synchronized boolean accept(BluetoothScanNotification notification, long nowMillis) {
+        byte[] data = notification.getData();
+        byte[] manufacturerData = notification.getManufacturerData();
+        boolean hasPayload = data != null || manufacturerData != null;
+
+        long lastDeliveryMillis = hasPayload ? lastPayloadDeliveryMillis : lastRssiDeliveryMillis;
+        if (elapsedSince(lastDeliveryMillis, nowMillis) < minIntervalMillis) {
+            droppedSampled++;
+            return false;
+        }
+
+        int payloadHash = 31 * Arrays.hashCode(data) + Arrays.hashCode(manufacturerData);
+
+        // scan records without payload only carry the RSSI, they are never treated as duplicates
+        if (hasPayload && keepAliveMillis > 0
+                && elapsedSince(lastPayloadDeliveryMillis, nowMillis) < keepAliveMillis
+                && payloadHash == lastPayloadHash && Arrays.equals(data, lastData)
+                && Arrays.equals(manufacturerData, lastManufacturerData)) {
+            droppedDuplicates++;
+            return false;
+        }
+
+        if (hasPayload) {
+            lastPayloadHash = payloadHash;
+            lastData = data;
+            lastManufacturerData = manufacturerData;
+            lastPayloadDeliveryMillis = nowMillis;
+        } else {
+            lastRssiDeliveryMillis = nowMillis;
+        }
+        delivered++;
+        return true;
+    }
+
+    private static long elapsedSince(long timestampMillis, long nowMillis) {
+        return timestampMillis == Long.MIN_VALUE ? Long.MAX_VALUE : nowMillis - timestampMillis;
+    }
+
+    synchronized long getDelivered() {
+        return delivered;
+    }
+
+    synchronized long getDroppedDuplicates() {
+        return droppedDuplicates;
+    }
+
+    synchronized long getDroppedSampled() {
+        return droppedSampled;
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link TimingWheel} is a hashed timing wheel used to expire elements without iterating over all of them.
+ * Every element is kept in the slot of its deadline. On each {@link #advance(long)} only the slots whose time has
+ * passed are visited, so the cost of a tick is proportional to the number of elements due and not to the total
+ * number of elements.
+ * <p>
+ * Deadlines that lie beyond the span of the wheel are placed in the furthest slot; callers are expected to check
+ * the elements they get back and reschedule those that are not actually expired yet.
+ * <p>
+ * All operations are lock-free and may be called from any thread. {@link #advance(long)} itself must not be called
+ * concurrently.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final List<Set<T>> slots;
+    private final Map<T, Long> ticksByElement = new ConcurrentHashMap<>();
+
+    private volatile long currentTick;
+
+    /**
+     * Creates a new wheel.
+     *
+     * @param tickMillis the duration of one slot in milliseconds
+     * @param slotCount the number of slots, i.e. the span of the wheel in ticks
+     * @param nowMillis the current time in milliseconds
+     */
+    public TimingWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (tickMillis <= 0 || slotCount <= 0) {
+            throw new IllegalArgumentException("Tick duration and slot count must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an element for expiry. An element that is already scheduled is moved to the new deadline.
+     *
+     * @param element the element to schedule
+     * @param deadlineMillis the time in milliseconds at which the element expires
+     */
+    public void schedule(T element, long deadlineMillis) {
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        tick = Math.min(tick, currentTick + slots.size());
+        Long previousTick = ticksByElement.put(element, tick);
+        if (previousTick != null && previousTick != tick) {
+            slotFor(previousTick).remove(element);
+        }
+        slotFor(tick).add(element);
+    }
+
+    /**
+     * Removes an element from the wheel.
+     *
+     * @param element the element to remove
+     */
+    public void remove(T element) {
+        Long tick = ticksByElement.remove(element);
+        if (tick != null) {
+            slotFor(tick).remove(element);
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time and returns all elements whose slot has passed. The returned elements are
+     * no longer scheduled.
+     *
+     * @param nowMillis the current time in milliseconds
+     * @return the elements that are due
+     */
+    public List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        long targetTick = nowMillis / tickMillis;
+        long tick = currentTick;
+        // never visit a slot more than once per advance, even after a long pause
+        long lastTick = Math.min(targetTick, tick + slots.size());
+        while (tick < lastTick) {
+            tick++;
+            Set<T> slot = slotFor(tick);
+            for (T element : slot) {
+                Long elementTick = ticksByElement.get(element);
+                if (elementTick != null && elementTick <= targetTick && ticksByElement.remove(element, elementTick)) {
+                    slot.remove(element);
+                    due.add(element);
+                }
+            }
+        }
+        currentTick = Math.max(targetTick, currentTick);
+        return due;
+    }
+
+    /**
+     * Returns the number of scheduled elements
+     */
+    public int size() {
+        return ticksByElement.size();
+    }
+
+    private Set<T> slotFor(long tick) {
+        return slots.get((int) (tick % slots.size()));
+    }
+}
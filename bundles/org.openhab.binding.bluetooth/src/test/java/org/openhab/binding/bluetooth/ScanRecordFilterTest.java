@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.openhab.binding.bluetooth.notification.BluetoothScanNotification;
+
+/**
+ * Tests {@link ScanRecordFilter}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ScanRecordFilterTest {
+
+    private static BluetoothScanNotification scanRecord(byte... manufacturerData) {
+        BluetoothScanNotification notification = new BluetoothScanNotification();
+        notification.setRssi(-60);
+        notification.setManufacturerData(manufacturerData);
+        return notification;
+    }
+
+    @Test
+    public void testDuplicatesAreDroppedUntilKeepAlive() {
+        ScanRecordFilter filter = new ScanRecordFilter();
+        filter.setDuplicateKeepAlive(10000);
+
+        assertTrue(filter.accept(scanRecord((byte) 1, (byte) 2), 0));
+        assertFalse(filter.accept(scanRecord((byte) 1, (byte) 2), 1000));
+        assertTrue(filter.accept(scanRecord((byte) 1, (byte) 3), 2000));
+        assertFalse(filter.accept(scanRecord((byte) 1, (byte) 3), 11999));
+        assertTrue(filter.accept(scanRecord((byte) 1, (byte) 3), 12000));
+
+        assertEquals(3, filter.getDelivered());
+        assertEquals(2, filter.getDroppedDuplicates());
+    }
+
+    @Test
+    public void testRssiOnlyRecordsAreNotDuplicates() {
+        ScanRecordFilter filter = new ScanRecordFilter();
+        BluetoothScanNotification rssiOnly = new BluetoothScanNotification();
+        rssiOnly.setRssi(-70);
+
+        assertTrue(filter.accept(rssiOnly, 0));
+        assertTrue(filter.accept(rssiOnly, 1));
+    }
+
+    @Test
+    public void testMinIntervalSamplesRecords() {
+        ScanRecordFilter filter = new ScanRecordFilter();
+        filter.setMinInterval(5000);
+
+        assertTrue(filter.accept(scanRecord((byte) 1), 0));
+        assertFalse(filter.accept(scanRecord((byte) 2), 4999));
+        assertTrue(filter.accept(scanRecord((byte) 3), 5000));
+
+        assertEquals(2, filter.getDelivered());
+        assertEquals(1, filter.getDroppedSampled());
+    }
+
+    @Test
+    public void testRssiOnlyRecordDoesNotSuppressPayload() {
+        ScanRecordFilter filter = new ScanRecordFilter();
+        filter.setMinInterval(5000);
+        BluetoothScanNotification rssiOnly = new BluetoothScanNotification();
+        rssiOnly.setRssi(-70);
+
+        // BlueZ sends the RSSI and the manufacturer data of an advertisement as separate scan records
+        assertTrue(filter.accept(rssiOnly, 0));
+        assertTrue(filter.accept(scanRecord((byte) 1), 1));
+        assertFalse(filter.accept(rssiOnly, 2));
+        assertFalse(filter.accept(scanRecord((byte) 2), 3));
+
+        assertTrue(filter.accept(rssiOnly, 5000));
+        assertTrue(filter.accept(scanRecord((byte) 3), 5001));
+
+        assertEquals(4, filter.getDelivered());
+        assertEquals(2, filter.getDroppedSampled());
+    }
+
+    @Test
+    public void testEveryRecordIsDeliveredByDefault() {
+        ScanRecordFilter filter = new ScanRecordFilter();
+
+        assertTrue(filter.accept(scanRecord((byte) 1), 0));
+        assertTrue(filter.accept(scanRecord((byte) 1), 1));
+        assertTrue(filter.accept(scanRecord((byte) 1), 2));
+
+        assertEquals(3, filter.getDelivered());
+        assertEquals(0, filter.getDroppedDuplicates());
+    }
+
+    @Test
+    public void testDisabledDuplicateSuppression() {
+        ScanRecordFilter filter = new ScanRecordFilter();
+        filter.setDuplicateKeepAlive(10000);
+        filter.setDuplicateKeepAlive(0);
+
+        assertTrue(filter.accept(scanRecord((byte) 1), 0));
+        assertTrue(filter.accept(scanRecord((byte) 1), 1));
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.bluetooth.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TimingWheel}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TimingWheelTest {
+
+    @Test
+    public void testElementsExpireAtTheirDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10, 0);
+        wheel.schedule("a", 2000);
+        wheel.schedule("b", 5000);
+
+        assertEquals(Collections.emptyList(), wheel.advance(1500));
+        assertEquals(Collections.singletonList("a"), wheel.advance(2000));
+        assertEquals(Collections.emptyList(), wheel.advance(4999));
+        assertEquals(Collections.singletonList("b"), wheel.advance(5000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testRescheduleAndRemove() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10, 0);
+        wheel.schedule("a", 2000);
+        wheel.schedule("b", 2000);
+        wheel.schedule("a", 4000);
+        wheel.remove("b");
+
+        assertEquals(Collections.emptyList(), wheel.advance(3000));
+        assertEquals(Collections.singletonList("a"), wheel.advance(4000));
+    }
+
+    @Test
+    public void testDeadlineBeyondSpanIsClampedToLastSlot() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 3, 0);
+        wheel.schedule("a", 100000);
+
+        assertEquals(Collections.emptyList(), wheel.advance(2000));
+        assertEquals(Collections.singletonList("a"), wheel.advance(3000));
+    }
+
+    @Test
+    public void testLongPauseReturnsAllDueElements() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 4, 0);
+        wheel.schedule("a", 1000);
+        wheel.schedule("b", 2000);
+        wheel.schedule("c", 4000);
+
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")), new HashSet<>(wheel.advance(60000)));
+        assertEquals(0, wheel.size());
+    }
+}
@@ -15,7 +15,6 @@ package org.openhab.binding.chromecast.internal;
 import static org.openhab.binding.chromecast.internal.ChromecastBindingConstants.*;
 import static su.litvak.chromecast.api.v2.MediaStatus.PlayerState.*;
 
-import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
@@ -43,7 +42,7 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.eclipse.smarthome.io.net.http.HttpUtil;
 import org.openhab.binding.chromecast.internal.handler.ChromecastHandler;
-import org.openhab.binding.chromecast.internal.utils.ByteArrayFileCache;
+import org.openhab.io.cache.ByteArrayFileCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -267,14 +266,10 @@ public class ChromecastStatusUpdater {
 
     private @Nullable RawType downloadImageFromCache(String url) {
         if (IMAGE_CACHE.containsKey(url)) {
-            try {
-                byte[] bytes = IMAGE_CACHE.get(url);
-                String contentType = HttpUtil.guessContentTypeFromData(bytes);
-                return new RawType(bytes,
-                        contentType == null || contentType.isEmpty() ? RawType.DEFAULT_MIME_TYPE : contentType);
-            } catch (IOException e) {
-                logger.trace("Failed to download the content of URL '{}'", url, e);
-            }
+            byte[] bytes = IMAGE_CACHE.get(url);
+            String contentType = HttpUtil.guessContentTypeFromData(bytes);
+            return new RawType(bytes,
+                    contentType == null || contentType.isEmpty() ? RawType.DEFAULT_MIME_TYPE : contentType);
         } else {
             RawType image = downloadImage(url);
             if (image != null) {
@@ -39,7 +39,7 @@ import org.eclipse.smarthome.io.net.http.HttpUtil;
 import org.openhab.binding.darksky.internal.config.DarkSkyAPIConfiguration;
 import org.openhab.binding.darksky.internal.handler.DarkSkyAPIHandler;
 import org.openhab.binding.darksky.internal.model.DarkSkyJsonWeatherData;
-import org.openhab.binding.darksky.internal.utils.ByteArrayFileCache;
+import org.openhab.io.cache.ByteArrayFileCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,6 +83,9 @@ public interface DeviceStatusManager extends EventHandler {
      * sends a undo command.
      * <br>
      * It also updates the scene state, if the command was send successful.
+     * <br>
+     * The command is sent asynchronously, scene commands are paced and a command, which waits to be sent, is replaced
+     * by a newer command for the same zone and group.
      *
      * @param scene to call
      * @param call_undo (true = call | false = undo)
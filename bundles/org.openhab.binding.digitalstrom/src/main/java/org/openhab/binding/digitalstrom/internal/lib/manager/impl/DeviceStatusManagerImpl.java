@@ -43,6 +43,7 @@ import org.openhab.binding.digitalstrom.internal.lib.manager.SceneManager;
 import org.openhab.binding.digitalstrom.internal.lib.manager.StructureManager;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.SceneReadingJobExecutor;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.SensorJobExecutor;
+import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.SensorJobTimingWheel;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.impl.DeviceConsumptionSensorJob;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.impl.DeviceOutputValueSensorJob;
@@ -91,6 +92,13 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(Config.THREADPOOL_NAME);
     private ScheduledFuture<?> pollingScheduler;
 
+    /**
+     * Minimum time in milliseconds between two scene commands sent to the digitalSTROM-Server.
+     */
+    private static final long MIN_SCENE_CALL_INTERVAL = 1000;
+    private final SceneCommandQueue sceneCommandQueue = new SceneCommandQueue(this::sendSceneComand, scheduler,
+            MIN_SCENE_CALL_INTERVAL);
+
     /**
      * Query to get all {@link Device}'s with more informations than {@link DsAPI#getApartmentDevices(String)}. Can be
      * executed with {@link DsAPI#query(String, String)} or {@link DsAPI#query2(String, String)}.
@@ -111,6 +119,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
 
     private SensorJobExecutor sensorJobExecutor;
     private SceneReadingJobExecutor sceneJobExecutor;
+    private SensorJobTimingWheel sensorJobTimingWheel;
     private EventListener eventListener;
 
     private final List<TrashDevice> trashDevices = new LinkedList<>();
@@ -564,6 +573,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         if (sensorJobExecutor != null) {
             this.sensorJobExecutor.shutdown();
         }
+        sceneCommandQueue.clear();
         if (eventListener != null) {
             eventListener.removeEventHandler(this);
         }
@@ -659,51 +669,46 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         strucMan.updateDevice(newDevice);
     }
 
-    private long lastSceneCall = 0;
-    private long sleepTime = 0;
-
     @Override
-    public synchronized void sendSceneComandsToDSS(InternalScene scene, boolean call_undo) {
+    public void sendSceneComandsToDSS(InternalScene scene, boolean call_undo) {
         if (scene != null) {
-            if (lastSceneCall + 1000 > System.currentTimeMillis()) {
-                sleepTime = System.currentTimeMillis() - lastSceneCall;
-                try {
-                    Thread.sleep(sleepTime);
-                } catch (InterruptedException e) {
-                    logger.debug("An InterruptedException occurred", e);
-                }
+            sceneCommandQueue.add(scene, call_undo);
+        }
+    }
+
+    /**
+     * Sends the scene command to the digitalSTROM-Server, called by the {@link SceneCommandQueue}.
+     */
+    private void sendSceneComand(InternalScene scene, boolean call_undo) {
+        boolean requestSuccessful = false;
+        if (scene.getZoneID() == 0) {
+            if (call_undo) {
+                logger.debug("{} {} {}", scene.getGroupID(), scene.getSceneID(),
+                        ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
+                requestSuccessful = this.digitalSTROMClient.callApartmentScene(connMan.getSessionToken(),
+                        scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()), false);
+            } else {
+                requestSuccessful = this.digitalSTROMClient.undoApartmentScene(connMan.getSessionToken(),
+                        scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
             }
-            lastSceneCall = System.currentTimeMillis();
-            boolean requestSuccessful = false;
-            if (scene.getZoneID() == 0) {
-                if (call_undo) {
-                    logger.debug("{} {} {}", scene.getGroupID(), scene.getSceneID(),
-                            ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
-                    requestSuccessful = this.digitalSTROMClient.callApartmentScene(connMan.getSessionToken(),
-                            scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()), false);
-                } else {
-                    requestSuccessful = this.digitalSTROMClient.undoApartmentScene(connMan.getSessionToken(),
-                            scene.getGroupID(), null, ApartmentSceneEnum.getApartmentScene(scene.getSceneID()));
-                }
+        } else {
+            if (call_undo) {
+                requestSuccessful = this.digitalSTROMClient.callZoneScene(connMan.getSessionToken(),
+                        scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()),
+                        false);
             } else {
-                if (call_undo) {
-                    requestSuccessful = this.digitalSTROMClient.callZoneScene(connMan.getSessionToken(),
-                            scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()),
-                            false);
-                } else {
-                    requestSuccessful = this.digitalSTROMClient.undoZoneScene(connMan.getSessionToken(),
-                            scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()));
-                }
+                requestSuccessful = this.digitalSTROMClient.undoZoneScene(connMan.getSessionToken(),
+                        scene.getZoneID(), null, scene.getGroupID(), null, SceneEnum.getScene(scene.getSceneID()));
             }
+        }
 
-            logger.debug("Was the scene call succsessful?: {}", requestSuccessful);
-            if (requestSuccessful) {
-                this.sceneMan.addEcho(scene.getID());
-                if (call_undo) {
-                    scene.activateScene();
-                } else {
-                    scene.deactivateScene();
-                }
+        logger.debug("Was the scene call succsessful?: {}", requestSuccessful);
+        if (requestSuccessful) {
+            this.sceneMan.addEcho(scene.getID());
+            if (call_undo) {
+                scene.activateScene();
+            } else {
+                scene.deactivateScene();
             }
         }
     }
@@ -1014,10 +1019,22 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
         }
     }
 
+    /**
+     * Returns the {@link SensorJobTimingWheel}, which is shared by the {@link SensorJobExecutor} and the
+     * {@link SceneReadingJobExecutor}, so the total number of sensor queries to the dSS is limited.
+     */
+    private synchronized SensorJobTimingWheel getSensorJobTimingWheel() {
+        if (sensorJobTimingWheel == null) {
+            sensorJobTimingWheel = new SensorJobTimingWheel(connMan,
+                    SensorJobTimingWheel.DEFAULT_MAX_QUERIES_PER_SECOND);
+        }
+        return sensorJobTimingWheel;
+    }
+
     @Override
     public void updateSensorData(SensorJob sensorJob, String priority) {
         if (sensorJobExecutor == null) {
-            sensorJobExecutor = new SensorJobExecutor(connMan);
+            sensorJobExecutor = new SensorJobExecutor(connMan, getSensorJobTimingWheel());
             this.sensorJobExecutor.startExecutor();
         }
         if (sensorJob != null && priority != null) {
@@ -1047,7 +1064,7 @@ public class DeviceStatusManagerImpl implements DeviceStatusManager {
     @Override
     public void updateSceneData(Device device, DeviceStateUpdate deviceStateUpdate) {
         if (sceneJobExecutor == null) {
-            sceneJobExecutor = new SceneReadingJobExecutor(connMan);
+            sceneJobExecutor = new SceneReadingJobExecutor(connMan, getSensorJobTimingWheel());
             this.sceneJobExecutor.startExecutor();
         }
 
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.digitalstrom.internal.lib.manager.impl;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.digitalstrom.internal.lib.structure.scene.InternalScene;
+import org.openhab.binding.digitalstrom.internal.lib.structure.scene.constants.SceneEnum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SceneCommandQueue} sends the scene call and undo commands of a digitalSTROM-Server one after the other
+ * with a minimum interval between two commands, without blocking the threads which add the commands.
+ * <br>
+ * A scene command is merged with the last waiting command for the same zone and group, if it is the same scene: the
+ * same command is not queued twice and an undo cancels the waiting call of the scene. Step scenes (increment,
+ * decrement) and apartment scenes are never merged.
+ *
+ * @author agent - Initial contribution
+ */
+public class SceneCommandQueue {
+
+    private final Logger logger = LoggerFactory.getLogger(SceneCommandQueue.class);
+
+    /**
+     * Sends a scene command to the digitalSTROM-Server.
+     */
+    @FunctionalInterface
+    public interface SceneCommandSender {
+
+        /**
+         * Sends a call scene command for the given {@link InternalScene}, if call_undo is true otherwise an undo
+         * command.
+         *
+         * @param scene to call
+         * @param call_undo (true = call | false = undo)
+         */
+        void send(InternalScene scene, boolean call_undo);
+    }
+
+    private final SceneCommandSender sender;
+    private final ScheduledExecutorService scheduler;
+    private final long minInterval;
+
+    private final Deque<SceneCommand> pendingCommands = new ArrayDeque<>();
+    private ScheduledFuture<?> sendJob;
+    private boolean sending = false;
+    private long lastSceneCall = 0;
+
+    private long sentCommands = 0;
+    private long mergedCommands = 0;
+    private long totalWaitTime = 0;
+    private long maxWaitTime = 0;
+
+    /**
+     * Creates a new {@link SceneCommandQueue}.
+     *
+     * @param sender sends the commands
+     * @param scheduler to send the commands on
+     * @param minInterval minimum time in milliseconds between two scene commands
+     */
+    public SceneCommandQueue(SceneCommandSender sender, ScheduledExecutorService scheduler, long minInterval) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.minInterval = minInterval;
+    }
+
+    /**
+     * Adds a scene command to the queue. If the last waiting command for the same zone and group is the same command,
+     * the new one is dropped. If it is a call of the same scene and an undo is added, the call is removed.
+     *
+     * @param scene to call
+     * @param call_undo (true = call | false = undo)
+     */
+    public synchronized void add(InternalScene scene, boolean call_undo) {
+        if (isMergeable(scene)) {
+            Iterator<SceneCommand> iterator = pendingCommands.descendingIterator();
+            while (iterator.hasNext()) {
+                SceneCommand previous = iterator.next();
+                if (!affects(previous.scene, scene)) {
+                    continue;
+                }
+                if (previous.scene.getID().equals(scene.getID())) {
+                    if (previous.call_undo == call_undo) {
+                        logger.debug("Scene command {} is already waiting", scene.getID());
+                        mergedCommands++;
+                        return;
+                    }
+                    if (previous.call_undo) {
+                        logger.debug("Undo of scene {} cancels the waiting call", scene.getID());
+                        iterator.remove();
+                        mergedCommands++;
+                        return;
+                    }
+                }
+                // only the last command for the zone and group is merged
+                break;
+            }
+        }
+        pendingCommands.add(new SceneCommand(scene, call_undo, System.currentTimeMillis()));
+        scheduleNext();
+    }
+
+    /**
+     * Discards all commands, which are still waiting.
+     */
+    public synchronized void clear() {
+        if (sendJob != null) {
+            sendJob.cancel(false);
+            sendJob = null;
+        }
+        pendingCommands.clear();
+        logger.debug("Sent {} scene commands, merged {}, average wait time {} ms, max wait time {} ms", sentCommands,
+                mergedCommands, sentCommands > 0 ? totalWaitTime / sentCommands : 0, maxWaitTime);
+    }
+
+    /**
+     * Returns the number of scene commands waiting to be sent.
+     *
+     * @return queue size
+     */
+    public synchronized int getQueueSize() {
+        return pendingCommands.size();
+    }
+
+    /**
+     * Returns the longest time in milliseconds a scene command had to wait before it was sent.
+     *
+     * @return max wait time
+     */
+    public synchronized long getMaxWaitTime() {
+        return maxWaitTime;
+    }
+
+    /**
+     * Returns the number of scene commands, which have been merged with a waiting command of the same scene.
+     *
+     * @return number of merged commands
+     */
+    public synchronized long getMergedCommands() {
+        return mergedCommands;
+    }
+
+    /*
+     * Step scenes change the output relative to the current value, so each one has to be sent. Apartment scenes affect
+     * all zones and are always sent.
+     */
+    private static boolean isMergeable(InternalScene scene) {
+        if (scene.getZoneID() == 0) {
+            return false;
+        }
+        SceneEnum sceneEnum = SceneEnum.getScene(scene.getSceneID());
+        if (sceneEnum == null) {
+            return true;
+        }
+        switch (sceneEnum) {
+            case INCREMENT:
+            case DECREMENT:
+            case AREA_1_INCREMENT:
+            case AREA_1_DECREMENT:
+            case AREA_2_INCREMENT:
+            case AREA_2_DECREMENT:
+            case AREA_3_INCREMENT:
+            case AREA_3_DECREMENT:
+            case AREA_4_INCREMENT:
+            case AREA_4_DECREMENT:
+            case AREA_STEPPING_CONTINUE:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /*
+     * Returns true, if the scenes may switch the same devices. Group 0 is the broadcast group of a zone.
+     */
+    private static boolean affects(InternalScene previous, InternalScene scene) {
+        if (previous.getZoneID() == 0) {
+            return true;
+        }
+        return previous.getZoneID().equals(scene.getZoneID()) && (previous.getGroupID().equals(scene.getGroupID())
+                || previous.getGroupID() == 0 || scene.getGroupID() == 0);
+    }
+
+    private void scheduleNext() {
+        if (sendJob != null || sending || pendingCommands.isEmpty()) {
+            return;
+        }
+        long delay = Math.max(0, lastSceneCall + minInterval - System.currentTimeMillis());
+        sendJob = scheduler.schedule(this::sendNext, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void sendNext() {
+        SceneCommand command;
+        synchronized (this) {
+            sendJob = null;
+            command = pendingCommands.poll();
+            if (command == null) {
+                return;
+            }
+            sending = true;
+            lastSceneCall = System.currentTimeMillis();
+            long waitTime = lastSceneCall - command.enqueueTime;
+            sentCommands++;
+            totalWaitTime += waitTime;
+            maxWaitTime = Math.max(maxWaitTime, waitTime);
+            logger.debug("Send scene command {} after {} ms, {} commands waiting", command.scene.getID(), waitTime,
+                    pendingCommands.size());
+        }
+        try {
+            sender.send(command.scene, command.call_undo);
+        } catch (RuntimeException e) {
+            logger.debug("Sending scene command {} failed", command.scene.getID(), e);
+        } finally {
+            synchronized (this) {
+                sending = false;
+                scheduleNext();
+            }
+        }
+    }
+
+    private static class SceneCommand {
+        private final InternalScene scene;
+        private final boolean call_undo;
+        private final long enqueueTime;
+
+        private SceneCommand(InternalScene scene, boolean call_undo, long enqueueTime) {
+            this.scene = scene;
+            this.call_undo = call_undo;
+            this.enqueueTime = enqueueTime;
+        }
+    }
+}
@@ -13,18 +13,11 @@
 package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
 
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
-import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.digitalstrom.internal.lib.config.Config;
 import org.openhab.binding.digitalstrom.internal.lib.manager.ConnectionManager;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
-import org.openhab.binding.digitalstrom.internal.lib.serverconnection.DsAPI;
 import org.openhab.binding.digitalstrom.internal.lib.structure.devices.Device;
 import org.openhab.binding.digitalstrom.internal.lib.structure.devices.deviceparameters.impl.DSID;
 import org.slf4j.Logger;
@@ -34,6 +27,11 @@ import org.slf4j.LoggerFactory;
  * The {@link AbstractSensorJobExecutor} provides the working process to execute implementations of {@link SensorJob}'s
  * in the time interval set at the {@link Config}.
  * <p>
+ * The {@link SensorJob}s are queued per circuit in a {@link CircuitScheduler} and the circuits are executed by a
+ * {@link SensorJobTimingWheel}, which can be shared with other {@link AbstractSensorJobExecutor}s of the same
+ * digitalSTROM-Server to limit the total number of sensor queries.
+ * </p>
+ * <p>
  * The following methods can be overridden by subclasses to implement a execution priority:
  * </p>
  * <ul>
@@ -50,81 +48,61 @@ public abstract class AbstractSensorJobExecutor {
 
     private final Logger logger = LoggerFactory.getLogger(AbstractSensorJobExecutor.class);
 
-    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(Config.THREADPOOL_NAME);
-    private Map<DSID, ScheduledFuture<?>> pollingSchedulers;
+    private final SensorJobTimingWheel timingWheel;
+    private boolean started = false;
 
-    private final DsAPI dSAPI;
     protected Config config;
-    private final ConnectionManager connectionManager;
-
-    private final List<CircuitScheduler> circuitSchedulerList = new LinkedList<>();
 
-    private class ExecutorRunnable implements Runnable {
-        private final CircuitScheduler circuit;
+    private final Map<DSID, CircuitScheduler> circuitSchedulers = new HashMap<>();
 
-        public ExecutorRunnable(CircuitScheduler circuit) {
-            this.circuit = circuit;
-        }
-
-        @Override
-        public void run() {
-            SensorJob sensorJob = circuit.getNextSensorJob();
-            if (sensorJob != null) {
-                sensorJob.execute(dSAPI, connectionManager.getSessionToken());
-            }
-            if (circuit.noMoreJobs()) {
-                logger.debug("no more jobs... stop circuit schedduler with id = {}", circuit.getMeterDSID());
-                pollingSchedulers.get(circuit.getMeterDSID()).cancel(true);
-            }
-        }
+    /**
+     * Creates a new {@link AbstractSensorJobExecutor} with its own {@link SensorJobTimingWheel}.
+     *
+     * @param connectionManager must not be null
+     */
+    public AbstractSensorJobExecutor(ConnectionManager connectionManager) {
+        this(connectionManager,
+                new SensorJobTimingWheel(connectionManager, SensorJobTimingWheel.DEFAULT_MAX_QUERIES_PER_SECOND));
     }
 
     /**
-     * Creates a new {@link AbstractSensorJobExecutor}.
+     * Creates a new {@link AbstractSensorJobExecutor}, which executes the {@link SensorJob}s through the given
+     * {@link SensorJobTimingWheel}.
      *
      * @param connectionManager must not be null
+     * @param timingWheel must not be null
      */
-    public AbstractSensorJobExecutor(ConnectionManager connectionManager) {
-        this.connectionManager = connectionManager;
+    public AbstractSensorJobExecutor(ConnectionManager connectionManager, SensorJobTimingWheel timingWheel) {
         config = connectionManager.getConfig();
-        this.dSAPI = connectionManager.getDigitalSTROMAPI();
+        this.timingWheel = timingWheel;
     }
 
     /**
      * Stops all circuit schedulers.
      */
-    public synchronized void shutdown() {
-        if (pollingSchedulers != null) {
-            for (ScheduledFuture<?> scheduledExecutor : pollingSchedulers.values()) {
-                scheduledExecutor.cancel(true);
+    public void shutdown() {
+        synchronized (this.circuitSchedulers) {
+            if (started) {
+                started = false;
+                for (CircuitScheduler circuit : circuitSchedulers.values()) {
+                    timingWheel.remove(circuit);
+                }
+                logger.debug("stop all circuit schedulers.");
             }
-            pollingSchedulers = null;
-            logger.debug("stop all circuit schedulers.");
         }
     }
 
     /**
      * Starts all circuit schedulers.
      */
-    public synchronized void startExecutor() {
+    public void startExecutor() {
         logger.debug("start all circuit schedulers.");
-        if (pollingSchedulers == null) {
-            pollingSchedulers = new HashMap<>();
-        }
-        if (circuitSchedulerList != null && !circuitSchedulerList.isEmpty()) {
-            for (CircuitScheduler circuit : circuitSchedulerList) {
-                startSchedduler(circuit);
-            }
-        }
-    }
-
-    private void startSchedduler(CircuitScheduler circuit) {
-        if (pollingSchedulers != null) {
-            if (pollingSchedulers.get(circuit.getMeterDSID()) == null
-                    || pollingSchedulers.get(circuit.getMeterDSID()).isCancelled()) {
-                pollingSchedulers.put(circuit.getMeterDSID(),
-                        scheduler.scheduleWithFixedDelay(new ExecutorRunnable(circuit), circuit.getNextExecutionDelay(),
-                                config.getSensorReadingWaitTime(), TimeUnit.MILLISECONDS));
+        synchronized (this.circuitSchedulers) {
+            started = true;
+            for (CircuitScheduler circuit : circuitSchedulers.values()) {
+                if (!circuit.noMoreJobs()) {
+                    timingWheel.schedule(circuit);
+                }
             }
         }
     }
@@ -181,25 +159,24 @@ public abstract class AbstractSensorJobExecutor {
      * @param sensorJob to add
      */
     protected void addSensorJobToCircuitScheduler(SensorJob sensorJob) {
-        synchronized (this.circuitSchedulerList) {
-            CircuitScheduler circuit = getCircuitScheduler(sensorJob.getMeterDSID());
+        synchronized (this.circuitSchedulers) {
+            CircuitScheduler circuit = circuitSchedulers.get(sensorJob.getMeterDSID());
             if (circuit != null) {
                 circuit.addSensorJob(sensorJob);
             } else {
                 circuit = new CircuitScheduler(sensorJob, config);
-                this.circuitSchedulerList.add(circuit);
+                this.circuitSchedulers.put(sensorJob.getMeterDSID(), circuit);
+            }
+            if (started) {
+                timingWheel.schedule(circuit);
             }
-            startSchedduler(circuit);
         }
     }
 
     private CircuitScheduler getCircuitScheduler(DSID dsid) {
-        for (CircuitScheduler circuit : this.circuitSchedulerList) {
-            if (circuit.getMeterDSID().equals(dsid)) {
-                return circuit;
-            }
+        synchronized (this.circuitSchedulers) {
+            return this.circuitSchedulers.get(dsid);
         }
-        return null;
     }
 
     /**
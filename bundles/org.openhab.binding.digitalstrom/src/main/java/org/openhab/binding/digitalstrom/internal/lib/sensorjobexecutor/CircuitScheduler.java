@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
 
-import java.util.Comparator;
-import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.openhab.binding.digitalstrom.internal.lib.config.Config;
 import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
@@ -25,6 +27,10 @@ import org.slf4j.LoggerFactory;
 /**
  * This {@link CircuitScheduler} represents a circuit in the digitalSTROM-System and manages the priorities and
  * execution times for the {@link SensorJob}s on this circuit.
+ * <p>
+ * The {@link SensorJob}s are indexed by their ID and by the dSID of their device, so a job can be found, merged with a
+ * job of the same device and type or removed without searching the whole queue.
+ * </p>
  *
  * @author Michael Ochel - Initial contribution
  * @author Matthias Siegele - Initial contribution
@@ -33,17 +39,34 @@ public class CircuitScheduler {
 
     private final Logger logger = LoggerFactory.getLogger(CircuitScheduler.class);
 
-    private class SensorJobComparator implements Comparator<SensorJob> {
+    /**
+     * A queued {@link SensorJob} with the priority it was added with, so the order of the queue does not change, if
+     * the initialization time of the job is changed afterwards.
+     */
+    private static class QueuedSensorJob implements Comparable<QueuedSensorJob> {
+        private final SensorJob sensorJob;
+        private final long priority;
+        private final long sequence;
+
+        private QueuedSensorJob(SensorJob sensorJob, long sequence) {
+            this.sensorJob = sensorJob;
+            this.priority = sensorJob.getInitalisationTime();
+            this.sequence = sequence;
+        }
 
         @Override
-        public int compare(SensorJob job1, SensorJob job2) {
-            return ((Long) job1.getInitalisationTime()).compareTo(job2.getInitalisationTime());
+        public int compareTo(QueuedSensorJob other) {
+            int result = Long.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
         }
     }
 
     private final DSID meterDSID;
     private long nextExecutionTime = System.currentTimeMillis();
-    private final PriorityQueue<SensorJob> sensorJobQueue = new PriorityQueue<>(10, new SensorJobComparator());
+    private final TreeSet<QueuedSensorJob> sensorJobQueue = new TreeSet<>();
+    private final Map<String, QueuedSensorJob> sensorJobsByID = new HashMap<>();
+    private final Map<DSID, Set<String>> sensorJobIDsByDevice = new HashMap<>();
+    private long sequence = 0;
     private final Config config;
 
     /**
@@ -69,8 +92,8 @@ public class CircuitScheduler {
      */
     public CircuitScheduler(SensorJob sensorJob, Config config) {
         this.meterDSID = sensorJob.getMeterDSID();
-        this.sensorJobQueue.add(sensorJob);
         this.config = config;
+        queue(sensorJob);
         logger.debug("create circuitScheduler: {} and add sensorJob: {}", this.getMeterDSID(),
                 sensorJob.getDSID().toString());
     }
@@ -86,37 +109,45 @@ public class CircuitScheduler {
 
     /**
      * Adds a new SensorJob to this {@link CircuitScheduler}, if no {@link SensorJob} with a higher priority exists.
+     * A {@link SensorJob} with the same ID, which is already queued, is merged with the new one by keeping the higher
+     * priority.
      *
      * @param sensorJob to add
      */
-    public void addSensorJob(SensorJob sensorJob) {
-        synchronized (sensorJobQueue) {
-            if (!this.sensorJobQueue.contains(sensorJob)) {
-                sensorJobQueue.add(sensorJob);
-                logger.debug("Add sensorJob: {} to circuitScheduler: {}", sensorJob.toString(), this.getMeterDSID());
-            } else if (checkSensorJobPrio(sensorJob)) {
-                logger.debug("add sensorJob: {} with higher priority to circuitScheduler: {}", sensorJob.toString(),
-                        this.getMeterDSID());
-            } else {
-                logger.debug("sensorJob: {} allready exist with a higher priority", sensorJob.getDSID());
-            }
+    public synchronized void addSensorJob(SensorJob sensorJob) {
+        QueuedSensorJob existSensorJob = sensorJobsByID.get(sensorJob.getID());
+        if (existSensorJob == null) {
+            queue(sensorJob);
+            logger.debug("Add sensorJob: {} to circuitScheduler: {}", sensorJob.toString(), this.getMeterDSID());
+        } else if (sensorJob.getInitalisationTime() < existSensorJob.priority) {
+            remove(existSensorJob);
+            queue(sensorJob);
+            logger.debug("add sensorJob: {} with higher priority to circuitScheduler: {}", sensorJob.toString(),
+                    this.getMeterDSID());
+        } else {
+            logger.debug("sensorJob: {} allready exist with a higher priority", sensorJob.getDSID());
         }
     }
 
-    private boolean checkSensorJobPrio(SensorJob sensorJob) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob existSensorJob = iter.next();
-                if (existSensorJob.equals(sensorJob)) {
-                    if (sensorJob.getInitalisationTime() < existSensorJob.getInitalisationTime()) {
-                        iter.remove();
-                        sensorJobQueue.add(sensorJob);
-                        return true;
-                    }
-                }
+    private void queue(SensorJob sensorJob) {
+        QueuedSensorJob queuedSensorJob = new QueuedSensorJob(sensorJob, sequence++);
+        sensorJobQueue.add(queuedSensorJob);
+        sensorJobsByID.put(sensorJob.getID(), queuedSensorJob);
+        sensorJobIDsByDevice.computeIfAbsent(sensorJob.getDSID(), dSID -> new LinkedHashSet<>())
+                .add(sensorJob.getID());
+    }
+
+    private void remove(QueuedSensorJob queuedSensorJob) {
+        SensorJob sensorJob = queuedSensorJob.sensorJob;
+        sensorJobQueue.remove(queuedSensorJob);
+        sensorJobsByID.remove(sensorJob.getID());
+        Set<String> deviceSensorJobIDs = sensorJobIDsByDevice.get(sensorJob.getDSID());
+        if (deviceSensorJobIDs != null) {
+            deviceSensorJobIDs.remove(sensorJob.getID());
+            if (deviceSensorJobIDs.isEmpty()) {
+                sensorJobIDsByDevice.remove(sensorJob.getDSID());
             }
         }
-        return false;
     }
 
     /**
@@ -125,14 +156,14 @@ public class CircuitScheduler {
      *
      * @return next SensorJob or null
      */
-    public SensorJob getNextSensorJob() {
-        synchronized (sensorJobQueue) {
-            if (sensorJobQueue.peek() != null && this.nextExecutionTime <= System.currentTimeMillis()) {
-                nextExecutionTime = System.currentTimeMillis() + config.getSensorReadingWaitTime();
-                return sensorJobQueue.poll();
-            } else {
-                return null;
-            }
+    public synchronized SensorJob getNextSensorJob() {
+        if (!sensorJobQueue.isEmpty() && this.nextExecutionTime <= System.currentTimeMillis()) {
+            nextExecutionTime = System.currentTimeMillis() + config.getSensorReadingWaitTime();
+            QueuedSensorJob queuedSensorJob = sensorJobQueue.first();
+            remove(queuedSensorJob);
+            return queuedSensorJob.sensorJob;
+        } else {
+            return null;
         }
     }
 
@@ -141,7 +172,7 @@ public class CircuitScheduler {
      *
      * @return next SesnorJob execution time
      */
-    public Long getNextExecutionTime() {
+    public synchronized Long getNextExecutionTime() {
         return this.nextExecutionTime;
     }
 
@@ -150,7 +181,7 @@ public class CircuitScheduler {
      *
      * @return next SesnorJob execution delay
      */
-    public Long getNextExecutionDelay() {
+    public synchronized Long getNextExecutionDelay() {
         long delay = this.nextExecutionTime - System.currentTimeMillis();
         return delay > 0 ? delay : 0;
     }
@@ -160,13 +191,14 @@ public class CircuitScheduler {
      *
      * @param dSID of the device
      */
-    public void removeSensorJob(DSID dSID) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob job = iter.next();
-                if (job.getDSID().equals(dSID)) {
-                    iter.remove();
-                    logger.debug("Remove SensorJob with ID {}.", job.getID());
+    public synchronized void removeSensorJob(DSID dSID) {
+        Set<String> deviceSensorJobIDs = sensorJobIDsByDevice.remove(dSID);
+        if (deviceSensorJobIDs != null) {
+            for (String id : deviceSensorJobIDs) {
+                QueuedSensorJob queuedSensorJob = sensorJobsByID.remove(id);
+                if (queuedSensorJob != null) {
+                    sensorJobQueue.remove(queuedSensorJob);
+                    logger.debug("Remove SensorJob with ID {}.", id);
                 }
             }
         }
@@ -177,28 +209,31 @@ public class CircuitScheduler {
      *
      * @param id of the {@link SensorJob}
      */
-    public void removeSensorJob(String id) {
-        synchronized (sensorJobQueue) {
-            for (Iterator<SensorJob> iter = sensorJobQueue.iterator(); iter.hasNext();) {
-                SensorJob job = iter.next();
-                if (job.getID().equals(id)) {
-                    iter.remove();
-                    logger.debug("Remove SensorJob with ID {}.", id);
-                    return;
-                }
-            }
+    public synchronized void removeSensorJob(String id) {
+        QueuedSensorJob queuedSensorJob = sensorJobsByID.get(id);
+        if (queuedSensorJob != null) {
+            remove(queuedSensorJob);
+            logger.debug("Remove SensorJob with ID {}.", id);
+        } else {
             logger.debug("No SensorJob with ID {} found, cannot remove a not existing SensorJob.", id);
         }
     }
 
+    /**
+     * Returns the number of {@link SensorJob}s waiting to be executed.
+     *
+     * @return number of SensorJobs
+     */
+    public synchronized int getSensorJobCount() {
+        return sensorJobQueue.size();
+    }
+
     /**
      * Returns true, if there are no more {@link SensorJob}s to execute, otherwise false.
      *
      * @return no more SensorJobs? (true | false)
      */
-    public boolean noMoreJobs() {
-        synchronized (sensorJobQueue) {
-            return this.sensorJobQueue.isEmpty();
-        }
+    public synchronized boolean noMoreJobs() {
+        return this.sensorJobQueue.isEmpty();
     }
 }
@@ -48,6 +48,17 @@ public class SceneReadingJobExecutor extends AbstractSensorJobExecutor {
         super(connectionManager);
     }
 
+    /**
+     * Creates a new {@link SceneReadingJobExecutor}, which executes the {@link SensorJob}s through the given
+     * {@link SensorJobTimingWheel}.
+     *
+     * @param connectionManager must not be null
+     * @param timingWheel must not be null
+     */
+    public SceneReadingJobExecutor(ConnectionManager connectionManager, SensorJobTimingWheel timingWheel) {
+        super(connectionManager, timingWheel);
+    }
+
     @Override
     public void addHighPriorityJob(SensorJob sensorJob) {
         if (sensorJob == null) {
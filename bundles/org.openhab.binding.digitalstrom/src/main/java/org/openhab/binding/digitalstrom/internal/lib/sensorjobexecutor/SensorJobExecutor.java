@@ -51,6 +51,17 @@ public class SensorJobExecutor extends AbstractSensorJobExecutor {
         super(connectionManager);
     }
 
+    /**
+     * Creates a new {@link SensorJobExecutor}, which executes the {@link SensorJob}s through the given
+     * {@link SensorJobTimingWheel}.
+     *
+     * @param connectionManager must not be null
+     * @param timingWheel must not be null
+     */
+    public SensorJobExecutor(ConnectionManager connectionManager, SensorJobTimingWheel timingWheel) {
+        super(connectionManager, timingWheel);
+    }
+
     @Override
     public void addHighPriorityJob(SensorJob sensorJob) {
         if (sensorJob == null) {
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.digitalstrom.internal.lib.config.Config;
+import org.openhab.binding.digitalstrom.internal.lib.manager.ConnectionManager;
+import org.openhab.binding.digitalstrom.internal.lib.sensorjobexecutor.sensorjob.SensorJob;
+import org.openhab.binding.digitalstrom.internal.lib.serverconnection.DsAPI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link SensorJobTimingWheel} executes the {@link SensorJob}s of all {@link CircuitScheduler}s of a
+ * digitalSTROM-Server with a single timer.
+ * <p>
+ * Each {@link CircuitScheduler}, which has {@link SensorJob}s to execute, is placed into the slot of a timing wheel for
+ * the tick at which its next {@link SensorJob} can be executed. On every tick the due {@link CircuitScheduler}s of the
+ * current slot are moved to a queue and at most one {@link SensorJob} is executed. So the number of queries sent to
+ * the digitalSTROM-Server is limited to the given number of queries per second, no matter how many circuits are due at
+ * the same time, and the queries are spread evenly instead of being sent in bursts.
+ * </p>
+ * <p>
+ * The timer only runs while {@link CircuitScheduler}s are scheduled.
+ * </p>
+ *
+ * @author agent - Initial contribution
+ */
+public class SensorJobTimingWheel {
+
+    private final Logger logger = LoggerFactory.getLogger(SensorJobTimingWheel.class);
+
+    /**
+     * Default maximum number of {@link SensorJob}s executed per second on a digitalSTROM-Server.
+     */
+    public static final int DEFAULT_MAX_QUERIES_PER_SECOND = 5;
+
+    private static final int WHEEL_SIZE = 512;
+    private static final long DUE = -1;
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(Config.THREADPOOL_NAME);
+    private ScheduledFuture<?> ticker;
+
+    private final ConnectionManager connectionManager;
+    private final DsAPI dSAPI;
+    private final long tickDuration;
+
+    private final List<Set<CircuitScheduler>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Map<CircuitScheduler, Long> scheduledTicks = new HashMap<>();
+    private final Deque<CircuitScheduler> dueCircuits = new ArrayDeque<>();
+    private long currentTick = 0;
+    private CircuitScheduler executingCircuit;
+    private boolean executingCircuitRemoved = false;
+
+    private long executedJobs = 0;
+    private int maxDueCircuits = 0;
+
+    /**
+     * Creates a new {@link SensorJobTimingWheel}.
+     *
+     * @param connectionManager must not be null
+     * @param maxQueriesPerSecond maximum number of {@link SensorJob}s executed per second
+     */
+    public SensorJobTimingWheel(ConnectionManager connectionManager, int maxQueriesPerSecond) {
+        this.connectionManager = connectionManager;
+        this.dSAPI = connectionManager.getDigitalSTROMAPI();
+        this.tickDuration = Math.max(1, 1000 / Math.max(1, maxQueriesPerSecond));
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Schedules the given {@link CircuitScheduler} for the execution time of its next {@link SensorJob}, if it is not
+     * scheduled yet.
+     *
+     * @param circuit to schedule
+     */
+    public synchronized void schedule(CircuitScheduler circuit) {
+        if (circuit == executingCircuit) {
+            // will be rescheduled after the execution
+            executingCircuitRemoved = false;
+            return;
+        }
+        if (scheduledTicks.containsKey(circuit)) {
+            return;
+        }
+        place(circuit);
+        if (ticker == null) {
+            ticker = scheduler.scheduleWithFixedDelay(this::tick, tickDuration, tickDuration, TimeUnit.MILLISECONDS);
+            logger.debug("start sensor job timing wheel with a tick duration of {} ms", tickDuration);
+        }
+    }
+
+    /**
+     * Removes the given {@link CircuitScheduler} from the timing wheel. The {@link SensorJob}s of the
+     * {@link CircuitScheduler} are kept.
+     *
+     * @param circuit to remove
+     */
+    public synchronized void remove(CircuitScheduler circuit) {
+        if (circuit == executingCircuit) {
+            executingCircuitRemoved = true;
+            return;
+        }
+        Long tick = scheduledTicks.remove(circuit);
+        if (tick == null) {
+            return;
+        }
+        if (tick == DUE) {
+            dueCircuits.remove(circuit);
+        } else {
+            wheel.get(getSlot(tick)).remove(circuit);
+        }
+    }
+
+    /**
+     * Returns the number of scheduled {@link CircuitScheduler}s.
+     *
+     * @return number of scheduled circuits
+     */
+    public synchronized int getScheduledCircuitCount() {
+        return scheduledTicks.size();
+    }
+
+    private void place(CircuitScheduler circuit) {
+        long ticks = (circuit.getNextExecutionDelay() + tickDuration - 1) / tickDuration;
+        if (ticks == 0) {
+            scheduledTicks.put(circuit, DUE);
+            dueCircuits.add(circuit);
+        } else {
+            long tick = currentTick + ticks;
+            scheduledTicks.put(circuit, tick);
+            wheel.get(getSlot(tick)).add(circuit);
+        }
+    }
+
+    private int getSlot(long tick) {
+        return (int) (tick % WHEEL_SIZE);
+    }
+
+    private void tick() {
+        CircuitScheduler circuit;
+        synchronized (this) {
+            currentTick++;
+            for (Iterator<CircuitScheduler> iter = wheel.get(getSlot(currentTick)).iterator(); iter.hasNext();) {
+                CircuitScheduler scheduled = iter.next();
+                if (scheduledTicks.get(scheduled) <= currentTick) {
+                    iter.remove();
+                    scheduledTicks.put(scheduled, DUE);
+                    dueCircuits.add(scheduled);
+                }
+            }
+            if (dueCircuits.size() > maxDueCircuits) {
+                maxDueCircuits = dueCircuits.size();
+                logger.debug("{} circuits are waiting for the execution of a sensor job", maxDueCircuits);
+            }
+            circuit = dueCircuits.poll();
+            if (circuit == null) {
+                if (scheduledTicks.isEmpty()) {
+                    ticker.cancel(false);
+                    ticker = null;
+                    logger.debug("no more jobs... stop sensor job timing wheel after {} executed jobs", executedJobs);
+                }
+                return;
+            }
+            scheduledTicks.remove(circuit);
+            executingCircuit = circuit;
+            executingCircuitRemoved = false;
+        }
+        try {
+            SensorJob sensorJob = circuit.getNextSensorJob();
+            if (sensorJob != null) {
+                sensorJob.execute(dSAPI, connectionManager.getSessionToken());
+                synchronized (this) {
+                    executedJobs++;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Execution of a sensor job of circuit {} failed", circuit.getMeterDSID(), e);
+        } finally {
+            synchronized (this) {
+                executingCircuit = null;
+                if (!executingCircuitRemoved && !circuit.noMoreJobs()) {
+                    place(circuit);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.digitalstrom.internal.lib.manager.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.digitalstrom.internal.lib.structure.scene.InternalScene;
+import org.openhab.binding.digitalstrom.internal.lib.structure.scene.constants.SceneEnum;
+
+/**
+ * Tests {@link SceneCommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SceneCommandQueueTest {
+
+    private static final long WAIT_MILLIS = 2000;
+    private static final short GROUP_LIGHT = 1;
+    private static final short GROUP_SHADE = 2;
+
+    private final BlockingQueue<String> sentCommands = new LinkedBlockingQueue<>();
+    private final CountDownLatch firstCommandSent = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstCommand = new CountDownLatch(1);
+    private ScheduledExecutorService scheduler;
+    private SceneCommandQueue queue;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        queue = new SceneCommandQueue((scene, call_undo) -> {
+            sentCommands.add((call_undo ? "call " : "undo ") + scene.getID());
+            firstCommandSent.countDown();
+            try {
+                // the following commands are queued while the first one is sent
+                releaseFirstCommand.await(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, scheduler, 0);
+        queue.add(scene(9, GROUP_LIGHT, SceneEnum.DEEP_OFF), true);
+        assertTrue(firstCommandSent.await(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals("call 9-1-" + SceneEnum.DEEP_OFF.getSceneNumber(), sentCommands.poll());
+    }
+
+    @After
+    public void tearDown() {
+        releaseFirstCommand.countDown();
+        queue.clear();
+        scheduler.shutdownNow();
+    }
+
+    private static InternalScene scene(int zoneID, short groupID, SceneEnum scene) {
+        return new InternalScene(zoneID, groupID, scene.getSceneNumber(), null);
+    }
+
+    private void assertSent(String... commands) throws InterruptedException {
+        releaseFirstCommand.countDown();
+        for (String command : commands) {
+            assertEquals(command, sentCommands.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        }
+        assertNull(sentCommands.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.getQueueSize());
+    }
+
+    @Test
+    public void testSameCommandIsQueuedOnce() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+
+        assertEquals(1, queue.getQueueSize());
+        assertEquals(1, queue.getMergedCommands());
+        assertSent("call 1-1-5");
+    }
+
+    @Test
+    public void testDifferentScenesAreNotMerged() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_0), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+
+        assertEquals(0, queue.getMergedCommands());
+        assertSent("call 1-1-5", "call 1-1-0", "call 1-1-5");
+    }
+
+    @Test
+    public void testUndoCancelsWaitingCall() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+        queue.add(scene(1, GROUP_SHADE, SceneEnum.PRESET_1), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), false);
+
+        assertEquals(1, queue.getMergedCommands());
+        assertSent("call 1-2-5");
+    }
+
+    @Test
+    public void testUndoAfterCallOfOtherSceneIsQueued() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_0), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), false);
+
+        assertSent("call 1-1-5", "call 1-1-0", "undo 1-1-5");
+    }
+
+    @Test
+    public void testCallAfterUndoIsQueued() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), false);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+
+        assertSent("undo 1-1-5", "call 1-1-5");
+    }
+
+    @Test
+    public void testStepScenesAreNotMerged() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.INCREMENT), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.INCREMENT), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.AREA_1_DECREMENT), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.AREA_1_DECREMENT), false);
+
+        assertEquals(0, queue.getMergedCommands());
+        assertSent("call 1-1-12", "call 1-1-12", "call 1-1-42", "undo 1-1-42");
+    }
+
+    @Test
+    public void testApartmentScenesAreNotMerged() throws InterruptedException {
+        queue.add(scene(0, (short) 0, SceneEnum.DEEP_OFF), true);
+        queue.add(scene(0, (short) 0, SceneEnum.DEEP_OFF), true);
+
+        assertEquals(0, queue.getMergedCommands());
+        assertSent("call 0-0-68", "call 0-0-68");
+    }
+
+    @Test
+    public void testCommandAfterApartmentSceneIsNotMerged() throws InterruptedException {
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+        queue.add(scene(0, (short) 0, SceneEnum.DEEP_OFF), true);
+        queue.add(scene(1, GROUP_LIGHT, SceneEnum.PRESET_1), true);
+
+        assertSent("call 1-1-5", "call 0-0-68", "call 1-1-5");
+    }
+}
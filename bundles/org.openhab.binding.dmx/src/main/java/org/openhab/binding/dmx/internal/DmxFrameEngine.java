@@ -0,0 +1,174 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dmx.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link DmxFrameEngine} calculates and sends the frames of all DMX bridges. Bridges with the same refresh time
+ * share a single timer. On each tick the frame of every bridge is calculated and sent in its own task, so a bridge
+ * with a blocking connection does not delay the others. A bridge still sending its previous frame skips the tick.
+ *
+ * The send time of each frame and the skipped frames are measured and a summary is logged once a minute.
+ *
+ * @author agent - Initial contribution
+ */
+public class DmxFrameEngine {
+    private static final String THREADPOOL_NAME = "dmx";
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(DmxFrameEngine.class);
+
+    private final ScheduledExecutorService scheduler;
+    private final Map<Integer, FrameGroup> frameGroups = new HashMap<>();
+
+    public DmxFrameEngine() {
+        this(ThreadPoolManager.getScheduledPool(THREADPOOL_NAME));
+    }
+
+    DmxFrameEngine(ScheduledExecutorService scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * register a bridge for sending its frames
+     *
+     * @param bridge the bridge handler
+     * @param refreshTime time in ms between two frames
+     */
+    public synchronized void register(DmxBridgeHandler bridge, int refreshTime) {
+        unregister(bridge);
+        FrameGroup frameGroup = frameGroups.get(refreshTime);
+        if (frameGroup == null) {
+            frameGroup = new FrameGroup(refreshTime);
+            frameGroups.put(refreshTime, frameGroup);
+            frameGroup.job = scheduler.scheduleAtFixedRate(frameGroup, 1, refreshTime, TimeUnit.MILLISECONDS);
+            logger.debug("started frame engine with refresh time {} ms", refreshTime);
+        }
+        frameGroup.senders.add(frameGroup.new FrameSender(bridge));
+    }
+
+    /**
+     * stop sending the frames of a bridge
+     *
+     * @param bridge the bridge handler
+     */
+    public synchronized void unregister(DmxBridgeHandler bridge) {
+        Iterator<FrameGroup> iterator = frameGroups.values().iterator();
+        while (iterator.hasNext()) {
+            FrameGroup frameGroup = iterator.next();
+            if (frameGroup.senders.removeIf(sender -> sender.bridge == bridge) && frameGroup.senders.isEmpty()) {
+                frameGroup.job.cancel(false);
+                iterator.remove();
+                logger.debug("stopped frame engine with refresh time {} ms", frameGroup.refreshTime);
+            }
+        }
+    }
+
+    /**
+     * all bridges with the same refresh time
+     */
+    private class FrameGroup implements Runnable {
+        private final int refreshTime;
+        private final List<FrameSender> senders = new CopyOnWriteArrayList<>();
+        private ScheduledFuture<?> job;
+
+        private long statisticsStart = 0;
+        private long frames = 0;
+        private long totalSendNanos = 0;
+        private long maxSendNanos = 0;
+        private long skippedFrames = 0;
+
+        public FrameGroup(int refreshTime) {
+            this.refreshTime = refreshTime;
+        }
+
+        @Override
+        public void run() {
+            for (FrameSender sender : senders) {
+                if (sender.sending.compareAndSet(false, true)) {
+                    scheduler.execute(sender);
+                } else {
+                    logger.trace("bridge {} is still sending its previous frame", sender.bridge.getThing().getUID());
+                    synchronized (this) {
+                        skippedFrames++;
+                    }
+                }
+            }
+            logStatistics();
+        }
+
+        private synchronized void frameSent(long sendNanos) {
+            frames++;
+            totalSendNanos += sendNanos;
+            maxSendNanos = Math.max(maxSendNanos, sendNanos);
+        }
+
+        private synchronized void logStatistics() {
+            long now = System.nanoTime();
+            if (statisticsStart == 0) {
+                statisticsStart = now;
+            } else if (now - statisticsStart > STATISTICS_INTERVAL) {
+                logger.debug(
+                        "frame engine with refresh time {} ms sent {} frames of {} bridges: average {} µs, max {} µs, {} skipped frames",
+                        refreshTime, frames, senders.size(), frames > 0 ? totalSendNanos / frames / 1000 : 0,
+                        maxSendNanos / 1000, skippedFrames);
+                statisticsStart = now;
+                frames = 0;
+                totalSendNanos = 0;
+                maxSendNanos = 0;
+                skippedFrames = 0;
+            }
+        }
+
+        /**
+         * sends the frames of a single bridge
+         */
+        private class FrameSender implements Runnable {
+            private final DmxBridgeHandler bridge;
+            private final AtomicBoolean sending = new AtomicBoolean();
+
+            public FrameSender(DmxBridgeHandler bridge) {
+                this.bridge = bridge;
+            }
+
+            @Override
+            public void run() {
+                long start = System.nanoTime();
+                try {
+                    bridge.sendFrame();
+                } catch (RuntimeException e) {
+                    logger.warn("sending frame of bridge {} failed", bridge.getThing().getUID(), e);
+                } finally {
+                    sending.set(false);
+                }
+                long sendNanos = System.nanoTime() - start;
+                logger.trace("frame of bridge {} calculated and sent in {} µs", bridge.getThing().getUID(),
+                        sendNanos / 1000);
+                frameSent(sendNanos);
+            }
+        }
+    }
+}
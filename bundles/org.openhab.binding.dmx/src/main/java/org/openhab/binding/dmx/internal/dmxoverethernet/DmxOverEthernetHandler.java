@@ -43,6 +43,7 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
     protected boolean refreshAlways = false;
 
     DatagramSocket socket = null;
+    private DatagramPacket sendPacket = null;
     private long lastSend = 0;
     private int repeatCounter = 0;
     private int sequenceNo = 0;
@@ -101,10 +102,15 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
                 repeatCounter++;
             }
             if (needsSending) {
-                packetTemplate.setPayload(universe.getBuffer(), universe.getBufferSize());
+                packetTemplate.setPayload(universe);
                 packetTemplate.setSequence(sequenceNo);
-                DatagramPacket sendPacket = new DatagramPacket(packetTemplate.getRawPacket(),
-                        packetTemplate.getPacketLength());
+                DatagramPacket sendPacket = this.sendPacket;
+                if (sendPacket == null || sendPacket.getData() != packetTemplate.getRawPacket()) {
+                    sendPacket = new DatagramPacket(packetTemplate.getRawPacket(), packetTemplate.getPacketLength());
+                    this.sendPacket = sendPacket;
+                } else {
+                    sendPacket.setLength(packetTemplate.getPacketLength());
+                }
                 for (IpNode receiverNode : receiverNodes) {
                     sendPacket.setAddress(receiverNode.getAddress());
                     sendPacket.setPort(receiverNode.getPort());
@@ -116,6 +122,7 @@ public abstract class DmxOverEthernetHandler extends DmxBridgeHandler {
                         logger.debug("Could not send to {} in {}: {}", receiverNode, this.thing.getUID(),
                                 e.getMessage());
                         closeConnection(ThingStatusDetail.COMMUNICATION_ERROR, "could not send DMX data");
+                        return;
                     }
                 }
                 lastSend = now;
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.dmx.internal.dmxoverethernet;
 
+import org.openhab.binding.dmx.internal.multiverse.Universe;
+
 /**
  * The {@link DmxOverEthernetPacket} is an abstract class for
  * DMX over Ethernet packets (ArtNet, sACN)
@@ -60,6 +62,25 @@ public abstract class DmxOverEthernetPacket {
      */
     public abstract void setPayload(byte[] payload, int payloadSize);
 
+    /**
+     * set payload data directly from the universe buffer, without an intermediate array
+     *
+     * @param universe the universe containing the DMX channel data
+     */
+    public void setPayload(Universe universe) {
+        if (universe.getBufferSize() != payloadSize) {
+            setPayloadSize(universe.getBufferSize());
+        }
+        universe.copyBuffer(rawPacket, getPayloadOffset(), payloadSize);
+    }
+
+    /**
+     * get position of the DMX payload in the packet
+     *
+     * @return offset of the first DMX channel in the raw packet
+     */
+    protected abstract int getPayloadOffset();
+
     /**
      * get packet for transmission
      *
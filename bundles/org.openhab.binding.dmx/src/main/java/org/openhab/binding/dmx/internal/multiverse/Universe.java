@@ -45,7 +45,7 @@ public class Universe {
     private int refreshTime = DEFAULT_REFRESH_TIME;
 
     private final List<DmxChannel> channels = new ArrayList<>();
-    private final List<Integer> applyCurve = new ArrayList<>();
+    private volatile boolean[] applyCurve = new boolean[MAX_UNIVERSE_SIZE];
 
     /**
      * universe constructor
@@ -177,6 +177,7 @@ public class Universe {
      * @param time the timestamp used for calculation
      */
     public void calculateBuffer(long time) {
+        boolean[] curveChannels = applyCurve;
         universeLock.lock();
         try {
             for (DmxChannel channel : channels) {
@@ -184,7 +185,7 @@ public class Universe {
                 int channelId = channel.getChannelId();
                 int vx = channel.getNewHiResValue(time);
                 int value;
-                if (applyCurve.contains(channelId)) {
+                if (curveChannels[channelId - 1]) {
                     value = cie1931Curve[vx];
                 } else {
                     value = vx >> 8;
@@ -206,15 +207,26 @@ public class Universe {
      */
     public byte[] getBuffer() {
         byte[] b = new byte[bufferSize];
+        copyBuffer(b, 0, b.length);
+        return b;
+    }
+
+    /**
+     * copy the universe buffer to a given array, e.g. the payload of a packet
+     *
+     * @param target array to copy the channel values to
+     * @param offset position of the first channel in the target array
+     * @param length number of channels to copy
+     */
+    public void copyBuffer(byte[] target, int offset, int length) {
         universeLock.lock();
         try {
-            for (int i = 0; i < bufferSize; i++) {
-                b[i] = (byte) buffer[i];
+            for (int i = 0; i < length; i++) {
+                target[offset + i] = (byte) buffer[i];
             }
         } finally {
             universeLock.unlock();
         }
-        return b;
     }
 
     /**
@@ -223,11 +235,14 @@ public class Universe {
      * @param listString
      */
     public void setDimCurveChannels(String listString) {
-        applyCurve.clear();
+        boolean[] newApplyCurve = new boolean[MAX_UNIVERSE_SIZE];
+        List<Integer> channelIds = new ArrayList<>();
         for (BaseDmxChannel channel : BaseDmxChannel.fromString(listString, universeId)) {
-            applyCurve.add(channel.getChannelId());
+            newApplyCurve[channel.getChannelId() - 1] = true;
+            channelIds.add(channel.getChannelId());
         }
-        logger.debug("applying dim curve in universe {} to channels {}", universeId, applyCurve);
+        applyCurve = newApplyCurve;
+        logger.debug("applying dim curve in universe {} to channels {}", universeId, channelIds);
     }
 
     /**
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.dmx.internal;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.smarthome.core.thing.Bridge;
+import org.eclipse.smarthome.core.thing.ThingUID;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link DmxFrameEngine}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DmxFrameEngineTest {
+    private static final int REFRESH_TIME = 10;
+    private static final long WAIT_MILLIS = 2000;
+
+    private ScheduledExecutorService scheduler;
+    private DmxFrameEngine frameEngine;
+    private final CountDownLatch releaseBlockingBridge = new CountDownLatch(1);
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newScheduledThreadPool(4);
+        frameEngine = new DmxFrameEngine(scheduler);
+    }
+
+    @After
+    public void tearDown() {
+        releaseBlockingBridge.countDown();
+        scheduler.shutdownNow();
+    }
+
+    private DmxBridgeHandler mockBridge(String id, AtomicInteger sentFrames) {
+        DmxBridgeHandler bridge = mock(DmxBridgeHandler.class);
+        Bridge thing = mock(Bridge.class);
+        when(thing.getUID()).thenReturn(new ThingUID(DmxBindingConstants.BINDING_ID, "test-bridge", id));
+        when(bridge.getThing()).thenReturn(thing);
+        doAnswer(invocation -> sentFrames.incrementAndGet()).when(bridge).sendFrame();
+        return bridge;
+    }
+
+    private static void awaitFrames(AtomicInteger sentFrames, int frames) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (sentFrames.get() < frames) {
+            assertTrue(frames + " frames not sent", System.currentTimeMillis() < deadline);
+            Thread.sleep(REFRESH_TIME);
+        }
+    }
+
+    @Test
+    public void assertFramesAreSentPeriodically() throws InterruptedException {
+        AtomicInteger sentFrames = new AtomicInteger();
+        frameEngine.register(mockBridge("a", sentFrames), REFRESH_TIME);
+
+        awaitFrames(sentFrames, 10);
+    }
+
+    @Test
+    public void assertBlockingBridgeDoesNotDelayOtherBridges() throws InterruptedException {
+        AtomicInteger blockedFrames = new AtomicInteger();
+        DmxBridgeHandler blockingBridge = mockBridge("blocking", blockedFrames);
+        doAnswer(invocation -> {
+            blockedFrames.incrementAndGet();
+            releaseBlockingBridge.await(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            return null;
+        }).when(blockingBridge).sendFrame();
+        AtomicInteger sentFrames = new AtomicInteger();
+        frameEngine.register(blockingBridge, REFRESH_TIME);
+        frameEngine.register(mockBridge("b", sentFrames), REFRESH_TIME);
+
+        awaitFrames(sentFrames, 10);
+        // the blocking bridge skips the ticks until its frame is sent
+        assertEquals(1, blockedFrames.get());
+
+        releaseBlockingBridge.countDown();
+        awaitFrames(blockedFrames, 3);
+    }
+
+    @Test
+    public void assertFailingBridgeKeepsSending() throws InterruptedException {
+        AtomicInteger failedFrames = new AtomicInteger();
+        DmxBridgeHandler failingBridge = mockBridge("failing", failedFrames);
+        doAnswer(invocation -> {
+            failedFrames.incrementAndGet();
+            throw new IllegalStateException("connection lost");
+        }).when(failingBridge).sendFrame();
+        frameEngine.register(failingBridge, REFRESH_TIME);
+
+        awaitFrames(failedFrames, 3);
+    }
+
+    @Test
+    public void assertUnregisteredBridgeIsNotSentAnymore() throws InterruptedException {
+        AtomicInteger sentFrames = new AtomicInteger();
+        DmxBridgeHandler bridge = mockBridge("a", sentFrames);
+        AtomicInteger otherFrames = new AtomicInteger();
+        frameEngine.register(bridge, REFRESH_TIME);
+        frameEngine.register(mockBridge("b", otherFrames), 2 * REFRESH_TIME);
+        awaitFrames(sentFrames, 1);
+
+        frameEngine.unregister(bridge);
+        // a frame may still be in progress
+        Thread.sleep(5 * REFRESH_TIME);
+        int frames = sentFrames.get();
+        int framesOfOtherBridge = otherFrames.get();
+        Thread.sleep(10 * REFRESH_TIME);
+
+        assertEquals(frames, sentFrames.get());
+        assertTrue(otherFrames.get() > framesOfOtherBridge);
+    }
+}
@@ -34,4 +34,7 @@ public class ExecBindingConstants {
     public static final String EXIT = "exit";
     public static final String RUN = "run";
     public static final String LAST_EXECUTION = "lastexecution";
+
+    // Binding configuration
+    public static final String MAX_CONCURRENT_EXECUTIONS = "maxConcurrentExecutions";
 }
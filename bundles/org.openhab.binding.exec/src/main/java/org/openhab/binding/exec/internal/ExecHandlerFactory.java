@@ -12,9 +12,11 @@
  */
 package org.openhab.binding.exec.internal;
 
-import static org.openhab.binding.exec.internal.ExecBindingConstants.THING_COMMAND;
+import static org.openhab.binding.exec.internal.ExecBindingConstants.*;
 
+import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,9 +26,11 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandlerFactory;
 import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.thing.binding.ThingHandlerFactory;
+import org.openhab.binding.exec.internal.handler.ExecExecutionLimit;
 import org.openhab.binding.exec.internal.handler.ExecHandler;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,10 +47,29 @@ public class ExecHandlerFactory extends BaseThingHandlerFactory {
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(THING_COMMAND);
     private final Logger logger = LoggerFactory.getLogger(ExecHandlerFactory.class);
     private final ExecWhitelistWatchService execWhitelistWatchService;
+    private final ExecExecutionLimit executionLimit = new ExecExecutionLimit(ExecExecutionLimit.UNLIMITED);
 
     @Activate
-    public ExecHandlerFactory(@Reference ExecWhitelistWatchService execWhitelistWatchService) {
+    public ExecHandlerFactory(@Reference ExecWhitelistWatchService execWhitelistWatchService,
+            Map<String, Object> config) {
         this.execWhitelistWatchService = execWhitelistWatchService;
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        // the limit is updated instead of replaced, so it applies to the handlers already created
+        int maxConcurrentExecutions = ExecExecutionLimit.UNLIMITED;
+        Object value = config.get(MAX_CONCURRENT_EXECUTIONS);
+        if (value != null) {
+            try {
+                maxConcurrentExecutions = new BigDecimal(value.toString()).intValue();
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid value '{}' of {}, commands are not limited", value, MAX_CONCURRENT_EXECUTIONS);
+            }
+        }
+        executionLimit.setMaxConcurrentExecutions(maxConcurrentExecutions);
+        logger.debug("Maximum number of concurrent executions is {}", maxConcurrentExecutions);
     }
 
     @Override
@@ -59,7 +82,7 @@ public class ExecHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(THING_COMMAND)) {
-            return new ExecHandler(thing, execWhitelistWatchService);
+            return new ExecHandler(thing, execWhitelistWatchService, executionLimit);
         }
 
         return null;
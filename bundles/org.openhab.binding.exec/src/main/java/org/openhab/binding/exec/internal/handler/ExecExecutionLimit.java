@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * The {@link ExecExecutionLimit} limits the number of commands executed at the same time by all things. The same
+ * instance is shared by all handlers, so a changed limit applies to all of them immediately.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecExecutionLimit {
+    /**
+     * No limit, all commands are executed immediately
+     */
+    public static final int UNLIMITED = 0;
+
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile int maxConcurrentExecutions;
+
+    public ExecExecutionLimit(int maxConcurrentExecutions) {
+        this.maxConcurrentExecutions = maxConcurrentExecutions;
+    }
+
+    /**
+     * Set the maximum number of commands executed at the same time. Commands already running are not affected.
+     *
+     * @param maxConcurrentExecutions the maximum number or {@link #UNLIMITED}
+     */
+    public void setMaxConcurrentExecutions(int maxConcurrentExecutions) {
+        this.maxConcurrentExecutions = maxConcurrentExecutions;
+    }
+
+    public int getMaxConcurrentExecutions() {
+        return maxConcurrentExecutions;
+    }
+
+    /**
+     * Acquire a slot for a command without waiting. It must be released by {@link #release()}.
+     *
+     * @return false if the maximum number of commands is already running
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = running.get();
+            int max = maxConcurrentExecutions;
+            if (max > UNLIMITED && current >= max) {
+                return false;
+            }
+            if (running.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        running.decrementAndGet();
+    }
+}
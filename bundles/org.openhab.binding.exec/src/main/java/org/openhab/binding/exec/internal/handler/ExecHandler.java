@@ -24,6 +24,7 @@ import java.util.Calendar;
 import java.util.IllegalFormatException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
@@ -59,7 +60,7 @@ import org.slf4j.LoggerFactory;
  * @author Jan N. Klug - Add command whitelist check
  */
 @NonNullByDefault
-public class ExecHandler extends BaseThingHandler {
+public class ExecHandler extends BaseThingHandler implements ExecStreamingProcess.Listener {
     /**
      * Use this to separate between command and parameter, and also between parameters.
      */
@@ -82,19 +83,45 @@ public class ExecHandler extends BaseThingHandler {
     public static final String COMMAND = "command";
     public static final String TRANSFORM = "transform";
     public static final String AUTORUN = "autorun";
+    public static final String STREAMING = "streaming";
+
+    /**
+     * Delay between the attempts to execute a command, while the maximum number of commands is running
+     */
+    private static final int EXECUTION_RETRY_DELAY = 500;
+
+    /**
+     * Delay before a terminated streaming process is restarted, if no interval is configured
+     */
+    private static final int DEFAULT_RESTART_DELAY = 10;
 
     // RegEx to extract a parse a function String <code>'(.*?)\((.*)\)'</code>
     private static final Pattern EXTRACT_FUNCTION_PATTERN = Pattern.compile("(.*?)\\((.*)\\)");
 
+    private final ExecExecutionLimit executionLimit;
+    private final AtomicBoolean waitingForExecution = new AtomicBoolean();
+
     private @Nullable ScheduledFuture<?> executionJob;
     private @Nullable String lastInput;
 
+    private boolean streaming;
+    private @Nullable ExecStreamingProcess streamingProcess;
+    private @Nullable ScheduledFuture<?> restartJob;
+    private volatile boolean disposed;
+
+    private long executionCount;
+    private long totalExecutionTime;
+    private long maxExecutionTime;
+    private long timeOutCount;
+
     private static Runtime rt = Runtime.getRuntime();
 
-    public ExecHandler(Thing thing, ExecWhitelistWatchService execWhitelistWatchService) {
+    public ExecHandler(Thing thing, ExecWhitelistWatchService execWhitelistWatchService,
+            ExecExecutionLimit executionLimit) {
         super(thing);
         this.bundleContext = FrameworkUtil.getBundle(ExecHandler.class).getBundleContext();
         this.execWhitelistWatchService = execWhitelistWatchService;
+        this.executionLimit = executionLimit;
     }
 
     @Override
@@ -104,12 +131,17 @@ public class ExecHandler extends BaseThingHandler {
         } else {
             if (channelUID.getId().equals(RUN)) {
                 if (command instanceof OnOffType) {
-                    if (command == OnOffType.ON) {
+                    if (command == OnOffType.ON && streaming) {
+                        scheduler.schedule(this::startStreamingProcess, 0, TimeUnit.SECONDS);
+                    } else if (command == OnOffType.ON) {
                         scheduler.schedule(this::execute, 0, TimeUnit.SECONDS);
                     }
                 }
             } else if (channelUID.getId().equals(INPUT)) {
-                if (command instanceof StringType) {
+                if (command instanceof StringType && streaming) {
+                    lastInput = command.toString();
+                    writeToStreamingProcess(command.toString());
+                } else if (command instanceof StringType) {
                     String previousInput = lastInput;
                     lastInput = command.toString();
                     if (lastInput != null && !lastInput.equals(previousInput)) {
@@ -126,7 +158,11 @@ public class ExecHandler extends BaseThingHandler {
 
     @Override
     public void initialize() {
-        if (executionJob == null || executionJob.isCancelled()) {
+        disposed = false;
+        streaming = getConfig().get(STREAMING) != null && ((Boolean) getConfig().get(STREAMING));
+        if (streaming) {
+            scheduler.execute(this::startStreamingProcess);
+        } else if (executionJob == null || executionJob.isCancelled()) {
             if ((getConfig().get(INTERVAL)) != null && ((BigDecimal) getConfig().get(INTERVAL)).intValue() > 0) {
                 int pollingInterval = ((BigDecimal) getConfig().get(INTERVAL)).intValue();
                 executionJob = scheduler.scheduleWithFixedDelay(this::execute, 0, pollingInterval, TimeUnit.SECONDS);
@@ -138,36 +174,163 @@ public class ExecHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
+        disposed = true;
         if (executionJob != null && !executionJob.isCancelled()) {
             executionJob.cancel(true);
             executionJob = null;
         }
+        stopStreamingProcess();
+        if (executionCount > 0) {
+            logger.debug("Executed command of thing '{}' {} times: average {} ms, max {} ms, {} timeouts",
+                    getThing().getUID(), executionCount, totalExecutionTime / executionCount, maxExecutionTime,
+                    timeOutCount);
+        }
     }
 
     public void execute() {
+        if (waitingForExecution.get()) {
+            logger.debug("Command of thing '{}' is already waiting for execution", getThing().getUID());
+            return;
+        }
+        tryExecute(System.currentTimeMillis());
+    }
+
+    /**
+     * Execute the command, if the maximum number of commands isn't running yet. Otherwise the execution is
+     * rescheduled, instead of blocking a thread of the scheduler, until the time out of the thing has passed.
+     *
+     * @param waitStart time the execution was requested
+     */
+    private void tryExecute(long waitStart) {
         String commandLine = (String) getConfig().get(COMMAND);
         if (!execWhitelistWatchService.isWhitelisted(commandLine)) {
             logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
             return;
         }
 
-        int timeOut = 60000;
-        if ((getConfig().get(TIME_OUT)) != null) {
-            timeOut = ((BigDecimal) getConfig().get(TIME_OUT)).intValue() * 1000;
-        }
+        int timeOut = getTimeOut();
 
         if (commandLine != null && !commandLine.isEmpty()) {
-            updateState(RUN, OnOffType.ON);
+            if (!executionLimit.tryAcquire()) {
+                long waitTime = System.currentTimeMillis() - waitStart;
+                if (waitTime >= timeOut) {
+                    logger.warn("Skipping execution of '{}', {} other commands are still running after {} ms",
+                            commandLine, executionLimit.getMaxConcurrentExecutions(), waitTime);
+                } else {
+                    waitingForExecution.set(true);
+                    scheduler.schedule(() -> {
+                        waitingForExecution.set(false);
+                        if (!disposed) {
+                            tryExecute(waitStart);
+                        }
+                    }, EXECUTION_RETRY_DELAY, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+            try {
+                long start = System.currentTimeMillis();
+                boolean finished = executeOnce(commandLine, timeOut);
+                long executionTime = System.currentTimeMillis() - start;
+                updateStatistics(executionTime, finished);
+                logger.debug("Executed '{}' in {} ms after waiting {} ms for a free slot", commandLine,
+                        executionTime, start - waitStart);
+            } finally {
+                executionLimit.release();
+            }
+        }
+    }
 
-            // For some obscure reason, when using Apache Common Exec, or using a straight implementation of
-            // Runtime.Exec(), on Mac OS X (Yosemite and El Capitan), there seems to be a lock race condition
-            // randomly appearing (on UNIXProcess) *when* one tries to gobble up the stdout and sterr output of the
-            // subprocess in separate threads. It seems to be common "wisdom" to do that in separate threads, but
-            // only when keeping everything between .exec() and .waitfor() in the same thread, this lock race
-            // condition seems to go away. This approach of not reading the outputs in separate threads *might* be a
-            // problem for external commands that generate a lot of output, but this will be dependent on the limits
-            // of the underlying operating system.
+    /**
+     * Execute the command line once and wait for the result.
+     *
+     * @return false if the process was terminated because of the time out
+     */
+    private boolean executeOnce(String commandLine, int timeOut) {
+        updateState(RUN, OnOffType.ON);
+
+        // For some obscure reason, when using Apache Common Exec, or using a straight implementation of
+        // Runtime.Exec(), on Mac OS X (Yosemite and El Capitan), there seems to be a lock race condition
+        // randomly appearing (on UNIXProcess) *when* one tries to gobble up the stdout and sterr output of the
+        // subprocess in separate threads. It seems to be common "wisdom" to do that in separate threads, but
+        // only when keeping everything between .exec() and .waitfor() in the same thread, this lock race
+        // condition seems to go away. This approach of not reading the outputs in separate threads *might* be a
+        // problem for external commands that generate a lot of output, but this will be dependent on the limits
+        // of the underlying operating system.
+
+        String[] cmdArray = buildCmdArray(commandLine);
+        if (cmdArray == null) {
+            return true;
+        }
+
+        Process proc;
+        try {
+            proc = rt.exec(cmdArray);
+        } catch (Exception e) {
+            logger.warn("An exception occurred while executing '{}' : '{}'", Arrays.asList(cmdArray), e.getMessage());
+            updateState(RUN, OnOffType.OFF);
+            updateState(OUTPUT, new StringType(e.getMessage()));
+            return true;
+        }
+
+        StringBuilder outputBuilder = new StringBuilder();
+        StringBuilder errorBuilder = new StringBuilder();
+
+        try (InputStreamReader isr = new InputStreamReader(proc.getInputStream());
+                BufferedReader br = new BufferedReader(isr)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                outputBuilder.append(line).append("\n");
+                logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
+            }
+        } catch (IOException e) {
+            logger.warn("An exception occurred while reading the stdout when executing '{}' : '{}'", commandLine,
+                    e.getMessage());
+        }
+
+        try (InputStreamReader isr = new InputStreamReader(proc.getErrorStream());
+                BufferedReader br = new BufferedReader(isr)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                errorBuilder.append(line).append("\n");
+                logger.debug("Exec [{}]: '{}'", "ERROR", line);
+            }
+        } catch (IOException e) {
+            logger.warn("An exception occurred while reading the stderr when executing '{}' : '{}'", commandLine,
+                    e.getMessage());
+        }
+
+        boolean exitVal = false;
+        try {
+            exitVal = proc.waitFor(timeOut, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            logger.warn("An exception occurred while waiting for the process ('{}') to finish : '{}'", commandLine,
+                    e.getMessage());
+        }
+
+        if (!exitVal) {
+            logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms", commandLine, timeOut);
+            proc.destroyForcibly();
+        }
 
+        updateState(RUN, OnOffType.OFF);
+        updateState(EXIT, new DecimalType(proc.exitValue()));
+
+        outputBuilder.append(errorBuilder.toString());
+
+        outputBuilder.append(errorBuilder.toString());
+
+        updateOutput(StringUtils.chomp(outputBuilder.toString()));
+        return exitVal;
+    }
+
+    /**
+     * Format the command line with the current time and input values and split it into the command array.
+     *
+     * @return command array or null, if the command can't be executed
+     */
+    private String @Nullable [] buildCmdArray(String commandLine) {
+        // formatting is only needed if the command line contains a format specifier
+        if (commandLine.indexOf('%') >= 0) {
             try {
                 if (lastInput != null) {
                     commandLine = String.format(commandLine, Calendar.getInstance().getTime(), lastInput);
@@ -180,124 +343,174 @@ public class ExecHandler extends BaseThingHandler {
                         e.getMessage());
                 updateState(RUN, OnOffType.OFF);
                 updateState(OUTPUT, new StringType(e.getMessage()));
-                return;
+                return null;
             }
+        }
 
-            String[] cmdArray;
-            String[] shell;
-            if (commandLine.contains(CMD_LINE_DELIMITER)) {
-                logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
-                try {
-                    cmdArray = commandLine.split(CMD_LINE_DELIMITER);
-                } catch (PatternSyntaxException e) {
-                    logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
+        String[] cmdArray;
+        String[] shell;
+        if (commandLine.contains(CMD_LINE_DELIMITER)) {
+            logger.debug("Splitting by '{}'", CMD_LINE_DELIMITER);
+            try {
+                cmdArray = commandLine.split(CMD_LINE_DELIMITER);
+            } catch (PatternSyntaxException e) {
+                logger.warn("An exception occurred while splitting '{}' : '{}'", commandLine, e.getMessage());
+                updateState(RUN, OnOffType.OFF);
+                updateState(OUTPUT, new StringType(e.getMessage()));
+                return null;
+            }
+        } else {
+            // Invoke shell with 'c' option and pass string
+            logger.debug("Passing to shell for parsing command.");
+            switch (getOperatingSystemType()) {
+                case WINDOWS:
+                    shell = SHELL_WINDOWS;
+                    logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "/c", commandLine);
+                    break;
+                case LINUX:
+                case MAC:
+                case SOLARIS:
+                    // assume sh is present, should all be POSIX-compliant
+                    shell = SHELL_NIX;
+                    logger.debug("OS: *NIX ({})", getOperatingSystemName());
+                    cmdArray = createCmdArray(shell, "-c", commandLine);
+                    break;
+                default:
+                    logger.debug("OS: Unknown ({})", getOperatingSystemName());
+                    logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
                     updateState(RUN, OnOffType.OFF);
-                    updateState(OUTPUT, new StringType(e.getMessage()));
-                    return;
-                }
-            } else {
-                // Invoke shell with 'c' option and pass string
-                logger.debug("Passing to shell for parsing command.");
-                switch (getOperatingSystemType()) {
-                    case WINDOWS:
-                        shell = SHELL_WINDOWS;
-                        logger.debug("OS: WINDOWS ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "/c", commandLine);
-                        break;
-                    case LINUX:
-                    case MAC:
-                    case SOLARIS:
-                        // assume sh is present, should all be POSIX-compliant
-                        shell = SHELL_NIX;
-                        logger.debug("OS: *NIX ({})", getOperatingSystemName());
-                        cmdArray = createCmdArray(shell, "-c", commandLine);
-                        break;
-                    default:
-                        logger.debug("OS: Unknown ({})", getOperatingSystemName());
-                        logger.warn("OS {} not supported, please manually split commands!", getOperatingSystemName());
-                        updateState(RUN, OnOffType.OFF);
-                        updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
-                        return;
-                }
+                    updateState(OUTPUT, new StringType("OS not supported, please manually split commands!"));
+                    return null;
             }
+        }
 
-            if (cmdArray.length == 0) {
-                logger.trace("Empty command received, not executing");
-                return;
-            }
+        if (cmdArray.length == 0) {
+            logger.trace("Empty command received, not executing");
+            return null;
+        }
 
-            logger.trace("The command to be executed will be '{}'", Arrays.asList(cmdArray));
+        logger.trace("The command to be executed will be '{}'", Arrays.asList(cmdArray));
+        return cmdArray;
+    }
 
-            Process proc;
-            try {
-                proc = rt.exec(cmdArray);
-            } catch (Exception e) {
-                logger.warn("An exception occurred while executing '{}' : '{}'", Arrays.asList(cmdArray),
-                        e.getMessage());
-                updateState(RUN, OnOffType.OFF);
-                updateState(OUTPUT, new StringType(e.getMessage()));
-                return;
-            }
+    /**
+     * Start the command as long-running process, whose output lines are sent to the output channel.
+     */
+    private synchronized void startStreamingProcess() {
+        ExecStreamingProcess process = streamingProcess;
+        if (disposed || (process != null && process.isAlive())) {
+            return;
+        }
+        String commandLine = (String) getConfig().get(COMMAND);
+        if (!execWhitelistWatchService.isWhitelisted(commandLine)) {
+            logger.warn("Tried to execute '{}', but it is not contained in whitelist.", commandLine);
+            return;
+        }
+        if (commandLine == null || commandLine.isEmpty()) {
+            return;
+        }
 
-            StringBuilder outputBuilder = new StringBuilder();
-            StringBuilder errorBuilder = new StringBuilder();
+        String[] cmdArray = buildCmdArray(commandLine);
+        if (cmdArray == null) {
+            return;
+        }
+        process = new ExecStreamingProcess(cmdArray, getThing().getUID().getId(), this);
+        try {
+            process.start();
+        } catch (IOException e) {
+            logger.warn("An exception occurred while executing '{}' : '{}'", Arrays.asList(cmdArray), e.getMessage());
+            updateState(OUTPUT, new StringType(e.getMessage()));
+            scheduleRestart();
+            return;
+        }
+        streamingProcess = process;
+        updateState(RUN, OnOffType.ON);
+        updateState(LAST_EXECUTION, new DateTimeType(ZonedDateTime.now()));
+    }
 
-            try (InputStreamReader isr = new InputStreamReader(proc.getInputStream());
-                    BufferedReader br = new BufferedReader(isr)) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    outputBuilder.append(line).append("\n");
-                    logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
-                }
-            } catch (IOException e) {
-                logger.warn("An exception occurred while reading the stdout when executing '{}' : '{}'", commandLine,
-                        e.getMessage());
-            }
+    private synchronized void stopStreamingProcess() {
+        ScheduledFuture<?> restartJob = this.restartJob;
+        if (restartJob != null) {
+            restartJob.cancel(false);
+            this.restartJob = null;
+        }
+        ExecStreamingProcess process = streamingProcess;
+        if (process != null) {
+            process.stop(getTimeOut());
+            streamingProcess = null;
+        }
+    }
 
-            try (InputStreamReader isr = new InputStreamReader(proc.getErrorStream());
-                    BufferedReader br = new BufferedReader(isr)) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    errorBuilder.append(line).append("\n");
-                    logger.debug("Exec [{}]: '{}'", "ERROR", line);
-                }
-            } catch (IOException e) {
-                logger.warn("An exception occurred while reading the stderr when executing '{}' : '{}'", commandLine,
-                        e.getMessage());
-            }
+    private synchronized void writeToStreamingProcess(String line) {
+        ExecStreamingProcess process = streamingProcess;
+        if (process == null || !process.isAlive()) {
+            logger.debug("Process of thing '{}' is not running, input '{}' is dropped", getThing().getUID(), line);
+            return;
+        }
+        try {
+            process.write(line);
+        } catch (IOException e) {
+            logger.warn("An exception occurred while sending '{}' to the process : '{}'", line, e.getMessage());
+        }
+    }
 
-            boolean exitVal = false;
-            try {
-                exitVal = proc.waitFor(timeOut, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                logger.warn("An exception occurred while waiting for the process ('{}') to finish : '{}'", commandLine,
-                        e.getMessage());
-            }
+    private synchronized void scheduleRestart() {
+        if (disposed) {
+            return;
+        }
+        int restartDelay = DEFAULT_RESTART_DELAY;
+        if ((getConfig().get(INTERVAL)) != null && ((BigDecimal) getConfig().get(INTERVAL)).intValue() > 0) {
+            restartDelay = ((BigDecimal) getConfig().get(INTERVAL)).intValue();
+        }
+        logger.debug("Restarting process of thing '{}' in {} s", getThing().getUID(), restartDelay);
+        restartJob = scheduler.schedule(this::startStreamingProcess, restartDelay, TimeUnit.SECONDS);
+    }
 
-            if (!exitVal) {
-                logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms", commandLine, timeOut);
-                proc.destroyForcibly();
-            }
+    @Override
+    public void lineReceived(String line) {
+        updateOutput(line);
+    }
 
-            updateState(RUN, OnOffType.OFF);
-            updateState(EXIT, new DecimalType(proc.exitValue()));
+    @Override
+    public void processExited(int exitValue) {
+        updateState(RUN, OnOffType.OFF);
+        updateState(EXIT, new DecimalType(exitValue));
+        scheduleRestart();
+    }
 
-            outputBuilder.append(errorBuilder.toString());
+    private void updateOutput(String output) {
+        String transformedResponse = output;
+        String transformation = (String) getConfig().get(TRANSFORM);
 
-            outputBuilder.append(errorBuilder.toString());
+        if (transformation != null && transformation.length() > 0) {
+            transformedResponse = transformResponse(transformedResponse, transformation);
+        }
 
-            String transformedResponse = StringUtils.chomp(outputBuilder.toString());
-            String transformation = (String) getConfig().get(TRANSFORM);
+        updateState(OUTPUT, new StringType(transformedResponse));
 
-            if (transformation != null && transformation.length() > 0) {
-                transformedResponse = transformResponse(transformedResponse, transformation);
-            }
+        DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
+        updateState(LAST_EXECUTION, stampType);
+    }
 
-            updateState(OUTPUT, new StringType(transformedResponse));
+    private int getTimeOut() {
+        int timeOut = 60000;
+        if ((getConfig().get(TIME_OUT)) != null) {
+            timeOut = ((BigDecimal) getConfig().get(TIME_OUT)).intValue() * 1000;
+        }
+        return timeOut;
+    }
 
-            DateTimeType stampType = new DateTimeType(ZonedDateTime.now());
-            updateState(LAST_EXECUTION, stampType);
+    private synchronized void updateStatistics(long executionTime, boolean finished) {
+        executionCount++;
+        totalExecutionTime += executionTime;
+        maxExecutionTime = Math.max(maxExecutionTime, executionTime);
+        if (!finished) {
+            timeOutCount++;
         }
+        logger.trace("Command of thing '{}' executed {} times: average {} ms, max {} ms, {} timeouts",
+                getThing().getUID(), executionCount, totalExecutionTime / executionCount, maxExecutionTime,
+                timeOutCount);
     }
 
     protected @Nullable String transformResponse(String response, String transformation) {
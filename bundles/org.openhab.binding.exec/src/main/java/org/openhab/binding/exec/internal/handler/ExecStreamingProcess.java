@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link ExecStreamingProcess} runs a command as a long-running process. Every line the process writes to stdout
+ * or stderr is passed to the listener as soon as it is received, lines can be sent to the process on stdin.
+ *
+ * stdout and stderr are merged, so the output is read by a single thread.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecStreamingProcess {
+
+    /**
+     * Receives the output of the process.
+     */
+    public interface Listener {
+        void lineReceived(String line);
+
+        void processExited(int exitValue);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(ExecStreamingProcess.class);
+
+    private final String[] cmdArray;
+    private final String name;
+    private final Listener listener;
+
+    private @Nullable Process process;
+    private @Nullable BufferedWriter stdin;
+    private volatile boolean stopped;
+
+    public ExecStreamingProcess(String[] cmdArray, String name, Listener listener) {
+        this.cmdArray = cmdArray;
+        this.name = name;
+        this.listener = listener;
+    }
+
+    /**
+     * Start the process and the thread reading its output.
+     *
+     * @throws IOException if the process can't be started
+     */
+    public synchronized void start() throws IOException {
+        Process process = new ProcessBuilder(cmdArray).redirectErrorStream(true).start();
+        this.process = process;
+        this.stdin = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+        Thread reader = new Thread(() -> readOutput(process), "OH-binding-exec-" + name);
+        reader.setDaemon(true);
+        reader.start();
+        logger.debug("Started process '{}'", Arrays.asList(cmdArray));
+    }
+
+    public synchronized boolean isAlive() {
+        Process process = this.process;
+        return process != null && process.isAlive();
+    }
+
+    /**
+     * Send a line to stdin of the process.
+     *
+     * @param line the line without line separator
+     * @throws IOException if the process doesn't accept input
+     */
+    public synchronized void write(String line) throws IOException {
+        BufferedWriter stdin = this.stdin;
+        if (stdin == null || !isAlive()) {
+            throw new IOException("Process is not running");
+        }
+        stdin.write(line);
+        stdin.newLine();
+        stdin.flush();
+    }
+
+    /**
+     * Stop the process. It is killed, if it doesn't terminate within the given time.
+     *
+     * @param timeOut time in milliseconds to wait for the process to terminate
+     */
+    public void stop(long timeOut) {
+        Process process;
+        synchronized (this) {
+            stopped = true;
+            process = this.process;
+            BufferedWriter stdin = this.stdin;
+            if (stdin != null) {
+                try {
+                    stdin.close();
+                } catch (IOException e) {
+                    // process is terminated anyway
+                }
+                this.stdin = null;
+            }
+        }
+        if (process == null) {
+            return;
+        }
+        process.destroy();
+        try {
+            if (!process.waitFor(timeOut, TimeUnit.MILLISECONDS)) {
+                logger.warn("Forcibly termininating the process ('{}') after a timeout of {} ms",
+                        Arrays.asList(cmdArray), timeOut);
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readOutput(Process process) {
+        try (InputStreamReader isr = new InputStreamReader(process.getInputStream());
+                BufferedReader br = new BufferedReader(isr)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                logger.debug("Exec [{}]: '{}'", "OUTPUT", line);
+                try {
+                    listener.lineReceived(line);
+                } catch (RuntimeException e) {
+                    logger.warn("An exception occurred while processing the output '{}' : '{}'", line,
+                            e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            if (!stopped) {
+                logger.warn("An exception occurred while reading the output of '{}' : '{}'", Arrays.asList(cmdArray),
+                        e.getMessage());
+            }
+        }
+
+        try {
+            int exitValue = process.waitFor();
+            logger.debug("Process '{}' exited with {}", Arrays.asList(cmdArray), exitValue);
+            if (!stopped) {
+                listener.processExited(exitValue);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.Test;
+
+/**
+ * Tests {@link ExecExecutionLimit}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecExecutionLimitTest {
+
+    @Test
+    public void testUnlimited() {
+        ExecExecutionLimit limit = new ExecExecutionLimit(ExecExecutionLimit.UNLIMITED);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+    }
+
+    @Test
+    public void testLimit() {
+        ExecExecutionLimit limit = new ExecExecutionLimit(2);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.release();
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+    }
+
+    @Test
+    public void testChangedLimit() {
+        ExecExecutionLimit limit = new ExecExecutionLimit(1);
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.setMaxConcurrentExecutions(2);
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+
+        limit.setMaxConcurrentExecutions(ExecExecutionLimit.UNLIMITED);
+        assertTrue(limit.tryAcquire());
+    }
+}
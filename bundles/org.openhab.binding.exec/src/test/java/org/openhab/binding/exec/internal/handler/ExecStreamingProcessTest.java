@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.exec.internal.handler;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests {@link ExecStreamingProcess}. The commands are executed by sh, so the tests need a POSIX shell.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ExecStreamingProcessTest {
+
+    private static final long WAIT_MILLIS = 5000;
+
+    /**
+     * Listener which records the output and the exit value of the process
+     */
+    private static class RecordingListener implements ExecStreamingProcess.Listener {
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        private final CompletableFuture<Integer> exitValue = new CompletableFuture<>();
+
+        @Override
+        public void lineReceived(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void processExited(int exitValue) {
+            this.exitValue.complete(exitValue);
+        }
+
+        String nextLine() throws InterruptedException {
+            String line = lines.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            assertNotNull("No line received", line);
+            return line;
+        }
+    }
+
+    private final RecordingListener listener = new RecordingListener();
+    private @Nullable ExecStreamingProcess process;
+
+    @After
+    public void tearDown() {
+        ExecStreamingProcess process = this.process;
+        if (process != null) {
+            process.stop(0);
+        }
+    }
+
+    private ExecStreamingProcess start(String script) throws IOException {
+        ExecStreamingProcess process = new ExecStreamingProcess(new String[] { "sh", "-c", script }, "test",
+                listener);
+        this.process = process;
+        process.start();
+        return process;
+    }
+
+    @Test
+    public void testOutputAndExitValueAreReported() throws Exception {
+        start("echo first; echo second >&2; exit 3");
+
+        assertEquals("first", listener.nextLine());
+        assertEquals("second", listener.nextLine());
+        assertEquals(3, (int) listener.exitValue.get(WAIT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testInputIsSentToProcess() throws Exception {
+        ExecStreamingProcess process = start("while read line; do echo \"got $line\"; done");
+
+        process.write("first");
+        assertEquals("got first", listener.nextLine());
+        process.write("second");
+        assertEquals("got second", listener.nextLine());
+        assertTrue(process.isAlive());
+    }
+
+    @Test
+    public void testStoppedProcessIsNotReportedAsExited() throws Exception {
+        ExecStreamingProcess process = start("cat");
+
+        process.stop(WAIT_MILLIS);
+
+        assertFalse(process.isAlive());
+        try {
+            process.write("line");
+            fail("IOException expected");
+        } catch (IOException e) {
+            // process is not running
+        }
+        Thread.sleep(100);
+        assertFalse(listener.exitValue.isDone());
+    }
+
+    @Test
+    public void testProcessIgnoringTerminationIsKilled() throws Exception {
+        ExecStreamingProcess process = start("trap '' TERM; echo ready; while true; do sleep 1; done");
+        assertEquals("ready", listener.nextLine());
+
+        long start = System.currentTimeMillis();
+        process.stop(100);
+
+        assertFalse(process.isAlive());
+        assertTrue(System.currentTimeMillis() - start < WAIT_MILLIS);
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnknownCommandCanNotBeStarted() throws IOException {
+        new ExecStreamingProcess(new String[] { "/nonexistent/command" }, "test", listener).start();
+    }
+}
@@ -0,0 +1,325 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.feed.internal;
+
+import static org.openhab.binding.feed.internal.FeedBindingConstants.MINIMUM_REFRESH_TIME;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.eclipse.smarthome.core.thing.ThingStatusDetail;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+
+/**
+ * The {@link FeedFetcher} downloads the feeds for all feed things. A feed used by several things is downloaded only
+ * once, with the shortest refresh time of the things.
+ *
+ * The server is asked with conditional requests (ETag and Last-Modified) whether the feed has changed. The feed is
+ * only parsed, if the server sends new content and the content differs from the last download.
+ *
+ * @author agent - Initial contribution
+ */
+public class FeedFetcher {
+
+    /**
+     * Receives the results of the downloads of a feed.
+     */
+    public interface FeedListener {
+        /**
+         * Called with the parsed feed, if the content has changed or the listener is new.
+         */
+        void feedUpdated(SyndFeed feed);
+
+        /**
+         * Called if the feed was downloaded successfully, but the content has not changed.
+         */
+        void feedNotModified();
+
+        /**
+         * Called if the feed could not be downloaded or parsed.
+         */
+        void feedFailed(ThingStatusDetail statusDetail, String message);
+    }
+
+    private static final String THREADPOOL_NAME = "feed";
+
+    private final Logger logger = LoggerFactory.getLogger(FeedFetcher.class);
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final Map<String, FeedSource> sources = new HashMap<>();
+
+    /**
+     * Start downloading a feed for a listener.
+     *
+     * @param urlString URL of the feed
+     * @param refreshTime refresh time of the listener in minutes
+     * @param listener listener receiving the results
+     */
+    public synchronized void subscribe(String urlString, int refreshTime, FeedListener listener) {
+        FeedSource source = sources.get(urlString);
+        if (source == null) {
+            source = new FeedSource(urlString);
+            sources.put(urlString, source);
+        } else {
+            FeedSource existingSource = source;
+            scheduler.execute(() -> existingSource.sendCurrentState(listener));
+        }
+        source.addListener(listener, refreshTime);
+    }
+
+    /**
+     * Stop downloading a feed for a listener. The download is stopped, if there are no listeners left.
+     *
+     * @param urlString URL of the feed
+     * @param listener listener to remove
+     */
+    public synchronized void unsubscribe(String urlString, FeedListener listener) {
+        FeedSource source = sources.get(urlString);
+        if (source != null && source.removeListener(listener)) {
+            sources.remove(urlString);
+        }
+    }
+
+    /**
+     * Download the feed now, if it was not downloaded within the {@link FeedBindingConstants#MINIMUM_REFRESH_TIME}.
+     * The listeners are notified before the method returns.
+     *
+     * @param urlString URL of the feed
+     */
+    public void refresh(String urlString) {
+        FeedSource source;
+        synchronized (this) {
+            source = sources.get(urlString);
+        }
+        if (source != null) {
+            source.refreshIfMinimumRefreshTimeExceeded();
+        }
+    }
+
+    /**
+     * A feed URL and the state of its last download
+     */
+    private class FeedSource {
+        private final String urlString;
+        private final List<FeedListener> listeners = new CopyOnWriteArrayList<>();
+        private final Map<FeedListener, Integer> refreshTimes = new ConcurrentHashMap<>();
+
+        private ScheduledFuture<?> refreshTask;
+        private int refreshTime;
+
+        private String eTag;
+        private String lastModified;
+        private byte[] contentHash;
+        private SyndFeed feed;
+        private ThingStatusDetail errorDetail;
+        private String errorMessage;
+        private long lastRefreshTime;
+
+        FeedSource(String urlString) {
+            this.urlString = urlString;
+        }
+
+        void addListener(FeedListener listener, int refreshTime) {
+            if (!listeners.contains(listener)) {
+                listeners.add(listener);
+            }
+            refreshTimes.put(listener, refreshTime);
+            reschedule();
+        }
+
+        boolean removeListener(FeedListener listener) {
+            listeners.remove(listener);
+            refreshTimes.remove(listener);
+            if (listeners.isEmpty()) {
+                if (refreshTask != null) {
+                    refreshTask.cancel(true);
+                    refreshTask = null;
+                }
+                logger.debug("Stopped automatic refresh of {}", urlString);
+                return true;
+            }
+            reschedule();
+            return false;
+        }
+
+        private void reschedule() {
+            int minRefreshTime = refreshTimes.values().stream().mapToInt(Integer::intValue).min().orElse(refreshTime);
+            if (refreshTask != null && minRefreshTime == refreshTime) {
+                return;
+            }
+            long initialDelay = 0;
+            if (refreshTask != null) {
+                refreshTask.cancel(false);
+                initialDelay = minRefreshTime;
+            }
+            refreshTime = minRefreshTime;
+            refreshTask = scheduler.scheduleWithFixedDelay(this::refresh, initialDelay, refreshTime, TimeUnit.MINUTES);
+            logger.debug("Start automatic refresh of {} at {} minutes", urlString, refreshTime);
+        }
+
+        synchronized void refreshIfMinimumRefreshTimeExceeded() {
+            if (System.currentTimeMillis() - lastRefreshTime >= MINIMUM_REFRESH_TIME) {
+                refresh();
+            }
+        }
+
+        synchronized void sendCurrentState(FeedListener listener) {
+            if (feed != null) {
+                listener.feedUpdated(feed);
+            } else if (errorDetail != null) {
+                listener.feedFailed(errorDetail, errorMessage);
+            }
+        }
+
+        synchronized void refresh() {
+            lastRefreshTime = System.currentTimeMillis();
+            try {
+                SyndFeed newFeed = fetchFeedData();
+                errorDetail = null;
+                errorMessage = null;
+                if (newFeed == null) {
+                    logger.debug("Feed content has not changed!");
+                    for (FeedListener listener : listeners) {
+                        listener.feedNotModified();
+                    }
+                } else {
+                    logger.debug("New content available!");
+                    feed = newFeed;
+                    for (FeedListener listener : listeners) {
+                        listener.feedUpdated(newFeed);
+                    }
+                }
+            } catch (MalformedURLException e) {
+                logger.warn("Url '{}' is not valid: ", urlString, e);
+                failed(ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+            } catch (IOException e) {
+                logger.warn("Error accessing feed: {}", urlString, e);
+                failed(ThingStatusDetail.COMMUNICATION_ERROR, e.getMessage());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Feed URL is null ", e);
+                failed(ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+            } catch (FeedException e) {
+                logger.warn("Feed content is not valid: {} ", urlString, e);
+                failed(ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
+            }
+        }
+
+        private void failed(ThingStatusDetail statusDetail, String message) {
+            errorDetail = statusDetail;
+            errorMessage = message;
+            for (FeedListener listener : listeners) {
+                listener.feedFailed(statusDetail, message);
+            }
+        }
+
+        /**
+         * Download the feed and parse it, if it has changed.
+         *
+         * @return the new feed or <code>null</code> if it has not changed
+         */
+        private SyndFeed fetchFeedData() throws IOException, FeedException {
+            URL url = new URL(urlString);
+
+            URLConnection connection = url.openConnection();
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+            HttpURLConnection httpConnection = null;
+            if (connection instanceof HttpURLConnection) {
+                httpConnection = (HttpURLConnection) connection;
+                if (eTag != null) {
+                    httpConnection.setRequestProperty("If-None-Match", eTag);
+                }
+                if (lastModified != null) {
+                    httpConnection.setRequestProperty("If-Modified-Since", lastModified);
+                }
+                if (httpConnection.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    logger.trace("Feed {} not modified since {} (ETag {})", urlString, lastModified, eTag);
+                    httpConnection.disconnect();
+                    return null;
+                }
+            }
+
+            byte[] content;
+            try (InputStream in = "gzip".equals(connection.getContentEncoding())
+                    ? new GZIPInputStream(connection.getInputStream())
+                    : connection.getInputStream()) {
+                content = readFully(in);
+            }
+
+            // the validators are only stored together with valid content, otherwise the server could answer the
+            // next request with 304 Not Modified for content which was never parsed
+            String newETag = null;
+            String newLastModified = null;
+            if (httpConnection != null) {
+                newETag = httpConnection.getHeaderField("ETag");
+                newLastModified = httpConnection.getHeaderField("Last-Modified");
+            }
+
+            byte[] newContentHash = hash(content);
+            if (feed != null && MessageDigest.isEqual(newContentHash, contentHash)) {
+                eTag = newETag;
+                lastModified = newLastModified;
+                return null;
+            }
+
+            SyndFeedInput input = new SyndFeedInput();
+            SyndFeed newFeed = input.build(new InputStreamReader(new ByteArrayInputStream(content)));
+            eTag = newETag;
+            lastModified = newLastModified;
+            contentHash = newContentHash;
+            return newFeed;
+        }
+
+        private byte[] readFully(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        }
+
+        private byte[] hash(byte[] content) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(content);
+            } catch (NoSuchAlgorithmException e) {
+                // every Java platform supports SHA-256
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -14,20 +14,11 @@ package org.openhab.binding.feed.internal.handler;
 
 import static org.openhab.binding.feed.internal.FeedBindingConstants.*;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPInputStream;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -43,13 +34,13 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
+import org.openhab.binding.feed.internal.FeedFetcher;
+import org.openhab.binding.feed.internal.FeedFetcher.FeedListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
-import com.rometools.rome.io.FeedException;
-import com.rometools.rome.io.SyndFeedInput;
 
 /**
  * The {@link FeedHandler } is responsible for handling commands, which are
@@ -57,18 +48,18 @@ import com.rometools.rome.io.SyndFeedInput;
  *
  * @author Svilen Valkanov - Initial contribution
  */
-public class FeedHandler extends BaseThingHandler {
+public class FeedHandler extends BaseThingHandler implements FeedListener {
 
     private Logger logger = LoggerFactory.getLogger(FeedHandler.class);
 
+    private final FeedFetcher feedFetcher;
     private String urlString;
     private BigDecimal refreshTime;
-    private ScheduledFuture<?> refreshTask;
     private SyndFeed currentFeedState;
-    private long lastRefreshTime;
 
-    public FeedHandler(Thing thing) {
+    public FeedHandler(Thing thing, FeedFetcher feedFetcher) {
         super(thing);
+        this.feedFetcher = feedFetcher;
         currentFeedState = null;
     }
 
@@ -76,7 +67,7 @@ public class FeedHandler extends BaseThingHandler {
     public void initialize() {
         checkConfiguration();
         updateStatus(ThingStatus.UNKNOWN);
-        startAutomaticRefresh();
+        feedFetcher.subscribe(urlString, refreshTime.intValue(), this);
     }
 
     /**
@@ -87,7 +78,7 @@ public class FeedHandler extends BaseThingHandler {
         logger.debug("Start reading Feed Thing configuration.");
         Configuration configuration = getConfig();
 
-        // It is not necessary to check if the URL is valid, this will be done in fetchFeedData() method
+        // It is not necessary to check if the URL is valid, this will be done by the FeedFetcher
         urlString = (String) configuration.get(URL);
 
         try {
@@ -102,14 +93,9 @@ public class FeedHandler extends BaseThingHandler {
         }
     }
 
-    private void startAutomaticRefresh() {
-        refreshTask = scheduler.scheduleWithFixedDelay(this::refreshFeedState, 0, refreshTime.intValue(),
-                TimeUnit.MINUTES);
-        logger.debug("Start automatic refresh at {} minutes", refreshTime.intValue());
-    }
-
-    private void refreshFeedState() {
-        SyndFeed feed = fetchFeedData(urlString);
+    @Override
+    public void feedUpdated(SyndFeed feed) {
+        updateOnline();
         boolean feedUpdated = updateFeedIfChanged(feed);
 
         if (feedUpdated) {
@@ -120,6 +106,22 @@ public class FeedHandler extends BaseThingHandler {
         }
     }
 
+    @Override
+    public void feedNotModified() {
+        updateOnline();
+    }
+
+    @Override
+    public void feedFailed(ThingStatusDetail statusDetail, String message) {
+        updateStatus(ThingStatus.OFFLINE, statusDetail, message);
+    }
+
+    private void updateOnline() {
+        if (this.thing.getStatus() != ThingStatus.ONLINE) {
+            updateStatus(ThingStatus.ONLINE);
+        }
+    }
+
     private void publishChannelIfLinked(ChannelUID channelUID) {
         String channelID = channelUID.getId();
 
@@ -194,15 +196,13 @@ public class FeedHandler extends BaseThingHandler {
 
     /**
      * This method updates the {@link #currentFeedState}, only if there are changes on the server, since the last check.
-     * It compares the content on the server with the local
-     * stored {@link #currentFeedState} in the {@link FeedHandler}.
+     * The {@link FeedFetcher} creates a new feed instance only if the content on the server has changed.
      *
      * @return <code>true</code> if new content is available on the server since the last update or <code>false</code>
      *         otherwise
      */
     private synchronized boolean updateFeedIfChanged(SyndFeed newFeedState) {
-        // SyndFeed class has implementation of equals ()
-        if (newFeedState != null && !newFeedState.equals(currentFeedState)) {
+        if (newFeedState != null && newFeedState != currentFeedState) {
             currentFeedState = newFeedState;
             logger.debug("New content available!");
             return true;
@@ -211,60 +211,6 @@ public class FeedHandler extends BaseThingHandler {
         return false;
     }
 
-    /**
-     * This method tries to make connection with the server and fetch data from the feed.
-     * The status of the feed thing is set to {@link ThingStatus#ONLINE}, if the fetching was successful.
-     * Otherwise the status will be set to {@link ThingStatus#OFFLINE} with
-     * {@link ThingStatusDetail#CONFIGURATION_ERROR} or
-     * {@link ThingStatusDetail#COMMUNICATION_ERROR} and adequate message.
-     *
-     * @param urlString URL of the Feed
-     * @return {@link SyndFeed} instance with the feed data, if the connection attempt was successful and
-     *         <code>null</code> otherwise
-     */
-    private SyndFeed fetchFeedData(String urlString) {
-        SyndFeed feed = null;
-        try {
-            URL url = new URL(urlString);
-
-            URLConnection connection = url.openConnection();
-            connection.setRequestProperty("Accept-Encoding", "gzip");
-
-            BufferedReader in = null;
-            if ("gzip".equals(connection.getContentEncoding())) {
-                in = new BufferedReader(new InputStreamReader(new GZIPInputStream(connection.getInputStream())));
-            } else {
-                in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            }
-
-            SyndFeedInput input = new SyndFeedInput();
-            feed = input.build(in);
-            in.close();
-
-            if (this.thing.getStatus() != ThingStatus.ONLINE) {
-                updateStatus(ThingStatus.ONLINE);
-            }
-        } catch (MalformedURLException e) {
-            logger.warn("Url '{}' is not valid: ", urlString, e);
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
-            return null;
-        } catch (IOException e) {
-            logger.warn("Error accessing feed: {}", urlString, e);
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
-            return null;
-        } catch (IllegalArgumentException e) {
-            logger.warn("Feed URL is null ", e);
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
-            return null;
-        } catch (FeedException e) {
-            logger.warn("Feed content is not valid: {} ", urlString, e);
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
-            return null;
-        }
-
-        return feed;
-    }
-
     /**
      * Returns the most recent entry or null, if no entries are found.
      */
@@ -287,11 +233,8 @@ public class FeedHandler extends BaseThingHandler {
     @Override
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command instanceof RefreshType) {
-            // safeguard for multiple REFRESH commands for different channels in a row
-            if (isMinimumRefreshTimeExceeded()) {
-                SyndFeed feed = fetchFeedData(urlString);
-                updateFeedIfChanged(feed);
-            }
+            // the fetcher ignores multiple REFRESH commands for different channels in a row
+            feedFetcher.refresh(urlString);
             publishChannelIfLinked(channelUID);
         } else {
             logger.debug("Command {} is not supported for channel: {}. Supported command: REFRESH", command,
@@ -301,20 +244,7 @@ public class FeedHandler extends BaseThingHandler {
 
     @Override
     public void dispose() {
-        if (refreshTask != null) {
-            refreshTask.cancel(true);
-        }
-        lastRefreshTime = 0;
-    }
-
-    private boolean isMinimumRefreshTimeExceeded() {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastRefresh = currentTime - lastRefreshTime;
-        if (timeSinceLastRefresh < MINIMUM_REFRESH_TIME) {
-            return false;
-        }
-        lastRefreshTime = currentTime;
-        return true;
+        feedFetcher.unsubscribe(urlString, this);
     }
 
     public String getValueSafely(String value) {
@@ -14,6 +14,7 @@ package org.openhab.binding.homematic.internal.communicator;
 
 import static org.openhab.binding.homematic.internal.misc.HomematicConstants.*;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -25,12 +26,16 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.client.BinRpcClient;
@@ -90,6 +95,7 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     public static final double DEFAULT_DISABLE_DELAY = 2.0;
     private static final long CONNECTION_TRACKER_INTERVAL_SECONDS = 15;
     private static final String GATEWAY_POOL_NAME = "homematicGateway";
+    private static final String PARAMSET_CACHE_FOLDER = "cache" + File.separator + "org.openhab.binding.homematic";
 
     private final Map<TransferMode, RpcClient<?>> rpcClients = new HashMap<>();
     private final Map<TransferMode, RpcServer> rpcServers = new HashMap<>();
@@ -106,11 +112,12 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     private final Map<String, HmDevice> devices = Collections.synchronizedMap(new HashMap<>());
     private final Map<HmInterface, TransferMode> availableInterfaces = new TreeMap<>();
     private static List<VirtualDatapointHandler> virtualDatapointHandlers = new ArrayList<>();
-    private boolean cancelLoadAllMetadata;
+    private volatile boolean cancelLoadAllMetadata;
     private boolean initialized;
     private boolean newDeviceEventsEnabled;
     private ScheduledFuture<?> enableNewDeviceFuture;
     private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(GATEWAY_POOL_NAME);
+    private final ParamsetDescriptionCache paramsetDescriptionCache;
 
     static {
         // loads all virtual datapoints
@@ -139,6 +146,8 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
         this.config = config;
         this.gatewayAdapter = gatewayAdapter;
         this.httpClient = httpClient;
+        this.paramsetDescriptionCache = new ParamsetDescriptionCache(new File(
+                ConfigConstants.getUserDataFolder() + File.separator + PARAMSET_CACHE_FOLDER, id + ".paramsets"));
     }
 
     @Override
@@ -368,12 +377,50 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
     @Override
     public void loadAllDeviceMetadata() throws IOException {
         cancelLoadAllMetadata = false;
+        long startTime = System.currentTimeMillis();
         // load all device descriptions
         List<HmDevice> deviceDescriptions = getDeviceDescriptions();
+        logger.debug("Loaded {} device descriptions from gateway '{}' in {} ms", deviceDescriptions.size(), id,
+                System.currentTimeMillis() - startTime);
 
-        // loading datapoints for all channels
-        Set<String> loadedDevices = new HashSet<>();
-        Map<String, Collection<HmDatapoint>> datapointsByChannelIdCache = new HashMap<>();
+        // the interfaces are served by separate processes on the gateway, load their datapoints in parallel
+        Map<HmInterface, List<HmDevice>> devicesByInterface = new TreeMap<>();
+        for (HmDevice device : deviceDescriptions) {
+            devicesByInterface.computeIfAbsent(device.getHmInterface(), hmInterface -> new ArrayList<>()).add(device);
+        }
+        Set<String> loadedDevices = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        for (Entry<HmInterface, List<HmDevice>> entry : devicesByInterface.entrySet()) {
+            futures.add(scheduler.submit(() -> loadDeviceMetadata(entry.getKey(), entry.getValue(), loadedDevices)));
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            cancelLoadAllMetadata = true;
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            logger.warn("Can't load devices from gateway '{}': {}", id, ex.getMessage(), ex);
+        }
+        paramsetDescriptionCache.save();
+
+        if (!cancelLoadAllMetadata) {
+            devices.keySet().retainAll(loadedDevices);
+        }
+        initialized = true;
+        logger.info("Loaded {} devices from gateway '{}' in {} ms", loadedDevices.size(), id,
+                System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * Loads the datapoints of all devices of an interface.
+     */
+    private void loadDeviceMetadata(HmInterface hmInterface, List<HmDevice> deviceDescriptions,
+            Set<String> loadedDevices) {
+        long startTime = System.currentTimeMillis();
+        int cachedChannels = 0;
+        int loadedChannels = 0;
         for (HmDevice device : deviceDescriptions) {
             if (!cancelLoadAllMetadata) {
                 try {
@@ -391,39 +438,42 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                                 HmChannel previousChannel = device.getChannel(channel.getNumber() - 1);
                                 cloneAllDatapointsIntoChannel(channel, previousChannel.getDatapoints());
                             } else {
-                                String channelId = String.format("%s:%s:%s", channel.getDevice().getType(),
-                                        channel.getDevice().getFirmware(), channel.getNumber());
-                                Collection<HmDatapoint> cachedDatapoints = datapointsByChannelIdCache.get(channelId);
+                                Collection<HmDatapoint> cachedDatapoints = paramsetDescriptionCache.get(channel);
                                 if (cachedDatapoints != null) {
-                                    // clone all datapoints
+                                    // clone all datapoints, they are validated when the values are loaded
                                     cloneAllDatapointsIntoChannel(channel, cachedDatapoints);
+                                    channel.setMetadataCached(true);
+                                    cachedChannels++;
                                 } else {
                                     logger.trace("    Loading datapoints into channel {}", channel);
                                     addChannelDatapoints(channel, HmParamsetType.MASTER);
                                     addChannelDatapoints(channel, HmParamsetType.VALUES);
+                                    loadedChannels++;
 
                                     // Make sure to only cache non-reconfigurable channels. For reconfigurable channels,
                                     // the data point set might change depending on the selected mode.
                                     if (!channel.isReconfigurable()) {
-                                        datapointsByChannelIdCache.put(channelId, channel.getDatapoints());
+                                        paramsetDescriptionCache.put(channel);
                                     }
                                 }
                             }
                         }
                     }
-                    prepareDevice(device);
-                    loadedDevices.add(device.getAddress());
-                    gatewayAdapter.onDeviceLoaded(device);
+                    synchronized (loadedDevices) {
+                        prepareDevice(device);
+                        loadedDevices.add(device.getAddress());
+                        gatewayAdapter.onDeviceLoaded(device);
+                    }
                 } catch (IOException ex) {
                     logger.warn("Can't load device with address '{}' from gateway '{}': {}", device.getAddress(), id,
                             ex.getMessage());
                 }
             }
         }
-        if (!cancelLoadAllMetadata) {
-            devices.keySet().retainAll(loadedDevices);
-        }
-        initialized = true;
+        logger.debug(
+                "Loaded {} devices of interface {} from gateway '{}' in {} ms, {} channels from cache, {} channels from gateway",
+                deviceDescriptions.size(), hmInterface, id, System.currentTimeMillis() - startTime, cachedChannels,
+                loadedChannels);
     }
 
     /**
@@ -486,6 +536,11 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
             logger.debug("Loading values for channel {} of device '{}'", channel, channel.getDevice().getAddress());
             setChannelDatapointValues(channel, HmParamsetType.MASTER);
             setChannelDatapointValues(channel, HmParamsetType.VALUES);
+            if (channel.isMetadataCached() && channel.isMetadataOutdated()) {
+                logger.debug("Cached metadata of channel {} of device '{}' is outdated, reloading it from gateway",
+                        channel, channel.getDevice().getAddress());
+                reloadChannelDatapoints(channel);
+            }
         }
 
         for (HmDatapoint dp : channel.getDatapoints()) {
@@ -509,6 +564,24 @@ public abstract class AbstractHomematicGateway implements RpcEventListener, Home
                 channel.getDatapoints().size());
     }
 
+    /**
+     * Replaces the datapoints of a channel, whose cached metadata doesn't match the gateway, by the current metadata.
+     */
+    private void reloadChannelDatapoints(HmChannel channel) throws IOException {
+        paramsetDescriptionCache.remove(channel);
+        channel.setMetadataCached(false);
+        channel.setMetadataOutdated(false);
+        channel.removeNonVirtualDatapoints();
+        addChannelDatapoints(channel, HmParamsetType.MASTER);
+        addChannelDatapoints(channel, HmParamsetType.VALUES);
+        if (!channel.isReconfigurable()) {
+            paramsetDescriptionCache.put(channel);
+        }
+        paramsetDescriptionCache.save();
+        setChannelDatapointValues(channel, HmParamsetType.MASTER);
+        setChannelDatapointValues(channel, HmParamsetType.VALUES);
+    }
+
     /**
      * Sets all datapoint values for the given channel.
      */
@@ -14,6 +14,8 @@ package org.openhab.binding.homematic.internal.communicator.client;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -32,6 +34,7 @@ public class BinRpcClient extends RpcClient<byte[]> {
     private final Logger logger = LoggerFactory.getLogger(BinRpcClient.class);
 
     private SocketHandler socketHandler;
+    private final Map<Integer, Object> portLocks = new ConcurrentHashMap<>();
 
     public BinRpcClient(HomematicConfig config) {
         super(config);
@@ -60,14 +63,17 @@ public class BinRpcClient extends RpcClient<byte[]> {
     }
 
     /**
-     * Sends a BIN-RPC message and parses the response to see if there was an error.
+     * Sends a BIN-RPC message and parses the response to see if there was an error. Messages to different ports are
+     * sent in parallel, messages to the same port one after the other over the cached socket.
      */
     @Override
-    protected synchronized Object[] sendMessage(int port, RpcRequest<byte[]> request) throws IOException {
+    protected Object[] sendMessage(int port, RpcRequest<byte[]> request) throws IOException {
         if (logger.isTraceEnabled()) {
             logger.trace("Client BinRpcRequest:\n{}", request);
         }
-        return sendMessage(port, request, 0);
+        synchronized (portLocks.computeIfAbsent(port, p -> new Object())) {
+            return sendMessage(port, request, 0);
+        }
     }
 
     /**
@@ -19,6 +19,7 @@ import java.io.UnsupportedEncodingException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.nio.ByteBuffer;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -29,13 +30,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.apache.commons.lang.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Handles BIN-RPC request and response messages to communicate with a Homematic gateway.
  *
+ * Received messages are decoded in place from the buffer they were read into, only the decoded values are allocated.
+ *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
@@ -46,9 +48,18 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         RESPONSE
     }
 
+    /**
+     * Size of the signature and the content length, which precede the content of every message.
+     */
+    public static final int HEADER_LENGTH = 8;
+
     private Object[] messageData;
     private byte binRpcData[];
+    private ByteBuffer buffer;
     private int offset;
+    private int length;
+    private int dataOffset;
+    private boolean decoded;
 
     private String methodName;
     private TYPE type;
@@ -74,34 +85,64 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
      */
     public BinRpcMessage(InputStream is, boolean methodHeader, String encoding) throws IOException {
         this.encoding = encoding;
-        byte sig[] = new byte[8];
-        int length = is.read(sig, 0, 4);
+        byte header[] = new byte[HEADER_LENGTH];
+        int length = is.read(header, 0, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading signature");
         }
-        validateBinXSignature(sig);
-        length = is.read(sig, 4, 4);
+        validateBinXSignature(header);
+        length = is.read(header, 4, 4);
         if (length != 4) {
             throw new EOFException("Only " + length + " bytes received reading message length");
         }
-        int datasize = (new BigInteger(ArrayUtils.subarray(sig, 4, 8))).intValue();
-        byte payload[] = new byte[datasize];
-        int offset = 0;
+        int datasize = getContentLength(ByteBuffer.wrap(header));
+        byte message[] = new byte[HEADER_LENGTH + datasize];
+        System.arraycopy(header, 0, message, 0, HEADER_LENGTH);
+        int offset = HEADER_LENGTH;
         int currentLength;
 
-        while (offset < datasize && (currentLength = is.read(payload, offset, datasize - offset)) != -1) {
+        while (offset < message.length && (currentLength = is.read(message, offset, message.length - offset)) != -1) {
             offset += currentLength;
         }
-        if (offset != datasize) {
-            throw new EOFException("Only " + offset + " bytes received while reading message payload, expected "
-                    + datasize + " bytes");
+        if (offset != message.length) {
+            throw new EOFException("Only " + (offset - HEADER_LENGTH)
+                    + " bytes received while reading message payload, expected " + datasize + " bytes");
         }
-        byte[] message = ArrayUtils.addAll(sig, payload);
-        decodeMessage(message, methodHeader);
+        decodeMessage(message, message.length, methodHeader);
     }
 
-    private void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
-        if (sig[0] != 'B' || sig[1] != 'i' || sig[2] != 'n') {
+    /**
+     * Decodes a complete BIN-RPC message, which starts at position 0 of the given heap buffer and ends at its limit.
+     * The values are decoded directly from the backing array of the buffer.
+     */
+    public BinRpcMessage(ByteBuffer message, boolean methodHeader, String encoding) throws IOException {
+        this.encoding = encoding;
+        if (message.limit() < HEADER_LENGTH) {
+            throw new EOFException("Only " + message.limit() + " bytes received");
+        }
+        validateBinXSignature(message.array());
+        decodeMessage(message.array(), message.limit(), methodHeader);
+    }
+
+    /**
+     * Returns the length of the content of the message in the given buffer, which starts with the header of the
+     * message at position 0. The length of the whole message is the content length plus {@link #HEADER_LENGTH}.
+     */
+    public static int getContentLength(ByteBuffer header) throws IOException {
+        validateBinXSignature(header);
+        int datasize = header.getInt(4);
+        if (datasize < 0) {
+            throw new IOException("Invalid message length " + datasize);
+        }
+        return datasize;
+    }
+
+    private static void validateBinXSignature(byte[] sig) throws UnsupportedEncodingException {
+        validateBinXSignature(ByteBuffer.wrap(sig));
+    }
+
+    private static void validateBinXSignature(ByteBuffer sig) throws UnsupportedEncodingException {
+        if (sig.get(0) != 'B' || sig.get(1) != 'i' || sig.get(2) != 'n') {
             throw new UnsupportedEncodingException("No BinX signature");
         }
     }
@@ -115,19 +156,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             throw new EOFException("Only " + message.length + " bytes received");
         }
         validateBinXSignature(message);
-        decodeMessage(message, methodHeader);
+        decodeMessage(message, message.length, methodHeader);
     }
 
-    private void decodeMessage(byte[] message, boolean methodHeader) throws IOException {
+    private void decodeMessage(byte[] message, int length, boolean methodHeader) throws IOException {
         binRpcData = message;
+        buffer = ByteBuffer.wrap(message);
+        this.length = length;
 
-        offset = 8;
+        offset = HEADER_LENGTH;
 
         if (methodHeader) {
             methodName = readString();
             readInt();
         }
+        dataOffset = offset;
         generateResponseData();
+        decoded = true;
     }
 
     public void setType(TYPE type) {
@@ -135,13 +180,12 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void generateResponseData() throws IOException {
-        offset = 8 + (methodName != null ? methodName.length() + 8 : 0);
+        offset = dataOffset;
         List<Object> values = new ArrayList<>();
-        while (offset < binRpcData.length) {
+        while (offset < length) {
             values.add(readRpcValue());
         }
         messageData = values.toArray();
-        values.clear();
     }
 
     private void createHeader() {
@@ -154,7 +198,8 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             addString(methodName);
             addInt(0); // placeholder arguments
         }
-        setInt(4, offset - 8);
+        dataOffset = offset;
+        setInt(4, offset - HEADER_LENGTH);
     }
 
     /**
@@ -163,7 +208,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public void addArg(Object argument) {
         addObject(argument);
-        setInt(4, offset - 8);
+        setInt(4, offset - HEADER_LENGTH);
 
         if (methodName != null) {
             setInt(12 + methodName.length(), ++args);
@@ -186,9 +231,11 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     private void trimBinRpcData() {
-        byte[] trimmed = new byte[offset];
-        System.arraycopy(binRpcData, 0, trimmed, 0, offset);
-        binRpcData = trimmed;
+        if (binRpcData.length != offset) {
+            binRpcData = Arrays.copyOf(binRpcData, offset);
+        }
+        buffer = ByteBuffer.wrap(binRpcData);
+        length = offset;
     }
 
     @Override
@@ -197,25 +244,42 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     }
 
     // read rpc values
-    private int readInt() {
-        byte bi[] = new byte[4];
-        System.arraycopy(binRpcData, offset, bi, 0, 4);
+    private int readInt() throws IOException {
+        if (offset + 4 > length) {
+            throw new EOFException("Unexpected end of message at position " + offset);
+        }
+        int value = buffer.getInt(offset);
         offset += 4;
-        return (new BigInteger(bi)).intValue();
+        return value;
     }
 
-    private String readString() throws UnsupportedEncodingException {
+    private String readString() throws IOException {
         int len = readInt();
+        if (len < 0 || offset + len > length) {
+            throw new EOFException("Invalid string length " + len + " at position " + offset);
+        }
         offset += len;
         return new String(binRpcData, offset - len, len, encoding);
     }
 
+    private int readElementCount() throws IOException {
+        int numElements = readInt();
+        // every element needs at least four bytes for its type or name length
+        if (numElements < 0 || numElements > (length - offset) / 4) {
+            throw new IOException("Invalid element count " + numElements + " at position " + offset);
+        }
+        return numElements;
+    }
+
     private Object readRpcValue() throws IOException {
         int type = readInt();
         switch (type) {
             case 1:
-                return new Integer(readInt());
+                return Integer.valueOf(readInt());
             case 2:
+                if (offset >= length) {
+                    throw new EOFException("Unexpected end of message at position " + offset);
+                }
                 return binRpcData[offset++] != 0 ? Boolean.TRUE : Boolean.FALSE;
             case 3:
                 return readString();
@@ -225,18 +289,17 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
                 BigDecimal bd = new BigDecimal((double) mantissa / (double) (1 << 30) * Math.pow(2, exponent));
                 return bd.setScale(6, RoundingMode.HALF_DOWN).doubleValue();
             case 5:
-                return new Date(readInt() * 1000);
+                return new Date(readInt() * 1000L);
             case 0x100:
                 // Array
-                int numElements = readInt();
-                Collection<Object> array = new ArrayList<>();
-                while (numElements-- > 0) {
-                    array.add(readRpcValue());
+                Object[] array = new Object[readElementCount()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = readRpcValue();
                 }
-                return array.toArray();
+                return array;
             case 0x101:
                 // Struct
-                numElements = readInt();
+                int numElements = readElementCount();
                 Map<String, Object> struct = new TreeMap<>();
                 while (numElements-- > 0) {
                     String name = readString();
@@ -245,8 +308,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
                 return struct;
 
             default:
-                for (int i = 0; i < binRpcData.length; i++) {
-                    logger.info("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                if (logger.isDebugEnabled()) {
+                    for (int i = 0; i < length; i++) {
+                        logger.debug("{} {}", Integer.toHexString(binRpcData[i]), (char) binRpcData[i]);
+                    }
                 }
                 throw new IOException("Unknown data type " + type);
         }
@@ -259,20 +324,23 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         offset = temp;
     }
 
-    private void addByte(byte b) {
-        if (offset == binRpcData.length) {
-            byte newdata[] = new byte[binRpcData.length * 2];
-            System.arraycopy(binRpcData, 0, newdata, 0, binRpcData.length);
-            binRpcData = newdata;
+    private void ensureCapacity(int count) {
+        if (offset + count > binRpcData.length) {
+            binRpcData = Arrays.copyOf(binRpcData, Math.max(binRpcData.length * 2, offset + count));
         }
+    }
+
+    private void addByte(byte b) {
+        ensureCapacity(1);
         binRpcData[offset++] = b;
     }
 
     private void addInt(int value) {
-        addByte((byte) (value >> 24));
-        addByte((byte) (value >> 16));
-        addByte((byte) (value >> 8));
-        addByte((byte) (value));
+        ensureCapacity(4);
+        binRpcData[offset++] = (byte) (value >> 24);
+        binRpcData[offset++] = (byte) (value >> 16);
+        binRpcData[offset++] = (byte) (value >> 8);
+        binRpcData[offset++] = (byte) (value);
     }
 
     private void addDouble(double value) {
@@ -297,18 +365,33 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
         addInt(exp);
     }
 
-    private void addString(String string) {
-        byte sd[];
+    private byte[] getBytes(String string) {
         try {
-            sd = string.getBytes(encoding);
+            return string.getBytes(encoding);
         } catch (UnsupportedEncodingException use) {
-            sd = string.getBytes();
-        }
-        for (byte ch : sd) {
-            addByte(ch);
+            return string.getBytes();
         }
     }
 
+    private void addString(String string) {
+        addBytes(getBytes(string));
+    }
+
+    private void addBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, binRpcData, offset, bytes.length);
+        offset += bytes.length;
+    }
+
+    /**
+     * Adds the length of the encoded string followed by the string itself.
+     */
+    private void addStringWithLength(String string) {
+        byte sd[] = getBytes(string);
+        addInt(sd.length);
+        addBytes(sd);
+    }
+
     private void addList(Collection<?> collection) {
         for (Object object : collection) {
             addObject(object);
@@ -318,9 +401,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     private void addObject(Object object) {
         if (object.getClass() == String.class) {
             addInt(3);
-            String string = (String) object;
-            addInt(string.length());
-            addString(string);
+            addStringWithLength((String) object);
         } else if (object.getClass() == Boolean.class) {
             addInt(2);
             addByte(((Boolean) object).booleanValue() ? (byte) 1 : (byte) 0);
@@ -355,8 +436,7 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
             for (Map.Entry<?, ?> entry : map.entrySet()) {
                 String key = (String) entry.getKey();
                 if (key != null) {
-                    addInt(key.length());
-                    addString(key);
+                    addStringWithLength(key);
                     addList(Collections.singleton(entry.getValue()));
                 }
             }
@@ -370,8 +450,10 @@ public class BinRpcMessage implements RpcRequest<byte[]>, RpcResponse {
     @Override
     public String toString() {
         try {
-            trimBinRpcData();
-            generateResponseData();
+            if (!decoded) {
+                trimBinRpcData();
+                generateResponseData();
+            }
             return RpcUtils.dumpRpcMessage(methodName, messageData);
         } catch (Exception e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -59,7 +59,10 @@ public class GetParamsetParser extends CommonRpcParser<Object[], Void> {
                 String deviceType = channel.getDevice().getType();
                 boolean isHmSenMdirNextTrans = dpInfo.getName().equals("NEXT_TRANSMISSION")
                         && (deviceType.startsWith("HM-Sen-MDIR-O") || deviceType.startsWith("HM-Sen-MDIR-WM55"));
-                if (!isHmSenMdirNextTrans) {
+                if (channel.isMetadataCached()) {
+                    // the metadata is reloaded from the gateway afterwards
+                    channel.setMetadataOutdated(true);
+                } else if (!isHmSenMdirNextTrans) {
                     logger.warn("Can't set value for datapoint '{}'", dpInfo);
                 }
             }
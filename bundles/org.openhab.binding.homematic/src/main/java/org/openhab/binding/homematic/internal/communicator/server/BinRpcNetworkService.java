@@ -14,30 +14,49 @@ package org.openhab.binding.homematic.internal.communicator.server;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
 import org.openhab.binding.homematic.internal.communicator.message.RpcRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Waits for a message from the Homematic gateway and starts the RpcCallbackHandler to handle the message.
+ * Waits for messages from the Homematic gateway and starts the RpcCallbackHandler to handle them.
+ *
+ * All connections are served by a single selector thread, which reads the messages without blocking. Only complete
+ * messages are handed to the thread pool for decoding and handling, so idle keep-alive connections of the gateway
+ * don't occupy any thread.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcNetworkService implements Runnable {
+    private final Logger logger = LoggerFactory.getLogger(BinRpcNetworkService.class);
+
     private static final byte BIN_EMPTY_STRING[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 0, 3, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_ARRAY[] = { 'B', 'i', 'n', 1, 0, 0, 0, 8, 0, 0, 1, 0, 0, 0, 0, 0 };
     private static final byte BIN_EMPTY_EVENT_LIST[] = { 'B', 'i', 'n', 1, 0, 0, 0, 21, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0,
             3, 0, 0, 0, 5, 'e', 'v', 'e', 'n', 't' };
 
     private static final String RPC_POOL_NAME = "homematicRpc";
-    private ServerSocket serverSocket;
-    private boolean accept = true;
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private volatile boolean accept = true;
     private HomematicConfig config;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
+    private final Set<BinRpcResponseHandler> connections = ConcurrentHashMap.newKeySet();
+    private final Queue<BinRpcResponseHandler> handledConnections = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates the socket for listening to events from the Homematic gateway.
@@ -45,9 +64,17 @@ public class BinRpcNetworkService implements Runnable {
     public BinRpcNetworkService(RpcEventListener listener, HomematicConfig config) throws IOException {
         this.config = config;
 
-        serverSocket = new ServerSocket();
-        serverSocket.setReuseAddress(true);
-        serverSocket.bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.socket().bind(new InetSocketAddress(config.getBindAddress(), config.getBinCallbackPort()));
+            serverChannel.configureBlocking(false);
+            selector = Selector.open();
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException ex) {
+            serverChannel.close();
+            throw ex;
+        }
 
         this.rpcResponseHandler = new RpcResponseHandler<byte[]>(listener) {
 
@@ -74,28 +101,94 @@ public class BinRpcNetworkService implements Runnable {
     }
 
     /**
-     * Listening for events and starts the callbackHandler if a event received.
+     * Listening for events and starts the callbackHandler if a complete message has been received.
      */
     @Override
     public void run() {
         while (accept) {
             try {
-                Socket cs = serverSocket.accept();
-                BinRpcResponseHandler rpcHandler = new BinRpcResponseHandler(cs, rpcResponseHandler, config);
-                ThreadPoolManager.getPool(RPC_POOL_NAME).execute(rpcHandler);
+                selector.select();
+                BinRpcResponseHandler handled;
+                while ((handled = handledConnections.poll()) != null) {
+                    processConnection(handled, handled.onHandled());
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnection();
+                    } else {
+                        BinRpcResponseHandler connection = (BinRpcResponseHandler) key.attachment();
+                        if (key.isReadable()) {
+                            processConnection(connection, connection.read());
+                        } else if (key.isWritable()) {
+                            processConnection(connection, connection.write());
+                        }
+                    }
+                }
+            } catch (ClosedSelectorException ex) {
+                break;
             } catch (IOException ex) {
-                // ignore
+                logger.debug("Error while waiting for BIN-RPC messages: {}", ex.getMessage());
             }
         }
     }
 
+    private void acceptConnection() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        BinRpcResponseHandler connection = new BinRpcResponseHandler(channel, rpcResponseHandler, config,
+                this::onHandled);
+        connection.setSelectionKey(channel.register(selector, SelectionKey.OP_READ, connection));
+        connections.add(connection);
+        logger.trace("Accepted BIN-RPC connection from {}", channel.socket().getRemoteSocketAddress());
+    }
+
+    /**
+     * Hands a connection with a complete message to the thread pool or closes it, if it has been finished.
+     */
+    private void processConnection(BinRpcResponseHandler connection, BinRpcResponseHandler.State state) {
+        if (state == BinRpcResponseHandler.State.MESSAGE_RECEIVED) {
+            ThreadPoolManager.getPool(RPC_POOL_NAME).execute(connection);
+        } else if (state == BinRpcResponseHandler.State.CLOSED) {
+            connection.close();
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Called from the thread pool after a message has been handled, continues with the connection in the selector
+     * thread.
+     */
+    private void onHandled(BinRpcResponseHandler connection) {
+        handledConnections.add(connection);
+        selector.wakeup();
+    }
+
     /**
      * Stops the listening.
      */
     public void shutdown() {
         accept = false;
         try {
-            serverSocket.close();
+            serverChannel.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+        for (BinRpcResponseHandler connection : connections) {
+            connection.close();
+        }
+        connections.clear();
+        try {
+            // deregisters the channels, which finally releases the port
+            selector.close();
         } catch (IOException ioe) {
             // ignore
         }
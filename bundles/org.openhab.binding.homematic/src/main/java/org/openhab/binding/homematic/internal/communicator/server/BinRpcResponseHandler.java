@@ -12,9 +12,12 @@
  */
 package org.openhab.binding.homematic.internal.communicator.server;
 
-import java.io.EOFException;
 import java.io.IOException;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
 
 import org.openhab.binding.homematic.internal.common.HomematicConfig;
 import org.openhab.binding.homematic.internal.communicator.message.BinRpcMessage;
@@ -22,53 +25,166 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Reads a BIN-RPC message from the socket and handles the method call.
+ * Reads BIN-RPC messages from a connection of the Homematic gateway and handles the method calls.
+ *
+ * The messages are read and the responses are written without blocking by the selector thread of the
+ * {@link BinRpcNetworkService}. A complete message is decoded and handled by {@link #run()} in the thread pool. The
+ * gateway waits for the response before sending the next message, so only one message per connection is handled at a
+ * time.
  *
  * @author Gerhard Riegler - Initial contribution
  */
 public class BinRpcResponseHandler implements Runnable {
     private final Logger logger = LoggerFactory.getLogger(BinRpcResponseHandler.class);
 
-    private Socket socket;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MAX_MESSAGE_LENGTH = 16 * 1024 * 1024;
+
+    /**
+     * The state of the connection after an operation.
+     */
+    public enum State {
+        READING,
+        MESSAGE_RECEIVED,
+        WRITING,
+        CLOSED
+    }
+
+    private SocketChannel channel;
+    private SelectionKey selectionKey;
     private RpcResponseHandler<byte[]> rpcResponseHandler;
     private HomematicConfig config;
+    private Consumer<BinRpcResponseHandler> handledCallback;
     private long created;
 
-    public BinRpcResponseHandler(Socket socket, RpcResponseHandler<byte[]> rpcResponseHandler, HomematicConfig config) {
-        this.socket = socket;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private int messageLength;
+    private ByteBuffer writeBuffer;
+    private boolean failed;
+
+    public BinRpcResponseHandler(SocketChannel channel, RpcResponseHandler<byte[]> rpcResponseHandler,
+            HomematicConfig config, Consumer<BinRpcResponseHandler> handledCallback) {
+        this.channel = channel;
         this.rpcResponseHandler = rpcResponseHandler;
         this.config = config;
+        this.handledCallback = handledCallback;
         this.created = System.currentTimeMillis();
     }
 
+    public void setSelectionKey(SelectionKey selectionKey) {
+        this.selectionKey = selectionKey;
+    }
+
+    /**
+     * Reads the available bytes from the connection, called by the selector thread.
+     */
+    public State read() {
+        try {
+            if (channel.read(readBuffer) < 0) {
+                return State.CLOSED;
+            }
+            return nextMessage();
+        } catch (IOException | CancelledKeyException ex) {
+            logger.trace("Closing BIN-RPC connection: {}", ex.getMessage());
+            return State.CLOSED;
+        }
+    }
+
+    /**
+     * Writes the pending response to the connection, called by the selector thread.
+     */
+    public State write() {
+        try {
+            channel.write(writeBuffer);
+            if (writeBuffer.hasRemaining()) {
+                selectionKey.interestOps(SelectionKey.OP_WRITE);
+                return State.WRITING;
+            }
+            writeBuffer = null;
+            if (System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000)) {
+                return State.CLOSED;
+            }
+            return nextMessage();
+        } catch (IOException | CancelledKeyException ex) {
+            logger.trace("Closing BIN-RPC connection: {}", ex.getMessage());
+            return State.CLOSED;
+        }
+    }
+
+    /**
+     * Continues after the message has been handled by {@link #run()}, called by the selector thread.
+     */
+    public State onHandled() {
+        if (failed) {
+            return State.CLOSED;
+        }
+        if (writeBuffer == null) {
+            writeBuffer = ByteBuffer.allocate(0);
+        }
+        return write();
+    }
+
     /**
-     * Reads the event from the Homematic gateway and handles the method call.
+     * Decodes the received message from the Homematic gateway and handles the method call.
      */
     @Override
     public void run() {
         try {
-            boolean isMaxAliveReached;
-            do {
-                BinRpcMessage message = new BinRpcMessage(socket.getInputStream(), true, config.getEncoding());
-                logger.trace("Event BinRpcMessage: {}", message);
-                byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
-                        message.getResponseData());
-                if (returnValue != null) {
-                    socket.getOutputStream().write(returnValue);
-                }
-                isMaxAliveReached = System.currentTimeMillis() - created > (config.getSocketMaxAlive() * 1000);
-            } while (!isMaxAliveReached);
-
-        } catch (EOFException eof) {
-            // ignore
+            ByteBuffer messageBuffer = readBuffer.duplicate();
+            messageBuffer.position(0);
+            messageBuffer.limit(messageLength);
+            BinRpcMessage message = new BinRpcMessage(messageBuffer, true, config.getEncoding());
+            logger.trace("Event BinRpcMessage: {}", message);
+            byte[] returnValue = rpcResponseHandler.handleMethodCall(message.getMethodName(),
+                    message.getResponseData());
+            writeBuffer = returnValue == null ? null : ByteBuffer.wrap(returnValue);
+
+            // keep the bytes received after the message
+            readBuffer.flip();
+            readBuffer.position(messageLength);
+            readBuffer.compact();
+            messageLength = 0;
         } catch (Exception e) {
             logger.warn("{}", e.getMessage(), e);
-        } finally {
-            try {
-                socket.close();
-            } catch (IOException ioe) {
-                // ignore
+            failed = true;
+        }
+        handledCallback.accept(this);
+    }
+
+    /**
+     * Closes the connection.
+     */
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ioe) {
+            // ignore
+        }
+    }
+
+    /**
+     * Checks if a complete message has been received and waits for more bytes otherwise. Grows the buffer if the
+     * message doesn't fit into it.
+     */
+    private State nextMessage() throws IOException {
+        if (readBuffer.position() >= BinRpcMessage.HEADER_LENGTH) {
+            int contentLength = BinRpcMessage.getContentLength(readBuffer);
+            if (contentLength > MAX_MESSAGE_LENGTH) {
+                throw new IOException("BIN-RPC message too large: " + contentLength + " bytes");
+            }
+            messageLength = BinRpcMessage.HEADER_LENGTH + contentLength;
+            if (readBuffer.position() >= messageLength) {
+                selectionKey.interestOps(0);
+                return State.MESSAGE_RECEIVED;
+            }
+            if (messageLength > readBuffer.capacity()) {
+                ByteBuffer larger = ByteBuffer.allocate(messageLength);
+                readBuffer.flip();
+                larger.put(readBuffer);
+                readBuffer = larger;
             }
         }
+        selectionKey.interestOps(SelectionKey.OP_READ);
+        return State.READING;
     }
 }
@@ -40,6 +40,8 @@ public class HmChannel {
     private final String type;
     private HmDevice device;
     private boolean initialized;
+    private boolean metadataCached;
+    private boolean metadataOutdated;
     private Integer lastFunction;
     private Map<HmDatapointInfo, HmDatapoint> datapoints = new HashMap<>();
 
@@ -92,6 +94,34 @@ public class HmChannel {
         return initialized;
     }
 
+    /**
+     * Sets the flag, if the datapoint metadata has been taken from the paramset description cache.
+     */
+    public void setMetadataCached(boolean metadataCached) {
+        this.metadataCached = metadataCached;
+    }
+
+    /**
+     * Returns true, if the datapoint metadata has been taken from the paramset description cache.
+     */
+    public boolean isMetadataCached() {
+        return metadataCached;
+    }
+
+    /**
+     * Sets the flag, if the gateway reported values for datapoints which are unknown to the channel.
+     */
+    public void setMetadataOutdated(boolean metadataOutdated) {
+        this.metadataOutdated = metadataOutdated;
+    }
+
+    /**
+     * Returns true, if the gateway reported values for datapoints which are unknown to the channel.
+     */
+    public boolean isMetadataOutdated() {
+        return metadataOutdated;
+    }
+
     /**
      * Returns true, if the channel contains gateway scripts.
      */
@@ -139,6 +169,20 @@ public class HmChannel {
         }
     }
 
+    /**
+     * Removes all datapoints which are not virtual from the channel.
+     */
+    public void removeNonVirtualDatapoints() {
+        synchronized (datapoints) {
+            Iterator<Map.Entry<HmDatapointInfo, HmDatapoint>> iterator = datapoints.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (!iterator.next().getValue().isVirtual()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
     /**
      * Returns the HmDatapoint with the given HmDatapointInfo.
      */
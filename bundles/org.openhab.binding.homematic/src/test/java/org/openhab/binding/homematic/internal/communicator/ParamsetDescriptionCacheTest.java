@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.openhab.binding.homematic.test.util.DimmerHelper.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.homematic.internal.model.HmChannel;
+import org.openhab.binding.homematic.internal.model.HmDatapoint;
+import org.openhab.binding.homematic.internal.model.HmParamsetType;
+import org.openhab.binding.homematic.internal.model.HmValueType;
+
+/**
+ * Tests for {@link ParamsetDescriptionCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ParamsetDescriptionCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void datapointsAreRestoredFromFile() throws IOException {
+        File file = new File(folder.getRoot(), "cache/ccu.paramsets");
+        HmChannel channel = createDimmerHmChannel();
+        HmDatapoint level = new HmDatapoint("LEVEL", "LEVEL", HmValueType.FLOAT, 0.5, false, HmParamsetType.VALUES);
+        level.setMinValue(0.0);
+        level.setMaxValue(1.01);
+        level.setDefaultValue(0.0);
+        level.setUnit("100%");
+        channel.addDatapoint(level);
+        HmDatapoint rampTime = new HmDatapoint("RAMP_TIME", "RAMP_TIME", HmValueType.INTEGER, null, false,
+                HmParamsetType.MASTER);
+        rampTime.setMinValue(0);
+        rampTime.setMaxValue(85825945);
+        channel.addDatapoint(rampTime);
+
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.put(channel);
+        cache.save();
+
+        Collection<HmDatapoint> datapoints = new ParamsetDescriptionCache(file).get(createDimmerHmChannel());
+        assertThat(datapoints.size(), is(2));
+        for (HmDatapoint dp : datapoints) {
+            if ("LEVEL".equals(dp.getName())) {
+                assertThat(dp.getParamsetType(), is(HmParamsetType.VALUES));
+                assertThat(dp.getMaxValue(), is(1.01));
+                assertThat(dp.getDefaultValue(), is(0.0));
+                assertThat(dp.getUnit(), is("100%"));
+                assertThat(dp.getValue(), is(nullValue()));
+            } else {
+                assertThat(dp.getName(), is("RAMP_TIME"));
+                assertThat(dp.getMaxValue(), is(85825945));
+                assertThat(dp.getUnit(), is(nullValue()));
+            }
+        }
+    }
+
+    @Test
+    public void removedChannelsAreNotRestored() throws IOException {
+        File file = new File(folder.getRoot(), "ccu.paramsets");
+        HmChannel channel = createDimmerHmChannel();
+        channel.addDatapoint(new HmDatapoint("LEVEL", "LEVEL", HmValueType.FLOAT, null, false, HmParamsetType.VALUES));
+
+        ParamsetDescriptionCache cache = new ParamsetDescriptionCache(file);
+        cache.put(channel);
+        cache.save();
+        cache.remove(channel);
+        cache.save();
+
+        assertThat(new ParamsetDescriptionCache(file).get(channel), is(nullValue()));
+    }
+}
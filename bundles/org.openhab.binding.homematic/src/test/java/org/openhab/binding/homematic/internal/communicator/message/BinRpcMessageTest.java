@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.homematic.internal.communicator.message;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinRpcMessage}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BinRpcMessageTest {
+    private static final String ENCODING = "ISO-8859-1";
+
+    @Test
+    public void multicallEventsAreDecodedFromBuffer() throws IOException {
+        byte[] message = createMulticallMessage(3);
+        ByteBuffer buffer = ByteBuffer.allocate(message.length + 100);
+        buffer.put(message);
+        buffer.limit(message.length);
+
+        BinRpcMessage decoded = new BinRpcMessage(buffer, true, ENCODING);
+
+        assertMulticall(decoded, 3);
+    }
+
+    @Test
+    public void multicallEventsAreDecodedFromStream() throws IOException {
+        byte[] message = createMulticallMessage(2);
+
+        BinRpcMessage decoded = new BinRpcMessage(new ByteArrayInputStream(message), true, ENCODING);
+
+        assertMulticall(decoded, 2);
+    }
+
+    @Test
+    public void contentLengthIsReadFromHeader() throws IOException {
+        byte[] message = createMulticallMessage(1);
+
+        int contentLength = BinRpcMessage.getContentLength(ByteBuffer.wrap(message));
+
+        assertThat(contentLength + BinRpcMessage.HEADER_LENGTH, is(message.length));
+    }
+
+    @Test(expected = EOFException.class)
+    public void truncatedMessageIsRejected() throws IOException {
+        byte[] message = createMulticallMessage(1);
+
+        new BinRpcMessage(new ByteArrayInputStream(Arrays.copyOf(message, message.length - 3)), true, ENCODING);
+    }
+
+    @Test
+    public void responseValuesAreEncodedAndDecoded() throws Exception {
+        BinRpcMessage response = new BinRpcMessage(null, BinRpcMessage.TYPE.RESPONSE, ENCODING);
+        Map<String, Object> struct = new HashMap<>();
+        struct.put("ADDRESS", "NEQ0123456:1");
+        struct.put("NAME", "Küche");
+        struct.put("LEVEL", 0.25);
+        struct.put("WORKING", Boolean.TRUE);
+        struct.put("VERSION", 12);
+        response.addArg(struct);
+
+        BinRpcMessage decoded = new BinRpcMessage(response.createMessage(), false, ENCODING);
+
+        Map<?, ?> values = (Map<?, ?>) decoded.getResponseData()[0];
+        assertThat(values.get("ADDRESS"), is("NEQ0123456:1"));
+        assertThat(values.get("NAME"), is("Küche"));
+        assertThat(values.get("LEVEL"), is(0.25));
+        assertThat(values.get("WORKING"), is(Boolean.TRUE));
+        assertThat(values.get("VERSION"), is(12));
+    }
+
+    private byte[] createMulticallMessage(int eventCount) {
+        List<Object> calls = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            Map<String, Object> call = new HashMap<>();
+            call.put("methodName", "event");
+            call.put("params", Arrays.asList("ccu", "000A1234567890:" + i, "LEVEL", 0.5));
+            calls.add(call);
+        }
+        BinRpcMessage message = new BinRpcMessage("system.multicall", ENCODING);
+        message.addArg(calls);
+        return message.createMessage();
+    }
+
+    private void assertMulticall(BinRpcMessage decoded, int eventCount) {
+        assertThat(decoded.getMethodName(), is("system.multicall"));
+        Object[] calls = (Object[]) decoded.getResponseData()[0];
+        assertThat(calls.length, is(eventCount));
+        for (int i = 0; i < eventCount; i++) {
+            Map<?, ?> call = (Map<?, ?>) calls[i];
+            assertThat(call.get("methodName"), is("event"));
+            Object[] params = (Object[]) call.get("params");
+            assertThat(params[1], is("000A1234567890:" + i));
+            assertThat(params[2], is("LEVEL"));
+            assertThat(params[3], is(0.5));
+        }
+    }
+}
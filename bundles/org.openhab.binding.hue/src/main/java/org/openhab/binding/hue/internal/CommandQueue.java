@@ -0,0 +1,305 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends state and config updates to a bridge at a rate it can handle.
+ *
+ * Updates for the same resource which are still waiting to be sent are merged into a single request. If all lights of
+ * a group are waiting for the same light state update, a single group action is sent instead. Requests are limited by
+ * a token bucket, see https://developers.meethue.com/develop/application-design-guidance/hue-system-performance/
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CommandQueue {
+
+    /**
+     * Light commands per second the bridge can handle
+     */
+    static final double RATE_PER_SECOND = 10;
+
+    /**
+     * Number of commands which may be sent in a burst
+     */
+    static final double BURST_SIZE = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(CommandQueue.class);
+
+    private final HttpClient http;
+    private final ScheduledExecutorService scheduler;
+    private final Function<String, String> groupActionAddress;
+
+    private final Map<String, PendingUpdate> pendingUpdates = new LinkedHashMap<>();
+    private final Map<String, PendingUpdate> pendingLightUpdates = new HashMap<>();
+    private Map<String, List<String>> groupLights = Collections.emptyMap();
+    private @Nullable Future<?> job;
+
+    private double tokens = BURST_SIZE;
+    private long lastRefillNanos = System.nanoTime();
+
+    private long sentRequests;
+    private long coalescedUpdates;
+    private long groupSubstitutions;
+
+    /**
+     * @param http the client to send the requests with
+     * @param scheduler the scheduler the requests are sent on
+     * @param groupActionAddress provides the address of the action of the group with the given id
+     */
+    public CommandQueue(HttpClient http, ScheduledExecutorService scheduler,
+            Function<String, String> groupActionAddress) {
+        this.http = http;
+        this.scheduler = scheduler;
+        this.groupActionAddress = groupActionAddress;
+    }
+
+    /**
+     * Queues an update of a sensor or the config of a sensor.
+     *
+     * @param address the address to send the update to
+     * @param update the update
+     * @return the result of the request
+     */
+    public CompletableFuture<Result> put(String address, ConfigUpdate update) {
+        return put(address, update, null);
+    }
+
+    /**
+     * Queues an update. If an update for the same address is still waiting to be sent, both are merged.
+     *
+     * @param address the address to send the update to
+     * @param update the update
+     * @param lightId the id of the light whose state is updated, null for other updates
+     * @return the result of the request
+     */
+    public CompletableFuture<Result> put(String address, ConfigUpdate update, @Nullable String lightId) {
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        synchronized (this) {
+            PendingUpdate pending = pendingUpdates.get(address);
+            if (pending == null) {
+                pending = new PendingUpdate(address, lightId);
+                pendingUpdates.put(address, pending);
+                if (lightId != null) {
+                    pendingLightUpdates.put(lightId, pending);
+                }
+            } else {
+                coalescedUpdates++;
+                logger.trace("Merging update {} into pending update for {}", update.toJson(), address);
+            }
+            pending.update.merge(update);
+            pending.futures.add(future);
+            if (job == null) {
+                job = scheduler.submit(this::sendPendingUpdates);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Sets the lights of each group, which is used to replace light updates by group actions.
+     *
+     * @param groupLights the ids of the lights in each group by group id
+     */
+    public synchronized void setGroupLights(Map<String, List<String>> groupLights) {
+        this.groupLights = groupLights;
+    }
+
+    public synchronized int getQueueLength() {
+        return pendingUpdates.size();
+    }
+
+    public synchronized long getSentRequests() {
+        return sentRequests;
+    }
+
+    public synchronized long getCoalescedUpdates() {
+        return coalescedUpdates;
+    }
+
+    public synchronized long getGroupSubstitutions() {
+        return groupSubstitutions;
+    }
+
+    /**
+     * Fails all updates which have not been sent yet.
+     */
+    public void dispose() {
+        List<PendingUpdate> discarded;
+        synchronized (this) {
+            Future<?> job = this.job;
+            if (job != null) {
+                job.cancel(false);
+                this.job = null;
+            }
+            discarded = new ArrayList<>(pendingUpdates.values());
+            pendingUpdates.clear();
+            pendingLightUpdates.clear();
+            logger.debug("Sent {} requests, merged {} updates and used {} group actions", sentRequests,
+                    coalescedUpdates, groupSubstitutions);
+        }
+        discarded.forEach(pending -> pending.complete(null, new IOException("Bridge connection disposed")));
+    }
+
+    private void sendPendingUpdates() {
+        while (true) {
+            Request next;
+            synchronized (this) {
+                if (pendingUpdates.isEmpty()) {
+                    job = null;
+                    return;
+                }
+                refillTokens();
+                if (tokens < 1) {
+                    long waitMillis = (long) Math.ceil((1 - tokens) * 1000 / RATE_PER_SECOND);
+                    job = scheduler.schedule(this::sendPendingUpdates, waitMillis, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                next = takeNext();
+                tokens -= next.cost;
+                sentRequests++;
+            }
+            try {
+                logger.debug("Sending put to address: {} body: {}", next.address, next.body);
+                next.complete(http.put(next.address, next.body), null);
+            } catch (IOException e) {
+                next.complete(null, e);
+            }
+        }
+    }
+
+    private void refillTokens() {
+        long now = System.nanoTime();
+        tokens = Math.min(BURST_SIZE, tokens + (now - lastRefillNanos) * RATE_PER_SECOND / 1e9);
+        lastRefillNanos = now;
+    }
+
+    /**
+     * Removes the oldest pending update from the queue. If it is a light state update and all lights of a group are
+     * waiting for the same update, the updates of the largest such group are replaced by its group action.
+     */
+    private Request takeNext() {
+        Iterator<PendingUpdate> iterator = pendingUpdates.values().iterator();
+        PendingUpdate head = iterator.next();
+        iterator.remove();
+        String headLightId = head.lightId;
+        String body = head.update.toJson();
+        if (headLightId == null) {
+            return new Request(head.address, body, 1, Collections.singletonList(head));
+        }
+        pendingLightUpdates.remove(headLightId);
+
+        String bestGroup = null;
+        List<String> bestLights = Collections.emptyList();
+        for (Map.Entry<String, List<String>> group : groupLights.entrySet()) {
+            List<String> lights = group.getValue();
+            if (lights.size() > Math.max(1, bestLights.size()) && lights.contains(headLightId)
+                    && allLightsPending(lights, headLightId, body)) {
+                bestGroup = group.getKey();
+                bestLights = lights;
+            }
+        }
+        if (bestGroup == null) {
+            return new Request(head.address, body, 1, Collections.singletonList(head));
+        }
+
+        List<PendingUpdate> replaced = new ArrayList<>(bestLights.size());
+        replaced.add(head);
+        for (String lightId : bestLights) {
+            if (!lightId.equals(headLightId)) {
+                PendingUpdate pending = pendingLightUpdates.remove(lightId);
+                if (pending != null) {
+                    pendingUpdates.remove(pending.address);
+                    replaced.add(pending);
+                }
+            }
+        }
+        groupSubstitutions++;
+        logger.debug("Replacing {} light updates by an action of group {}", replaced.size(), bestGroup);
+        // a group action is expensive for the bridge, but never more expensive than the single light updates
+        return new Request(groupActionAddress.apply(bestGroup), body, Math.min(replaced.size(), BURST_SIZE),
+                replaced);
+    }
+
+    private boolean allLightsPending(List<String> lights, String headLightId, String body) {
+        for (String lightId : lights) {
+            if (!lightId.equals(headLightId)) {
+                PendingUpdate pending = pendingLightUpdates.get(lightId);
+                if (pending == null || !body.equals(pending.update.toJson())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static class PendingUpdate {
+        final String address;
+        final @Nullable String lightId;
+        final ConfigUpdate update = new ConfigUpdate();
+        final List<CompletableFuture<Result>> futures = new ArrayList<>(1);
+
+        PendingUpdate(String address, @Nullable String lightId) {
+            this.address = address;
+            this.lightId = lightId;
+        }
+
+        void complete(@Nullable Result result, @Nullable Throwable error) {
+            for (CompletableFuture<Result> future : futures) {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            }
+        }
+    }
+
+    private static class Request {
+        final String address;
+        final String body;
+        final double cost;
+        final List<PendingUpdate> updates;
+
+        Request(String address, String body, double cost, List<PendingUpdate> updates) {
+            this.address = address;
+            this.body = body;
+            this.cost = cost;
+            this.updates = updates;
+        }
+
+        void complete(@Nullable Result result, @Nullable Throwable error) {
+            updates.forEach(update -> update.complete(result, error));
+        }
+    }
+}
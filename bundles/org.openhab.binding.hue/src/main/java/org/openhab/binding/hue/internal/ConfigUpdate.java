@@ -36,15 +36,19 @@ public class ConfigUpdate {
         return commands.isEmpty();
     }
 
-    public String toJson() {
-        return commands.stream().map(c -> c.toJson()).collect(joining(",", "{", "}"));
-    }
-
     /**
-     * Returns the message delay recommended by Philips
-     * Regarding to this article: https://developers.meethue.com/documentation/hue-system-performance
+     * Adds the commands of the given update, replacing the commands for the same attributes.
+     *
+     * @param update the update to merge into this one
      */
-    public long getMessageDelay() {
-        return commands.size() * 40L;
+    void merge(ConfigUpdate update) {
+        for (Command command : update.commands) {
+            commands.removeIf(existing -> existing.key.equals(command.key));
+            commands.add(command);
+        }
+    }
+
+    public String toJson() {
+        return commands.stream().map(c -> c.toJson()).collect(joining(",", "{", "}"));
     }
 }
@@ -13,7 +13,11 @@
 package org.openhab.binding.hue.internal;
 
 import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import com.google.gson.reflect.TypeToken;
 
@@ -59,4 +63,28 @@ public class FullSensor extends FullHueObject {
     public Map<String, Object> getConfig() {
         return config;
     }
+
+    /**
+     * Returns the keys of the state entries which differ between this and the given sensor.
+     *
+     * @param other the sensor to compare with
+     * @return the changed state keys, an empty set if the states are equal
+     */
+    public Set<String> diffState(FullSensor other) {
+        if (state.equals(other.state)) {
+            return Collections.emptySet();
+        }
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, Object> entry : state.entrySet()) {
+            if (!Objects.equals(entry.getValue(), other.state.get(entry.getKey()))) {
+                changed.add(entry.getKey());
+            }
+        }
+        for (String key : other.state.keySet()) {
+            if (!state.containsKey(key)) {
+                changed.add(key);
+            }
+        }
+        return changed;
+    }
 }
@@ -20,15 +20,9 @@ import java.io.Writer;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
-import java.util.LinkedList;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  *
@@ -38,37 +32,6 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class HttpClient {
     private int timeout = 1000;
-    private final Logger logger = LoggerFactory.getLogger(HttpClient.class);
-    private final LinkedList<AsyncPutParameters> commandsQueue = new LinkedList<>();
-    private @Nullable Future<?> job;
-
-    @SuppressWarnings({ "null", "unused" })
-    private void executeCommands() {
-        while (true) {
-            try {
-                long delayTime = 0;
-                synchronized (commandsQueue) {
-                    AsyncPutParameters payloadCallbackPair = commandsQueue.poll();
-                    if (payloadCallbackPair != null) {
-                        logger.debug("Async sending put to address: {} delay: {} body: {}", payloadCallbackPair.address,
-                                payloadCallbackPair.delay, payloadCallbackPair.body);
-                        try {
-                            Result result = put(payloadCallbackPair.address, payloadCallbackPair.body);
-                            payloadCallbackPair.future.complete(result);
-                        } catch (IOException e) {
-                            payloadCallbackPair.future.completeExceptionally(e);
-                        }
-                        delayTime = payloadCallbackPair.delay;
-                    } else {
-                        return;
-                    }
-                }
-                Thread.sleep(delayTime);
-            } catch (InterruptedException e) {
-                logger.debug("commandExecutorThread was interrupted", e);
-            }
-        }
-    }
 
     public void setTimeout(int timeout) {
         this.timeout = timeout;
@@ -86,24 +49,6 @@ public class HttpClient {
         return doNetwork(address, "PUT", body);
     }
 
-    public CompletableFuture<Result> putAsync(String address, String body, long delay,
-            ScheduledExecutorService scheduler) {
-        AsyncPutParameters asyncPutParameters = new AsyncPutParameters(address, body, delay);
-
-        synchronized (commandsQueue) {
-            if (commandsQueue.isEmpty()) {
-                commandsQueue.offer(asyncPutParameters);
-                if (job == null || job.isDone()) {
-                    job = scheduler.submit(this::executeCommands);
-                }
-            } else {
-                commandsQueue.offer(asyncPutParameters);
-            }
-        }
-
-        return asyncPutParameters.future;
-    }
-
     public Result delete(String address) throws IOException {
         return doNetwork(address, "DELETE");
     }
@@ -113,30 +58,46 @@ public class HttpClient {
     }
 
     protected Result doNetwork(String address, String requestMethod, @Nullable String body) throws IOException {
+        // The connection is not disconnected, so that the underlying socket is kept alive and reused for the next
+        // request to the bridge. This requires the response to be read completely.
         HttpURLConnection conn = (HttpURLConnection) new URL(address).openConnection();
-        try {
-            conn.setRequestMethod(requestMethod);
-            conn.setRequestProperty("Content-Type", "application/json");
-            conn.setConnectTimeout(timeout);
-            conn.setReadTimeout(timeout);
-
-            if (body != null && !"".equals(body)) {
-                conn.setDoOutput(true);
-                try (Writer out = new OutputStreamWriter(conn.getOutputStream())) {
-                    out.write(body);
-                }
+        conn.setRequestMethod(requestMethod);
+        conn.setRequestProperty("Content-Type", "application/json");
+        conn.setConnectTimeout(timeout);
+        conn.setReadTimeout(timeout);
+
+        if (body != null && !"".equals(body)) {
+            conn.setDoOutput(true);
+            try (Writer out = new OutputStreamWriter(conn.getOutputStream())) {
+                out.write(body);
             }
+        }
 
-            try (InputStream in = conn.getInputStream(); ByteArrayOutputStream result = new ByteArrayOutputStream()) {
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = in.read(buffer)) != -1) {
-                    result.write(buffer, 0, length);
+        try (InputStream in = conn.getInputStream()) {
+            return new Result(readFully(in), conn.getResponseCode());
+        } catch (IOException e) {
+            InputStream error = conn.getErrorStream();
+            if (error != null) {
+                try (InputStream in = error) {
+                    readFully(in);
+                } catch (IOException ignored) {
+                    conn.disconnect();
                 }
-                return new Result(result.toString(StandardCharsets.UTF_8.name()), conn.getResponseCode());
+            } else {
+                conn.disconnect();
+            }
+            throw e;
+        }
+    }
+
+    private String readFully(InputStream in) throws IOException {
+        try (ByteArrayOutputStream result = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[1024];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                result.write(buffer, 0, length);
             }
-        } finally {
-            conn.disconnect();
+            return result.toString(StandardCharsets.UTF_8.name());
         }
     }
 
@@ -157,18 +118,4 @@ public class HttpClient {
             return responseCode;
         }
     }
-
-    public final class AsyncPutParameters {
-        public final String address;
-        public final String body;
-        public final CompletableFuture<Result> future;
-        public final long delay;
-
-        public AsyncPutParameters(String address, String body, long delay) {
-            this.address = address;
-            this.body = body;
-            this.future = new CompletableFuture<>();
-            this.delay = delay;
-        }
-    }
 }
@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.hue.internal;
 
+import static java.util.stream.Collectors.toList;
+
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
@@ -23,6 +25,7 @@ import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -69,7 +72,7 @@ public class HueBridge {
 
     private final Gson gson = new GsonBuilder().setDateFormat(DATE_FORMAT).create();
     private HttpClient http = new HttpClient();
-    private final ScheduledExecutorService scheduler;
+    private final CommandQueue commandQueue;
 
     @Nullable
     private Config cachedConfig;
@@ -92,7 +95,8 @@ public class HueBridge {
             baseUrl = protocol + "://" + ip + ":" + port + "/api";
         }
         this.baseUrl = baseUrl;
-        this.scheduler = scheduler;
+        this.commandQueue = new CommandQueue(http, scheduler,
+                groupId -> getRelativeURL("groups/" + enc(groupId) + "/action"));
     }
 
     /**
@@ -358,9 +362,7 @@ public class HueBridge {
     public CompletableFuture<Result> setLightState(FullLight light, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("lights/" + enc(light.getId()) + "/state"), body, update.getMessageDelay(),
-                scheduler);
+        return commandQueue.put(getRelativeURL("lights/" + enc(light.getId()) + "/state"), update, light.getId());
     }
 
     /**
@@ -376,9 +378,7 @@ public class HueBridge {
     public CompletableFuture<Result> setSensorState(FullSensor sensor, StateUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.put(getRelativeURL("sensors/" + enc(sensor.getId()) + "/state"), update);
     }
 
     /**
@@ -393,9 +393,7 @@ public class HueBridge {
     public CompletableFuture<Result> updateSensorConfig(FullSensor sensor, ConfigUpdate update) {
         requireAuthentication();
 
-        String body = update.toJson();
-        return http.putAsync(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), body,
-                update.getMessageDelay(), scheduler);
+        return commandQueue.put(getRelativeURL("sensors/" + enc(sensor.getId()) + "/config"), update);
     }
 
     /**
@@ -436,6 +434,37 @@ public class HueBridge {
         return groupList;
     }
 
+    /**
+     * Reads the lights of all groups, so that light state updates can be replaced by group actions.
+     *
+     * @throws UnauthorizedException thrown if the user no longer exists
+     */
+    public void updateGroupLights() throws IOException, ApiException {
+        requireAuthentication();
+
+        Result result = http.get(getRelativeURL("groups"));
+
+        handleErrors(result);
+
+        Map<String, FullGroup> groupMap = safeFromJson(result.getBody(), FullGroup.GSON_TYPE);
+        Map<String, List<String>> groupLights = new HashMap<>();
+
+        for (String id : groupMap.keySet()) {
+            groupLights.put(id, groupMap.get(id).getLights().stream().map(HueObject::getId).collect(toList()));
+        }
+
+        commandQueue.setGroupLights(groupLights);
+    }
+
+    /**
+     * Returns the queue which sends the state and config updates to the bridge.
+     *
+     * @return the command queue
+     */
+    public CommandQueue getCommandQueue() {
+        return commandQueue;
+    }
+
     /**
      * Creates a new group and returns it.
      * Due to API limitations, the name of the returned object
@@ -13,6 +13,10 @@
 package org.openhab.binding.hue.internal;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Current state of light.
@@ -90,6 +94,22 @@ public class State {
         COLORLOOP
     }
 
+    /**
+     * Attributes of a light state.
+     */
+    public enum Field {
+        ON,
+        BRIGHTNESS,
+        HUE,
+        SATURATION,
+        XY,
+        COLOR_TEMPERATURE,
+        ALERT,
+        EFFECT,
+        COLOR_MODE,
+        REACHABLE
+    }
+
     /**
      * Returns the on state.
      *
@@ -190,6 +210,50 @@ public class State {
         return reachable;
     }
 
+    /**
+     * Returns the attributes which differ between this and the given state.
+     *
+     * @param other the state to compare with
+     * @return the changed attributes, an empty set if the states are equal
+     */
+    public Set<Field> diff(State other) {
+        if (equals(other)) {
+            return Collections.emptySet();
+        }
+        Set<Field> changed = EnumSet.noneOf(Field.class);
+        if (on != other.on) {
+            changed.add(Field.ON);
+        }
+        if (bri != other.bri) {
+            changed.add(Field.BRIGHTNESS);
+        }
+        if (hue != other.hue) {
+            changed.add(Field.HUE);
+        }
+        if (sat != other.sat) {
+            changed.add(Field.SATURATION);
+        }
+        if (!Arrays.equals(xy, other.xy)) {
+            changed.add(Field.XY);
+        }
+        if (ct != other.ct) {
+            changed.add(Field.COLOR_TEMPERATURE);
+        }
+        if (!Objects.equals(alert, other.alert)) {
+            changed.add(Field.ALERT);
+        }
+        if (!Objects.equals(effect, other.effect)) {
+            changed.add(Field.EFFECT);
+        }
+        if (!Objects.equals(colormode, other.colormode)) {
+            changed.add(Field.COLOR_MODE);
+        }
+        if (reachable != other.reachable) {
+            changed.add(Field.REACHABLE);
+        }
+        return changed;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
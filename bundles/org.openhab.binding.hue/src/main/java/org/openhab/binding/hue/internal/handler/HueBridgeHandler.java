@@ -16,9 +16,10 @@ import static org.eclipse.smarthome.core.thing.Thing.*;
 import static org.openhab.binding.hue.internal.HueBindingConstants.*;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -29,6 +30,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -79,7 +81,18 @@ import org.slf4j.LoggerFactory;
 @NonNullByDefault
 public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueClient {
 
+    private static final long GROUP_LIGHTS_REFRESH_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private static final long FAST_LIGHT_POLLING_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+    private static final long FAST_LIGHT_POLLING_DURATION = TimeUnit.SECONDS.toMillis(5);
+    private static final int MAX_LIGHT_POLLING_BACKOFF = 4;
+
     private long lightPollingInterval = TimeUnit.SECONDS.toSeconds(10);
+    private long lastGroupLightsRefresh = 0;
+    private volatile long lastLightCommand = 0;
+    private volatile boolean lightStatesChanged = false;
+    private int lightPollingBackoff = 1;
+    private volatile int lightPollingGeneration = 0;
     private long sensorPollingInterval = TimeUnit.MILLISECONDS.toMillis(500);
 
     final ReentrantLock pollingLock = new ReentrantLock();
@@ -168,6 +181,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final List<LightStatusListener> lightStatusListeners = new CopyOnWriteArrayList<>();
     private final List<SensorStatusListener> sensorStatusListeners = new CopyOnWriteArrayList<>();
 
+    private final Object lightPollingLock = new Object();
     private @Nullable ScheduledFuture<?> lightPollingJob;
     private @Nullable ScheduledFuture<?> sensorPollingJob;
 
@@ -177,35 +191,34 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable sensorPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullSensor> lastSensorStateCopy = new HashMap<>(lastSensorStates);
+            List<FullSensor> sensors = hueBridge.getSensors();
 
-            for (final FullSensor sensor : hueBridge.getSensors()) {
+            for (final FullSensor sensor : sensors) {
                 String sensorId = sensor.getId();
-                if (lastSensorStateCopy.containsKey(sensorId)) {
-                    final FullSensor lastFullSensor = lastSensorStateCopy.remove(sensorId);
-                    final Map<String, Object> lastFullSensorState = lastFullSensor.getState();
-                    lastSensorStates.put(sensorId, sensor);
-                    if (!lastFullSensorState.equals(sensor.getState())) {
-                        logger.debug("Status update for Hue sensor '{}' detected: {}", sensorId, sensor.getState());
-                        notifySensorStatusListeners(sensor, STATE_CHANGED);
+                final FullSensor lastFullSensor = lastSensorStates.put(sensorId, sensor);
+                if (lastFullSensor != null) {
+                    Set<String> changedKeys = sensor.diffState(lastFullSensor);
+                    if (!changedKeys.isEmpty()) {
+                        logger.debug("Status update for Hue sensor '{}' detected: {}", sensorId, changedKeys);
+                        notifySensorStateChanged(sensor, changedKeys);
                     }
                 } else {
-                    lastSensorStates.put(sensorId, sensor);
                     logger.debug("Hue sensor '{}' added.", sensorId);
                     notifySensorStatusListeners(sensor, STATE_ADDED);
-
                 }
             }
 
-            // Check for removed sensors
-            for (Entry<String, FullSensor> fullSensorEntry : lastSensorStateCopy.entrySet()) {
-                lastSensorStates.remove(fullSensorEntry.getKey());
-                logger.debug("Hue sensor '{}' removed.", fullSensorEntry.getKey());
-                for (SensorStatusListener sensorStatusListener : sensorStatusListeners) {
-                    try {
-                        sensorStatusListener.onSensorRemoved(hueBridge, fullSensorEntry.getValue());
-                    } catch (Exception e) {
-                        logger.error("An exception occurred while calling the Sensor Listeners", e);
+            // Check for removed sensors, only if there are more known sensors than polled ones
+            if (lastSensorStates.size() > sensors.size()) {
+                Set<String> polledIds = sensors.stream().map(FullSensor::getId).collect(Collectors.toSet());
+                for (FullSensor removedSensor : removeUnpolled(lastSensorStates, polledIds)) {
+                    logger.debug("Hue sensor '{}' removed.", removedSensor.getId());
+                    for (SensorStatusListener sensorStatusListener : sensorStatusListeners) {
+                        try {
+                            sensorStatusListener.onSensorRemoved(hueBridge, removedSensor);
+                        } catch (Exception e) {
+                            logger.error("An exception occurred while calling the Sensor Listeners", e);
+                        }
                     }
                 }
             }
@@ -215,7 +228,12 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     private final Runnable lightPollingRunnable = new PollingRunnable() {
         @Override
         protected void doConnectedRun() throws IOException, ApiException {
-            Map<String, FullLight> lastLightStateCopy = new HashMap<>(lastLightStates);
+            // the group members are needed to replace light updates by group actions
+            long now = System.currentTimeMillis();
+            if (now - lastGroupLightsRefresh > GROUP_LIGHTS_REFRESH_INTERVAL) {
+                hueBridge.updateGroupLights();
+                lastGroupLightsRefresh = now;
+            }
 
             List<FullLight> lights;
             if (ApiVersionUtils.supportsFullLights(hueBridge.getVersion())) {
@@ -224,38 +242,54 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
                 lights = hueBridge.getFullConfig().getLights();
             }
 
+            boolean changed = false;
             for (final FullLight fullLight : lights) {
                 final String lightId = fullLight.getId();
-                if (lastLightStateCopy.containsKey(lightId)) {
-                    final FullLight lastFullLight = lastLightStateCopy.remove(lightId);
-                    final State lastFullLightState = lastFullLight.getState();
-                    lastLightStates.put(lightId, fullLight);
-                    if (!lastFullLightState.equals(fullLight.getState())) {
-                        logger.debug("Status update for Hue light '{}' detected.", lightId);
-                        notifyLightStatusListeners(fullLight, STATE_CHANGED);
+                final FullLight lastFullLight = lastLightStates.put(lightId, fullLight);
+                if (lastFullLight != null) {
+                    Set<State.Field> changedFields = fullLight.getState().diff(lastFullLight.getState());
+                    if (!changedFields.isEmpty()) {
+                        logger.debug("Status update for Hue light '{}' detected: {}", lightId, changedFields);
+                        notifyLightStateChanged(fullLight, changedFields);
+                        changed = true;
                     }
                 } else {
-                    lastLightStates.put(lightId, fullLight);
                     logger.debug("Hue light '{}' added.", lightId);
                     notifyLightStatusListeners(fullLight, STATE_ADDED);
+                    changed = true;
                 }
             }
 
-            // Check for removed lights
-            for (Entry<String, FullLight> fullLightEntry : lastLightStateCopy.entrySet()) {
-                lastLightStates.remove(fullLightEntry.getKey());
-                logger.debug("Hue light '{}' removed.", fullLightEntry.getKey());
-                for (LightStatusListener lightStatusListener : lightStatusListeners) {
-                    try {
-                        lightStatusListener.onLightRemoved(hueBridge, fullLightEntry.getValue());
-                    } catch (Exception e) {
-                        logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
+            // Check for removed lights, only if there are more known lights than polled ones
+            if (lastLightStates.size() > lights.size()) {
+                Set<String> polledIds = lights.stream().map(FullLight::getId).collect(Collectors.toSet());
+                for (FullLight removedLight : removeUnpolled(lastLightStates, polledIds)) {
+                    logger.debug("Hue light '{}' removed.", removedLight.getId());
+                    for (LightStatusListener lightStatusListener : lightStatusListeners) {
+                        try {
+                            lightStatusListener.onLightRemoved(hueBridge, removedLight);
+                        } catch (Exception e) {
+                            logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
+                        }
                     }
                 }
+                changed = true;
             }
+            lightStatesChanged = changed;
         }
     };
 
+    /**
+     * Polls the lights and schedules the next poll. The interval is shortened after a light command to pick up the
+     * resulting state quickly and is increased while nothing changes.
+     */
+    private final Runnable adaptiveLightPollingRunnable = () -> {
+        int generation = lightPollingGeneration;
+        lightStatesChanged = false;
+        lightPollingRunnable.run();
+        scheduleLightPolling(generation, nextLightPollingDelay(lightStatesChanged));
+    };
+
     public HueBridgeHandler(Bridge bridge) {
         super(bridge);
     }
@@ -268,6 +302,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     @Override
     public void updateLightState(FullLight light, StateUpdate stateUpdate) {
         if (hueBridge != null) {
+            pollLightsSoon();
             hueBridge.setLightState(light, stateUpdate).thenAccept(result -> {
                 try {
                     hueBridge.handleErrors(result);
@@ -371,22 +406,66 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
     }
 
     private void startLightPolling() {
-        if (lightPollingJob == null || lightPollingJob.isCancelled()) {
-            if (hueBridgeConfig.getPollingInterval() < 1) {
-                logger.info("Wrong configuration value for polling interval. Using default value: {}s",
-                        lightPollingInterval);
-            } else {
-                lightPollingInterval = hueBridgeConfig.getPollingInterval();
+        synchronized (lightPollingLock) {
+            if (lightPollingJob == null) {
+                if (hueBridgeConfig.getPollingInterval() < 1) {
+                    logger.info("Wrong configuration value for polling interval. Using default value: {}s",
+                            lightPollingInterval);
+                } else {
+                    lightPollingInterval = hueBridgeConfig.getPollingInterval();
+                }
+                lightPollingBackoff = 1;
+                lightPollingJob = scheduler.schedule(adaptiveLightPollingRunnable, 1, TimeUnit.SECONDS);
             }
-            lightPollingJob = scheduler.scheduleWithFixedDelay(lightPollingRunnable, 1, lightPollingInterval,
-                    TimeUnit.SECONDS);
         }
     }
 
     private void stopLightPolling() {
-        if (lightPollingJob != null && !lightPollingJob.isCancelled()) {
-            lightPollingJob.cancel(true);
-            lightPollingJob = null;
+        synchronized (lightPollingLock) {
+            ScheduledFuture<?> job = lightPollingJob;
+            if (job != null) {
+                job.cancel(true);
+                lightPollingJob = null;
+                lightPollingGeneration++;
+            }
+        }
+    }
+
+    /**
+     * Schedules the next light poll, unless light polling has been stopped or restarted in the meantime.
+     */
+    private void scheduleLightPolling(int generation, long delayMillis) {
+        synchronized (lightPollingLock) {
+            if (lightPollingJob != null && generation == lightPollingGeneration) {
+                lightPollingJob = scheduler.schedule(adaptiveLightPollingRunnable, delayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Brings the next light poll forward after a command has been sent.
+     */
+    private void pollLightsSoon() {
+        lastLightCommand = System.currentTimeMillis();
+        synchronized (lightPollingLock) {
+            ScheduledFuture<?> job = lightPollingJob;
+            // a running poll schedules its successor with the fast interval by itself
+            if (job != null && job.getDelay(TimeUnit.MILLISECONDS) > FAST_LIGHT_POLLING_INTERVAL
+                    && job.cancel(false)) {
+                lightPollingJob = scheduler.schedule(adaptiveLightPollingRunnable, FAST_LIGHT_POLLING_INTERVAL,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private long nextLightPollingDelay(boolean changed) {
+        synchronized (lightPollingLock) {
+            if (System.currentTimeMillis() - lastLightCommand < FAST_LIGHT_POLLING_DURATION) {
+                lightPollingBackoff = 1;
+                return FAST_LIGHT_POLLING_INTERVAL;
+            }
+            lightPollingBackoff = changed ? 1 : Math.min(2 * lightPollingBackoff, MAX_LIGHT_POLLING_BACKOFF);
+            return TimeUnit.SECONDS.toMillis(lightPollingInterval) * lightPollingBackoff;
         }
     }
 
@@ -416,6 +495,7 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         stopLightPolling();
         stopSensorPolling();
         if (hueBridge != null) {
+            hueBridge.getCommandQueue().dispose();
             hueBridge = null;
         }
     }
@@ -488,6 +568,8 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
 
         updateStatus(ThingStatus.ONLINE);
+        // group members may have changed while the bridge was not reachable
+        lastGroupLightsRefresh = 0;
     }
 
     /**
@@ -735,6 +817,43 @@ public class HueBridgeHandler extends ConfigStatusBridgeHandler implements HueCl
         }
     }
 
+    private void notifyLightStateChanged(final FullLight fullLight, final Set<State.Field> changedFields) {
+        for (LightStatusListener lightStatusListener : lightStatusListeners) {
+            try {
+                lightStatusListener.onLightStateChanged(hueBridge, fullLight, changedFields);
+            } catch (Exception e) {
+                logger.error("An exception occurred while calling the BridgeHeartbeatListener", e);
+            }
+        }
+    }
+
+    private void notifySensorStateChanged(final FullSensor fullSensor, final Set<String> changedKeys) {
+        for (SensorStatusListener sensorStatusListener : sensorStatusListeners) {
+            try {
+                sensorStatusListener.onSensorStateChanged(hueBridge, fullSensor, changedKeys);
+            } catch (Exception e) {
+                logger.error("An exception occurred while calling the Sensor Listeners", e);
+            }
+        }
+    }
+
+    /**
+     * Removes the entries which have not been polled.
+     *
+     * @return the removed values
+     */
+    private static <T> List<T> removeUnpolled(Map<String, T> lastStates, Set<String> polledIds) {
+        List<T> removed = new ArrayList<>();
+        for (Iterator<Entry<String, T>> iterator = lastStates.entrySet().iterator(); iterator.hasNext();) {
+            Entry<String, T> entry = iterator.next();
+            if (!polledIds.contains(entry.getKey())) {
+                removed.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+        return removed;
+    }
+
     private void notifySensorStatusListeners(final FullSensor fullSensor, final String type) {
         if (sensorStatusListeners.isEmpty()) {
             logger.debug("No sensor status listeners to notify of sensor change for sensor '{}'", fullSensor.getId());
@@ -20,6 +20,7 @@ import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -94,6 +95,14 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
 
     private static final String OSRAM_PAR16_50_TW_MODEL_ID = "PAR16_50_TW";
 
+    // the state attributes each channel is derived from
+    private static final Set<State.Field> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(State.Field.class));
+    private static final Set<State.Field> COLOR_FIELDS = EnumSet.of(State.Field.ON, State.Field.BRIGHTNESS,
+            State.Field.HUE, State.Field.SATURATION, State.Field.XY, State.Field.COLOR_MODE);
+    private static final Set<State.Field> COLOR_TEMPERATURE_FIELDS = EnumSet.of(State.Field.COLOR_TEMPERATURE,
+            State.Field.COLOR_MODE);
+    private static final Set<State.Field> BRIGHTNESS_FIELDS = EnumSet.of(State.Field.ON, State.Field.BRIGHTNESS);
+
     @NonNullByDefault({})
     private String lightId;
 
@@ -441,6 +450,11 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
 
     @Override
     public void onLightStateChanged(@Nullable HueBridge bridge, FullLight fullLight) {
+        onLightStateChanged(bridge, fullLight, ALL_FIELDS);
+    }
+
+    @Override
+    public void onLightStateChanged(@Nullable HueBridge bridge, FullLight fullLight, Set<State.Field> changedFields) {
         logger.trace("onLightStateChanged() was called");
 
         if (!fullLight.getId().equals(lightId)) {
@@ -453,8 +467,10 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
         lastSentColorTemp = null;
         lastSentBrightness = null;
 
+        State state = fullLight.getState();
+
         // update status (ONLINE, OFFLINE)
-        if (fullLight.getState().isReachable()) {
+        if (state.isReachable()) {
             updateStatus(ThingStatus.ONLINE);
         } else {
             // we assume OFFLINE without any error (NONE), as this is an
@@ -462,37 +478,56 @@ public class HueLightHandler extends BaseThingHandler implements LightStatusList
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.NONE, "@text/offline.light-not-reachable");
         }
 
-        HSBType hsbType = LightStateConverter.toHSBType(fullLight.getState());
-        if (!fullLight.getState().isOn()) {
-            hsbType = new HSBType(hsbType.getHue(), hsbType.getSaturation(), new PercentType(0));
+        if (containsAny(changedFields, COLOR_FIELDS)) {
+            HSBType hsbType = LightStateConverter.toHSBType(state);
+            if (!state.isOn()) {
+                hsbType = new HSBType(hsbType.getHue(), hsbType.getSaturation(), new PercentType(0));
+            }
+            updateState(CHANNEL_COLOR, hsbType);
         }
-        updateState(CHANNEL_COLOR, hsbType);
 
-        ColorMode colorMode = fullLight.getState().getColorMode();
-        if (ColorMode.CT.equals(colorMode)) {
-            PercentType colorTempPercentType = LightStateConverter.toColorTemperaturePercentType(fullLight.getState());
-            updateState(CHANNEL_COLORTEMPERATURE, colorTempPercentType);
-        } else {
-            updateState(CHANNEL_COLORTEMPERATURE, UnDefType.NULL);
+        if (containsAny(changedFields, COLOR_TEMPERATURE_FIELDS)) {
+            ColorMode colorMode = state.getColorMode();
+            if (ColorMode.CT.equals(colorMode)) {
+                PercentType colorTempPercentType = LightStateConverter.toColorTemperaturePercentType(state);
+                updateState(CHANNEL_COLORTEMPERATURE, colorTempPercentType);
+            } else {
+                updateState(CHANNEL_COLORTEMPERATURE, UnDefType.NULL);
+            }
         }
 
-        PercentType brightnessPercentType = LightStateConverter.toBrightnessPercentType(fullLight.getState());
-        if (!fullLight.getState().isOn()) {
-            brightnessPercentType = new PercentType(0);
+        if (containsAny(changedFields, BRIGHTNESS_FIELDS)) {
+            PercentType brightnessPercentType = LightStateConverter.toBrightnessPercentType(state);
+            if (!state.isOn()) {
+                brightnessPercentType = new PercentType(0);
+            }
+            updateState(CHANNEL_BRIGHTNESS, brightnessPercentType);
         }
-        updateState(CHANNEL_BRIGHTNESS, brightnessPercentType);
 
-        if (fullLight.getState().isOn()) {
-            updateState(CHANNEL_SWITCH, OnOffType.ON);
-        } else {
-            updateState(CHANNEL_SWITCH, OnOffType.OFF);
+        if (changedFields.contains(State.Field.ON)) {
+            if (state.isOn()) {
+                updateState(CHANNEL_SWITCH, OnOffType.ON);
+            } else {
+                updateState(CHANNEL_SWITCH, OnOffType.OFF);
+            }
         }
 
-        StringType stringType = LightStateConverter.toAlertStringType(fullLight.getState());
-        if (!"NULL".equals(stringType.toString())) {
-            updateState(CHANNEL_ALERT, stringType);
-            scheduleAlertStateRestore(stringType);
+        if (changedFields.contains(State.Field.ALERT)) {
+            StringType stringType = LightStateConverter.toAlertStringType(state);
+            if (!"NULL".equals(stringType.toString())) {
+                updateState(CHANNEL_ALERT, stringType);
+                scheduleAlertStateRestore(stringType);
+            }
+        }
+    }
+
+    private static boolean containsAny(Set<State.Field> changedFields, Set<State.Field> fields) {
+        for (State.Field field : fields) {
+            if (changedFields.contains(field)) {
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
@@ -12,10 +12,13 @@
  */
 package org.openhab.binding.hue.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.hue.internal.FullLight;
 import org.openhab.binding.hue.internal.HueBridge;
+import org.openhab.binding.hue.internal.State;
 
 /**
  * The {@link LightStatusListener} is notified when a light status has changed or a light has been removed or added.
@@ -35,6 +38,18 @@ public interface LightStatusListener {
      */
     void onLightStateChanged(@Nullable HueBridge bridge, FullLight light);
 
+    /**
+     * This method is called whenever the state of the given light has changed during polling. Listeners may only
+     * process the changed attributes, by default the whole state is processed.
+     *
+     * @param bridge The bridge the changed light is connected to.
+     * @param light The light which received the state update.
+     * @param changedFields The attributes of the state which have changed since the last poll.
+     */
+    default void onLightStateChanged(@Nullable HueBridge bridge, FullLight light, Set<State.Field> changedFields) {
+        onLightStateChanged(bridge, light);
+    }
+
     /**
      * This method is called whenever a light is removed.
      *
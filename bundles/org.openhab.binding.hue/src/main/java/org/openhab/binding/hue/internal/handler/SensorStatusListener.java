@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.hue.internal.handler;
 
+import java.util.Set;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.hue.internal.FullSensor;
@@ -35,6 +37,18 @@ public interface SensorStatusListener {
      */
     void onSensorStateChanged(@Nullable HueBridge bridge, FullSensor sensor);
 
+    /**
+     * This method is called whenever the state of the given sensor has changed during polling. Listeners may only
+     * process the changed state entries, by default the whole state is processed.
+     *
+     * @param bridge The bridge the changed sensor is connected to.
+     * @param sensor The sensor which received the state update.
+     * @param changedKeys The keys of the state entries which have changed since the last poll.
+     */
+    default void onSensorStateChanged(@Nullable HueBridge bridge, FullSensor sensor, Set<String> changedKeys) {
+        onSensorStateChanged(bridge, sensor);
+    }
+
     /**
      * This method is called whenever a sensor is removed.
      *
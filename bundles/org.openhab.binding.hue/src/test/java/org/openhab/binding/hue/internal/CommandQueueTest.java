@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.hue.internal.HttpClient.Result;
+
+/**
+ * Tests for {@link CommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CommandQueueTest {
+
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstRequestReleased = new CountDownLatch(1);
+    private final CountDownLatch firstRequestStarted = new CountDownLatch(1);
+
+    private ScheduledExecutorService scheduler;
+    private CommandQueue queue;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        HttpClient http = new HttpClient() {
+            @Override
+            public Result put(String address, String body) {
+                requests.add(address + " " + body);
+                firstRequestStarted.countDown();
+                try {
+                    firstRequestReleased.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new Result("[]", 200);
+            }
+        };
+        queue = new CommandQueue(http, scheduler, groupId -> "groups/" + groupId + "/action");
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void pendingUpdatesForTheSameLightAreMerged() throws Exception {
+        queue.put("lights/1/state", new StateUpdate().turnOn(), "1");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Result> first = queue.put("lights/2/state", new StateUpdate().setBrightness(100), "2");
+        CompletableFuture<Result> second = queue.put("lights/2/state",
+                new StateUpdate().turnOn().setBrightness(200), "2");
+        assertEquals(1, queue.getQueueLength());
+        firstRequestReleased.countDown();
+
+        assertEquals(200, first.get(5, TimeUnit.SECONDS).getResponseCode());
+        assertEquals(200, second.get(5, TimeUnit.SECONDS).getResponseCode());
+        assertEquals(Arrays.asList("lights/1/state {\"on\":true}", "lights/2/state {\"on\":true,\"bri\":200}"),
+                requests);
+        assertEquals(1, queue.getCoalescedUpdates());
+        assertEquals(2, queue.getSentRequests());
+    }
+
+    @Test
+    public void identicalUpdatesOfAllGroupMembersAreSentAsGroupAction() throws Exception {
+        queue.setGroupLights(Collections.singletonMap("5", Arrays.asList("2", "3")));
+        queue.put("lights/1/state", new StateUpdate().turnOn(), "1");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Result> light2 = queue.put("lights/2/state", new StateUpdate().turnOff(), "2");
+        CompletableFuture<Result> light3 = queue.put("lights/3/state", new StateUpdate().turnOff(), "3");
+        firstRequestReleased.countDown();
+
+        light2.get(5, TimeUnit.SECONDS);
+        light3.get(5, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("lights/1/state {\"on\":true}", "groups/5/action {\"on\":false}"), requests);
+        assertEquals(1, queue.getGroupSubstitutions());
+    }
+
+    @Test
+    public void differentUpdatesOfGroupMembersAreSentPerLight() throws Exception {
+        queue.setGroupLights(Collections.singletonMap("5", Arrays.asList("2", "3")));
+        queue.put("lights/1/state", new StateUpdate().turnOn(), "1");
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+
+        queue.put("lights/2/state", new StateUpdate().turnOff(), "2");
+        CompletableFuture<Result> light3 = queue.put("lights/3/state", new StateUpdate().turnOn(), "3");
+        firstRequestReleased.countDown();
+
+        light3.get(5, TimeUnit.SECONDS);
+        assertEquals(3, requests.size());
+        assertEquals(0, queue.getGroupSubstitutions());
+    }
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.hue.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Tests for {@link State#diff(State)} and {@link FullSensor#diffState(FullSensor)}.
+ *
+ * @author agent - Initial contribution
+ */
+public class StateDiffTest {
+
+    private final Gson gson = new Gson();
+
+    private State state(String json) {
+        return gson.fromJson(json, State.class);
+    }
+
+    private FullSensor sensor(String stateJson) {
+        return gson.fromJson("{\"state\":" + stateJson + ",\"config\":{}}", FullSensor.class);
+    }
+
+    @Test
+    public void equalStatesHaveNoChanges() {
+        String json = "{\"on\":true,\"bri\":100,\"xy\":[0.3,0.4],\"colormode\":\"xy\",\"reachable\":true}";
+        assertTrue(state(json).diff(state(json)).isEmpty());
+    }
+
+    @Test
+    public void onlyChangedFieldsAreReported() {
+        State last = state("{\"on\":true,\"bri\":100,\"ct\":300,\"colormode\":\"ct\",\"reachable\":true}");
+        State current = state("{\"on\":true,\"bri\":120,\"xy\":[0.3,0.4],\"colormode\":\"xy\",\"reachable\":true}");
+        assertEquals(EnumSet.of(State.Field.BRIGHTNESS, State.Field.XY, State.Field.COLOR_TEMPERATURE,
+                State.Field.COLOR_MODE), current.diff(last));
+    }
+
+    @Test
+    public void changedSensorStateKeysAreReported() {
+        FullSensor last = sensor("{\"buttonevent\":1002,\"lastupdated\":\"2020-01-01T10:00:00\"}");
+        FullSensor current = sensor("{\"buttonevent\":1002,\"lastupdated\":\"2020-01-01T10:00:05\",\"flag\":true}");
+        assertEquals(Collections.emptySet(), last.diffState(last));
+        assertEquals(new HashSet<>(Arrays.asList("lastupdated", "flag")),
+                current.diffState(last));
+    }
+}
@@ -37,6 +37,7 @@ import org.osgi.service.component.annotations.Reference;
 public class LifxHandlerFactory extends BaseThingHandlerFactory {
 
     private @NonNullByDefault({}) LifxChannelFactory channelFactory;
+    private @NonNullByDefault({}) LifxNetworkReactor networkReactor;
 
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
@@ -51,7 +52,7 @@ public class LifxHandlerFactory extends BaseThingHandlerFactory {
     @Override
     protected @Nullable ThingHandler createHandler(Thing thing) {
         if (supportsThingType(thing.getThingTypeUID())) {
-            return new LifxLightHandler(thing, channelFactory);
+            return new LifxLightHandler(thing, channelFactory, networkReactor);
         }
 
         return null;
@@ -70,4 +71,13 @@ public class LifxHandlerFactory extends BaseThingHandlerFactory {
     protected void unsetChannelFactory(LifxChannelFactory channelFactory) {
         this.channelFactory = null;
     }
+
+    @Reference
+    protected void setNetworkReactor(LifxNetworkReactor networkReactor) {
+        this.networkReactor = networkReactor;
+    }
+
+    protected void unsetNetworkReactor(LifxNetworkReactor networkReactor) {
+        this.networkReactor = null;
+    }
 }
@@ -12,19 +12,13 @@
  */
 package org.openhab.binding.lifx.internal;
 
-import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
 import static org.openhab.binding.lifx.internal.fields.MACAddress.BROADCAST_ADDRESS;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.randomSourceId;
-import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
-import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
@@ -38,13 +32,13 @@ import org.openhab.binding.lifx.internal.listener.LifxResponsePacketListener;
 import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
 import org.openhab.binding.lifx.internal.protocol.Packet;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
-import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
 import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The {@link LifxLightCommunicationHandler} is responsible for the communications with a light.
+ * The {@link LifxLightCommunicationHandler} is responsible for the communications with a light. The packets are sent
+ * and received with the {@link LifxNetworkReactor} that is shared by all lights.
  *
  * @author Wouter Born - Extracted class from LifxLightHandler
  */
@@ -56,32 +50,28 @@ public class LifxLightCommunicationHandler {
     private final String logId;
     private final CurrentLightState currentLightState;
     private final ScheduledExecutorService scheduler;
+    private final LifxNetworkReactor networkReactor;
 
     private final ReentrantLock lock = new ReentrantLock();
     private final long sourceId = randomSourceId();
     private final Supplier<Integer> sequenceNumberSupplier = new LifxSequenceNumberSupplier();
 
-    private int service;
-    private int unicastPort;
-    private final int broadcastPort = LifxNetworkUtil.getNewBroadcastPort();
+    private volatile int service;
+    private volatile int unicastPort;
 
-    private @Nullable ScheduledFuture<?> networkJob;
-
-    private @Nullable MACAddress macAddress;
-    private @Nullable InetSocketAddress host;
+    private volatile @Nullable MACAddress macAddress;
+    private volatile @Nullable InetSocketAddress host;
     private boolean broadcastEnabled;
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
-    private @Nullable LifxSelectorContext selectorContext;
+    private volatile @Nullable LifxSelectorContext selectorContext;
 
-    public LifxLightCommunicationHandler(LifxLightContext context) {
+    public LifxLightCommunicationHandler(LifxLightContext context, LifxNetworkReactor networkReactor) {
         this.logId = context.getLogId();
         this.macAddress = context.getConfiguration().getMACAddress();
         this.host = context.getConfiguration().getHost();
         this.currentLightState = context.getCurrentLightState();
         this.scheduler = context.getScheduler();
+        this.networkReactor = networkReactor;
         this.broadcastEnabled = context.getConfiguration().getHost() == null;
     }
 
@@ -102,31 +92,18 @@ public class LifxLightCommunicationHandler {
             logger.debug("{} : Starting communication handler", logId);
             logger.debug("{} : Using '{}' as source identifier", logId, Long.toString(sourceId, 16));
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob == null || localNetworkJob.isCancelled()) {
-                networkJob = scheduler.scheduleWithFixedDelay(this::receiveAndHandlePackets, 0, PACKET_INTERVAL,
-                        TimeUnit.MILLISECONDS);
-            }
-
             currentLightState.setOffline();
 
-            Selector localSelector = Selector.open();
-            selector = localSelector;
+            selectorContext = new LifxSelectorContext(networkReactor, sourceId, sequenceNumberSupplier, logId, host,
+                    macAddress);
+            networkReactor.addPacketListener(sourceId,
+                    new LifxSerialPacketListener(logId, scheduler, this::handlePacket));
 
             if (isBroadcastEnabled()) {
-                broadcastKey = openBroadcastChannel(selector, logId, broadcastPort);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 broadcastPacket(new GetServiceRequest());
             } else {
-                unicastKey = openUnicastChannel(selector, logId, host);
-                selectorContext = new LifxSelectorContext(localSelector, sourceId, sequenceNumberSupplier, logId, host,
-                        macAddress, broadcastKey, unicastKey);
                 sendPacket(new GetServiceRequest());
             }
-        } catch (IOException e) {
-            logger.error("{} while starting LIFX communication handler for light '{}' : {}",
-                    e.getClass().getSimpleName(), logId, e.getMessage(), e);
         } finally {
             lock.unlock();
         }
@@ -136,16 +113,7 @@ public class LifxLightCommunicationHandler {
         try {
             lock.lock();
 
-            ScheduledFuture<?> localNetworkJob = networkJob;
-            if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-                localNetworkJob.cancel(true);
-                networkJob = null;
-            }
-
-            closeSelector(selector, logId);
-            selector = null;
-            broadcastKey = null;
-            unicastKey = null;
+            networkReactor.removePacketListener(sourceId);
             selectorContext = null;
         } finally {
             lock.unlock();
@@ -160,25 +128,23 @@ public class LifxLightCommunicationHandler {
         return macAddress;
     }
 
-    public void receiveAndHandlePackets() {
+    /**
+     * Handles a packet received by the {@link LifxNetworkReactor}. The packets of a light are handled one at a time in
+     * the order they were received.
+     */
+    private void handlePacket(Packet packet, InetSocketAddress address) {
         try {
             lock.lock();
-            Selector localSelector = selector;
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("{} : Unable to receive and handle packets with null or closed selector", logId);
-            } else {
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, logId,
-                        (packet, address) -> handlePacket(packet, address));
-            }
-        } catch (Exception e) {
-            logger.error("{} while receiving a packet from the light ({}): {}", e.getClass().getSimpleName(), logId,
-                    e.getMessage());
+            handlePacketLocked(packet, address);
         } finally {
             lock.unlock();
         }
     }
 
-    private void handlePacket(Packet packet, InetSocketAddress address) {
+    private void handlePacketLocked(Packet packet, InetSocketAddress address) {
+        MACAddress macAddress = this.macAddress;
+        InetSocketAddress host = this.host;
+
         boolean packetFromConfiguredMAC = macAddress != null && (packet.getTarget().equals(macAddress));
         boolean packetFromConfiguredHost = host != null && (address.equals(host));
         boolean broadcastPacket = packet.getTarget().equals(BROADCAST_ADDRESS);
@@ -193,12 +159,12 @@ public class LifxLightCommunicationHandler {
                 StateServiceResponse response = (StateServiceResponse) packet;
                 MACAddress discoveredAddress = response.getTarget();
                 if (packetFromConfiguredHost && macAddress == null) {
-                    macAddress = discoveredAddress;
+                    this.macAddress = discoveredAddress;
                     currentLightState.setOnline(discoveredAddress);
 
                     LifxSelectorContext context = selectorContext;
                     if (context != null) {
-                        context.setMACAddress(macAddress);
+                        context.setMACAddress(discoveredAddress);
                     }
                     return;
                 } else if (macAddress != null && macAddress.equals(discoveredAddress)) {
@@ -214,22 +180,13 @@ public class LifxLightCommunicationHandler {
                             logger.warn("Light ({}) service with ID '{}' is currently not available", logId, service);
                             currentLightState.setOfflineByCommunicationError();
                         } else {
-                            this.host = new InetSocketAddress(address.getAddress(), unicastPort);
-
-                            try {
-                                cancelKey(unicastKey, logId);
-                                unicastKey = openUnicastChannel(selector, logId, host);
-
-                                LifxSelectorContext context = selectorContext;
-                                if (context != null) {
-                                    context.setHost(host);
-                                    context.setUnicastKey(unicastKey);
-                                }
-                            } catch (IOException e) {
-                                logger.warn("{} while opening the unicast channel of the light ({}): {}",
-                                        e.getClass().getSimpleName(), logId, e.getMessage());
-                                currentLightState.setOfflineByCommunicationError();
-                                return;
+                            InetSocketAddress newHostAddress = new InetSocketAddress(address.getAddress(),
+                                    unicastPort);
+                            this.host = newHostAddress;
+
+                            LifxSelectorContext context = selectorContext;
+                            if (context != null) {
+                                context.setHost(newHostAddress);
                             }
 
                             currentLightState.setOnline();
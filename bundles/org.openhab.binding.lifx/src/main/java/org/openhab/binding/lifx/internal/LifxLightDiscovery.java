@@ -16,12 +16,9 @@ import static org.openhab.binding.lifx.internal.LifxBindingConstants.*;
 import static org.openhab.binding.lifx.internal.util.LifxMessageUtil.randomSourceId;
 import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
 
-import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
@@ -43,11 +40,11 @@ import org.openhab.binding.lifx.internal.protocol.Product;
 import org.openhab.binding.lifx.internal.protocol.StateLabelResponse;
 import org.openhab.binding.lifx.internal.protocol.StateServiceResponse;
 import org.openhab.binding.lifx.internal.protocol.StateVersionResponse;
-import org.openhab.binding.lifx.internal.util.LifxSelectorUtil;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
 import org.osgi.service.component.annotations.Modified;
+import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,54 +62,46 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
 
     private static final String LOG_ID = "Discovery";
     private static final long REFRESH_INTERVAL = TimeUnit.MINUTES.toSeconds(1);
-    private static final long SELECTOR_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+    private static final long SCAN_DURATION = TimeUnit.SECONDS.toMillis(10);
 
     private final Logger logger = LoggerFactory.getLogger(LifxLightDiscovery.class);
 
-    private final Map<MACAddress, @Nullable DiscoveredLight> discoveredLights = new HashMap<>();
+    private final Map<MACAddress, @Nullable DiscoveredLight> discoveredLights = new ConcurrentHashMap<>();
     private final long sourceId = randomSourceId();
     private final Supplier<Integer> sequenceNumberSupplier = new LifxSequenceNumberSupplier();
 
-    private @Nullable Selector selector;
-    private @Nullable SelectionKey broadcastKey;
+    private @NonNullByDefault({}) LifxNetworkReactor networkReactor;
 
     private @Nullable ScheduledFuture<?> discoveryJob;
     private @Nullable ScheduledFuture<?> networkJob;
 
     private boolean isScanning = false;
+    private long scanStartMillis;
 
     private class DiscoveredLight {
 
         private MACAddress macAddress;
         private InetSocketAddress socketAddress;
         private String logId;
-        private @Nullable String label;
-        private @Nullable Product product;
-        private long productVersion;
-        private boolean supportedProduct = true;
+        private volatile @Nullable String label;
+        private volatile @Nullable Product product;
+        private volatile long productVersion;
+        private volatile boolean supportedProduct = true;
         private LifxSelectorContext selectorContext;
 
         private long lastRequestTimeMillis;
 
-        public DiscoveredLight(Selector lightSelector, MACAddress macAddress, InetSocketAddress socketAddress,
-                String logId, @Nullable SelectionKey unicastKey) {
+        public DiscoveredLight(MACAddress macAddress, InetSocketAddress socketAddress, String logId) {
             this.macAddress = macAddress;
             this.logId = logId;
             this.socketAddress = socketAddress;
-            this.selectorContext = new LifxSelectorContext(lightSelector, sourceId, sequenceNumberSupplier, logId,
-                    socketAddress, macAddress, broadcastKey, unicastKey);
+            this.selectorContext = new LifxSelectorContext(networkReactor, sourceId, sequenceNumberSupplier, logId,
+                    socketAddress, macAddress);
         }
 
         public boolean isDataComplete() {
             return label != null && product != null;
         }
-
-        public void cancelUnicastKey() {
-            SelectionKey unicastKey = selectorContext.getUnicastKey();
-            if (unicastKey != null) {
-                cancelKey(unicastKey, selectorContext.getLogId());
-            }
-        }
     }
 
     public LifxLightDiscovery() throws IllegalArgumentException {
@@ -137,6 +126,15 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         super.deactivate();
     }
 
+    @Reference
+    protected void setNetworkReactor(LifxNetworkReactor networkReactor) {
+        this.networkReactor = networkReactor;
+    }
+
+    protected void unsetNetworkReactor(LifxNetworkReactor networkReactor) {
+        this.networkReactor = null;
+    }
+
     @Override
     protected void startBackgroundDiscovery() {
         logger.debug("Starting the LIFX device background discovery");
@@ -157,11 +155,7 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
             discoveryJob = null;
         }
 
-        ScheduledFuture<?> localNetworkJob = networkJob;
-        if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
-            localNetworkJob.cancel(true);
-            networkJob = null;
-        }
+        finishScan();
     }
 
     @Override
@@ -175,78 +169,49 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
         removeOlderResults(getTimestampOfLastScan());
     }
 
-    protected void doScan() {
-        try {
-            if (!isScanning) {
-                isScanning = true;
-                if (selector != null) {
-                    closeSelector(selector, LOG_ID);
-                }
-
-                logger.debug("The LIFX discovery service will use '{}' as source identifier",
-                        Long.toString(sourceId, 16));
+    protected synchronized void doScan() {
+        if (!isScanning) {
+            isScanning = true;
+            discoveredLights.clear();
 
-                Selector localSelector = Selector.open();
-                selector = localSelector;
+            logger.debug("The LIFX discovery service will use '{}' as source identifier", Long.toString(sourceId, 16));
 
-                broadcastKey = openBroadcastChannel(localSelector, LOG_ID, BROADCAST_PORT);
-                networkJob = scheduler.schedule(this::receiveAndHandlePackets, 0, TimeUnit.MILLISECONDS);
+            // the packets are received by the reactor and additional light data is requested until the scan ends
+            networkReactor.addPacketListener(sourceId,
+                    new LifxSerialPacketListener(LOG_ID, scheduler, this::handlePacket));
+            scanStartMillis = System.currentTimeMillis();
+            networkJob = scheduler.scheduleWithFixedDelay(this::requestAdditionalLightData, PACKET_INTERVAL,
+                    PACKET_INTERVAL, TimeUnit.MILLISECONDS);
 
-                LifxSelectorContext selectorContext = new LifxSelectorContext(localSelector, sourceId,
-                        sequenceNumberSupplier, LOG_ID, broadcastKey);
-                broadcastPacket(selectorContext, new GetServiceRequest());
-            } else {
-                logger.info("A discovery scan for LIFX lights is already underway");
-            }
-        } catch (IOException e) {
-            logger.debug("{} while discovering LIFX lights : {}", e.getClass().getSimpleName(), e.getMessage());
-            isScanning = false;
+            LifxSelectorContext selectorContext = new LifxSelectorContext(networkReactor, sourceId,
+                    sequenceNumberSupplier, LOG_ID);
+            broadcastPacket(selectorContext, new GetServiceRequest());
+        } else {
+            logger.info("A discovery scan for LIFX lights is already underway");
         }
     }
 
-    public void receiveAndHandlePackets() {
-        Selector localSelector = selector;
-
-        try {
-            if (localSelector == null || !localSelector.isOpen()) {
-                logger.debug("Unable to receive and handle packets with null or closed selector");
-                return;
-            }
+    private synchronized void finishScan() {
+        ScheduledFuture<?> localNetworkJob = networkJob;
+        if (localNetworkJob != null && !localNetworkJob.isCancelled()) {
+            localNetworkJob.cancel(false);
+            networkJob = null;
+        }
 
-            discoveredLights.clear();
-            logger.trace("Entering read loop");
-            long startStamp = System.currentTimeMillis();
-
-            while (System.currentTimeMillis() - startStamp < SELECTOR_TIMEOUT) {
-                int lightCount = discoveredLights.size();
-                long selectStamp = System.currentTimeMillis();
-
-                LifxSelectorUtil.receiveAndHandlePackets(localSelector, LOG_ID,
-                        (packet, address) -> handlePacket(packet, address));
-                requestAdditionalLightData();
-
-                boolean discoveredNewLights = lightCount < discoveredLights.size();
-                if (!discoveredNewLights) {
-                    boolean preventBusyWaiting = System.currentTimeMillis() - selectStamp < PACKET_INTERVAL;
-                    if (preventBusyWaiting) {
-                        Thread.sleep(PACKET_INTERVAL);
-                    }
-                }
-            }
-            logger.trace("Exited read loop");
-        } catch (Exception e) {
-            logger.debug("{} while receiving and handling discovery packets: {}", e.getClass().getSimpleName(),
-                    e.getMessage(), e);
-        } finally {
-            LifxSelectorUtil.closeSelector(localSelector, LOG_ID);
-            selector = null;
+        if (isScanning) {
+            networkReactor.removePacketListener(sourceId);
             isScanning = false;
+            logger.trace("Finished the discovery scan");
         }
     }
 
     private void requestAdditionalLightData() {
+        if (System.currentTimeMillis() - scanStartMillis >= SCAN_DURATION) {
+            finishScan();
+            return;
+        }
+
         // Iterate through the discovered lights that have to be set up, and the packets that have to be sent
-        // Workaround to avoid a ConcurrentModifictionException on the selector.SelectedKeys() Set
         for (DiscoveredLight light : discoveredLights.values()) {
             if (light == null) {
                 continue;
@@ -280,17 +245,9 @@ public class LifxLightDiscovery extends AbstractDiscoveryService {
                     try {
                         InetSocketAddress socketAddress = new InetSocketAddress(address.getAddress(), port);
                         if (light == null || (!socketAddress.equals(light.socketAddress))) {
-                            if (light != null) {
-                                light.cancelUnicastKey();
-                            }
-
-                            Selector lightSelector = selector;
-                            if (lightSelector != null) {
-                                String logId = getLogId(macAddress, socketAddress);
-                                light = new DiscoveredLight(lightSelector, macAddress, socketAddress, logId,
-                                        openUnicastChannel(lightSelector, logId, socketAddress));
-                                discoveredLights.put(macAddress, light);
-                            }
+                            String logId = getLogId(macAddress, socketAddress);
+                            light = new DiscoveredLight(macAddress, socketAddress, logId);
+                            discoveredLights.put(macAddress, light);
                         }
                     } catch (Exception e) {
                         logger.warn("{} while connecting to IP address: {}", e.getClass().getSimpleName(),
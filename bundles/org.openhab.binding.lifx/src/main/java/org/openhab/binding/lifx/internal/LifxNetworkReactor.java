@@ -0,0 +1,289 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.openhab.binding.lifx.internal.util.LifxSelectorUtil.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.LifxPacketScheduler.QueuedPacket;
+import org.openhab.binding.lifx.internal.listener.LifxPacketListener;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.util.LifxNetworkUtil;
+import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxNetworkReactor} owns the broadcast and unicast channels that are used for communicating with all LIFX
+ * lights. A single thread blocks on the {@link Selector} of these channels and passes every received packet to the
+ * listener that is registered for the source identifier of the packet. Packets with source identifier 0 are passed to
+ * all listeners.
+ *
+ * Packets are queued by the calling thread and sent by the reactor thread when they are due according to the
+ * {@link LifxPacketScheduler}. The reactor thread waits on the selector until the next packet is due, so the calling
+ * threads never wait for the packet interval of a light.
+ *
+ * @author agent - Initial contribution
+ */
+@Component(service = LifxNetworkReactor.class)
+@NonNullByDefault
+public class LifxNetworkReactor {
+
+    private static final String LOG_ID = "Reactor";
+    private static final String THREAD_NAME = "OH-binding-lifx-reactor";
+    private static final long STATISTICS_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long STOP_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    private final Logger logger = LoggerFactory.getLogger(LifxNetworkReactor.class);
+
+    private final Map<Long, LifxPacketListener> packetListeners = new ConcurrentHashMap<>();
+    private final LifxPacketScheduler packetScheduler = new LifxPacketScheduler();
+
+    // keys of channels with a full socket buffer, only used by the reactor thread
+    private final Set<SelectionKey> blockedKeys = new HashSet<>();
+
+    private volatile @Nullable Selector selector;
+    private @Nullable Thread reactorThread;
+
+    @Deactivate
+    protected void deactivate() {
+        stop();
+    }
+
+    /**
+     * Registers the listener for all packets with the given source identifier. The reactor is started if it is not
+     * running yet.
+     *
+     * @param sourceId the source identifier used by the listener for sending packets
+     * @param listener the listener receiving the packets
+     */
+    public void addPacketListener(long sourceId, LifxPacketListener listener) {
+        packetListeners.put(sourceId, listener);
+        start();
+    }
+
+    public void removePacketListener(long sourceId) {
+        packetListeners.remove(sourceId);
+    }
+
+    /**
+     * Queues a packet for broadcasting it to the given address.
+     *
+     * @return false if the reactor is not running or the packet is dropped
+     */
+    public boolean broadcastPacket(Packet packet, InetSocketAddress address, String logId) {
+        Selector localSelector = selector;
+        if (localSelector == null || !packetScheduler.queueBroadcastPacket(packet, address, logId)) {
+            return false;
+        }
+        localSelector.wakeup();
+        return true;
+    }
+
+    /**
+     * Queues a packet for sending it to the light with the given address.
+     *
+     * @return false if the reactor is not running or the packet is dropped
+     */
+    public boolean sendPacket(Packet packet, InetSocketAddress address, String logId) {
+        Selector localSelector = selector;
+        if (localSelector == null || !packetScheduler.queuePacket(packet, address, logId)) {
+            return false;
+        }
+        localSelector.wakeup();
+        return true;
+    }
+
+    private synchronized void start() {
+        if (selector != null) {
+            return;
+        }
+
+        Selector localSelector = null;
+        try {
+            localSelector = Selector.open();
+            SelectionKey broadcastKey = openBroadcastChannel(localSelector, LOG_ID,
+                    LifxNetworkUtil.getNewBroadcastPort());
+            SelectionKey unicastKey = openUnicastChannel(localSelector, LOG_ID);
+
+            // the keys are passed to the reactor thread, so it doesn't depend on fields assigned after its start
+            Selector threadSelector = localSelector;
+            Thread thread = new Thread(() -> run(threadSelector, broadcastKey, unicastKey), THREAD_NAME);
+            thread.setDaemon(true);
+
+            selector = localSelector;
+            reactorThread = thread;
+            thread.start();
+            logger.debug("Started the LIFX network reactor");
+        } catch (IOException e) {
+            logger.error("{} while starting the LIFX network reactor : {}", e.getClass().getSimpleName(),
+                    e.getMessage(), e);
+            closeSelector(localSelector, LOG_ID);
+        }
+    }
+
+    private synchronized void stop() {
+        Selector localSelector = selector;
+        Thread thread = reactorThread;
+
+        selector = null;
+        reactorThread = null;
+
+        closeSelector(localSelector, LOG_ID);
+        packetScheduler.clear();
+        if (thread != null) {
+            try {
+                thread.join(STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            logger.debug("Stopped the LIFX network reactor");
+        }
+    }
+
+    private void run(Selector selector, SelectionKey broadcastKey, SelectionKey unicastKey) {
+        ByteBuffer readBuffer = ByteBuffer.allocate(LifxNetworkUtil.getBufferSize());
+        long statisticsNanos = System.nanoTime() + STATISTICS_INTERVAL_NANOS;
+
+        while (selector.isOpen()) {
+            try {
+                long timeoutNanos = statisticsNanos - System.nanoTime();
+                long dueNanos = packetScheduler.sendDuePackets(
+                        (packet, broadcast) -> sendPacket(packet, broadcast ? broadcastKey : unicastKey));
+                if (dueNanos >= 0) {
+                    timeoutNanos = Math.min(timeoutNanos, dueNanos);
+                }
+
+                updateInterestOps(selector);
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(timeoutNanos + 999_999)));
+
+                Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
+                while (keyIterator.hasNext()) {
+                    SelectionKey key = keyIterator.next();
+                    keyIterator.remove();
+
+                    if (key.isValid() && key.isReadable()) {
+                        int bufferSize = LifxNetworkUtil.getBufferSize();
+                        if (readBuffer.capacity() < bufferSize) {
+                            readBuffer = ByteBuffer.allocate(bufferSize);
+                        }
+                        receiveAndHandlePackets((DatagramChannel) key.channel(), readBuffer, LOG_ID,
+                                this::handlePacket);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        blockedKeys.remove(key);
+                    }
+                }
+
+                if (System.nanoTime() - statisticsNanos >= 0) {
+                    packetScheduler.logStatistics();
+                    statisticsNanos += STATISTICS_INTERVAL_NANOS;
+                }
+            } catch (ClosedSelectorException e) {
+                break;
+            } catch (IOException | RuntimeException e) {
+                if (selector.isOpen()) {
+                    logger.debug("{} while handling network events : {}", e.getClass().getSimpleName(),
+                            e.getMessage());
+                }
+            }
+        }
+        blockedKeys.clear();
+    }
+
+    /**
+     * Only the channels with a full socket buffer are selected for writing, otherwise the selector would not block.
+     */
+    private void updateInterestOps(Selector selector) {
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid()) {
+                int interestOps = blockedKeys.contains(key) ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                        : SelectionKey.OP_READ;
+                if (key.interestOps() != interestOps) {
+                    key.interestOps(interestOps);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends a due packet with the reactor thread.
+     *
+     * @return false if the socket buffer of the channel is full and the packet has to be sent later
+     */
+    @SuppressWarnings("resource")
+    private boolean sendPacket(QueuedPacket packet, SelectionKey key) {
+        if (!key.isValid()) {
+            logger.debug("{} : Unable to send packet with closed channel", packet.getLogId());
+            return true;
+        }
+        if (blockedKeys.contains(key)) {
+            return false;
+        }
+
+        try {
+            if (((DatagramChannel) key.channel()).send(packet.getBytes(), packet.getAddress()) == 0) {
+                blockedKeys.add(key);
+                return false;
+            }
+            if (logger.isTraceEnabled()) {
+                logger.trace("{} : Sent packet to '{}' after {}ms in queue", packet.getLogId(), packet.getAddress(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - packet.getQueueNanos()));
+            }
+        } catch (IOException e) {
+            logger.debug("{} while sending a packet to the light ({}) : {}", e.getClass().getSimpleName(),
+                    packet.getLogId(), e.getMessage());
+        }
+        return true;
+    }
+
+    private void handlePacket(Packet packet, InetSocketAddress address) {
+        long sourceId = packet.getSource();
+        if (sourceId == 0) {
+            packetListeners.values().forEach(listener -> notifyListener(listener, packet, address));
+        } else {
+            LifxPacketListener listener = packetListeners.get(sourceId);
+            if (listener != null) {
+                notifyListener(listener, packet, address);
+            } else {
+                logger.trace("{} : Ignoring packet type '{}' from '{}' for unknown source '{}'", LOG_ID,
+                        packet.getClass().getSimpleName(), address, Long.toString(sourceId, 16));
+            }
+        }
+    }
+
+    private void notifyListener(LifxPacketListener listener, Packet packet, InetSocketAddress address) {
+        try {
+            listener.handlePacket(packet, address);
+        } catch (RuntimeException e) {
+            logger.warn("{} while handling a packet from '{}' : {}", e.getClass().getSimpleName(), address,
+                    e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.protocol.SetColorRequest;
+import org.openhab.binding.lifx.internal.protocol.SetLightPowerRequest;
+import org.openhab.binding.lifx.internal.protocol.SetPowerRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link LifxPacketScheduler} regulates the frequency at which packets are sent to LIFX lights. The LIFX LAN
+ * Protocol Specification states that lights can process up to 20 messages per second, not more.
+ *
+ * Every light has its own queue, so a busy light does not delay the packets for other lights. A packet is due when
+ * {@link LifxBindingConstants#PACKET_INTERVAL} has passed since the previous packet was sent to the same light. A
+ * broadcast packet is due when the interval has passed since the previous packet was sent to any light, and no packets
+ * are sent to lights while a broadcast packet is waiting.
+ *
+ * A queued {@link SetColorRequest}, {@link SetPowerRequest} or {@link SetLightPowerRequest} is replaced when a packet
+ * of the same type is queued for the same light, because the light would only be changed again immediately.
+ *
+ * The scheduler does not create threads. The {@link LifxNetworkReactor} thread asks it for the due packets and waits
+ * until the next packet is due.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LifxPacketScheduler {
+
+    private static final long PACKET_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(PACKET_INTERVAL);
+    private static final int MAX_QUEUED_PACKETS = 100;
+
+    private final Logger logger = LoggerFactory.getLogger(LifxPacketScheduler.class);
+
+    private final LongSupplier nanoTime;
+    private final Map<InetSocketAddress, PacketQueue> lightQueues = new HashMap<>();
+    private final PacketQueue broadcastQueue;
+    private long lastSendNanos;
+
+    /**
+     * Sends a packet that is due. The packet is kept in the queue when it is not sent.
+     */
+    @FunctionalInterface
+    public interface PacketSender {
+        /**
+         * @return false if the channel is not able to send the packet now
+         */
+        boolean send(QueuedPacket packet, boolean broadcast);
+    }
+
+    public static class QueuedPacket {
+        private final ByteBuffer bytes;
+        private final InetSocketAddress address;
+        private final int packetType;
+        private final String logId;
+        private final long queueNanos;
+
+        private QueuedPacket(ByteBuffer bytes, InetSocketAddress address, int packetType, String logId,
+                long queueNanos) {
+            this.bytes = bytes;
+            this.address = address;
+            this.packetType = packetType;
+            this.logId = logId;
+            this.queueNanos = queueNanos;
+        }
+
+        public ByteBuffer getBytes() {
+            return bytes;
+        }
+
+        public InetSocketAddress getAddress() {
+            return address;
+        }
+
+        public String getLogId() {
+            return logId;
+        }
+
+        public long getQueueNanos() {
+            return queueNanos;
+        }
+    }
+
+    /**
+     * The packets waiting for a light and the statistics of the light.
+     */
+    private static class PacketQueue {
+        private final LinkedList<QueuedPacket> packets = new LinkedList<>();
+        private long lastSendNanos;
+        private String logId;
+
+        private int sentPackets;
+        private int mergedPackets;
+        private long totalLatencyNanos;
+        private long maxLatencyNanos;
+
+        private PacketQueue(String logId, long lastSendNanos) {
+            this.logId = logId;
+            this.lastSendNanos = lastSendNanos;
+        }
+
+        private long getDueNanos(long lastSendNanos) {
+            return Math.max(this.lastSendNanos, lastSendNanos) + PACKET_INTERVAL_NANOS;
+        }
+
+        private void sent(QueuedPacket packet, long nowNanos) {
+            long latencyNanos = nowNanos - packet.queueNanos;
+            lastSendNanos = nowNanos;
+            sentPackets++;
+            totalLatencyNanos += latencyNanos;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+        }
+
+        private void resetStatistics() {
+            sentPackets = 0;
+            mergedPackets = 0;
+            totalLatencyNanos = 0;
+            maxLatencyNanos = 0;
+        }
+    }
+
+    public LifxPacketScheduler() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime supplies the current time like {@link System#nanoTime()}
+     */
+    LifxPacketScheduler(LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.lastSendNanos = nanoTime.getAsLong() - PACKET_INTERVAL_NANOS;
+        this.broadcastQueue = new PacketQueue("Broadcast", lastSendNanos);
+    }
+
+    /**
+     * Adds a packet to the queue of the light with the given address.
+     *
+     * @return false if the packet is dropped because too many packets are waiting for the light
+     */
+    public synchronized boolean queuePacket(Packet packet, InetSocketAddress address, String logId) {
+        PacketQueue queue = lightQueues.get(address);
+        if (queue == null) {
+            queue = new PacketQueue(logId, nanoTime.getAsLong() - PACKET_INTERVAL_NANOS);
+            lightQueues.put(address, queue);
+        }
+        queue.logId = logId;
+        return queuePacket(queue, packet, address, logId);
+    }
+
+    /**
+     * Adds a packet to the broadcast queue.
+     *
+     * @return false if the packet is dropped because too many broadcast packets are waiting
+     */
+    public synchronized boolean queueBroadcastPacket(Packet packet, InetSocketAddress address, String logId) {
+        return queuePacket(broadcastQueue, packet, address, logId);
+    }
+
+    private boolean queuePacket(PacketQueue queue, Packet packet, InetSocketAddress address, String logId) {
+        QueuedPacket queuedPacket = new QueuedPacket(packet.bytes(), address, packet.getPacketType(), logId,
+                nanoTime.getAsLong());
+
+        if (isMergeable(packet)) {
+            for (ListIterator<QueuedPacket> it = queue.packets.listIterator(); it.hasNext();) {
+                QueuedPacket supersededPacket = it.next();
+                if (supersededPacket.packetType == queuedPacket.packetType) {
+                    // keep the position in the queue, so the light is changed as soon as possible
+                    it.set(new QueuedPacket(queuedPacket.bytes, address, queuedPacket.packetType, logId,
+                            supersededPacket.queueNanos));
+                    queue.mergedPackets++;
+                    logger.trace("{} : Replaced queued {} packet", logId, packet.getClass().getSimpleName());
+                    return true;
+                }
+            }
+        }
+
+        if (queue.packets.size() >= MAX_QUEUED_PACKETS) {
+            logger.debug("{} : Dropping {} packet because {} packets are waiting to be sent", logId,
+                    packet.getClass().getSimpleName(), queue.packets.size());
+            return false;
+        }
+
+        queue.packets.add(queuedPacket);
+        return true;
+    }
+
+    private boolean isMergeable(Packet packet) {
+        return packet instanceof SetColorRequest || packet instanceof SetPowerRequest
+                || packet instanceof SetLightPowerRequest;
+    }
+
+    /**
+     * Sends all packets that are due.
+     *
+     * @param sender sends the due packets
+     * @return the nanoseconds until the next packet is due, or -1 if there are no queued packets
+     */
+    public synchronized long sendDuePackets(PacketSender sender) {
+        long nowNanos = nanoTime.getAsLong();
+
+        QueuedPacket broadcastPacket = broadcastQueue.packets.peek();
+        if (broadcastPacket != null) {
+            long dueNanos = lastSendNanos + PACKET_INTERVAL_NANOS;
+            if (dueNanos - nowNanos > 0) {
+                return dueNanos - nowNanos;
+            }
+            if (!sender.send(broadcastPacket, true)) {
+                return -1;
+            }
+            broadcastQueue.packets.remove();
+            broadcastQueue.sent(broadcastPacket, nowNanos);
+            lastSendNanos = nowNanos;
+            // the lights are paused until the next interval, like after any other packet they receive
+            return PACKET_INTERVAL_NANOS;
+        }
+
+        long nextDueNanos = -1;
+        for (PacketQueue queue : lightQueues.values()) {
+            QueuedPacket packet = queue.packets.peek();
+            if (packet == null) {
+                continue;
+            }
+
+            long dueNanos = queue.getDueNanos(broadcastQueue.lastSendNanos);
+            if (dueNanos - nowNanos <= 0) {
+                if (!sender.send(packet, false)) {
+                    continue;
+                }
+                queue.packets.remove();
+                queue.sent(packet, nowNanos);
+                lastSendNanos = nowNanos;
+                if (queue.packets.isEmpty()) {
+                    continue;
+                }
+                dueNanos = nowNanos + PACKET_INTERVAL_NANOS;
+            }
+
+            long delayNanos = dueNanos - nowNanos;
+            if (nextDueNanos < 0 || delayNanos < nextDueNanos) {
+                nextDueNanos = delayNanos;
+            }
+        }
+        return nextDueNanos;
+    }
+
+    /**
+     * Logs the number of sent and merged packets and the time packets waited in the queue of every light since the
+     * previous call. The queues of lights that no longer receive packets are removed.
+     */
+    public synchronized void logStatistics() {
+        for (Iterator<PacketQueue> it = lightQueues.values().iterator(); it.hasNext();) {
+            PacketQueue queue = it.next();
+            if (queue.sentPackets == 0 && queue.packets.isEmpty()) {
+                it.remove();
+                continue;
+            }
+            logStatistics(queue);
+        }
+        if (broadcastQueue.sentPackets > 0) {
+            logStatistics(broadcastQueue);
+        }
+    }
+
+    private void logStatistics(PacketQueue queue) {
+        if (logger.isDebugEnabled()) {
+            long averageLatencyNanos = queue.sentPackets == 0 ? 0 : queue.totalLatencyNanos / queue.sentPackets;
+            logger.debug("{} : Sent {} packets ({} merged, {} waiting), queue latency average {}ms, maximum {}ms",
+                    queue.logId, queue.sentPackets, queue.mergedPackets, queue.packets.size(),
+                    TimeUnit.NANOSECONDS.toMillis(averageLatencyNanos),
+                    TimeUnit.NANOSECONDS.toMillis(queue.maxLatencyNanos));
+        }
+        queue.resetStatistics();
+    }
+
+    public synchronized void clear() {
+        lightQueues.clear();
+        broadcastQueue.packets.clear();
+    }
+}
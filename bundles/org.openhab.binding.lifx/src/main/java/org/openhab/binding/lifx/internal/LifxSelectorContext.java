@@ -13,8 +13,6 @@
 package org.openhab.binding.lifx.internal;
 
 import java.net.InetSocketAddress;
-import java.nio.channels.SelectionKey;
-import java.nio.channels.Selector;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -23,42 +21,38 @@ import org.openhab.binding.lifx.internal.fields.MACAddress;
 
 /**
  * The {@link LifxSelectorContext} stores the context that is used for broadcast and unicast communications with a
- * light using a {@link Selector}.
+ * light using the {@link LifxNetworkReactor}.
  *
  * @author Wouter Born - Make selector logic reusable between discovery and handlers
  */
 @NonNullByDefault
 public class LifxSelectorContext {
 
-    private final Selector selector;
+    private final LifxNetworkReactor networkReactor;
     private final long sourceId;
     private final Supplier<Integer> sequenceNumberSupplier;
     private final String logId;
-    private @Nullable InetSocketAddress host;
-    private @Nullable MACAddress macAddress;
-    private @Nullable SelectionKey broadcastKey;
-    private @Nullable SelectionKey unicastKey;
+    private volatile @Nullable InetSocketAddress host;
+    private volatile @Nullable MACAddress macAddress;
 
-    public LifxSelectorContext(Selector selector, long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
-            @Nullable SelectionKey broadcastKey) {
-        this(selector, sourceId, sequenceNumberSupplier, logId, null, null, broadcastKey, null);
+    public LifxSelectorContext(LifxNetworkReactor networkReactor, long sourceId,
+            Supplier<Integer> sequenceNumberSupplier, String logId) {
+        this(networkReactor, sourceId, sequenceNumberSupplier, logId, null, null);
     }
 
-    public LifxSelectorContext(Selector selector, long sourceId, Supplier<Integer> sequenceNumberSupplier, String logId,
-            @Nullable InetSocketAddress host, @Nullable MACAddress macAddress, @Nullable SelectionKey broadcastKey,
-            @Nullable SelectionKey unicastKey) {
-        this.selector = selector;
+    public LifxSelectorContext(LifxNetworkReactor networkReactor, long sourceId,
+            Supplier<Integer> sequenceNumberSupplier, String logId, @Nullable InetSocketAddress host,
+            @Nullable MACAddress macAddress) {
+        this.networkReactor = networkReactor;
         this.sourceId = sourceId;
         this.sequenceNumberSupplier = sequenceNumberSupplier;
         this.logId = logId;
         this.host = host;
         this.macAddress = macAddress;
-        this.broadcastKey = broadcastKey;
-        this.unicastKey = unicastKey;
     }
 
-    public Selector getSelector() {
-        return selector;
+    public LifxNetworkReactor getNetworkReactor() {
+        return networkReactor;
     }
 
     public long getSourceId() {
@@ -81,14 +75,6 @@ public class LifxSelectorContext {
         return macAddress;
     }
 
-    public @Nullable SelectionKey getBroadcastKey() {
-        return broadcastKey;
-    }
-
-    public @Nullable SelectionKey getUnicastKey() {
-        return unicastKey;
-    }
-
     public void setHost(@Nullable InetSocketAddress host) {
         this.host = host;
     }
@@ -96,12 +82,4 @@ public class LifxSelectorContext {
     public void setMACAddress(@Nullable MACAddress macAddress) {
         this.macAddress = macAddress;
     }
-
-    public void setBroadcastKey(@Nullable SelectionKey broadcastKey) {
-        this.broadcastKey = broadcastKey;
-    }
-
-    public void setUnicastKey(@Nullable SelectionKey unicastKey) {
-        this.unicastKey = unicastKey;
-    }
 }
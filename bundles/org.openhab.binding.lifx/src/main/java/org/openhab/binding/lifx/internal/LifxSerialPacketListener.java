@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import java.net.InetSocketAddress;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.lifx.internal.listener.LifxPacketListener;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Passes the packets received by the {@link LifxNetworkReactor} to a listener using an executor, so the reactor thread
+ * isn't held up by the listener. The packets are handled one at a time and in the order they were received, so the
+ * listener never runs concurrently with itself.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LifxSerialPacketListener implements LifxPacketListener {
+
+    private final Logger logger = LoggerFactory.getLogger(LifxSerialPacketListener.class);
+
+    private final String logId;
+    private final Executor executor;
+    private final LifxPacketListener listener;
+
+    private final Queue<ReceivedPacket> receivedPackets = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean handling = new AtomicBoolean();
+
+    private static class ReceivedPacket {
+        private final Packet packet;
+        private final InetSocketAddress address;
+
+        ReceivedPacket(Packet packet, InetSocketAddress address) {
+            this.packet = packet;
+            this.address = address;
+        }
+    }
+
+    public LifxSerialPacketListener(String logId, Executor executor, LifxPacketListener listener) {
+        this.logId = logId;
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    @Override
+    public void handlePacket(Packet packet, InetSocketAddress address) {
+        receivedPackets.add(new ReceivedPacket(packet, address));
+        if (handling.compareAndSet(false, true)) {
+            executor.execute(this::handleReceivedPackets);
+        }
+    }
+
+    private void handleReceivedPackets() {
+        do {
+            ReceivedPacket receivedPacket;
+            while ((receivedPacket = receivedPackets.poll()) != null) {
+                try {
+                    listener.handlePacket(receivedPacket.packet, receivedPacket.address);
+                } catch (RuntimeException e) {
+                    logger.error("{} : {} while handling a packet: {}", logId, e.getClass().getSimpleName(),
+                            e.getMessage(), e);
+                }
+            }
+            handling.set(false);
+            // a packet may have been added after the queue was found empty but before the flag was cleared
+        } while (!receivedPackets.isEmpty() && handling.compareAndSet(false, true));
+    }
+}
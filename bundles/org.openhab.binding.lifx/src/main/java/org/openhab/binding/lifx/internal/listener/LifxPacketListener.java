@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal.listener;
+
+import java.net.InetSocketAddress;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+
+/**
+ * The {@link LifxPacketListener} is notified when the {@link LifxNetworkReactor} receives a packet for the source
+ * identifier of the listener.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface LifxPacketListener {
+
+    /**
+     * Called by the thread of the {@link LifxNetworkReactor} when it receives a packet. Implementations must not block.
+     *
+     * @param packet the received packet
+     * @param address the address the packet was received from
+     */
+    public void handlePacket(Packet packet, InetSocketAddress address);
+}
@@ -21,16 +21,14 @@ import java.net.StandardProtocolFamily;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
-import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
-import java.nio.channels.SocketChannel;
 import java.util.ConcurrentModificationException;
-import java.util.Iterator;
 import java.util.function.BiConsumer;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.lifx.internal.LifxNetworkReactor;
 import org.openhab.binding.lifx.internal.LifxSelectorContext;
 import org.openhab.binding.lifx.internal.fields.MACAddress;
 import org.openhab.binding.lifx.internal.protocol.Packet;
@@ -48,8 +46,6 @@ import org.slf4j.LoggerFactory;
 public class LifxSelectorUtil {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(LifxSelectorUtil.class);
-    private static final int MAX_SEND_SELECT_RETRIES = 10;
-    private static final int SEND_SELECT_TIMEOUT = 200;
 
     enum CastType {
         BROADCAST,
@@ -57,32 +53,28 @@ public class LifxSelectorUtil {
     }
 
     @SuppressWarnings("resource")
-    public static @Nullable SelectionKey openBroadcastChannel(@Nullable Selector selector, String logId,
-            int broadcastPort) throws IOException {
-        if (selector == null) {
-            return null;
-        }
+    public static SelectionKey openBroadcastChannel(Selector selector, String logId, int broadcastPort)
+            throws IOException {
         DatagramChannel broadcastChannel = DatagramChannel.open(StandardProtocolFamily.INET)
                 .setOption(StandardSocketOptions.SO_REUSEADDR, true)
                 .setOption(StandardSocketOptions.SO_BROADCAST, true);
         broadcastChannel.configureBlocking(false);
         LOGGER.debug("{} : Binding the broadcast channel on port {}", logId, broadcastPort);
         broadcastChannel.bind(new InetSocketAddress(broadcastPort));
-        return broadcastChannel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        return broadcastChannel.register(selector, SelectionKey.OP_READ);
     }
 
+    /**
+     * Opens an unconnected channel on an ephemeral port, so it can be used for sending packets to all lights.
+     */
     @SuppressWarnings("resource")
-    public static @Nullable SelectionKey openUnicastChannel(@Nullable Selector selector, String logId,
-            @Nullable InetSocketAddress address) throws IOException {
-        if (selector == null || address == null) {
-            return null;
-        }
+    public static SelectionKey openUnicastChannel(Selector selector, String logId) throws IOException {
         DatagramChannel unicastChannel = DatagramChannel.open(StandardProtocolFamily.INET)
                 .setOption(StandardSocketOptions.SO_REUSEADDR, true);
         unicastChannel.configureBlocking(false);
-        unicastChannel.connect(address);
-        LOGGER.trace("{} : Connected to light via {}", logId, unicastChannel.getLocalAddress().toString());
-        return unicastChannel.register(selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        unicastChannel.bind(new InetSocketAddress(0));
+        LOGGER.debug("{} : Bound the unicast channel to {}", logId, unicastChannel.getLocalAddress().toString());
+        return unicastChannel.register(selector, SelectionKey.OP_READ);
     }
 
     public static void closeSelector(@Nullable Selector selector, String logId) {
@@ -125,52 +117,31 @@ public class LifxSelectorUtil {
         key.cancel();
     }
 
-    @SuppressWarnings("resource")
-    public static void receiveAndHandlePackets(Selector selector, String logId,
-            BiConsumer<Packet, InetSocketAddress> packetConsumer) {
-        try {
-            selector.selectNow();
-        } catch (IOException e) {
-            LOGGER.error("{} while selecting keys for the light ({}) : {}", e.getClass().getSimpleName(), logId,
-                    e.getMessage());
-        }
-
-        Iterator<SelectionKey> keyIterator = selector.selectedKeys().iterator();
-
-        while (keyIterator.hasNext()) {
-            SelectionKey key;
-
-            try {
-                key = keyIterator.next();
-            } catch (ConcurrentModificationException e) {
-                // when a StateServiceResponse packet is handled a new unicastChannel may be registered
-                // in the selector which causes this exception, recover from it by restarting the iteration
-                LOGGER.debug("{} : Restarting iteration after ConcurrentModificationException", logId);
-                keyIterator = selector.selectedKeys().iterator();
-                continue;
+    /**
+     * Receives all packets that are waiting in a non-blocking channel and supplies them to the consumer.
+     *
+     * @param channel the channel to read from
+     * @param readBuffer the buffer that is reused for reading each packet
+     * @param logId the log identifier
+     * @param packetConsumer the consumer of the parsed packets
+     * @throws IOException if reading from the channel fails
+     */
+    public static void receiveAndHandlePackets(DatagramChannel channel, ByteBuffer readBuffer, String logId,
+            BiConsumer<Packet, InetSocketAddress> packetConsumer) throws IOException {
+        while (true) {
+            readBuffer.clear();
+            InetSocketAddress address = (InetSocketAddress) channel.receive(readBuffer);
+            if (address == null) {
+                return;
             }
 
-            if (key.isValid() && key.isReadable()) {
-                LOGGER.trace("{} : Channel is ready for reading", logId);
-                SelectableChannel channel = key.channel();
-                ByteBuffer readBuffer = ByteBuffer.allocate(LifxNetworkUtil.getBufferSize());
-
+            LOGGER.trace("{} : Received {} bytes from '{}'", logId, readBuffer.position(), address);
+            if (isRemoteAddress(address.getAddress())) {
                 try {
-                    if (channel instanceof DatagramChannel) {
-                        InetSocketAddress address = (InetSocketAddress) ((DatagramChannel) channel).receive(readBuffer);
-                        if (isRemoteAddress(address.getAddress())) {
-                            supplyParsedPacketToConsumer(readBuffer, address, packetConsumer, logId);
-                        }
-                    } else if (channel instanceof SocketChannel) {
-                        InetSocketAddress address = (InetSocketAddress) ((SocketChannel) channel).getRemoteAddress();
-                        ((SocketChannel) channel).read(readBuffer);
-                        if (isRemoteAddress(address.getAddress())) {
-                            supplyParsedPacketToConsumer(readBuffer, address, packetConsumer, logId);
-                        }
-                    }
-                } catch (Exception e) {
-                    LOGGER.debug("{} while reading data for the light ({}) : {}", e.getClass().getSimpleName(), logId,
-                            e.getMessage());
+                    supplyParsedPacketToConsumer(readBuffer, address, packetConsumer, logId);
+                } catch (RuntimeException e) {
+                    LOGGER.debug("{} while reading data from '{}' ({}) : {}", e.getClass().getSimpleName(), address,
+                            logId, e.getMessage());
                 }
             }
         }
@@ -254,62 +225,26 @@ public class LifxSelectorUtil {
         return sendPacket(context, packet, host, UNICAST);
     }
 
-    @SuppressWarnings("resource")
-    private static boolean sendPacket(@Nullable LifxSelectorContext context, Packet packet, InetSocketAddress address,
+    private static boolean sendPacket(LifxSelectorContext context, Packet packet, InetSocketAddress address,
             CastType castType) {
-        if (context == null) {
-            return false;
-        }
-
         try {
-            if (castType == UNICAST) {
-                LifxThrottlingUtil.lock(packet.getTarget());
-            } else {
-                LifxThrottlingUtil.lock();
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace("{} : Queueing packet type '{}' to '{}' for '{}' with sequence '{}' and source '{}'",
+                        new Object[] { context.getLogId(), packet.getClass().getSimpleName(), address.toString(),
+                                packet.getTarget().getHex(), packet.getSequence(),
+                                Long.toString(packet.getSource(), 16) });
             }
 
-            for (int i = 0; i <= MAX_SEND_SELECT_RETRIES; i++) {
-                context.getSelector().select(SEND_SELECT_TIMEOUT);
-
-                for (Iterator<SelectionKey> it = context.getSelector().selectedKeys().iterator(); it.hasNext();) {
-                    SelectionKey key = it.next();
-                    SelectionKey castKey = castType == UNICAST ? context.getUnicastKey() : context.getBroadcastKey();
-
-                    if (key.isValid() && key.isWritable() && key.equals(castKey)) {
-                        SelectableChannel channel = key.channel();
-                        if (channel instanceof DatagramChannel) {
-                            if (LOGGER.isTraceEnabled()) {
-                                LOGGER.trace(
-                                        "{} : Sending packet type '{}' from '{}' to '{}' for '{}' with sequence '{}' and source '{}'",
-                                        new Object[] { context.getLogId(), packet.getClass().getSimpleName(),
-                                                ((InetSocketAddress) ((DatagramChannel) channel).getLocalAddress())
-                                                        .toString(),
-                                                address.toString(), packet.getTarget().getHex(), packet.getSequence(),
-                                                Long.toString(packet.getSource(), 16) });
-                            }
-                            ((DatagramChannel) channel).send(packet.bytes(), address);
-                            return true;
-                        } else if (channel instanceof SocketChannel) {
-                            ((SocketChannel) channel).write(packet.bytes());
-                            return true;
-                        }
-                    }
-                }
-
-                if (i == MAX_SEND_SELECT_RETRIES) {
-                    LOGGER.debug("Failed to send packet after {} select retries to the light ({})", i,
-                            context.getLogId());
-                }
+            LifxNetworkReactor networkReactor = context.getNetworkReactor();
+            boolean result = castType == UNICAST ? networkReactor.sendPacket(packet, address, context.getLogId())
+                    : networkReactor.broadcastPacket(packet, address, context.getLogId());
+            if (!result) {
+                LOGGER.debug("Failed to queue packet for the light ({})", context.getLogId());
             }
+            return result;
         } catch (Exception e) {
             LOGGER.debug("{} while sending a packet to the light ({}): {}", e.getClass().getSimpleName(),
                     context.getLogId(), e.getMessage());
-        } finally {
-            if (castType == UNICAST) {
-                LifxThrottlingUtil.unlock(packet.getTarget());
-            } else {
-                LifxThrottlingUtil.unlock();
-            }
         }
         return false;
     }
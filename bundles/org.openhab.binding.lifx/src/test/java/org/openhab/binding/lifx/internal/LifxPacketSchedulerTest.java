@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.junit.Assert.*;
+import static org.openhab.binding.lifx.internal.LifxBindingConstants.PACKET_INTERVAL;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.lifx.internal.LifxPacketScheduler.PacketSender;
+import org.openhab.binding.lifx.internal.LifxPacketScheduler.QueuedPacket;
+import org.openhab.binding.lifx.internal.fields.HSBK;
+import org.openhab.binding.lifx.internal.protocol.GetLabelRequest;
+import org.openhab.binding.lifx.internal.protocol.GetServiceRequest;
+import org.openhab.binding.lifx.internal.protocol.GetVersionRequest;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+import org.openhab.binding.lifx.internal.protocol.PowerState;
+import org.openhab.binding.lifx.internal.protocol.SetColorRequest;
+import org.openhab.binding.lifx.internal.protocol.SetPowerRequest;
+
+/**
+ * Tests {@link LifxPacketScheduler} with a fake clock and a fake {@link PacketSender}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LifxPacketSchedulerTest {
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(PACKET_INTERVAL);
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final InetSocketAddress LIGHT_1 = new InetSocketAddress("192.168.1.11", 56700);
+    private static final InetSocketAddress LIGHT_2 = new InetSocketAddress("192.168.1.12", 56700);
+    private static final InetSocketAddress BROADCAST = new InetSocketAddress("192.168.1.255", 56700);
+
+    /**
+     * Records the sent packets and can simulate a full socket buffer.
+     */
+    private static class FakePacketSender implements PacketSender {
+        private final List<QueuedPacket> sent = new ArrayList<>();
+        private final List<Boolean> broadcasts = new ArrayList<>();
+        private boolean bufferFull;
+
+        @Override
+        public boolean send(QueuedPacket packet, boolean broadcast) {
+            if (bufferFull) {
+                return false;
+            }
+            sent.add(packet);
+            broadcasts.add(broadcast);
+            return true;
+        }
+    }
+
+    private long nowNanos = TimeUnit.SECONDS.toNanos(1000);
+    private LifxPacketScheduler scheduler;
+    private FakePacketSender sender;
+
+    @Before
+    public void setUp() {
+        scheduler = new LifxPacketScheduler(() -> nowNanos);
+        sender = new FakePacketSender();
+    }
+
+    private void advance(long nanos) {
+        nowNanos += nanos;
+    }
+
+    private long sendDuePackets() {
+        return scheduler.sendDuePackets(sender);
+    }
+
+    private void assertSent(InetSocketAddress address, Packet packet) {
+        assertFalse("No packet was sent", sender.sent.isEmpty());
+        QueuedPacket sentPacket = sender.sent.remove(0);
+        assertEquals(address, sentPacket.getAddress());
+        assertEquals(packet.bytes(), sentPacket.getBytes());
+        assertEquals(BROADCAST.equals(address), sender.broadcasts.remove(0));
+    }
+
+    private void assertNothingSent() {
+        assertEquals(0, sender.sent.size());
+    }
+
+    @Test
+    public void testNothingIsDueWithoutPackets() {
+        assertEquals(-1, sendDuePackets());
+        assertNothingSent();
+    }
+
+    @Test
+    public void testPacketsForALightAreSentAtThePacketInterval() {
+        Packet label = new GetLabelRequest();
+        Packet version = new GetVersionRequest();
+        assertTrue(scheduler.queuePacket(label, LIGHT_1, "light1"));
+        assertTrue(scheduler.queuePacket(version, LIGHT_1, "light1"));
+
+        assertEquals(INTERVAL, sendDuePackets());
+        assertSent(LIGHT_1, label);
+        assertNothingSent();
+
+        advance(INTERVAL - MILLISECOND);
+        assertEquals(MILLISECOND, sendDuePackets());
+        assertNothingSent();
+
+        advance(MILLISECOND);
+        assertEquals(-1, sendDuePackets());
+        assertSent(LIGHT_1, version);
+    }
+
+    @Test
+    public void testEveryLightHasItsOwnDueTime() {
+        Packet label = new GetLabelRequest();
+        Packet version = new GetVersionRequest();
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+        scheduler.queuePacket(version, LIGHT_1, "light1");
+
+        assertEquals(INTERVAL, sendDuePackets());
+        assertSent(LIGHT_1, label);
+
+        // the second light does not wait for the interval of the first light
+        advance(20 * MILLISECOND);
+        scheduler.queuePacket(label, LIGHT_2, "light2");
+        scheduler.queuePacket(version, LIGHT_2, "light2");
+        assertEquals(INTERVAL - 20 * MILLISECOND, sendDuePackets());
+        assertSent(LIGHT_2, label);
+        assertNothingSent();
+
+        advance(INTERVAL - 20 * MILLISECOND);
+        assertEquals(20 * MILLISECOND, sendDuePackets());
+        assertSent(LIGHT_1, version);
+        assertNothingSent();
+
+        advance(20 * MILLISECOND);
+        assertEquals(-1, sendDuePackets());
+        assertSent(LIGHT_2, version);
+    }
+
+    @Test
+    public void testBroadcastPausesLights() {
+        Packet label = new GetLabelRequest();
+        Packet version = new GetVersionRequest();
+        Packet service = new GetServiceRequest();
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+        assertEquals(-1, sendDuePackets());
+        assertSent(LIGHT_1, label);
+
+        // the broadcast waits for the interval since the previous packet to any light
+        advance(10 * MILLISECOND);
+        scheduler.queueBroadcastPacket(service, BROADCAST, "broadcast");
+        scheduler.queuePacket(label, LIGHT_2, "light2");
+        assertEquals(INTERVAL - 10 * MILLISECOND, sendDuePackets());
+        assertNothingSent();
+
+        advance(INTERVAL - 10 * MILLISECOND);
+        scheduler.queuePacket(version, LIGHT_1, "light1");
+        assertEquals(INTERVAL, sendDuePackets());
+        assertSent(BROADCAST, service);
+        assertNothingSent();
+
+        // every light also received the broadcast, so all lights wait for the interval
+        advance(10 * MILLISECOND);
+        assertEquals(INTERVAL - 10 * MILLISECOND, sendDuePackets());
+        assertNothingSent();
+
+        advance(INTERVAL - 10 * MILLISECOND);
+        sendDuePackets();
+        assertEquals(2, sender.sent.size());
+        assertFalse(sender.broadcasts.contains(true));
+    }
+
+    @Test
+    public void testColorAndPowerChangesAreMergedAtTheirQueuePosition() {
+        Packet label = new GetLabelRequest();
+        Packet version = new GetVersionRequest();
+        Packet red = new SetColorRequest(new HSBK(0, 65535, 65535, 3500), 0);
+        Packet blue = new SetColorRequest(new HSBK(43690, 65535, 65535, 3500), 0);
+        Packet on = new SetPowerRequest(PowerState.ON);
+        Packet off = new SetPowerRequest(PowerState.OFF);
+
+        long firstColorQueueNanos = nowNanos;
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+        scheduler.queuePacket(red, LIGHT_1, "light1");
+        scheduler.queuePacket(on, LIGHT_1, "light1");
+        scheduler.queuePacket(version, LIGHT_1, "light1");
+        advance(MILLISECOND);
+        scheduler.queuePacket(blue, LIGHT_1, "light1");
+        scheduler.queuePacket(off, LIGHT_1, "light1");
+
+        // the label is sent immediately, so the merged color change is the next packet in the queue
+        sendDuePackets();
+        advance(INTERVAL);
+        sendDuePackets();
+        advance(INTERVAL);
+        sendDuePackets();
+        advance(INTERVAL);
+        assertEquals(-1, sendDuePackets());
+
+        assertEquals(firstColorQueueNanos, sender.sent.get(1).getQueueNanos());
+        assertSent(LIGHT_1, label);
+        assertSent(LIGHT_1, blue);
+        assertSent(LIGHT_1, off);
+        assertSent(LIGHT_1, version);
+        assertNothingSent();
+    }
+
+    @Test
+    public void testOtherPacketsAreNotMerged() {
+        Packet label = new GetLabelRequest();
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+
+        sendDuePackets();
+        advance(INTERVAL);
+        sendDuePackets();
+
+        assertSent(LIGHT_1, label);
+        assertSent(LIGHT_1, label);
+    }
+
+    @Test
+    public void testPacketIsKeptWhenTheSocketBufferIsFull() {
+        Packet label = new GetLabelRequest();
+        Packet version = new GetVersionRequest();
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+        scheduler.queuePacket(version, LIGHT_1, "light1");
+
+        // the reactor waits until the channel is writable again
+        sender.bufferFull = true;
+        assertEquals(-1, sendDuePackets());
+        assertNothingSent();
+
+        advance(MILLISECOND);
+        sender.bufferFull = false;
+        assertEquals(INTERVAL, sendDuePackets());
+        assertSent(LIGHT_1, label);
+
+        advance(INTERVAL);
+        assertEquals(-1, sendDuePackets());
+        assertSent(LIGHT_1, version);
+    }
+
+    @Test
+    public void testBroadcastIsKeptWhenTheSocketBufferIsFull() {
+        Packet service = new GetServiceRequest();
+        Packet label = new GetLabelRequest();
+        scheduler.queueBroadcastPacket(service, BROADCAST, "broadcast");
+        scheduler.queuePacket(label, LIGHT_1, "light1");
+
+        sender.bufferFull = true;
+        assertEquals(-1, sendDuePackets());
+
+        sender.bufferFull = false;
+        assertEquals(INTERVAL, sendDuePackets());
+        assertSent(BROADCAST, service);
+        assertNothingSent();
+
+        advance(INTERVAL);
+        assertEquals(-1, sendDuePackets());
+        assertSent(LIGHT_1, label);
+    }
+
+    @Test
+    public void testPacketsAreDroppedWhenTooManyAreWaiting() {
+        Packet label = new GetLabelRequest();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(scheduler.queuePacket(label, LIGHT_1, "light1"));
+        }
+        assertFalse(scheduler.queuePacket(label, LIGHT_1, "light1"));
+        assertTrue(scheduler.queuePacket(label, LIGHT_2, "light2"));
+    }
+
+    @Test
+    public void testClearRemovesAllPackets() {
+        scheduler.queuePacket(new GetLabelRequest(), LIGHT_1, "light1");
+        scheduler.queueBroadcastPacket(new GetServiceRequest(), BROADCAST, "broadcast");
+        scheduler.clear();
+
+        assertEquals(-1, sendDuePackets());
+        assertNothingSent();
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.lifx.internal;
+
+import static org.junit.Assert.*;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.openhab.binding.lifx.internal.protocol.GetLabelRequest;
+import org.openhab.binding.lifx.internal.protocol.Packet;
+
+/**
+ * Tests {@link LifxSerialPacketListener}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LifxSerialPacketListenerTest {
+
+    private static final InetSocketAddress ADDRESS = new InetSocketAddress("192.168.1.11", 56700);
+
+    private static Packet packet(int sequence) {
+        Packet packet = new GetLabelRequest();
+        packet.setSequence(sequence);
+        return packet;
+    }
+
+    @Test
+    public void testPacketsAreHandledInOrderByOneTask() {
+        Queue<Runnable> tasks = new LinkedList<>();
+        List<Integer> handled = new ArrayList<>();
+        LifxSerialPacketListener listener = new LifxSerialPacketListener("light", tasks::add,
+                (packet, address) -> handled.add(packet.getSequence()));
+
+        listener.handlePacket(packet(1), ADDRESS);
+        listener.handlePacket(packet(2), ADDRESS);
+        listener.handlePacket(packet(3), ADDRESS);
+        assertEquals(1, tasks.size());
+        assertTrue(handled.isEmpty());
+
+        tasks.remove().run();
+        assertEquals(Arrays.asList(1, 2, 3), handled);
+
+        // a new task is submitted after the previous one has handled all packets
+        listener.handlePacket(packet(4), ADDRESS);
+        assertEquals(1, tasks.size());
+        tasks.remove().run();
+        assertEquals(Arrays.asList(1, 2, 3, 4), handled);
+    }
+
+    @Test
+    public void testExceptionDoesNotStopHandling() {
+        Queue<Runnable> tasks = new LinkedList<>();
+        List<Integer> handled = new ArrayList<>();
+        LifxSerialPacketListener listener = new LifxSerialPacketListener("light", tasks::add, (packet, address) -> {
+            if (packet.getSequence() == 1) {
+                throw new IllegalStateException("Test exception");
+            }
+            handled.add(packet.getSequence());
+        });
+
+        listener.handlePacket(packet(1), ADDRESS);
+        listener.handlePacket(packet(2), ADDRESS);
+        tasks.remove().run();
+
+        assertEquals(Arrays.asList(2), handled);
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void testListenerNeverRunsConcurrently() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<Integer> handled = new ArrayList<>();
+            CountDownLatch done = new CountDownLatch(1000);
+            LifxSerialPacketListener listener = new LifxSerialPacketListener("light", executor,
+                    (packet, address) -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        handled.add(packet.getSequence());
+                        running.decrementAndGet();
+                        done.countDown();
+                    });
+
+            for (int i = 0; i < 1000; i++) {
+                listener.handlePacket(packet(i % 256), ADDRESS);
+            }
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1, maxRunning.get());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i % 256, (int) handled.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -15,9 +15,12 @@ package org.openhab.binding.logreader.internal.filereader;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
 
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.Matches;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,17 +33,37 @@ public abstract class AbstractLogFileReader implements LogFileReader {
     private final Logger logger = LoggerFactory.getLogger(AbstractLogFileReader.class);
 
     private List<FileReaderListener> fileReaderListeners = new CopyOnWriteArrayList<>();
+    private volatile MultiPatternMatcher matcher = createMatcher(fileReaderListeners);
 
     @Override
     public boolean registerListener(FileReaderListener fileReaderListener) {
         Objects.requireNonNull(fileReaderListener, "It's not allowed to pass a null FileReaderListener.");
-        return fileReaderListeners.contains(fileReaderListener) ? false : fileReaderListeners.add(fileReaderListener);
+        if (fileReaderListeners.contains(fileReaderListener) || !fileReaderListeners.add(fileReaderListener)) {
+            return false;
+        }
+        matcher = createMatcher(fileReaderListeners);
+        return true;
     }
 
     @Override
     public boolean unregisterListener(FileReaderListener fileReaderListener) {
         Objects.requireNonNull(fileReaderListener, "It's not allowed to pass a null FileReaderListener.");
-        return fileReaderListeners.remove(fileReaderListener);
+        if (!fileReaderListeners.remove(fileReaderListener)) {
+            return false;
+        }
+        matcher = createMatcher(fileReaderListeners);
+        return true;
+    }
+
+    /**
+     * Create a matcher for the search patterns of all listeners.
+     *
+     * @param listeners listeners reading the same file.
+     * @return the matcher.
+     */
+    public static MultiPatternMatcher createMatcher(List<FileReaderListener> listeners) {
+        return new MultiPatternMatcher(listeners.stream().flatMap(listener -> listener.getSearchPatterns().stream())
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -63,9 +86,10 @@ public abstract class AbstractLogFileReader implements LogFileReader {
      *
      */
     public void sendLineToListeners(String line) {
+        Matches matches = matcher.match(line);
         for (FileReaderListener fileReaderListener : fileReaderListeners) {
             try {
-                fileReaderListener.handle(line);
+                fileReaderListener.handle(line, matches);
             } catch (Exception e) {
                 // catch all exceptions give all handlers a fair chance of handling the messages
                 logger.debug("An exception occurred while calling the FileReaderListener. ", e);
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Service which tails log files for all readers. Each file is read only once, no matter how many readers are
+ * listening to it, and the search patterns of all listeners are evaluated together.
+ *
+ * @author agent - Initial contribution
+ */
+public class FileTailService {
+    private static final String THREADPOOL_NAME = "logreader";
+
+    private final Logger logger = LoggerFactory.getLogger(FileTailService.class);
+
+    private final ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+    private final Map<Path, TailedFile> files = new HashMap<>();
+
+    /**
+     * Start sending the lines of a file to a listener.
+     *
+     * @param filePath file to read.
+     * @param refreshRate how often file is read.
+     * @param listener listener receiving the lines.
+     * @throws FileReaderException if the file path is invalid.
+     */
+    public synchronized void subscribe(String filePath, long refreshRate, FileReaderListener listener)
+            throws FileReaderException {
+        if (refreshRate <= 0) {
+            throw new FileReaderException("Invalid refresh rate " + refreshRate);
+        }
+        Path path = toPath(filePath);
+        TailedFile file = files.get(path);
+        if (file == null) {
+            file = new TailedFile(path, scheduler);
+            files.put(path, file);
+            logger.debug("Start reading '{}'", path);
+        }
+        file.addListener(listener, refreshRate);
+    }
+
+    /**
+     * Stop sending the lines of a file to a listener. The file is closed, if it was the last listener.
+     *
+     * @param filePath file to stop reading.
+     * @param listener listener to remove.
+     */
+    public synchronized void unsubscribe(String filePath, FileReaderListener listener) {
+        try {
+            Path path = toPath(filePath);
+            TailedFile file = files.get(path);
+            if (file != null && file.removeListener(listener)) {
+                files.remove(path);
+            }
+        } catch (FileReaderException e) {
+            // can't be subscribed
+        }
+    }
+
+    private Path toPath(String filePath) throws FileReaderException {
+        try {
+            return Paths.get(filePath).toAbsolutePath().normalize();
+        } catch (InvalidPathException e) {
+            throw new FileReaderException(e);
+        }
+    }
+}
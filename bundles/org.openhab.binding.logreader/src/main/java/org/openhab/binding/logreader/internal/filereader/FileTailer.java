@@ -41,7 +41,9 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
         @Override
         public void handle(@Nullable String line) {
-            sendLineToListeners(line);
+            if (line != null) {
+                sendLineToListeners(line);
+            }
         }
 
         @Override
@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+
+/**
+ * Log file reader implementation, which reads the file through the shared {@link FileTailService}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SharedFileTailer implements LogFileReader {
+
+    private final FileTailService tailService;
+    private final List<FileReaderListener> fileReaderListeners = new CopyOnWriteArrayList<>();
+
+    private @Nullable String filePath;
+    private long refreshRate;
+
+    public SharedFileTailer(FileTailService tailService) {
+        this.tailService = tailService;
+    }
+
+    @Override
+    public synchronized boolean registerListener(FileReaderListener fileReaderListener) {
+        Objects.requireNonNull(fileReaderListener, "It's not allowed to pass a null FileReaderListener.");
+        if (fileReaderListeners.contains(fileReaderListener)) {
+            return false;
+        }
+        String filePath = this.filePath;
+        if (filePath != null) {
+            try {
+                tailService.subscribe(filePath, refreshRate, fileReaderListener);
+            } catch (FileReaderException e) {
+                return false;
+            }
+        }
+        return fileReaderListeners.add(fileReaderListener);
+    }
+
+    @Override
+    public synchronized boolean unregisterListener(FileReaderListener fileReaderListener) {
+        Objects.requireNonNull(fileReaderListener, "It's not allowed to pass a null FileReaderListener.");
+        String filePath = this.filePath;
+        if (filePath != null) {
+            tailService.unsubscribe(filePath, fileReaderListener);
+        }
+        return fileReaderListeners.remove(fileReaderListener);
+    }
+
+    @Override
+    public synchronized void start(String filePath, long refreshRate) throws FileReaderException {
+        stop();
+        for (FileReaderListener fileReaderListener : fileReaderListeners) {
+            tailService.subscribe(filePath, refreshRate, fileReaderListener);
+        }
+        this.filePath = filePath;
+        this.refreshRate = refreshRate;
+    }
+
+    @Override
+    public synchronized void stop() {
+        String filePath = this.filePath;
+        if (filePath != null) {
+            for (FileReaderListener fileReaderListener : fileReaderListeners) {
+                tailService.unsubscribe(filePath, fileReaderListener);
+            }
+            this.filePath = null;
+        }
+    }
+}
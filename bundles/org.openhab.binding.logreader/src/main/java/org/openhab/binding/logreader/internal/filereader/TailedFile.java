@@ -0,0 +1,311 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.Matches;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A log file, which is read once for all of its listeners.
+ *
+ * The file is polled with the smallest refresh rate of the listeners and new data is read with large buffered reads.
+ * Reading starts at the end of the file. A rotation is detected if the file is replaced by a new one or truncated,
+ * the rest of a replaced file is read before switching to the new file. The last line of the old file is sent even if
+ * it is not terminated.
+ *
+ * @author agent - Initial contribution
+ */
+class TailedFile implements Runnable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long STATISTICS_INTERVAL = TimeUnit.MINUTES.toNanos(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TailedFile.class);
+
+    private final Path path;
+    private final ScheduledExecutorService scheduler;
+    private final List<FileReaderListener> listeners = new CopyOnWriteArrayList<>();
+    private final Map<FileReaderListener, Long> refreshRates = new ConcurrentHashMap<>();
+    private volatile MultiPatternMatcher matcher = AbstractLogFileReader.createMatcher(listeners);
+
+    private @Nullable ScheduledFuture<?> job;
+    private long refreshRate;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] lineBuffer = new byte[256];
+    private int lineLength;
+    private @Nullable FileChannel channel;
+    private @Nullable Object fileKey;
+    private long position;
+    private boolean opened;
+    private boolean fileMissing;
+
+    private long statisticsStart = System.nanoTime();
+    private long lineCount;
+    private long matchNanos;
+
+    TailedFile(Path path, ScheduledExecutorService scheduler) {
+        this.path = path;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Add listener and restart polling if the listener needs a higher refresh rate.
+     */
+    void addListener(FileReaderListener listener, long refreshRate) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+        refreshRates.put(listener, refreshRate);
+        matcher = AbstractLogFileReader.createMatcher(listeners);
+        logger.debug("Listener added to '{}', {} listeners with {} distinct search patterns", path, listeners.size(),
+                matcher.getPatternCount());
+        reschedule();
+    }
+
+    /**
+     * Remove listener and stop polling if it was the last one.
+     *
+     * @return true if there are no listeners anymore.
+     */
+    boolean removeListener(FileReaderListener listener) {
+        listeners.remove(listener);
+        refreshRates.remove(listener);
+        matcher = AbstractLogFileReader.createMatcher(listeners);
+        if (listeners.isEmpty()) {
+            stop();
+            return true;
+        }
+        reschedule();
+        return false;
+    }
+
+    private void reschedule() {
+        long minRefreshRate = refreshRates.values().stream().mapToLong(Long::longValue).min().orElse(refreshRate);
+        ScheduledFuture<?> job = this.job;
+        if (job != null && minRefreshRate == refreshRate) {
+            return;
+        }
+        if (job != null) {
+            job.cancel(false);
+        }
+        refreshRate = minRefreshRate;
+        this.job = scheduler.scheduleWithFixedDelay(this, 0, refreshRate, TimeUnit.MILLISECONDS);
+        logger.debug("Reading '{}' every {} ms", path, refreshRate);
+    }
+
+    private void stop() {
+        ScheduledFuture<?> job = this.job;
+        if (job != null) {
+            job.cancel(false);
+            this.job = null;
+        }
+        synchronized (this) {
+            close();
+        }
+        logger.debug("Stopped reading '{}'", path);
+    }
+
+    @Override
+    public synchronized void run() {
+        try {
+            poll();
+        } catch (IOException e) {
+            close();
+            for (FileReaderListener listener : listeners) {
+                try {
+                    listener.handle(e);
+                } catch (Exception ex) {
+                    // catch all exceptions give all handlers a fair chance of handling the messages
+                    logger.debug("An exception occurred while calling the FileReaderListener. ", ex);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unexpected error while reading '{}'", path, e);
+        }
+        logStatistics();
+    }
+
+    private void poll() throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            if (!fileMissing) {
+                fileMissing = true;
+                close();
+                sendFileNotFound();
+            }
+            return;
+        }
+        fileMissing = false;
+
+        FileChannel channel = this.channel;
+        if (channel == null) {
+            Object previousFileKey = fileKey;
+            channel = open(attributes);
+            if (!opened) {
+                // start at the end of the file
+                position = channel.size();
+                opened = true;
+            } else if (!Objects.equals(previousFileKey, fileKey) || channel.size() < position) {
+                // file was recreated while it was closed
+                flushLine();
+                position = 0;
+                sendFileRotated();
+            }
+        } else if (!Objects.equals(fileKey, attributes.fileKey())) {
+            // file was replaced, read the remaining lines of the old file first
+            readLines(channel);
+            flushLine();
+            close();
+            sendFileRotated();
+            channel = open(attributes);
+            position = 0;
+        } else if (channel.size() < position) {
+            // file was truncated
+            flushLine();
+            position = 0;
+            sendFileRotated();
+        }
+        readLines(channel);
+    }
+
+    private FileChannel open(BasicFileAttributes attributes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.channel = channel;
+        fileKey = attributes.fileKey();
+        return channel;
+    }
+
+    private void close() {
+        FileChannel channel = this.channel;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Closing '{}' failed: {}", path, e.getMessage());
+            }
+            this.channel = null;
+        }
+    }
+
+    private void readLines(FileChannel channel) throws IOException {
+        byte[] data = buffer.array();
+        int read;
+        while ((read = channel.read((ByteBuffer) buffer.clear(), position)) > 0) {
+            position += read;
+            for (int i = 0; i < read; i++) {
+                byte b = data[i];
+                if (b == '\n') {
+                    sendBufferedLine();
+                } else {
+                    if (lineLength == lineBuffer.length) {
+                        lineBuffer = Arrays.copyOf(lineBuffer, lineLength * 2);
+                    }
+                    lineBuffer[lineLength++] = b;
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the unterminated last line of a rotated file.
+     */
+    private void flushLine() {
+        if (lineLength > 0) {
+            sendBufferedLine();
+        }
+    }
+
+    private void sendBufferedLine() {
+        int length = lineLength > 0 && lineBuffer[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+        lineLength = 0;
+        sendLine(new String(lineBuffer, 0, length, StandardCharsets.UTF_8));
+    }
+
+    private void sendLine(String line) {
+        long start = System.nanoTime();
+        Matches matches = matcher.match(line);
+        for (FileReaderListener listener : listeners) {
+            try {
+                listener.handle(line, matches);
+            } catch (Exception e) {
+                // catch all exceptions give all handlers a fair chance of handling the messages
+                logger.debug("An exception occurred while calling the FileReaderListener. ", e);
+            }
+        }
+        matchNanos += System.nanoTime() - start;
+        lineCount++;
+    }
+
+    private void sendFileNotFound() {
+        for (FileReaderListener listener : listeners) {
+            try {
+                listener.fileNotFound();
+            } catch (Exception e) {
+                // catch all exceptions give all handlers a fair chance of handling the messages
+                logger.debug("An exception occurred while calling the FileReaderListener. ", e);
+            }
+        }
+    }
+
+    private void sendFileRotated() {
+        for (FileReaderListener listener : listeners) {
+            try {
+                listener.fileRotated();
+            } catch (Exception e) {
+                // catch all exceptions give all handlers a fair chance of handling the messages
+                logger.debug("An exception occurred while calling the FileReaderListener. ", e);
+            }
+        }
+    }
+
+    private void logStatistics() {
+        long now = System.nanoTime();
+        long elapsed = now - statisticsStart;
+        if (elapsed < STATISTICS_INTERVAL) {
+            return;
+        }
+        if (lineCount > 0) {
+            logger.debug("Read {} lines from '{}' ({} lines/s), matched and dispatched at {} lines/s", lineCount, path,
+                    lineCount * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                    lineCount * TimeUnit.SECONDS.toNanos(1) / Math.max(matchNanos, 1));
+        }
+        statisticsStart = now;
+        lineCount = 0;
+        matchNanos = 0;
+    }
+}
@@ -12,6 +12,11 @@
  */
 package org.openhab.binding.logreader.internal.filereader.api;
 
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.Matches;
+
 /**
  * Interface for file reader listeners.
  *
@@ -30,12 +35,21 @@ public interface FileReaderListener {
      */
     void fileRotated();
 
+    /**
+     * Get the search patterns of the listener. They are evaluated together with the patterns of all other listeners
+     * of the same file and passed to {@link #handle(String, Matches)}.
+     *
+     * @return search patterns.
+     */
+    List<Pattern> getSearchPatterns();
+
     /**
      * This method is called when new line is detected.
      *
      * @param line the line.
+     * @param matches results of the search patterns for the line.
      */
-    void handle(String line);
+    void handle(String line, Matches matches);
 
     /**
      * This method is called when exception has occurred.
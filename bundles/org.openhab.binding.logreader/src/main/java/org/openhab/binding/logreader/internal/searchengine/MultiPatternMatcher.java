@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class evaluates the search patterns of all search engines, which read the same lines, together.
+ *
+ * All distinct patterns are combined into a single expression, which is checked first. Lines not matching any of
+ * the patterns, which are most of the lines of a log, are discarded with this single pass. For the remaining lines
+ * each distinct pattern is evaluated at most once and only if a search engine asks for it, so identical patterns of
+ * several readers and blacklisting patterns of engines without a match cost nothing.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcher {
+
+    /**
+     * Patterns with back references or comments can't be combined with other patterns.
+     */
+    private static final Pattern NOT_COMBINABLE = Pattern.compile("\\\\[1-9]|\\\\k<|\\(\\?[a-zA-Z-]*x");
+
+    private static final byte UNKNOWN = 0;
+    private static final byte MATCH = 1;
+    private static final byte NO_MATCH = 2;
+
+    private final Map<String, Integer> indexes = new HashMap<>();
+    private final List<Pattern> patterns = new ArrayList<>();
+    private final @Nullable Pattern combinedPattern;
+    private final Matches noMatches = new Matches(null);
+
+    /**
+     * Create matcher for the given patterns.
+     *
+     * @param patterns patterns of all search engines, duplicates are evaluated only once.
+     */
+    public MultiPatternMatcher(Collection<Pattern> patterns) {
+        StringJoiner combined = new StringJoiner("|");
+        boolean combinable = true;
+        for (Pattern pattern : patterns) {
+            if (!indexes.containsKey(pattern.pattern())) {
+                indexes.put(pattern.pattern(), this.patterns.size());
+                this.patterns.add(pattern);
+                combined.add("(?:" + pattern.pattern() + ")");
+                combinable &= pattern.flags() == 0 && !NOT_COMBINABLE.matcher(pattern.pattern()).find();
+            }
+        }
+        combinedPattern = combinable ? compile(combined.toString()) : null;
+    }
+
+    /**
+     * Get number of distinct patterns.
+     *
+     * @return number of patterns.
+     */
+    public int getPatternCount() {
+        return patterns.size();
+    }
+
+    /**
+     * Check line against all patterns.
+     *
+     * @param line line to check.
+     * @return results of the patterns for the line.
+     */
+    public Matches match(String line) {
+        if (patterns.isEmpty()) {
+            return noMatches;
+        }
+        Pattern combined = combinedPattern;
+        if (combined != null && !combined.matcher(line).find()) {
+            return noMatches;
+        }
+        return new Matches(line);
+    }
+
+    private static @Nullable Pattern compile(String pattern) {
+        try {
+            return Pattern.compile(pattern);
+        } catch (PatternSyntaxException e) {
+            // e.g. same named group in several patterns, patterns are evaluated one by one then
+            return null;
+        }
+    }
+
+    /**
+     * Results of the patterns for a single line. The patterns are evaluated lazily on first request.
+     */
+    public class Matches {
+        private final @Nullable String line;
+        private final byte[] results;
+
+        private Matches(@Nullable String line) {
+            this.line = line;
+            this.results = line == null ? new byte[0] : new byte[patterns.size()];
+        }
+
+        /**
+         * Check if pattern is matching the line.
+         *
+         * @param pattern pattern to check.
+         * @return true if the pattern is found in the line.
+         */
+        public boolean isMatching(Pattern pattern) {
+            String line = this.line;
+            if (line == null) {
+                return false;
+            }
+            Integer index = indexes.get(pattern.pattern());
+            if (index == null) {
+                return pattern.matcher(line).find();
+            }
+            if (results[index] == UNKNOWN) {
+                results[index] = patterns.get(index).matcher(line).find() ? MATCH : NO_MATCH;
+            }
+            return results[index] == MATCH;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.Matches;
 
 /**
  * This class implements logic for regular expression based searching.
@@ -60,6 +61,33 @@ public class SearchEngine {
         return false;
     }
 
+    /**
+     * Check if the results of a {@link MultiPatternMatcher} are matching to one of the provided search patterns.
+     *
+     * @param matches pattern results of the line.
+     * @return true if one of the search patterns found.
+     */
+    public boolean isMatching(Matches matches) {
+        if (isMatching(matchers, matches)) {
+            if (!isMatching(blacklistingMatchers, matches)) {
+                matchCount++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Get search and blacklisting patterns, to be evaluated by a {@link MultiPatternMatcher}.
+     *
+     * @return all precompiled patterns.
+     */
+    public List<Pattern> getPatterns() {
+        List<Pattern> patterns = new ArrayList<>(matchers);
+        patterns.addAll(blacklistingMatchers);
+        return patterns;
+    }
+
     public long getMatchCount() {
         return matchCount;
     }
@@ -107,4 +135,13 @@ public class SearchEngine {
         }
         return false;
     }
+
+    private boolean isMatching(List<Pattern> patterns, Matches matches) {
+        for (Pattern pattern : patterns) {
+            if (matches.isMatching(pattern)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
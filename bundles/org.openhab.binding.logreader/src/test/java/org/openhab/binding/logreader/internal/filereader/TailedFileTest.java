@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.Matches;
+
+/**
+ * Tests {@link TailedFile}. The file is polled by calling {@link TailedFile#run()} directly.
+ *
+ * @author agent - Initial contribution
+ */
+public class TailedFileTest {
+
+    private static final String ROTATED = "<rotated>";
+    private static final String NOT_FOUND = "<not found>";
+
+    /**
+     * Listener which records lines and events in the order they are received
+     */
+    private static class RecordingListener implements FileReaderListener {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void fileNotFound() {
+            events.add(NOT_FOUND);
+        }
+
+        @Override
+        public void fileRotated() {
+            events.add(ROTATED);
+        }
+
+        @Override
+        public List<Pattern> getSearchPatterns() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void handle(String line, Matches matches) {
+            events.add(line);
+        }
+
+        @Override
+        public void handle(Exception ex) {
+            events.add(ex.toString());
+        }
+    }
+
+    private Path folder;
+    private Path path;
+    private TailedFile file;
+    private final RecordingListener listener = new RecordingListener();
+
+    @Before
+    public void setUp() throws IOException {
+        folder = Files.createTempDirectory("logreader");
+        path = folder.resolve("openhab.log");
+        file = new TailedFile(path, mock(ScheduledExecutorService.class));
+        file.addListener(listener, 1000);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        file.removeListener(listener);
+        for (Path child : Files.newDirectoryStream(folder)) {
+            Files.delete(child);
+        }
+        Files.delete(folder);
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void append(String content) throws IOException {
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+
+    private void assertEvents(String... events) {
+        assertEquals(Arrays.asList(events), listener.events);
+        listener.events.clear();
+    }
+
+    @Test
+    public void testAppendedLinesAreRead() throws IOException {
+        write("existing line\n");
+        file.run();
+        assertEvents();
+
+        append("first\nsecond\r\n\nthird\n");
+        file.run();
+        assertEvents("first", "second", "", "third");
+    }
+
+    @Test
+    public void testPartialLineIsCompletedLater() throws IOException {
+        write("");
+        file.run();
+
+        append("first ");
+        file.run();
+        assertEvents();
+
+        append("line\nsecond");
+        file.run();
+        assertEvents("first line");
+
+        append("\n");
+        file.run();
+        assertEvents("second");
+    }
+
+    @Test
+    public void testTruncatedFile() throws IOException {
+        write("existing line\nanother existing line\n");
+        file.run();
+
+        append("unterminated");
+        file.run();
+        write("new\n");
+        file.run();
+        assertEvents("unterminated", ROTATED, "new");
+    }
+
+    @Test
+    public void testReplacedFileIsReadToTheEnd() throws IOException {
+        write("existing line\n");
+        file.run();
+
+        append("last line\nunterminated");
+        Files.move(path, folder.resolve("openhab.log.1"));
+        write("first\n");
+        file.run();
+        assertEvents("last line", "unterminated", ROTATED, "first");
+
+        append("second\n");
+        file.run();
+        assertEvents("second");
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        file.run();
+        file.run();
+        assertEvents(NOT_FOUND);
+
+        // reading starts at the end, even if the file did not exist at start
+        write("existing line\n");
+        file.run();
+        assertEvents();
+
+        append("first\n");
+        file.run();
+        assertEvents("first");
+
+        Files.delete(path);
+        file.run();
+        assertEvents(NOT_FOUND);
+
+        write("recreated\n");
+        file.run();
+        assertEvents(ROTATED, "recreated");
+    }
+}
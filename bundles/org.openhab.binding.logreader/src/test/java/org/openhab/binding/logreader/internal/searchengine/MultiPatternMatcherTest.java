@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.Matches;
+
+/**
+ * Tests {@link MultiPatternMatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcherTest {
+
+    private static final Pattern ERROR = Pattern.compile("ERROR");
+    private static final Pattern WARN = Pattern.compile("WARN");
+
+    @Test
+    public void testNoPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Collections.emptyList());
+
+        assertEquals(0, matcher.getPatternCount());
+        assertFalse(matcher.match("ERROR").isMatching(ERROR));
+    }
+
+    @Test
+    public void testCombinedPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(ERROR, WARN));
+
+        Matches error = matcher.match("[ERROR] failed");
+        assertTrue(error.isMatching(ERROR));
+        assertFalse(error.isMatching(WARN));
+
+        Matches warn = matcher.match("[WARN ] slow");
+        assertFalse(warn.isMatching(ERROR));
+        assertTrue(warn.isMatching(WARN));
+    }
+
+    @Test
+    public void testLinesWithoutMatchShareResult() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(ERROR, WARN));
+
+        Matches first = matcher.match("[INFO ] started");
+        assertSame(first, matcher.match("[DEBUG] polling"));
+        assertFalse(first.isMatching(ERROR));
+        assertFalse(first.isMatching(WARN));
+    }
+
+    @Test
+    public void testDuplicatePatternsAreCountedOnce() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(
+                Arrays.asList(ERROR, Pattern.compile("ERROR"), WARN, Pattern.compile("WARN")));
+
+        assertEquals(2, matcher.getPatternCount());
+        assertTrue(matcher.match("ERROR").isMatching(Pattern.compile("ERROR")));
+    }
+
+    @Test
+    public void testBackReferenceIsNotCombined() {
+        // combined, the back reference would refer to the group of the first pattern
+        Pattern repeated = Pattern.compile("(a)\\1");
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(Pattern.compile("(b)"), repeated));
+
+        assertTrue(matcher.match("xaax").isMatching(repeated));
+        assertFalse(matcher.match("xabx").isMatching(repeated));
+        assertTrue(matcher.match("xbx").isMatching(Pattern.compile("(b)")));
+    }
+
+    @Test
+    public void testCommentsAndFlagsAreNotCombined() {
+        Pattern comments = Pattern.compile("(?x) ERROR # comment");
+        Pattern caseInsensitive = Pattern.compile("warn", Pattern.CASE_INSENSITIVE);
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(comments, caseInsensitive));
+
+        Matches error = matcher.match("ERROR");
+        assertTrue(error.isMatching(comments));
+        assertFalse(error.isMatching(caseInsensitive));
+
+        Matches warn = matcher.match("WARN");
+        assertFalse(warn.isMatching(comments));
+        assertTrue(warn.isMatching(caseInsensitive));
+    }
+
+    @Test
+    public void testDuplicateNamedGroupsAreEvaluatedOneByOne() {
+        Pattern error = Pattern.compile("(?<level>ERROR)");
+        Pattern warn = Pattern.compile("(?<level>WARN)");
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(error, warn));
+
+        assertTrue(matcher.match("ERROR").isMatching(error));
+        assertTrue(matcher.match("WARN").isMatching(warn));
+        assertFalse(matcher.match("INFO").isMatching(warn));
+    }
+
+    @Test
+    public void testUnknownPatternIsEvaluated() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Arrays.asList(ERROR));
+
+        assertTrue(matcher.match("ERROR in binding").isMatching(Pattern.compile("binding")));
+    }
+}
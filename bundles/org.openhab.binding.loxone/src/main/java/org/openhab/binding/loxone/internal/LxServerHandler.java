@@ -55,6 +55,7 @@ import org.openhab.binding.loxone.internal.types.LxConfig.LxServerInfo;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
 import org.openhab.binding.loxone.internal.types.LxState;
+import org.openhab.binding.loxone.internal.types.LxStateTable;
 import org.openhab.binding.loxone.internal.types.LxStateUpdate;
 import org.openhab.binding.loxone.internal.types.LxUuid;
 import org.slf4j.Logger;
@@ -87,6 +88,10 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     // the state. It must be ensured that updates received for this state UUID are passed to all controls that have this
     // state UUID configured.
     private Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    // Lookup table for the states receiving updates in binary value tables, rebuilt when states are added or removed
+    private volatile LxStateTable stateTable = new LxStateTable(Collections.emptyMap());
+    // Time the configuration was set, used to measure loading of the initial table of state values
+    private volatile long initialValuesStart;
 
     private LxWebSocket socket;
     private WebSocketClient wsClient;
@@ -249,6 +254,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
     @Override
     public void addControl(LxControl control) {
         addControlStructures(control);
+        updateStateTable();
         addThingChannels(control.getChannelsWithSubcontrols(), false);
     }
 
@@ -274,6 +280,7 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
                 }
             }
         });
+        updateStateTable();
 
         ThingBuilder builder = editThing();
         control.getChannels().forEach(channel -> {
@@ -368,6 +375,8 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         controls.clear();
         channels.clear();
         states.clear();
+        stateTable = new LxStateTable(Collections.emptyMap());
+        initialValuesStart = 0;
         dynamicStateDescriptionProvider.removeAllDescriptions();
     }
 
@@ -403,6 +412,8 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         } else {
             logger.warn("[{}] no controls received in Miniserver configuration.", debugId);
         }
+        updateStateTable();
+        initialValuesStart = System.nanoTime();
         addThingChannels(list, true);
         updateStatus(ThingStatus.ONLINE);
     }
@@ -467,6 +478,27 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
      */
     void queueStateUpdate(LxUuid uuid, Object value) {
         stateUpdateQueue.add(new LxStateUpdate(uuid, value));
+        signalQueueUpdated();
+    }
+
+    /**
+     * Store the values of a binary value states table for processing and signal thread to process them. Values are
+     * decoded directly from the received data and multiple updates of a state are coalesced until they are processed.
+     *
+     * @param data buffer with the received table
+     * @param offset offset of the first entry in the buffer
+     * @param length length of the table in bytes
+     * @return number of entries that belong to a known state
+     */
+    int queueStateValues(byte[] data, int offset, int length) {
+        int found = stateTable.queueValues(data, offset, length);
+        if (found > 0) {
+            signalQueueUpdated();
+        }
+        return found;
+    }
+
+    private void signalQueueUpdated() {
         queueUpdatedLock.lock();
         try {
             queueUpdated.signalAll();
@@ -491,6 +523,34 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
         }
     }
 
+    /**
+     * Update states with the values received in binary value tables since the last call.
+     */
+    private void applyStateValues() {
+        int applied = stateTable.applyValues();
+        if (applied > 0) {
+            long start = initialValuesStart;
+            if (start != 0) {
+                initialValuesStart = 0;
+                logger.debug("[{}] Initial values of {} states loaded in {} ms", debugId, applied,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } else {
+                logger.trace("[{}] Values of {} states updated", debugId, applied);
+            }
+        }
+    }
+
+    /**
+     * Rebuild the lookup table of states receiving binary value updates, keeping values not processed yet.
+     */
+    private void updateStateTable() {
+        LxStateTable oldTable = stateTable;
+        LxStateTable newTable = new LxStateTable(states);
+        stateTable = newTable;
+        newTable.takePendingValues(oldTable);
+        logger.debug("[{}] State table contains {} states", debugId, newTable.size());
+    }
+
     /**
      * Add a new control, its states, subcontrols and channels to the handler structures.
      * Handler maintains maps of all controls (main controls + subcontrols), all channels for all controls and all
@@ -680,6 +740,9 @@ public class LxServerHandler extends BaseThingHandler implements LxServerHandler
                 while ((update = stateUpdateQueue.poll()) != null && sessionActive.get()) {
                     updateStateValue(update);
                 }
+                if (sessionActive.get()) {
+                    applyStateValues();
+                }
             }
         }
 
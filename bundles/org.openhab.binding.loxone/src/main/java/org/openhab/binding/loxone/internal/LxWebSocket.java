@@ -41,6 +41,7 @@ import org.openhab.binding.loxone.internal.security.LxWsSecurity;
 import org.openhab.binding.loxone.internal.types.LxConfig;
 import org.openhab.binding.loxone.internal.types.LxErrorCode;
 import org.openhab.binding.loxone.internal.types.LxResponse;
+import org.openhab.binding.loxone.internal.types.LxStateTable;
 import org.openhab.binding.loxone.internal.types.LxUuid;
 import org.openhab.binding.loxone.internal.types.LxWsBinaryHeader;
 import org.openhab.binding.loxone.internal.types.LxWsSecurityType;
@@ -237,13 +238,10 @@ public class LxWebSocket {
                 switch (header.getType()) {
                     case EVENT_TABLE_OF_VALUE_STATES:
                         stopResponseTimeout();
-                        while (length > 0) {
-                            Double value = ByteBuffer.wrap(data, offset + 16, 8).order(ByteOrder.LITTLE_ENDIAN)
-                                    .getDouble();
-                            thingHandler.queueStateUpdate(new LxUuid(data, offset), value);
-                            offset += 24;
-                            length -= 24;
-                        }
+                        long start = System.nanoTime();
+                        int found = thingHandler.queueStateValues(data, offset, length);
+                        logger.trace("[{}] Table of {} value states decoded in {} us, {} states known", debugId,
+                                length / LxStateTable.VALUE_ENTRY_SIZE, (System.nanoTime() - start) / 1000, found);
                         break;
                     case EVENT_TABLE_OF_TEXT_STATES:
                         while (length > 0) {
@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lookup table of states, which receive value updates from the Miniserver.
+ * <p>
+ * Value state events arrive in binary tables of 24-byte entries: a 16-byte UUID followed by a little endian double.
+ * This table maps the raw UUID bytes to state slots with open addressing, so the entries can be decoded directly from
+ * the received frame without creating UUID or value objects. Values are stored per slot until they are applied to
+ * the states, so multiple updates of the same state received before processing are coalesced into one.
+ * <p>
+ * The set of states is fixed when the table is created. Queuing values and applying them may happen in different
+ * threads.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LxStateTable {
+    /**
+     * Size of a single entry in a binary value states table
+     */
+    public static final int VALUE_ENTRY_SIZE = 24;
+
+    private static final int EMPTY = -1;
+
+    private final long[] keysHigh;
+    private final long[] keysLow;
+    private final int[] index;
+    private final int mask;
+    private final LxState[][] slotStates;
+
+    private final double[] values;
+    private final boolean[] pending;
+    private int[] pendingSlots;
+    private int pendingCount;
+    private int[] processedSlots;
+
+    /**
+     * Create a table of all states, which have a UUID that can be received in a binary value table.
+     *
+     * @param states map of state UUID to states of all controls having this state
+     */
+    public LxStateTable(Map<LxUuid, Map<LxUuid, LxState>> states) {
+        List<long[]> keys = new ArrayList<>(states.size());
+        List<LxState[]> slots = new ArrayList<>(states.size());
+        states.forEach((uuid, perControl) -> {
+            long[] key = toKey(uuid);
+            if (key != null && !perControl.isEmpty()) {
+                keys.add(key);
+                slots.add(perControl.values().toArray(new LxState[0]));
+            }
+        });
+        slotStates = slots.toArray(new LxState[0][]);
+
+        int capacity = Integer.highestOneBit(Math.max(4, slotStates.length * 2 - 1)) << 1;
+        mask = capacity - 1;
+        keysHigh = new long[capacity];
+        keysLow = new long[capacity];
+        index = new int[capacity];
+        Arrays.fill(index, EMPTY);
+        for (int slot = 0; slot < slotStates.length; slot++) {
+            long[] key = keys.get(slot);
+            int i = hash(key[0], key[1]) & mask;
+            while (index[i] != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            keysHigh[i] = key[0];
+            keysLow[i] = key[1];
+            index[i] = slot;
+        }
+
+        values = new double[slotStates.length];
+        pending = new boolean[slotStates.length];
+        pendingSlots = new int[slotStates.length];
+        processedSlots = new int[slotStates.length];
+    }
+
+    /**
+     * Gets number of states in the table.
+     *
+     * @return number of state UUIDs that can receive value updates
+     */
+    public int size() {
+        return slotStates.length;
+    }
+
+    /**
+     * Decodes a binary table of value states and stores the values of known states until they are applied.
+     *
+     * @param data buffer with the received table
+     * @param offset offset of the first entry in the buffer
+     * @param length length of the table in bytes
+     * @return number of entries that belong to a state in this table
+     */
+    public synchronized int queueValues(byte[] data, int offset, int length) {
+        int found = 0;
+        for (int pos = offset; pos + VALUE_ENTRY_SIZE <= offset + length; pos += VALUE_ENTRY_SIZE) {
+            int slot = find(getLong(data, pos, true), getLong(data, pos + 8, false));
+            if (slot != EMPTY) {
+                values[slot] = Double.longBitsToDouble(getLong(data, pos + 16, true));
+                if (!pending[slot]) {
+                    pending[slot] = true;
+                    pendingSlots[pendingCount++] = slot;
+                }
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Sets the values received since the last call to their states.
+     *
+     * @return number of states that received a value
+     */
+    public int applyValues() {
+        int[] slots;
+        int count;
+        double[] slotValues;
+        synchronized (this) {
+            count = pendingCount;
+            if (count == 0) {
+                return 0;
+            }
+            slots = pendingSlots;
+            pendingSlots = processedSlots;
+            processedSlots = slots;
+            pendingCount = 0;
+            slotValues = new double[count];
+            for (int i = 0; i < count; i++) {
+                slotValues[i] = values[slots[i]];
+                pending[slots[i]] = false;
+            }
+        }
+        // states are updated outside of the lock, so new values can be queued in the meantime
+        for (int i = 0; i < count; i++) {
+            Double value = slotValues[i];
+            for (LxState state : slotStates[slots[i]]) {
+                state.setStateValue(value);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Takes over the values of the given table, which have not been applied yet.
+     *
+     * @param table previous table, which will not be used anymore
+     */
+    public void takePendingValues(LxStateTable table) {
+        Collection<long[]> keys = new ArrayList<>();
+        List<Double> pendingValues = new ArrayList<>();
+        synchronized (table) {
+            for (int i = 0; i <= table.mask; i++) {
+                int slot = table.index[i];
+                if (slot != EMPTY && table.pending[slot]) {
+                    keys.add(new long[] { table.keysHigh[i], table.keysLow[i] });
+                    pendingValues.add(table.values[slot]);
+                    table.pending[slot] = false;
+                }
+            }
+            table.pendingCount = 0;
+        }
+        synchronized (this) {
+            int i = 0;
+            for (long[] key : keys) {
+                int slot = find(key[0], key[1]);
+                if (slot != EMPTY) {
+                    values[slot] = pendingValues.get(i);
+                    if (!pending[slot]) {
+                        pending[slot] = true;
+                        pendingSlots[pendingCount++] = slot;
+                    }
+                }
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Converts a UUID to the key of the raw 16-byte UUID received in binary tables. First 8 bytes are the little
+     * endian 32-bit and two 16-bit fields, the last 8 bytes are taken as they are.
+     *
+     * @param uuid UUID of a state
+     * @return two longs with the raw UUID or null if the UUID has a different format
+     */
+    static long[] toKey(LxUuid uuid) {
+        String[] parts = uuid.toString().split("-");
+        if (parts.length != 4 || parts[0].length() != 8 || parts[1].length() != 4 || parts[2].length() != 4
+                || parts[3].length() != 16) {
+            return null;
+        }
+        try {
+            long high = Long.parseLong(parts[0], 16) | Long.parseLong(parts[1], 16) << 32
+                    | Long.parseLong(parts[2], 16) << 48;
+            long low = Long.parseUnsignedLong(parts[3], 16);
+            return new long[] { high, low };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private int find(long high, long low) {
+        int i = hash(high, low) & mask;
+        int slot;
+        while ((slot = index[i]) != EMPTY) {
+            if (keysHigh[i] == high && keysLow[i] == low) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    private static int hash(long high, long low) {
+        long h = high * 0x9E3779B97F4A7C15L ^ low;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    private static long getLong(byte[] data, int offset, boolean littleEndian) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            int b = data[littleEndian ? offset + 7 - i : offset + i] & 0xff;
+            value = (value << 8) | b;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.loxone.internal.types;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link LxStateTable}
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LxStateTableTest {
+    private final Random random = new Random(1234);
+    private final Map<LxUuid, Map<LxUuid, LxState>> states = new HashMap<>();
+    private final List<byte[]> rawUuids = new ArrayList<>();
+    private final List<RecordingState> recordingStates = new ArrayList<>();
+
+    private static class RecordingState extends LxState {
+        final List<Object> values = new ArrayList<>();
+
+        RecordingState(LxUuid uuid) {
+            super(uuid, "value", null);
+        }
+
+        @Override
+        public void setStateValue(Object value) {
+            values.add(value);
+        }
+    }
+
+    @Before
+    public void setup() {
+        for (int i = 0; i < 100; i++) {
+            byte[] raw = new byte[16];
+            random.nextBytes(raw);
+            rawUuids.add(raw);
+            // same conversion as used for text state updates
+            LxUuid uuid = new LxUuid(raw, 0);
+            RecordingState state = new RecordingState(uuid);
+            recordingStates.add(state);
+            Map<LxUuid, LxState> perControl = new HashMap<>();
+            perControl.put(new LxUuid("0b734138-037d-034e-ffff403fb0c34b9e-" + i), state);
+            states.put(uuid, perControl);
+        }
+    }
+
+    @Test
+    public void testAllStatesFound() {
+        LxStateTable table = new LxStateTable(states);
+        assertEquals(100, table.size());
+
+        byte[] data = createTable(0, 1, 2, 99);
+        assertEquals(4, table.queueValues(data, 0, data.length));
+        assertEquals(4, table.applyValues());
+        assertEquals(1, recordingStates.get(0).values.size());
+        assertEquals(99.5, recordingStates.get(99).values.get(0));
+        assertTrue(recordingStates.get(50).values.isEmpty());
+    }
+
+    @Test
+    public void testUpdatesCoalesced() {
+        LxStateTable table = new LxStateTable(states);
+
+        byte[] data = createTable(5, 6);
+        table.queueValues(data, 0, data.length);
+        data = createTable(5);
+        ByteBuffer.wrap(data, 16, 8).order(ByteOrder.LITTLE_ENDIAN).putDouble(-12.25);
+        table.queueValues(data, 0, data.length);
+
+        assertEquals(2, table.applyValues());
+        assertEquals(1, recordingStates.get(5).values.size());
+        assertEquals(-12.25, recordingStates.get(5).values.get(0));
+        assertEquals(0, table.applyValues());
+    }
+
+    @Test
+    public void testUnknownStateIgnored() {
+        LxStateTable table = new LxStateTable(states);
+
+        byte[] data = new byte[LxStateTable.VALUE_ENTRY_SIZE];
+        random.nextBytes(data);
+        assertEquals(0, table.queueValues(data, 0, data.length));
+        assertEquals(0, table.applyValues());
+    }
+
+    @Test
+    public void testPendingValuesTakenOver() {
+        LxStateTable table = new LxStateTable(states);
+        byte[] data = createTable(7, 8);
+        table.queueValues(data, 0, data.length);
+
+        states.remove(recordingStates.get(8).getUuid());
+        LxStateTable newTable = new LxStateTable(states);
+        newTable.takePendingValues(table);
+
+        assertEquals(0, table.applyValues());
+        assertEquals(1, newTable.applyValues());
+        assertEquals(7.5, recordingStates.get(7).values.get(0));
+        assertTrue(recordingStates.get(8).values.isEmpty());
+    }
+
+    private byte[] createTable(int... indexes) {
+        ByteBuffer buffer = ByteBuffer.allocate(indexes.length * LxStateTable.VALUE_ENTRY_SIZE)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        for (int i : indexes) {
+            buffer.put(rawUuids.get(i));
+            buffer.putDouble(i + 0.5);
+        }
+        return buffer.array();
+    }
+}
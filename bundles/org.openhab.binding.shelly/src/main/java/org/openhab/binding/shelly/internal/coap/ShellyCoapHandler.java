@@ -29,8 +29,6 @@ import org.eclipse.californium.core.coap.CoAP.Code;
 import org.eclipse.californium.core.coap.CoAP.ResponseCode;
 import org.eclipse.californium.core.coap.CoAP.Type;
 import org.eclipse.californium.core.coap.MessageObserverAdapter;
-import org.eclipse.californium.core.coap.Option;
-import org.eclipse.californium.core.coap.OptionNumberRegistry;
 import org.eclipse.californium.core.coap.Request;
 import org.eclipse.californium.core.coap.Response;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -85,6 +83,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
 
     private int lastSerial = -1;
     private String lastPayload = "";
+    private volatile long packetCount = 0;
+    private volatile long duplicateSerialCount = 0;
     private Map<String, CoIotDescrBlk> blockMap = new LinkedHashMap<>();
     private LinkedHashMap<String, CoIotDescrSen> sensorMap = new LinkedHashMap<>();
 
@@ -122,7 +122,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
                 logger.debug("{}: Starting CoAP Listener", thingName);
                 reqDescription = sendRequest(reqDescription, config.deviceIp, COLOIT_URI_DEVDESC, Type.CON);
 
-                coapServer.start(config.localIp, this);
+                coapServer.start(config.localIp, config.deviceIp, this);
                 statusClient = new CoapClient(completeUrl(config.deviceIp, COLOIT_URI_DEVSTATUS))
                         .setTimeout((long) SHELLY_API_TIMEOUT_MS).useNONs().setEndpoint(coapServer.getEndpoint());
             }
@@ -138,25 +138,36 @@ public class ShellyCoapHandler implements ShellyCoapListener {
     }
 
     /**
-     * Process an inbound Response (or mapped Request): decode CoAP options. handle discovery result or status updates
+     * Process an inbound Response to a request sent by this handler
      *
      * @param response The Response packet
      */
-    @Override
     public void processResponse(@Nullable Response response) {
         if (response == null) {
-            return; // other device instance
+            return;
         }
-        String ip = response.getSourceContext().getPeerAddress().toString();
-        if (!ip.contains(config.deviceIp)) {
+        ShellyCoapMessage message;
+        try {
+            message = ShellyCoapMessage.parse(response);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.debug("{}: Unable to decode CoIoT Message, payload={}", thingName, response.getPayloadString(), e);
+            resetSerial();
             return;
         }
+        processMessage(message);
+    }
 
-        String payload = "";
-        String devId = "";
-        String uri = "";
-        // int validity = 0;
-        int serial = 0;
+    /**
+     * Process a decoded CoIoT message of this device: handle discovery result or status updates
+     *
+     * @param message The message decoded by {@link ShellyCoapMessage#parse(Response)}
+     */
+    @Override
+    public void processMessage(ShellyCoapMessage message) {
+        Response response = message.getResponse();
+        String payload = message.getPayload();
+        String devId = message.getDevId();
+        packetCount++;
         try {
             if (logger.isDebugEnabled()) {
                 logger.debug("{}: CoIoT Message from {} (MID={}): {}", thingName,
@@ -168,55 +179,32 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             }
 
             if (response.getCode() == ResponseCode.CONTENT) {
-                payload = response.getPayloadString();
-                List<Option> options = response.getOptions().asSortedList();
-                int i = 0;
-                while (i < options.size()) {
-                    Option opt = options.get(i);
-                    switch (opt.getNumber()) {
-                        case OptionNumberRegistry.URI_PATH:
-                            uri = COLOIT_URI_BASE + opt.getStringValue();
-                            break;
-                        case COIOT_OPTION_GLOBAL_DEVID:
-                            devId = opt.getStringValue();
-                            break;
-                        case COIOT_OPTION_STATUS_VALIDITY:
-                            // validity = o.getIntegerValue();
-                            break;
-                        case COIOT_OPTION_STATUS_SERIAL:
-                            serial = opt.getIntegerValue();
-                            if (serial == lastSerial) {
-                                // As per specification the serial changes when any sensor data has changed. The App
-                                // should ignore any updates with the same serial. However, as we have seen with the
-                                // Shelly HT and Shelly 4 Pro this is not always the case. The device comes up with an
-                                // status packet having the same serial, but new payload information.
-                                // Work Around: Packet will only be ignored when Serial AND Payload are the same as last
-                                // time
-                                if (!lastPayload.isEmpty() && !lastPayload.equals(payload)) {
-                                    logger.debug(
-                                            "{}: Duplicate serial {} will be processed, because payload is different: {} vs. {}",
-                                            thingName, serial, payload, lastPayload);
-                                    break;
-                                }
-                                logger.trace("{}: Serial {} was already processed, ignore update", thingName, serial);
-                                return;
-                            }
-                            break;
-                        default:
-                            logger.debug("{} ({}): COAP option {} with value {} skipped", thingName, devId,
-                                    opt.getNumber(), opt.getValue());
+                int serial = message.getSerial();
+                if (message.hasSerial() && (serial == lastSerial)) {
+                    // As per specification the serial changes when any sensor data has changed. The App
+                    // should ignore any updates with the same serial. However, as we have seen with the
+                    // Shelly HT and Shelly 4 Pro this is not always the case. The device comes up with an
+                    // status packet having the same serial, but new payload information.
+                    // Work Around: Packet will only be ignored when Serial AND Payload are the same as last
+                    // time
+                    if (!lastPayload.isEmpty() && !lastPayload.equals(payload)) {
+                        logger.debug(
+                                "{}: Duplicate serial {} will be processed, because payload is different: {} vs. {}",
+                                thingName, serial, payload, lastPayload);
+                    } else {
+                        duplicateSerialCount++;
+                        logger.trace("{}: Serial {} was already processed, ignore update", thingName, serial);
+                        return;
                     }
-                    i++;
                 }
 
                 // If we received a CoAP message successful the thing must be online
                 thingHandler.setThingOnline();
 
-                if (uri.equalsIgnoreCase(COLOIT_URI_DEVDESC) || (uri.isEmpty() && payload.contains(COIOT_TAG_BLK))) {
+                if (message.isDeviceDescription()) {
                     handleDeviceDescription(devId, payload);
-                } else if (uri.equalsIgnoreCase(COLOIT_URI_DEVSTATUS)
-                        || (uri.isEmpty() && payload.contains(COIOT_TAG_GENERIC))) {
-                    handleStatusUpdate(devId, payload, serial);
+                } else if (message.isStatusUpdate()) {
+                    handleStatusUpdate(devId, message, serial);
                 }
             } else {
                 // error handling
@@ -235,6 +223,20 @@ public class ShellyCoapHandler implements ShellyCoapListener {
         }
     }
 
+    /**
+     * @return number of CoIoT packets received from the device
+     */
+    public long getPacketCount() {
+        return packetCount;
+    }
+
+    /**
+     * @return number of packets ignored, because serial and payload were the same as in the previous packet
+     */
+    public long getDuplicateSerialCount() {
+        return duplicateSerialCount;
+    }
+
     /**
      * Process a CoIoT device description message. This includes definitions on device units (Relay0, Relay1, Sensors
      * etc.) as well as a definition of sensors and actors. This information needs to be stored allowing to map ids from
@@ -308,12 +310,13 @@ public class ShellyCoapHandler implements ShellyCoapListener {
      * received yet a GET is send to query device description.
      *
      * @param devId device id included in the status packet
-     * @param payload CoAP payload (Json format), example: {"G":[[0,112,0]]}
+     * @param message decoded CoIoT message, CoAP payload (Json format), example: {"G":[[0,112,0]]}
      * @param serial Serial for this request. If this the the same as last serial
      *            the update was already sent and processed so this one gets
      *            ignored.
      */
-    private void handleStatusUpdate(String devId, String payload, int serial) {
+    private void handleStatusUpdate(String devId, ShellyCoapMessage message, int serial) {
+        String payload = message.getPayload();
         logger.debug("{}: CoIoT Sensor data {}", thingName, payload);
         if (blockMap.isEmpty()) {
             // send discovery packet
@@ -332,8 +335,7 @@ public class ShellyCoapHandler implements ShellyCoapListener {
             logger.debug("{}: Device description for {} restored: {}", thingName, devId, savedDescr);
         }
 
-        // Parse Json,
-        CoIotGenericSensorList list = gson.fromJson(payload, CoIotGenericSensorList.class);
+        CoIotGenericSensorList list = message.getSensorList();
         if (list.generic == null) {
             logger.debug("{}: Sensor list has invalid format! Payload: {}", devId, payload);
             return;
@@ -943,7 +945,8 @@ public class ShellyCoapHandler implements ShellyCoapListener {
      */
     public synchronized void stop() {
         if (isStarted()) {
-            logger.debug("{}: Stopping CoAP Listener", thingName);
+            logger.debug("{}: Stopping CoAP Listener ({} packets received, {} duplicates ignored)", thingName,
+                    packetCount, duplicateSerialCount);
             coapServer.stop(this);
             if (statusClient != null) {
                 statusClient.shutdown();
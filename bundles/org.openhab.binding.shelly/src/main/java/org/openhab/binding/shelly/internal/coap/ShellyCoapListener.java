@@ -12,16 +12,14 @@
  */
 package org.openhab.binding.shelly.internal.coap;
 
-import org.eclipse.californium.core.coap.Response;
 import org.eclipse.jdt.annotation.NonNullByDefault;
-import org.eclipse.jdt.annotation.Nullable;
 
 /**
- * The {@link ShellyCoapListener} describes the listening interface to process Coap responses
+ * The {@link ShellyCoapListener} describes the listening interface to process CoIoT messages of a device
  *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
 public interface ShellyCoapListener {
-    public void processResponse(@Nullable Response response);
+    public void processMessage(ShellyCoapMessage message);
 }
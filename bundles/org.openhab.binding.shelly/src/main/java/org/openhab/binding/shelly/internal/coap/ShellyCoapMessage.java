@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.shelly.internal.coap;
+
+import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.*;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import org.eclipse.californium.core.coap.CoAP.ResponseCode;
+import org.eclipse.californium.core.coap.Option;
+import org.eclipse.californium.core.coap.OptionNumberRegistry;
+import org.eclipse.californium.core.coap.Response;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotGenericSensorList;
+import org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.CoIotSensorTypeAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * The {@link ShellyCoapMessage} holds the decoded options and payload of a CoIoT message, so they are parsed only once,
+ * no matter which handler processes the message.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ShellyCoapMessage {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShellyCoapMessage.class);
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(CoIotGenericSensorList.class, new CoIotSensorTypeAdapter()).create();
+
+    private final Response response;
+    private final String peerAddress;
+    private String payload = "";
+    private String devId = "";
+    private String uri = "";
+    private int serial = 0;
+    private boolean hasSerial = false;
+    private @Nullable CoIotGenericSensorList sensorList;
+
+    private ShellyCoapMessage(Response response, String peerAddress) {
+        this.response = response;
+        this.peerAddress = peerAddress;
+    }
+
+    /**
+     * Decode the CoAP options and payload of an inbound Response (or mapped Request)
+     *
+     * @param response The Response packet
+     * @return decoded message
+     */
+    public static ShellyCoapMessage parse(Response response) {
+        InetSocketAddress peer = response.getSourceContext().getPeerAddress();
+        String address = peer.getAddress() != null ? peer.getAddress().getHostAddress() : peer.getHostString();
+        ShellyCoapMessage message = new ShellyCoapMessage(response, address);
+        if (response.getCode() != ResponseCode.CONTENT) {
+            return message;
+        }
+
+        message.payload = response.getPayloadString();
+        List<Option> options = response.getOptions().asSortedList();
+        for (Option opt : options) {
+            switch (opt.getNumber()) {
+                case OptionNumberRegistry.URI_PATH:
+                    message.uri = COLOIT_URI_BASE + opt.getStringValue();
+                    break;
+                case COIOT_OPTION_GLOBAL_DEVID:
+                    message.devId = opt.getStringValue();
+                    break;
+                case COIOT_OPTION_STATUS_VALIDITY:
+                    break;
+                case COIOT_OPTION_STATUS_SERIAL:
+                    message.serial = opt.getIntegerValue();
+                    message.hasSerial = true;
+                    break;
+                default:
+                    LOGGER.debug("{} ({}): COAP option {} with value {} skipped", address, message.devId,
+                            opt.getNumber(), opt.getValue());
+            }
+        }
+        return message;
+    }
+
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * @return IP address of the sending device
+     */
+    public String getPeerAddress() {
+        return peerAddress;
+    }
+
+    /**
+     * @return the payload or an empty string, if the response code is not CONTENT
+     */
+    public String getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return the global device id (COIOT_OPTION_GLOBAL_DEVID) or an empty string
+     */
+    public String getDevId() {
+        return devId;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public boolean hasSerial() {
+        return hasSerial;
+    }
+
+    public int getSerial() {
+        return serial;
+    }
+
+    public boolean isDeviceDescription() {
+        return uri.equalsIgnoreCase(COLOIT_URI_DEVDESC) || (uri.isEmpty() && payload.contains(COIOT_TAG_BLK));
+    }
+
+    public boolean isStatusUpdate() {
+        return uri.equalsIgnoreCase(COLOIT_URI_DEVSTATUS) || (uri.isEmpty() && payload.contains(COIOT_TAG_GENERIC));
+    }
+
+    /**
+     * Get the sensor updates of a status message. The payload is parsed on first access.
+     *
+     * @return parsed sensor list
+     */
+    public synchronized CoIotGenericSensorList getSensorList() {
+        CoIotGenericSensorList list = sensorList;
+        if (list == null) {
+            list = GSON.fromJson(payload, CoIotGenericSensorList.class);
+            sensorList = list;
+        }
+        return list;
+    }
+}
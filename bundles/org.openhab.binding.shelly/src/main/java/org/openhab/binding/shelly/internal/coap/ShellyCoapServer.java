@@ -17,7 +17,9 @@ import static org.openhab.binding.shelly.internal.coap.ShellyCoapJSonDTO.COIOT_P
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.californium.core.CoapResource;
 import org.eclipse.californium.core.CoapServer;
@@ -39,6 +41,9 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link ShellyCoapServer} implements the UDP listener and status event processor (for /cit/s messages)
  *
+ * Each multicast packet is decoded once and dispatched only to the listener of the sending device, which is looked up
+ * by the peer address or the CoIoT device id.
+ *
  * @author Markus Michels - Initial contribution
  */
 @NonNullByDefault
@@ -50,6 +55,8 @@ public class ShellyCoapServer {
     private @Nullable UdpMulticastConnector statusConnector;
     private final CoapServer server = new CoapServer(NetworkConfig.getStandard(), COIOT_PORT);;
     private final Set<ShellyCoapListener> coapListeners = new ConcurrentHashSet<>();
+    private final Map<String, ShellyCoapListener> listenersByAddress = new ConcurrentHashMap<>();
+    private final Map<String, ShellyCoapListener> listenersByDevId = new ConcurrentHashMap<>();
 
     protected class ShellyStatusListener extends CoapResource {
 
@@ -77,7 +84,16 @@ public class ShellyCoapServer {
         }
     }
 
-    public synchronized void start(String localIp, ShellyCoapListener listener) throws UnknownHostException {
+    /**
+     * Start the CoIoT listener (if not yet done) and register the listener for packets of the given device
+     *
+     * @param localIp Local IP address to bind the multicast listener to
+     * @param deviceIp IP address or host name of the device
+     * @param listener Listener processing the packets of the device
+     * @throws UnknownHostException
+     */
+    public synchronized void start(String localIp, String deviceIp, ShellyCoapListener listener)
+            throws UnknownHostException {
         if (!started) {
             logger.debug("Initializing CoIoT listener (local IP={}:{})", localIp, COIOT_PORT);
             NetworkConfig nc = NetworkConfig.getStandard();
@@ -98,10 +114,30 @@ public class ShellyCoapServer {
         if (!coapListeners.contains(listener)) {
             coapListeners.add(listener);
         }
+        listenersByAddress.put(InetAddress.getByName(deviceIp).getHostAddress(), listener);
     }
 
     protected void processResponse(Response response) {
-        coapListeners.forEach(listener -> listener.processResponse(response));
+        ShellyCoapMessage message;
+        try {
+            message = ShellyCoapMessage.parse(response);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            logger.debug("Unable to decode CoIoT Message, payload={}", response.getPayloadString(), e);
+            return;
+        }
+        String devId = message.getDevId();
+        ShellyCoapListener listener = listenersByAddress.get(message.getPeerAddress());
+        if (listener == null) {
+            // the device might have received a new IP address
+            listener = devId.isEmpty() ? null : listenersByDevId.get(devId);
+            if (listener == null) {
+                logger.trace("CoIoT packet from unknown device {} ({}) ignored", message.getPeerAddress(), devId);
+                return;
+            }
+        } else if (!devId.isEmpty() && listenersByDevId.get(devId) != listener) {
+            listenersByDevId.put(devId, listener);
+        }
+        listener.processMessage(message);
     }
 
     public static Response createResponse(Request request) {
@@ -124,6 +160,8 @@ public class ShellyCoapServer {
      */
     public void stop(ShellyCoapListener listener) {
         coapListeners.remove(listener);
+        listenersByAddress.values().removeIf(l -> l == listener);
+        listenersByDevId.values().removeIf(l -> l == listener);
         if (coapListeners.isEmpty()) {
             stop();
         }
@@ -135,6 +173,8 @@ public class ShellyCoapServer {
             server.stop();
             statusEndpoint.stop();
             coapListeners.clear();
+            listenersByAddress.clear();
+            listenersByDevId.clear();
             started = false;
             logger.debug("CoAP Listener stopped");
         }
@@ -27,4 +27,5 @@ public class SmartMeterConfiguration {
     public String baudrate;
     public String mode;
     public String conformity;
+    public Boolean streaming;
 }
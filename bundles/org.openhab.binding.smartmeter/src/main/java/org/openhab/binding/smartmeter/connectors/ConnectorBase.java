@@ -73,6 +73,16 @@ public abstract class ConnectorBase<T> implements IMeterReaderConnector<T> {
         return false;
     }
 
+    /**
+     * Whether the connection is kept open and values are emitted continuously as they arrive from the device.
+     * Values which can not be processed in time are replaced by newer ones.
+     *
+     * @return whether values are streamed or not
+     */
+    protected boolean applyStreaming() {
+        return false;
+    }
+
     /**
      * Whether to apply a retry handling whenever the read out failed.
      *
@@ -121,12 +131,15 @@ public abstract class ConnectorBase<T> implements IMeterReaderConnector<T> {
     public Publisher<T> getMeterValues(byte @Nullable [] initMessage, Duration period, ExecutorService executor) {
         Flowable<T> itemPublisher = Flowable.<T> create((emitter) -> {
             emitValues(initMessage, emitter);
-        }, BackpressureStrategy.DROP);
+        }, BackpressureStrategy.LATEST);
 
         Flowable<T> result;
         if (applyPeriod()) {
             result = Flowable.timer(period.toMillis(), TimeUnit.MILLISECONDS, Schedulers.from(executor))
                     .flatMap(event -> itemPublisher).repeat();
+        } else if (applyStreaming()) {
+            // decouple the reading thread from the value processing and only keep the most recent value
+            result = itemPublisher.observeOn(Schedulers.from(executor), false, 1);
         } else {
             result = itemPublisher;
         }
@@ -15,6 +15,7 @@ package org.openhab.binding.smartmeter.internal;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +63,15 @@ public abstract class MeterDevice<T> {
      * Map of all values captured from the device during the read request.
      */
     private Map<String, MeterValue<?>> valueCache;
+    /**
+     * Values of the previous read request, used to detect changed values while streaming.
+     */
+    private Map<String, MeterValue<?>> previousValues = Collections.emptyMap();
+    /**
+     * Whether the values are continuously streamed from the device. Listeners are only notified about changed values
+     * then.
+     */
+    private boolean streaming;
     private byte @Nullable [] initMessage;
     /**
      * The id of the SML device from openHAB configuration.
@@ -75,8 +85,16 @@ public abstract class MeterDevice<T> {
 
     public MeterDevice(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId, String serialPort,
             byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
+        this(serialPortManagerSupplier, deviceId, serialPort, initMessage, baudrate, baudrateChangeDelay, protocolMode,
+                false);
+    }
+
+    public MeterDevice(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId, String serialPort,
+            byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode,
+            boolean streaming) {
         super();
         this.deviceId = deviceId;
+        this.streaming = streaming;
         this.valueCache = new HashMap<>();
         this.valueChangeListeners = new CopyOnWriteArrayList<>();
         this.printMeterInfo = true;
@@ -102,6 +120,15 @@ public abstract class MeterDevice<T> {
     protected abstract IMeterReaderConnector<T> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
             String serialPort, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode);
 
+    /**
+     * Whether the values are continuously streamed from the device.
+     *
+     * @return true if the device is read in streaming mode.
+     */
+    protected boolean isStreaming() {
+        return streaming;
+    }
+
     /**
      * Gets the configured deviceId.
      *
@@ -174,18 +201,22 @@ public abstract class MeterDevice<T> {
                                 ex.getMessage(), RETRY_DELAY, getDeviceId(), ex);
                     }
                     connector.closeConnection();
+                    if (streaming) {
+                        // notify all values again once the device is readable again
+                        clearValueCache();
+                    }
                     notifyReadingError(ex);
                 }).doOnCancel(connector::closeConnection).doOnComplete(connector::closeConnection).share()
                 .retryWhen(
                         publisher -> publisher.delay(RETRY_DELAY, TimeUnit.SECONDS, Schedulers.from(executorService)))
                 .subscribeOn(Schedulers.from(executorService), true).subscribe((value) -> {
-                    Map<String, MeterValue<?>> obisCodes = new HashMap<>(valueCache);
+                    previousValues = new HashMap<>(valueCache);
                     clearValueCache();
                     populateValueCache(value);
                     printInfo();
-                    Collection<String> newObisCodes = getObisCodes();
+                    Collection<String> newObisCodes = valueCache.keySet();
                     // notify every removed obis code.
-                    obisCodes.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
+                    previousValues.values().stream().filter((val) -> !newObisCodes.contains(val.getObisCode()))
                             .forEach((val) -> notifyValuesRemoved(val));
                 });
     }
@@ -210,11 +241,16 @@ public abstract class MeterDevice<T> {
     /**
      * Adds a {@link MeterValue} to the current cache.
      *
+     * In streaming mode the listeners are only notified if the value differs from the previously read one.
+     *
      * @param value The value to add.
      */
     protected <Q extends Quantity<Q>> void addObisCache(MeterValue<Q> value) {
-        logger.debug("Value changed: {}", value);
         this.valueCache.put(value.getObisCode(), value);
+        if (streaming && value.equals(previousValues.get(value.getObisCode()))) {
+            return;
+        }
+        logger.debug("Value changed: {}", value);
         this.valueChangeListeners.forEach((listener) -> {
             try {
                 listener.valueChanged(value);
@@ -41,10 +41,12 @@ public class MeterDeviceFactory {
      *            values).
      * @param baudrate The baudrate to set before communication.
      * @param baudrateChangeDelay The change delay before changing the baudrate (used only for specific protocols).
+     * @param streaming Whether the values are continuously streamed (used only for SML).
      * @return The new {@link MeterDevice} or null.
      */
     public static @Nullable MeterDevice<?> getDevice(Supplier<SerialPortManager> serialPortManagerSupplier, String mode,
-            String deviceId, String serialPort, byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay) {
+            String deviceId, String serialPort, byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay,
+            boolean streaming) {
         ProtocolMode protocolMode = ProtocolMode.valueOf(mode.toUpperCase());
         switch (protocolMode) {
             case D:
@@ -53,7 +55,7 @@ public class MeterDeviceFactory {
                         baudrate, baudrateChangeDelay, protocolMode);
             case SML:
                 return SmlMeterReader.createInstance(serialPortManagerSupplier, deviceId, serialPort, initMessage,
-                        baudrate, baudrateChangeDelay);
+                        baudrate, baudrateChangeDelay, streaming);
             default:
                 return null;
         }
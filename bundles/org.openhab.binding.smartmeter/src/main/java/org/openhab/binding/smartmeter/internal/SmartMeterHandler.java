@@ -109,8 +109,10 @@ public class SmartMeterHandler extends BaseThingHandler {
             int baudrate = config.baudrate == null ? Baudrate.AUTO.getBaudrate()
                     : Baudrate.fromString(config.baudrate).getBaudrate();
             this.conformity = config.conformity == null ? Conformity.NONE : Conformity.valueOf(config.conformity);
+            boolean streaming = config.streaming != null && config.streaming;
             this.smlDevice = MeterDeviceFactory.getDevice(serialPortManagerSupplier, config.mode,
-                    this.thing.getUID().getAsString(), config.port, pullSequence, baudrate, config.baudrateChangeDelay);
+                    this.thing.getUID().getAsString(), config.port, pullSequence, baudrate, config.baudrateChangeDelay,
+                    streaming);
             updateStatus(ThingStatus.UNKNOWN, ThingStatusDetail.HANDLER_CONFIGURATION_PENDING,
                     "Waiting for messages from device");
 
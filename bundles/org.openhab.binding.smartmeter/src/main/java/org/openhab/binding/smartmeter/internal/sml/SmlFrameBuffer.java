@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter.internal.sml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Collects the bytes received from a SML device and splits them into complete SML transport frames.
+ *
+ * A frame starts with the escape sequence {@code 1b1b1b1b 01010101} and ends with {@code 1b1b1b1b 1a} followed by the
+ * number of padding bytes and the CRC. Escape sequences are aligned to 4 bytes relative to the frame start, so the
+ * buffer only examines each 4 byte block once, no matter in how many chunks the frame arrives. The same byte array is
+ * reused for all frames.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SmlFrameBuffer {
+
+    private static final byte ESCAPE = 0x1b;
+    private static final byte START = 0x01;
+    private static final byte END = 0x1a;
+    private static final int BLOCK_LENGTH = 4;
+    private static final int SEQUENCE_LENGTH = 2 * BLOCK_LENGTH;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MIN_READ_LENGTH = 64;
+
+    /**
+     * Frames growing beyond this size are considered garbage and are discarded.
+     */
+    public static final int MAX_FRAME_LENGTH = 64 * 1024;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    /**
+     * Number of valid bytes in the buffer.
+     */
+    private int length;
+    /**
+     * Whether the buffer starts with a frame start sequence.
+     */
+    private boolean inFrame;
+    /**
+     * Position of the next byte (or block, if in a frame) to examine.
+     */
+    private int scanPosition;
+    /**
+     * Length of the complete frame at the beginning of the buffer, 0 if there is none.
+     */
+    private int frameLength;
+
+    /**
+     * Reads the currently available bytes from the stream into the buffer. Blocks if no bytes are available.
+     *
+     * @param in the stream to read from
+     * @return the number of bytes read or -1 if the end of the stream has been reached
+     * @throws IOException if reading fails
+     */
+    public int readFrom(InputStream in) throws IOException {
+        int wanted = Math.max(in.available(), MIN_READ_LENGTH);
+        if (buffer.length - length < wanted) {
+            buffer = Arrays.copyOf(buffer, Math.max(length + wanted, 2 * buffer.length));
+        }
+        int read = in.read(buffer, length, buffer.length - length);
+        if (read > 0) {
+            length += read;
+        }
+        return read;
+    }
+
+    /**
+     * Looks for the next complete frame. The frame returned by the previous call is discarded.
+     *
+     * @return true if a complete frame is available at the beginning of {@link #getBuffer()}.
+     */
+    public boolean nextFrame() {
+        if (frameLength > 0) {
+            discard(frameLength);
+            frameLength = 0;
+            inFrame = false;
+        }
+        if (!inFrame && !findStart()) {
+            return false;
+        }
+        while (scanPosition + SEQUENCE_LENGTH <= length) {
+            if (isEscape(scanPosition)) {
+                byte marker = buffer[scanPosition + BLOCK_LENGTH];
+                if (marker == END) {
+                    frameLength = scanPosition + SEQUENCE_LENGTH;
+                    return true;
+                } else if (marker == ESCAPE && isEscape(scanPosition + BLOCK_LENGTH)) {
+                    // escaped escape sequence within the payload
+                    scanPosition += SEQUENCE_LENGTH;
+                    continue;
+                } else if (isStart(scanPosition)) {
+                    // the previous frame was not terminated, resynchronize on the new one
+                    discard(scanPosition);
+                    scanPosition = SEQUENCE_LENGTH;
+                    continue;
+                }
+            }
+            scanPosition += BLOCK_LENGTH;
+        }
+        if (length > MAX_FRAME_LENGTH) {
+            clear();
+        }
+        return false;
+    }
+
+    /**
+     * Gets the internal buffer. A complete frame starts at index 0 and has a length of {@link #getFrameLength()}.
+     *
+     * @return the internal buffer, which is reused for subsequent frames
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the length of the frame found by the last call of {@link #nextFrame()}.
+     *
+     * @return the length of the frame or 0 if there is none
+     */
+    public int getFrameLength() {
+        return frameLength;
+    }
+
+    /**
+     * Discards all buffered bytes.
+     */
+    public void clear() {
+        length = 0;
+        scanPosition = 0;
+        frameLength = 0;
+        inFrame = false;
+    }
+
+    private boolean findStart() {
+        for (int i = scanPosition; i + SEQUENCE_LENGTH <= length; i++) {
+            if (isStart(i)) {
+                discard(i);
+                scanPosition = SEQUENCE_LENGTH;
+                inFrame = true;
+                return true;
+            }
+        }
+        // keep the bytes which could be the beginning of a start sequence
+        int keep = Math.min(length, SEQUENCE_LENGTH - 1);
+        discard(length - keep);
+        scanPosition = 0;
+        return false;
+    }
+
+    private boolean isStart(int position) {
+        return isEscape(position) && buffer[position + 4] == START && buffer[position + 5] == START
+                && buffer[position + 6] == START && buffer[position + 7] == START;
+    }
+
+    private boolean isEscape(int position) {
+        return buffer[position] == ESCAPE && buffer[position + 1] == ESCAPE && buffer[position + 2] == ESCAPE
+                && buffer[position + 3] == ESCAPE;
+    }
+
+    private void discard(int count) {
+        if (count > 0) {
+            System.arraycopy(buffer, count, buffer, 0, length - count);
+            length -= count;
+            scanPosition = Math.max(0, scanPosition - count);
+        }
+    }
+}
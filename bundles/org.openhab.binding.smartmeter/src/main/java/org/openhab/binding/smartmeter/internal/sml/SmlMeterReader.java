@@ -54,11 +54,13 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
      * @param serialPort the port where the device is connected as defined in openHAB configuration.
      * @param serialParameter
      * @param initMessage
+     * @param streaming whether the connection is kept open and every SML file is processed.
      */
     public static SmlMeterReader createInstance(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId,
-            String serialPort, byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay) {
+            String serialPort, byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay,
+            boolean streaming) {
         SmlMeterReader device = new SmlMeterReader(serialPortManagerSupplier, deviceId, serialPort, initMessage,
-                baudrate, baudrateChangeDelay, ProtocolMode.SML);
+                baudrate, baudrateChangeDelay, ProtocolMode.SML, streaming);
 
         return device;
     }
@@ -71,11 +73,13 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
      * @param serialParameter
      * @param initMessage
      * @param baudrate
+     * @param streaming
      */
     private SmlMeterReader(Supplier<SerialPortManager> serialPortManagerSupplier, String deviceId, String serialPort,
-            byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
+            byte @Nullable [] initMessage, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode,
+            boolean streaming) {
         super(serialPortManagerSupplier, deviceId, serialPort, initMessage, baudrate, baudrateChangeDelay,
-                protocolMode);
+                protocolMode, streaming);
 
         logger.debug("Created SmlDevice instance {} with serial connector on port {}", deviceId, serialPort);
     }
@@ -151,7 +155,8 @@ public final class SmlMeterReader extends MeterDevice<SmlFile> {
     @Override
     protected IMeterReaderConnector<SmlFile> createConnector(Supplier<SerialPortManager> serialPortManagerSupplier,
             String serialPort, int baudrate, int baudrateChangeDelay, ProtocolMode protocolMode) {
-        return new SmlSerialConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay);
+        return new SmlSerialConnector(serialPortManagerSupplier, serialPort, baudrate, baudrateChangeDelay,
+                isStreaming());
     }
 
     @Override
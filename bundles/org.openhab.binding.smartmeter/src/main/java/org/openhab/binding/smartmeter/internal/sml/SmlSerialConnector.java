@@ -14,11 +14,13 @@ package org.openhab.binding.smartmeter.internal.sml;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.text.MessageFormat;
 import java.util.Stack;
+import java.util.TooManyListenersException;
 import java.util.function.Supplier;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -26,6 +28,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.smarthome.core.util.HexUtils;
 import org.eclipse.smarthome.io.transport.serial.PortInUseException;
 import org.eclipse.smarthome.io.transport.serial.SerialPort;
+import org.eclipse.smarthome.io.transport.serial.SerialPortEvent;
 import org.eclipse.smarthome.io.transport.serial.SerialPortIdentifier;
 import org.eclipse.smarthome.io.transport.serial.SerialPortManager;
 import org.eclipse.smarthome.io.transport.serial.UnsupportedCommOperationException;
@@ -35,6 +38,8 @@ import org.openhab.binding.smartmeter.internal.helper.SerialParameter;
 import org.openmuc.jsml.structures.SmlFile;
 import org.openmuc.jsml.transport.Transport;
 
+import io.reactivex.FlowableEmitter;
+
 /**
  * Represents a serial SML device connector.
  *
@@ -54,6 +59,8 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
     @Nullable
     private DataOutputStream os;
     private int baudrate;
+    private boolean streaming;
+    private final SmlFrameBuffer frameBuffer = new SmlFrameBuffer();
 
     /**
      * Constructor to create a serial connector instance.
@@ -78,15 +85,22 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         this.baudrate = baudrate;
     }
 
+    /**
+     * Constructor to create a serial connector instance which optionally streams the SML files.
+     *
+     * @param portName the port where the device is connected as defined in openHAB configuration.
+     * @param baudrate
+     * @param streaming whether the connection is kept open and every received SML file is emitted.
+     */
+    public SmlSerialConnector(Supplier<SerialPortManager> serialPortManagerSupplier, String portName, int baudrate,
+            int baudrateChangeDelay, boolean streaming) {
+        this(serialPortManagerSupplier, portName, baudrate, baudrateChangeDelay);
+        this.streaming = streaming;
+    }
+
     @Override
     protected SmlFile readNext(byte @Nullable [] initMessage) throws IOException {
-        if (initMessage != null) {
-            logger.debug("Writing init message: {}", HexUtils.bytesToHex(initMessage, " "));
-            if (os != null) {
-                os.write(initMessage);
-                os.flush();
-            }
-        }
+        writeInitMessage(initMessage);
 
         // read out the whole buffer. We are only interested in the most recent SML file.
         Stack<SmlFile> smlFiles = new Stack<>();
@@ -101,6 +115,68 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
         return smlFiles.pop();
     }
 
+    private void writeInitMessage(byte @Nullable [] initMessage) throws IOException {
+        if (initMessage != null) {
+            logger.debug("Writing init message: {}", HexUtils.bytesToHex(initMessage, " "));
+            if (os != null) {
+                os.write(initMessage);
+                os.flush();
+            }
+        }
+    }
+
+    @Override
+    protected void emitValues(byte @Nullable [] initMessage, FlowableEmitter<@Nullable SmlFile> emitter)
+            throws IOException {
+        if (!streaming) {
+            super.emitValues(initMessage, emitter);
+            return;
+        }
+        SerialPort port = serialPort;
+        DataInputStream input = is;
+        if (port == null || input == null) {
+            throw new IOException(getPortName() + " : Serial port is not open.");
+        }
+        writeInitMessage(initMessage);
+        frameBuffer.clear();
+        try {
+            port.addEventListener(event -> {
+                if (event.getEventType() == SerialPortEvent.DATA_AVAILABLE) {
+                    readFrames(input, emitter);
+                }
+            });
+        } catch (TooManyListenersException e) {
+            throw new IOException(MessageFormat
+                    .format("Error at SerialConnector.emitValues: unable to listen on port {0}.", getPortName()), e);
+        }
+    }
+
+    /**
+     * Reads the available bytes and emits every SML file which has been completed by them.
+     */
+    private void readFrames(DataInputStream input, FlowableEmitter<@Nullable SmlFile> emitter) {
+        try {
+            while (!emitter.isCancelled() && input.available() > 0) {
+                frameBuffer.readFrom(input);
+                while (frameBuffer.nextFrame()) {
+                    SmlFile smlFile;
+                    try {
+                        smlFile = TRANSPORT.getSMLFile(new DataInputStream(
+                                new ByteArrayInputStream(frameBuffer.getBuffer(), 0, frameBuffer.getFrameLength())));
+                    } catch (IOException e) {
+                        logger.debug("{} : Skipping invalid SML file: {}", getPortName(), e.getMessage());
+                        continue;
+                    }
+                    emitter.onNext(smlFile);
+                }
+            }
+        } catch (IOException e) {
+            if (!emitter.isCancelled()) {
+                emitter.onError(e);
+            }
+        }
+    }
+
     @Override
     public void openConnection() throws IOException {
         closeConnection();
@@ -143,6 +219,9 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
      */
     @Override
     public void closeConnection() {
+        if (serialPort != null) {
+            serialPort.removeEventListener();
+        }
         try {
             if (is != null) {
                 is.close();
@@ -167,6 +246,11 @@ public final class SmlSerialConnector extends ConnectorBase<SmlFile> {
 
     @Override
     protected boolean applyPeriod() {
-        return true;
+        return !streaming;
+    }
+
+    @Override
+    protected boolean applyStreaming() {
+        return streaming;
     }
 }
@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.time.Duration;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import javax.measure.Quantity;
@@ -131,13 +132,35 @@ public class TestMeterReading {
         }
     }
 
+    @Test
+    public void testStreamingNotifiesChangedValuesOnly() {
+        final Duration period = Duration.ofMillis(200);
+        AtomicInteger readCount = new AtomicInteger();
+        MockMeterReaderConnector connector = getMockedConnector(false,
+                () -> readCount.incrementAndGet() <= 3 ? "100" : "200");
+        MeterDevice<Object> meter = getMeterDevice(connector, true);
+        MeterValueListener changeListener = Mockito.mock(MeterValueListener.class);
+        meter.addValueChangeListener(changeListener);
+        Disposable disposable = meter.readValues(5000, Executors.newScheduledThreadPool(1), period);
+        try {
+            verify(changeListener, after(10 * period.toMillis()).times(2)).valueChanged(any());
+            verify(changeListener, never()).valueRemoved(any());
+        } finally {
+            disposable.dispose();
+        }
+    }
+
     MockMeterReaderConnector getMockedConnector(boolean applyRetry, Supplier<Object> readNextSupplier) {
         return new MockMeterReaderConnector("Test port", applyRetry, readNextSupplier);
     }
 
     MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector) {
+        return getMeterDevice(connector, false);
+    }
+
+    MeterDevice<Object> getMeterDevice(ConnectorBase<Object> connector, boolean streaming) {
         return new MeterDevice<Object>(() -> mock(SerialPortManager.class), "id", "port", null, 9600, 0,
-                ProtocolMode.SML) {
+                ProtocolMode.SML, streaming) {
 
             @Override
             protected @NonNull IMeterReaderConnector<Object> createConnector(
@@ -148,7 +171,7 @@ public class TestMeterReading {
 
             @Override
             protected <Q extends @NonNull Quantity<Q>> void populateValueCache(Object smlFile) {
-                addObisCache(new MeterValue("123", "333", null));
+                addObisCache(new MeterValue("123", streaming ? smlFile.toString() : "333", null));
             }
         };
     }
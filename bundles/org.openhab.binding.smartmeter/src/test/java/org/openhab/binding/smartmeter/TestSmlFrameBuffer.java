@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.smartmeter;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.smartmeter.internal.sml.SmlFrameBuffer;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class TestSmlFrameBuffer {
+
+    private static final String START = "1B1B1B1B01010101";
+    private static final String END = "1B1B1B1B1A00ABCD";
+
+    @Test
+    public void testFrameInChunks() throws IOException {
+        byte[] frame = HexUtils.hexToBytes(START + "76050001" + "1B1B1B1B1B1B1B1B" + "63010100" + END);
+        byte[] data = concat(HexUtils.hexToBytes("00FF1B"), frame);
+        SmlFrameBuffer buffer = new SmlFrameBuffer();
+
+        for (int offset = 0; offset < data.length; offset += 5) {
+            assertFalse(buffer.nextFrame());
+            buffer.readFrom(new ByteArrayInputStream(data, offset, Math.min(5, data.length - offset)));
+        }
+
+        assertTrue(buffer.nextFrame());
+        assertArrayEquals(frame, Arrays.copyOf(buffer.getBuffer(), buffer.getFrameLength()));
+        assertFalse(buffer.nextFrame());
+    }
+
+    @Test
+    public void testConsecutiveFrames() throws IOException {
+        byte[] first = HexUtils.hexToBytes(START + "76050001" + END);
+        byte[] second = HexUtils.hexToBytes(START + "76050002" + "63010100" + END);
+        SmlFrameBuffer buffer = new SmlFrameBuffer();
+        buffer.readFrom(new ByteArrayInputStream(concat(first, second)));
+
+        assertTrue(buffer.nextFrame());
+        assertArrayEquals(first, Arrays.copyOf(buffer.getBuffer(), buffer.getFrameLength()));
+        assertTrue(buffer.nextFrame());
+        assertArrayEquals(second, Arrays.copyOf(buffer.getBuffer(), buffer.getFrameLength()));
+        assertFalse(buffer.nextFrame());
+    }
+
+    @Test
+    public void testResynchronizeOnUnterminatedFrame() throws IOException {
+        byte[] complete = HexUtils.hexToBytes(START + "76050002" + END);
+        SmlFrameBuffer buffer = new SmlFrameBuffer();
+        buffer.readFrom(new ByteArrayInputStream(concat(HexUtils.hexToBytes(START + "76050001"), complete)));
+
+        assertTrue(buffer.nextFrame());
+        assertArrayEquals(complete, Arrays.copyOf(buffer.getBuffer(), buffer.getFrameLength()));
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
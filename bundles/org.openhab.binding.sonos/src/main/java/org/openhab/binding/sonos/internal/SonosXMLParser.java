@@ -16,12 +16,15 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.net.URL;
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -29,6 +32,7 @@ import org.apache.commons.lang.StringEscapeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 import org.xml.sax.XMLReader;
@@ -45,6 +49,14 @@ public class SonosXMLParser {
 
     static final Logger LOGGER = LoggerFactory.getLogger(SonosXMLParser.class);
 
+    private static final DefaultHandler NO_HANDLER = new DefaultHandler();
+
+    /**
+     * XML readers which are currently not in use, per thread. Parsing is re-entrant (an entry handler parses the
+     * embedded resource meta data), so each nested parse takes its own reader from the pool.
+     */
+    private static final ThreadLocal<Deque<XMLReader>> READER_POOL = ThreadLocal.withInitial(ArrayDeque::new);
+
     private static final MessageFormat METADATA_FORMAT = new MessageFormat(
             "<DIDL-Lite xmlns:dc=\"http://purl.org/dc/elements/1.1/\" "
                     + "xmlns:upnp=\"urn:schemas-upnp-org:metadata-1-0/upnp/\" "
@@ -80,6 +92,26 @@ public class SonosXMLParser {
         desc
     }
 
+    private static void parse(String xml, ContentHandler handler) throws IOException, SAXException {
+        parse(new InputSource(new StringReader(xml)), handler);
+    }
+
+    private static void parse(InputSource source, ContentHandler handler) throws IOException, SAXException {
+        Deque<XMLReader> pool = READER_POOL.get();
+        XMLReader reader = pool.poll();
+        if (reader == null) {
+            reader = XMLReaderFactory.createXMLReader();
+        }
+        reader.setContentHandler(handler);
+        try {
+            reader.parse(source);
+        } finally {
+            // do not keep the handler and its results reachable from the pool
+            reader.setContentHandler(NO_HANDLER);
+            pool.push(reader);
+        }
+    }
+
     /**
      * @param xml
      * @return a list of alarms from the given xml string.
@@ -89,9 +121,7 @@ public class SonosXMLParser {
     public static List<SonosAlarm> getAlarmsFromStringResult(String xml) {
         AlarmHandler handler = new AlarmHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Alarms from string '{}'", xml);
         } catch (SAXException s) {
@@ -109,9 +139,7 @@ public class SonosXMLParser {
     public static List<SonosEntry> getEntriesFromString(String xml) {
         EntryHandler handler = new EntryHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Entries from string '{}'", xml);
         } catch (SAXException s) {
@@ -130,11 +158,9 @@ public class SonosXMLParser {
      * @throws SAXException
      */
     public static SonosResourceMetaData getResourceMetaData(String xml) throws SAXException {
-        XMLReader reader = XMLReaderFactory.createXMLReader();
         ResourceMetaDataHandler handler = new ResourceMetaDataHandler();
-        reader.setContentHandler(handler);
         try {
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             LOGGER.error("Could not parse Resource MetaData from String '{}'", xml);
         } catch (SAXException s) {
@@ -153,9 +179,7 @@ public class SonosXMLParser {
     public static List<SonosZoneGroup> getZoneGroupFromXML(String xml) {
         ZoneGroupHandler handler = new ZoneGroupHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse ZoneGroup from string '{}'", xml);
@@ -169,9 +193,7 @@ public class SonosXMLParser {
     public static List<String> getRadioTimeFromXML(String xml) {
         OpmlHandler handler = new OpmlHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse RadioTime from string '{}'", xml);
@@ -183,41 +205,57 @@ public class SonosXMLParser {
     }
 
     public static Map<String, String> getRenderingControlFromXML(String xml) {
-        RenderingControlEventHandler handler = new RenderingControlEventHandler();
+        Map<String, String> changes = new HashMap<>();
+        parseRenderingControlEvent(xml, changes::put);
+        return changes;
+    }
+
+    /**
+     * Decodes a RenderingControl LastChange event and passes each contained state variable to the consumer as soon as
+     * it has been parsed, without collecting them first.
+     *
+     * @param xml the LastChange event
+     * @param consumer receives the name and value of each state variable
+     */
+    public static void parseRenderingControlEvent(String xml, BiConsumer<String, String> consumer) {
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, new RenderingControlEventHandler(consumer));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
         } catch (SAXException s) {
             LOGGER.error("Could not parse Rendering Control from string '{}'", xml);
         }
-        return handler.getChanges();
     }
 
     public static Map<String, String> getAVTransportFromXML(String xml) {
-        AVTransportEventHandler handler = new AVTransportEventHandler();
+        Map<String, String> changes = new HashMap<>();
+        parseAVTransportEvent(xml, changes::put);
+        return changes;
+    }
+
+    /**
+     * Decodes an AVTransport LastChange event and passes each contained state variable to the consumer as soon as it
+     * has been parsed, without collecting them first.
+     *
+     * @param xml the LastChange event
+     * @param consumer receives the name and value of each state variable
+     */
+    public static void parseAVTransportEvent(String xml, BiConsumer<String, String> consumer) {
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, new AVTransportEventHandler(consumer));
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
         } catch (SAXException s) {
             LOGGER.error("Could not parse AV Transport from string '{}'", xml);
         }
-        return handler.getChanges();
     }
 
     public static SonosMetaData getMetaDataFromXML(String xml) {
         MetaDataHandler handler = new MetaDataHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse MetaData from string '{}'", xml);
@@ -231,9 +269,7 @@ public class SonosXMLParser {
     public static List<SonosMusicService> getMusicServicesFromXML(String xml) {
         MusicServiceHandler handler = new MusicServiceHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(handler);
-            reader.parse(new InputSource(new StringReader(xml)));
+            parse(xml, handler);
         } catch (IOException e) {
             // This should never happen - we're not performing I/O!
             LOGGER.error("Could not parse music services from string '{}'", xml);
@@ -677,7 +713,11 @@ public class SonosXMLParser {
          * </Event>
          */
 
-        private final Map<String, String> changes = new HashMap<>();
+        private final BiConsumer<String, String> changes;
+
+        AVTransportEventHandler(BiConsumer<String, String> changes) {
+            this.changes = changes;
+        }
 
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
@@ -686,18 +726,15 @@ public class SonosXMLParser {
              * the info we need from here.
              */
             try {
-                if (atts.getValue("val") != null) {
-                    changes.put(localName, atts.getValue("val"));
+                String value = atts.getValue("val");
+                if (value != null) {
+                    changes.accept(localName, value);
                 }
             } catch (IllegalArgumentException e) {
                 // this means that localName isn't defined in EventType, which is expected for some elements
                 LOGGER.info("{} is not defined in EventType. ", localName);
             }
         }
-
-        public Map<String, String> getChanges() {
-            return changes;
-        }
     }
 
     private static class MetaDataHandler extends DefaultHandler {
@@ -788,25 +825,29 @@ public class SonosXMLParser {
 
     private static class RenderingControlEventHandler extends DefaultHandler {
 
-        private final Map<String, String> changes = new HashMap<>();
+        private final BiConsumer<String, String> changes;
 
         private boolean getPresetName = false;
         private String presetName;
 
+        RenderingControlEventHandler(BiConsumer<String, String> changes) {
+            this.changes = changes;
+        }
+
         @Override
         public void startElement(String uri, String localName, String qName, Attributes atts) throws SAXException {
             if ("Volume".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                changes.accept(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Mute".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                changes.accept(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("Bass".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                changes.accept(qName, atts.getValue("val"));
             } else if ("Treble".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                changes.accept(qName, atts.getValue("val"));
             } else if ("Loudness".equals(qName)) {
-                changes.put(qName + atts.getValue("channel"), atts.getValue("val"));
+                changes.accept(qName + atts.getValue("channel"), atts.getValue("val"));
             } else if ("OutputFixed".equals(qName)) {
-                changes.put(qName, atts.getValue("val"));
+                changes.accept(qName, atts.getValue("val"));
             } else if ("PresetNameList".equals(qName)) {
                 getPresetName = true;
             }
@@ -823,13 +864,9 @@ public class SonosXMLParser {
         public void endElement(String uri, String localName, String qName) throws SAXException {
             if (getPresetName) {
                 getPresetName = false;
-                changes.put(qName, presetName);
+                changes.accept(qName, presetName);
             }
         }
-
-        public Map<String, String> getChanges() {
-            return changes;
-        }
     }
 
     private static class MusicServiceHandler extends DefaultHandler {
@@ -852,10 +889,8 @@ public class SonosXMLParser {
     public static String getRoomName(String descriptorXML) {
         RoomNameHandler roomNameHandler = new RoomNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(roomNameHandler);
             URL url = new URL(descriptorXML);
-            reader.parse(new InputSource(url.openStream()));
+            parse(new InputSource(url.openStream()), roomNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos room name from string '{}'", descriptorXML);
         }
@@ -890,10 +925,8 @@ public class SonosXMLParser {
     public static String parseModelDescription(URL descriptorURL) {
         ModelNameHandler modelNameHandler = new ModelNameHandler();
         try {
-            XMLReader reader = XMLReaderFactory.createXMLReader();
-            reader.setContentHandler(modelNameHandler);
             URL url = new URL(descriptorURL.toString());
-            reader.parse(new InputSource(url.openStream()));
+            parse(new InputSource(url.openStream()), modelNameHandler);
         } catch (IOException | SAXException e) {
             LOGGER.error("Could not parse Sonos model name from string '{}'", descriptorURL.toString());
         }
@@ -23,15 +23,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -129,7 +130,10 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     private final Object stateLock = new Object();
     private final Object jobLock = new Object();
 
-    private final Map<String, String> stateMap = Collections.synchronizedMap(new HashMap<>());
+    /**
+     * Last received value of each UPnP state variable. Variables without value are not contained.
+     */
+    private final Map<String, String> stateMap = new ConcurrentHashMap<>();
 
     private ScheduledFuture<?> pollingJob;
     private SonosZonePlayerState savedState = null;
@@ -390,187 +394,197 @@ public class ZonePlayerHandler extends BaseThingHandler implements UpnpIOPartici
     @Override
     public void onValueReceived(String variable, String value, String service) {
         if (getThing().getStatus() == ThingStatus.ONLINE) {
-            logger.trace("Received pair '{}':'{}' (service '{}') for thing '{}'",
-                    new Object[] { variable, value, service, this.getThing().getUID() });
-
-            String oldValue = this.stateMap.get(variable);
-            if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
+            if (!processStateVariable(variable, value, service)) {
                 return;
             }
 
-            this.stateMap.put(variable, value);
-
             // pre-process some variables, eg XML processing
             if (service.equals("AVTransport") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getAVTransportFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
+                AtomicReference<String> transportState = new AtomicReference<>();
+                SonosXMLParser.parseAVTransportEvent(value, (parsedVariable, parsedValue) -> {
                     // Update the transport state after the update of the media information
                     // to not break the notification mechanism
-                    if (!parsedValue.equals("TransportState")) {
-                        onValueReceived(parsedValue, parsedValues.get(parsedValue), "AVTransport");
+                    if (parsedVariable.equals("TransportState")) {
+                        transportState.set(parsedValue);
+                    } else {
+                        processStateVariable(parsedVariable, parsedValue, service);
                     }
                     // Translate AVTransportURI/AVTransportURIMetaData to CurrentURI/CurrentURIMetaData
                     // for a compatibility with the result of the action GetMediaInfo
-                    if (parsedValue.equals("AVTransportURI")) {
-                        onValueReceived("CurrentURI", parsedValues.get(parsedValue), service);
-                    } else if (parsedValue.equals("AVTransportURIMetaData")) {
-                        onValueReceived("CurrentURIMetaData", parsedValues.get(parsedValue), service);
+                    if (parsedVariable.equals("AVTransportURI")) {
+                        processStateVariable("CurrentURI", parsedValue, service);
+                    } else if (parsedVariable.equals("AVTransportURIMetaData")) {
+                        processStateVariable("CurrentURIMetaData", parsedValue, service);
                     }
-                }
+                });
                 updateMediaInformation();
-                if (parsedValues.get("TransportState") != null) {
-                    onValueReceived("TransportState", parsedValues.get("TransportState"), "AVTransport");
+                if (transportState.get() != null) {
+                    processStateVariable("TransportState", transportState.get(), service);
                 }
             }
 
             if (service.equals("RenderingControl") && variable.equals("LastChange")) {
-                Map<String, String> parsedValues = SonosXMLParser.getRenderingControlFromXML(value);
-                for (String parsedValue : parsedValues.keySet()) {
-                    onValueReceived(parsedValue, parsedValues.get(parsedValue), "RenderingControl");
-                }
+                SonosXMLParser.parseRenderingControlEvent(value,
+                        (parsedVariable, parsedValue) -> processStateVariable(parsedVariable, parsedValue, service));
             }
+        }
+    }
 
-            List<StateOption> options = new ArrayList<>();
+    /**
+     * Stores the received value of a state variable and updates the related channels if the value has changed.
+     *
+     * @return true if the value has been processed, false if it has been ignored because it did not change
+     */
+    private boolean processStateVariable(String variable, String value, String service) {
+        logger.trace("Received pair '{}':'{}' (service '{}') for thing '{}'",
+                new Object[] { variable, value, service, this.getThing().getUID() });
 
-            // update the appropriate channel
-            switch (variable) {
-                case "TransportState":
-                    updateChannel(STATE);
-                    updateChannel(CONTROL);
-                    updateChannel(STOP);
-                    dispatchOnAllGroupMembers(variable, value, service);
-                    break;
-                case "CurrentPlayMode":
-                    updateChannel(SHUFFLE);
-                    updateChannel(REPEAT);
-                    dispatchOnAllGroupMembers(variable, value, service);
-                    break;
-                case "CurrentLEDState":
-                    updateChannel(LED);
-                    break;
-                case "ZoneName":
-                    updateState(ZONENAME, (stateMap.get("ZoneName") != null) ? new StringType(stateMap.get("ZoneName"))
-                            : UnDefType.UNDEF);
-                    break;
-                case "CurrentZoneName":
-                    updateChannel(ZONENAME);
-                    break;
-                case "ZoneGroupState":
-                    updateChannel(COORDINATOR);
-                    // Update coordinator after a change is made to the grouping of Sonos players
-                    updateGroupCoordinator();
-                    updateMediaInformation();
-                    // Update state and control channels for the group members with the coordinator values
-                    if (stateMap.get("TransportState") != null) {
-                        dispatchOnAllGroupMembers("TransportState", stateMap.get("TransportState"), "AVTransport");
-                    }
-                    // Update shuffle and repeat channels for the group members with the coordinator values
-                    if (stateMap.get("CurrentPlayMode") != null) {
-                        dispatchOnAllGroupMembers("CurrentPlayMode", stateMap.get("CurrentPlayMode"), "AVTransport");
-                    }
-                    break;
-                case "LocalGroupUUID":
-                    updateChannel(ZONEGROUPID);
-                    break;
-                case "GroupCoordinatorIsLocal":
-                    updateChannel(LOCALCOORDINATOR);
-                    break;
-                case "VolumeMaster":
-                    updateChannel(VOLUME);
-                    break;
-                case "MuteMaster":
-                    updateChannel(MUTE);
-                    break;
-                case "NightMode":
-                    updateChannel(NIGHTMODE);
-                    break;
-                case "DialogLevel":
-                    updateChannel(SPEECHENHANCEMENT);
-                    break;
-                case "LineInConnected":
-                case "TOSLinkConnected":
-                    if (SonosBindingConstants.WITH_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
-                        updateChannel(LINEIN);
-                    }
-                    break;
-                case "AlarmRunning":
-                    updateChannel(ALARMRUNNING);
-                    updateRunningAlarmProperties();
-                    break;
-                case "RunningAlarmProperties":
-                    updateChannel(ALARMPROPERTIES);
-                    break;
-                case "CurrentURIFormatted":
-                    updateChannel(CURRENTTRACK);
-                    break;
-                case "CurrentTitle":
-                    updateChannel(CURRENTTITLE);
-                    break;
-                case "CurrentArtist":
-                    updateChannel(CURRENTARTIST);
-                    break;
-                case "CurrentAlbum":
-                    updateChannel(CURRENTALBUM);
-                    break;
-                case "CurrentURI":
-                    updateChannel(CURRENTTRANSPORTURI);
-                    break;
-                case "CurrentTrackURI":
-                    updateChannel(CURRENTTRACKURI);
-                    break;
-                case "CurrentAlbumArtURI":
-                    updateChannel(CURRENTALBUMARTURL);
-                    break;
-                case "CurrentSleepTimerGeneration":
-                    if (value.equals("0")) {
-                        updateState(SLEEPTIMER, new DecimalType(0));
-                    }
-                    break;
-                case "SleepTimerGeneration":
-                    if (value.equals("0")) {
-                        updateState(SLEEPTIMER, new DecimalType(0));
-                    } else {
-                        updateSleepTimerDuration();
-                    }
-                    break;
-                case "RemainingSleepTimerDuration":
-                    updateState(SLEEPTIMER,
-                            (stateMap.get("RemainingSleepTimerDuration") != null)
-                                    ? new DecimalType(
-                                            sleepStrTimeToSeconds(stateMap.get("RemainingSleepTimerDuration")))
-                                    : UnDefType.UNDEF);
-                    break;
-                case "CurrentTuneInStationId":
-                    updateChannel(TUNEINSTATIONID);
-                    break;
-                case "SavedQueuesUpdateID": // service ContentDirectoy
-                    for (SonosEntry entry : getPlayLists()) {
-                        options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                    }
-                    stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), PLAYLIST), options);
-                    break;
-                case "FavoritesUpdateID": // service ContentDirectoy
-                    for (SonosEntry entry : getFavorites()) {
+        String oldValue = value != null ? stateMap.put(variable, value) : stateMap.remove(variable);
+        if (shouldIgnoreVariableUpdate(variable, value, oldValue)) {
+            return false;
+        }
+
+        List<StateOption> options = new ArrayList<>();
+
+        // update the appropriate channel
+        switch (variable) {
+            case "TransportState":
+                updateChannel(STATE);
+                updateChannel(CONTROL);
+                updateChannel(STOP);
+                dispatchOnAllGroupMembers(variable, value, service);
+                break;
+            case "CurrentPlayMode":
+                updateChannel(SHUFFLE);
+                updateChannel(REPEAT);
+                dispatchOnAllGroupMembers(variable, value, service);
+                break;
+            case "CurrentLEDState":
+                updateChannel(LED);
+                break;
+            case "ZoneName":
+                updateState(ZONENAME, (stateMap.get("ZoneName") != null) ? new StringType(stateMap.get("ZoneName"))
+                        : UnDefType.UNDEF);
+                break;
+            case "CurrentZoneName":
+                updateChannel(ZONENAME);
+                break;
+            case "ZoneGroupState":
+                updateChannel(COORDINATOR);
+                // Update coordinator after a change is made to the grouping of Sonos players
+                updateGroupCoordinator();
+                updateMediaInformation();
+                // Update state and control channels for the group members with the coordinator values
+                if (stateMap.get("TransportState") != null) {
+                    dispatchOnAllGroupMembers("TransportState", stateMap.get("TransportState"), "AVTransport");
+                }
+                // Update shuffle and repeat channels for the group members with the coordinator values
+                if (stateMap.get("CurrentPlayMode") != null) {
+                    dispatchOnAllGroupMembers("CurrentPlayMode", stateMap.get("CurrentPlayMode"), "AVTransport");
+                }
+                break;
+            case "LocalGroupUUID":
+                updateChannel(ZONEGROUPID);
+                break;
+            case "GroupCoordinatorIsLocal":
+                updateChannel(LOCALCOORDINATOR);
+                break;
+            case "VolumeMaster":
+                updateChannel(VOLUME);
+                break;
+            case "MuteMaster":
+                updateChannel(MUTE);
+                break;
+            case "NightMode":
+                updateChannel(NIGHTMODE);
+                break;
+            case "DialogLevel":
+                updateChannel(SPEECHENHANCEMENT);
+                break;
+            case "LineInConnected":
+            case "TOSLinkConnected":
+                if (SonosBindingConstants.WITH_LINEIN_THING_TYPES_UIDS.contains(getThing().getThingTypeUID())) {
+                    updateChannel(LINEIN);
+                }
+                break;
+            case "AlarmRunning":
+                updateChannel(ALARMRUNNING);
+                updateRunningAlarmProperties();
+                break;
+            case "RunningAlarmProperties":
+                updateChannel(ALARMPROPERTIES);
+                break;
+            case "CurrentURIFormatted":
+                updateChannel(CURRENTTRACK);
+                break;
+            case "CurrentTitle":
+                updateChannel(CURRENTTITLE);
+                break;
+            case "CurrentArtist":
+                updateChannel(CURRENTARTIST);
+                break;
+            case "CurrentAlbum":
+                updateChannel(CURRENTALBUM);
+                break;
+            case "CurrentURI":
+                updateChannel(CURRENTTRANSPORTURI);
+                break;
+            case "CurrentTrackURI":
+                updateChannel(CURRENTTRACKURI);
+                break;
+            case "CurrentAlbumArtURI":
+                updateChannel(CURRENTALBUMARTURL);
+                break;
+            case "CurrentSleepTimerGeneration":
+                if (value.equals("0")) {
+                    updateState(SLEEPTIMER, new DecimalType(0));
+                }
+                break;
+            case "SleepTimerGeneration":
+                if (value.equals("0")) {
+                    updateState(SLEEPTIMER, new DecimalType(0));
+                } else {
+                    updateSleepTimerDuration();
+                }
+                break;
+            case "RemainingSleepTimerDuration":
+                updateState(SLEEPTIMER,
+                        (stateMap.get("RemainingSleepTimerDuration") != null)
+                                ? new DecimalType(
+                                        sleepStrTimeToSeconds(stateMap.get("RemainingSleepTimerDuration")))
+                                : UnDefType.UNDEF);
+                break;
+            case "CurrentTuneInStationId":
+                updateChannel(TUNEINSTATIONID);
+                break;
+            case "SavedQueuesUpdateID": // service ContentDirectoy
+                for (SonosEntry entry : getPlayLists()) {
+                    options.add(new StateOption(entry.getTitle(), entry.getTitle()));
+                }
+                stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), PLAYLIST), options);
+                break;
+            case "FavoritesUpdateID": // service ContentDirectoy
+                for (SonosEntry entry : getFavorites()) {
+                    options.add(new StateOption(entry.getTitle(), entry.getTitle()));
+                }
+                stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), FAVORITE), options);
+                break;
+            // For favorite radios, we should have checked the state variable named RadioFavoritesUpdateID
+            // Due to a bug in the data type definition of this state variable, it is not set.
+            // As a workaround, we check the state variable named ContainerUpdateIDs.
+            case "ContainerUpdateIDs": // service ContentDirectoy
+                if (value.startsWith("R:0,") || stateDescriptionProvider
+                        .getStateOptions(new ChannelUID(getThing().getUID(), RADIO)) == null) {
+                    for (SonosEntry entry : getFavoriteRadios()) {
                         options.add(new StateOption(entry.getTitle(), entry.getTitle()));
                     }
-                    stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), FAVORITE), options);
-                    break;
-                // For favorite radios, we should have checked the state variable named RadioFavoritesUpdateID
-                // Due to a bug in the data type definition of this state variable, it is not set.
-                // As a workaround, we check the state variable named ContainerUpdateIDs.
-                case "ContainerUpdateIDs": // service ContentDirectoy
-                    if (value.startsWith("R:0,") || stateDescriptionProvider
-                            .getStateOptions(new ChannelUID(getThing().getUID(), RADIO)) == null) {
-                        for (SonosEntry entry : getFavoriteRadios()) {
-                            options.add(new StateOption(entry.getTitle(), entry.getTitle()));
-                        }
-                        stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), RADIO), options);
-                    }
-                    break;
-                default:
-                    break;
-            }
+                    stateDescriptionProvider.setStateOptions(new ChannelUID(getThing().getUID(), RADIO), options);
+                }
+                break;
+            default:
+                break;
         }
+        return true;
     }
 
     private void dispatchOnAllGroupMembers(String variable, String value, String service) {
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.sonos.internal;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link SonosXMLParser} with payloads captured from Sonos players. The parser reuses its SAX readers, so the
+ * tests also check that nested, repeated, failed and concurrent parses do not influence each other.
+ *
+ * @author agent - Initial contribution
+ */
+public class SonosXMLParserTest {
+
+    private static String load(String name) throws IOException {
+        try (InputStream stream = SonosXMLParserTest.class.getResourceAsStream(name)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testAVTransportLastChange() throws IOException {
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML(load("avtransport-lastchange.xml"));
+
+        assertEquals("PLAYING", changes.get("TransportState"));
+        assertEquals("SHUFFLE_NOREPEAT", changes.get("CurrentPlayMode"));
+        assertEquals("3", changes.get("CurrentTrack"));
+        assertEquals("0:04:27", changes.get("CurrentTrackDuration"));
+        assertEquals("x-rincon-queue:RINCON_000E58A1B2C301400#0", changes.get("AVTransportURI"));
+        // elements in the Sonos namespace are reported by their local name
+        assertEquals(
+                "x-file-cifs://192.168.1.1/Music/Radiohead/OK%20Computer/04%20Exit%20Music%20(For%20a%20Film).flac",
+                changes.get("NextTrackURI"));
+        assertEquals("", changes.get("NextTrackMetaData"));
+
+        SonosMetaData metaData = SonosXMLParser.getMetaDataFromXML(changes.get("CurrentTrackMetaData"));
+        assertEquals("Subterranean Homesick Alien", metaData.getTitle());
+        assertEquals("Radiohead", metaData.getCreator());
+        assertEquals("OK Computer", metaData.getAlbum());
+        assertEquals("Radiohead", metaData.getAlbumArtist());
+        assertEquals("object.item.audioItem.musicTrack", metaData.getUpnpClass());
+    }
+
+    @Test
+    public void testAVTransportEventIsPassedOnInDocumentOrder() throws IOException {
+        List<String> names = new ArrayList<>();
+        SonosXMLParser.parseAVTransportEvent(load("avtransport-lastchange.xml"), (name, value) -> names.add(name));
+
+        assertEquals(37, names.size());
+        assertEquals("InstanceID", names.get(0));
+        assertEquals("TransportState", names.get(1));
+        assertEquals("CurrentPlayMode", names.get(2));
+        assertEquals("PossibleRecordQualityModes", names.get(names.size() - 1));
+    }
+
+    @Test
+    public void testRenderingControlLastChange() throws IOException {
+        Map<String, String> changes = SonosXMLParser
+                .getRenderingControlFromXML(load("renderingcontrol-lastchange.xml"));
+
+        assertEquals("23", changes.get("VolumeMaster"));
+        assertEquals("100", changes.get("VolumeLF"));
+        assertEquals("1", changes.get("MuteMaster"));
+        assertEquals("0", changes.get("MuteRF"));
+        assertEquals("-2", changes.get("Bass"));
+        assertEquals("3", changes.get("Treble"));
+        assertEquals("1", changes.get("LoudnessMaster"));
+        assertEquals("0", changes.get("OutputFixed"));
+        assertFalse(changes.containsKey("HeadphoneConnected"));
+        assertEquals(10, changes.size());
+    }
+
+    @Test
+    public void testEmbeddedResourceMetaDataIsParsedWhileEntriesAreParsed() throws IOException {
+        // every r:resMD element is parsed by a second reader while the reader of the entries is still in use
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(load("favorites.xml"));
+
+        assertEquals(2, entries.size());
+        assertRadioParadise(entries.get(0));
+
+        SonosEntry playlist = entries.get(1);
+        assertEquals("FV:2/14", playlist.getId());
+        assertEquals("Discover Weekly", playlist.getTitle());
+        assertEquals("x-rincon-cpcontainer:1006206cspotify%3aplaylist%3a37i9dQZEVXcJZyENOWUFo7?sid=9&flags=8300&sn=1",
+                playlist.getRes());
+        SonosResourceMetaData resourceMetaData = playlist.getResourceMetaData();
+        assertNotNull(resourceMetaData);
+        assertEquals("1006206cspotify%3aplaylist%3a37i9dQZEVXcJZyENOWUFo7", resourceMetaData.getId());
+        assertEquals("object.container.playlistContainer", resourceMetaData.getUpnpClass());
+        assertEquals("SA_RINCON2311_X_#Svc2311-0-Token", resourceMetaData.getDesc());
+    }
+
+    @Test
+    public void testRepeatedParsesDoNotShareState() throws IOException {
+        String favorites = load("favorites.xml");
+        String avTransport = load("avtransport-lastchange.xml");
+        String renderingControl = load("renderingcontrol-lastchange.xml");
+
+        Map<String, String> firstAVTransport = SonosXMLParser.getAVTransportFromXML(avTransport);
+        Map<String, String> firstRenderingControl = SonosXMLParser.getRenderingControlFromXML(renderingControl);
+        for (int i = 0; i < 3; i++) {
+            List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(favorites);
+            assertEquals(2, entries.size());
+            assertRadioParadise(entries.get(0));
+            assertEquals(firstRenderingControl, SonosXMLParser.getRenderingControlFromXML(renderingControl));
+            assertEquals(firstAVTransport, SonosXMLParser.getAVTransportFromXML(avTransport));
+        }
+    }
+
+    @Test
+    public void testReaderIsReusedAfterMalformedXml() throws IOException {
+        assertTrue(SonosXMLParser.getEntriesFromString("<DIDL-Lite><item id=\"FV:2/13\">").isEmpty());
+        // the state variables before the error are still passed on
+        Map<String, String> changes = SonosXMLParser.getAVTransportFromXML("<Event><InstanceID val=\"0\"></Event>");
+        assertEquals(1, changes.size());
+        assertEquals("0", changes.get("InstanceID"));
+
+        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(load("favorites.xml"));
+        assertEquals(2, entries.size());
+        assertRadioParadise(entries.get(0));
+        assertEquals("PLAYING",
+                SonosXMLParser.getAVTransportFromXML(load("avtransport-lastchange.xml")).get("TransportState"));
+    }
+
+    @Test
+    public void testConcurrentParses() throws Exception {
+        String favorites = load("favorites.xml");
+        String avTransport = load("avtransport-lastchange.xml");
+        Map<String, String> expected = SonosXMLParser.getAVTransportFromXML(avTransport);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        List<SonosEntry> entries = SonosXMLParser.getEntriesFromString(favorites);
+                        assertEquals(2, entries.size());
+                        assertRadioParadise(entries.get(0));
+                        assertEquals(expected, SonosXMLParser.getAVTransportFromXML(avTransport));
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertRadioParadise(SonosEntry entry) {
+        assertEquals("FV:2/13", entry.getId());
+        assertEquals("FV:2", entry.getParentId());
+        assertEquals("Radio Paradise", entry.getTitle());
+        assertEquals("object.itemobject.item.sonos-favorite", entry.getUpnpClass());
+        assertEquals("x-sonosapi-stream:s13606?sid=254&flags=8224&sn=0", entry.getRes());
+        assertEquals("https://cdn-profiles.tunein.com/s13606/images/logoq.png", entry.getAlbumArtUri());
+
+        SonosResourceMetaData resourceMetaData = entry.getResourceMetaData();
+        assertNotNull(resourceMetaData);
+        assertEquals("F00092020s13606", resourceMetaData.getId());
+        assertEquals("L", resourceMetaData.getParentId());
+        assertEquals("Radio Paradise", resourceMetaData.getTitle());
+        assertEquals("object.item.audioItem.audioBroadcast", resourceMetaData.getUpnpClass());
+        assertEquals("SA_RINCON65031_", resourceMetaData.getDesc());
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.systeminfo.internal.model;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import oshi.hardware.CentralProcessor;
+import oshi.hardware.GlobalMemory;
+import oshi.hardware.NetworkIF;
+import oshi.hardware.PowerSource;
+import oshi.hardware.Sensors;
+import oshi.hardware.VirtualMemory;
+import oshi.software.os.OSFileStore;
+import oshi.software.os.OSProcess;
+import oshi.software.os.OperatingSystem;
+
+/**
+ * The {@link OSHISnapshot} holds the dynamic values read from OSHI during one sampling pass. Every value is read
+ * lazily on first access and then served from the snapshot, so all channels of one priority class (and all
+ * systeminfo things polling at the same time) are answered from a single read of the underlying system files.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class OSHISnapshot {
+
+    private final long timestamp = System.currentTimeMillis();
+
+    private final GlobalMemory memory;
+    private final CentralProcessor cpu;
+    private final Sensors sensors;
+    private final OperatingSystem operatingSystem;
+
+    private boolean memorySampled;
+    private long memoryTotal;
+    private long memoryAvailable;
+
+    private boolean swapSampled;
+    private long swapTotal;
+    private long swapUsed;
+
+    private double @Nullable [] systemLoadAverage;
+
+    private boolean sensorsSampled;
+    private double cpuTemperature;
+    private double cpuVoltage;
+    private int[] fanSpeeds = new int[0];
+
+    private @Nullable Long systemUptime;
+    private @Nullable Integer threadCount;
+
+    private final Map<Integer, @Nullable OSProcess> processes = new HashMap<>();
+    private final Set<NetworkIF> updatedNetworks = new HashSet<>();
+    private final Set<OSFileStore> updatedFileStores = new HashSet<>();
+    private final Set<PowerSource> updatedPowerSources = new HashSet<>();
+
+    OSHISnapshot(GlobalMemory memory, CentralProcessor cpu, Sensors sensors, OperatingSystem operatingSystem) {
+        this.memory = memory;
+        this.cpu = cpu;
+        this.sensors = sensors;
+        this.operatingSystem = operatingSystem;
+    }
+
+    /**
+     * Checks if this snapshot is older than the given age
+     *
+     * @param maxAgeMillis the maximum age in milliseconds
+     * @return true if the snapshot should be replaced by a new one
+     */
+    boolean isExpired(long maxAgeMillis) {
+        return System.currentTimeMillis() - timestamp >= maxAgeMillis;
+    }
+
+    synchronized long getMemoryTotal() {
+        sampleMemory();
+        return memoryTotal;
+    }
+
+    synchronized long getMemoryAvailable() {
+        sampleMemory();
+        return memoryAvailable;
+    }
+
+    private void sampleMemory() {
+        if (!memorySampled) {
+            memoryTotal = memory.getTotal();
+            memoryAvailable = memory.getAvailable();
+            memorySampled = true;
+        }
+    }
+
+    synchronized long getSwapTotal() {
+        sampleSwap();
+        return swapTotal;
+    }
+
+    synchronized long getSwapUsed() {
+        sampleSwap();
+        return swapUsed;
+    }
+
+    private void sampleSwap() {
+        if (!swapSampled) {
+            VirtualMemory virtualMemory = memory.getVirtualMemory();
+            swapTotal = virtualMemory.getSwapTotal();
+            swapUsed = virtualMemory.getSwapUsed();
+            swapSampled = true;
+        }
+    }
+
+    /**
+     * Returns the 1, 5 and 15 minutes load averages, all read at once
+     */
+    synchronized double[] getSystemLoadAverage() {
+        double[] localSystemLoadAverage = systemLoadAverage;
+        if (localSystemLoadAverage == null) {
+            localSystemLoadAverage = cpu.getSystemLoadAverage(3);
+            systemLoadAverage = localSystemLoadAverage;
+        }
+        return localSystemLoadAverage;
+    }
+
+    synchronized double getCpuTemperature() {
+        sampleSensors();
+        return cpuTemperature;
+    }
+
+    synchronized double getCpuVoltage() {
+        sampleSensors();
+        return cpuVoltage;
+    }
+
+    synchronized int[] getFanSpeeds() {
+        sampleSensors();
+        return fanSpeeds;
+    }
+
+    private void sampleSensors() {
+        if (!sensorsSampled) {
+            cpuTemperature = sensors.getCpuTemperature();
+            cpuVoltage = sensors.getCpuVoltage();
+            fanSpeeds = sensors.getFanSpeeds();
+            sensorsSampled = true;
+        }
+    }
+
+    synchronized long getSystemUptime() {
+        Long localSystemUptime = systemUptime;
+        if (localSystemUptime == null) {
+            localSystemUptime = operatingSystem.getSystemUptime();
+            systemUptime = localSystemUptime;
+        }
+        return localSystemUptime;
+    }
+
+    synchronized int getThreadCount() {
+        Integer localThreadCount = threadCount;
+        if (localThreadCount == null) {
+            localThreadCount = operatingSystem.getThreadCount();
+            threadCount = localThreadCount;
+        }
+        return localThreadCount;
+    }
+
+    /**
+     * Returns the process with the given PID. The process table entry is read only once per snapshot, regardless of
+     * how many channels track the process.
+     *
+     * @param pid the process identifier
+     * @return the process or null if no such process exists
+     */
+    synchronized @Nullable OSProcess getProcess(int pid) {
+        if (!processes.containsKey(pid)) {
+            processes.put(pid, operatingSystem.getProcess(pid));
+        }
+        return processes.get(pid);
+    }
+
+    /**
+     * Updates the attributes of the network interface, if not already done during this snapshot
+     */
+    synchronized NetworkIF update(NetworkIF network) {
+        if (updatedNetworks.add(network)) {
+            network.updateAttributes();
+        }
+        return network;
+    }
+
+    /**
+     * Updates the attributes of the file store, if not already done during this snapshot
+     */
+    synchronized OSFileStore update(OSFileStore fileStore) {
+        if (updatedFileStores.add(fileStore)) {
+            fileStore.updateAtrributes();
+        }
+        return fileStore;
+    }
+
+    /**
+     * Updates the attributes of the power source, if not already done during this snapshot
+     */
+    synchronized PowerSource update(PowerSource powerSource) {
+        if (updatedPowerSources.add(powerSource)) {
+            powerSource.updateAttributes();
+        }
+        return powerSource;
+    }
+}
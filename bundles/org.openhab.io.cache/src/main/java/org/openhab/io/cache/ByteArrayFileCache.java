@@ -0,0 +1,541 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This is a simple file based cache implementation.
+ * <p>
+ * The files of the cache folder are indexed once on creation, so lookups don't need to access the file system. The
+ * size of the folder is limited, the least recently used files are deleted when it grows beyond the limit. Small
+ * files which have been read or written recently are additionally kept in memory, so frequently used images are
+ * not read from disk again on every update.
+ *
+ * @author Christoph Weitkamp - Initial contribution
+ */
+@NonNullByDefault
+public class ByteArrayFileCache {
+
+    private final Logger logger = LoggerFactory.getLogger(ByteArrayFileCache.class);
+
+    private static final String MD5_ALGORITHM = "MD5";
+
+    static final String CACHE_FOLDER_NAME = "cache";
+    private static final char EXTENSION_SEPARATOR = '.';
+    private static final char UNIX_SEPARATOR = '/';
+    private static final char WINDOWS_SEPARATOR = '\\';
+    private static final String TEMP_FILE_SUFFIX = ".part-";
+
+    /**
+     * Default maximum size of the files in the cache folder
+     */
+    public static final long DEFAULT_MAX_DISK_SIZE = 50L * 1024 * 1024;
+
+    /**
+     * Default maximum size of the contents kept in memory
+     */
+    public static final long DEFAULT_MAX_MEMORY_SIZE = 1024L * 1024;
+
+    /**
+     * Files larger than this are never kept in memory, so a single large file doesn't displace many small ones
+     */
+    static final int MAX_MEMORY_ENTRY_SIZE = 64 * 1024;
+
+    static final long ONE_DAY_IN_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * The time of last use of a file is written to the file system at most once within this interval
+     */
+    private static final long TOUCH_INTERVAL_IN_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final File cacheFolder;
+    private int expiry = 0;
+    private final long maxDiskSize;
+    private final long maxMemorySize;
+
+    private final Map<String, FileEntry> filesInCache = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, MemoryEntry> contentsInMemory = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskSize;
+    private long memorySize;
+
+    /**
+     * Creates a new {@link ByteArrayFileCache} instance for a service. Creates a <code>cache</code> folder under
+     * <code>$userdata/cache/$servicePID</code>.
+     *
+     * @param servicePID PID of the service
+     */
+    public ByteArrayFileCache(String servicePID) {
+        this(servicePID, 0);
+    }
+
+    /**
+     * Creates a new {@link ByteArrayFileCache} instance for a service. Creates a <code>cache</code> folder under
+     * <code>$userdata/cache/$servicePID/</code>.
+     *
+     * @param servicePID PID of the service
+     * @param int the days for how long the files stay in the cache valid. Must be positive. 0 to
+     *            disables this functionality.
+     */
+    public ByteArrayFileCache(String servicePID, int expiry) {
+        this(servicePID, expiry, DEFAULT_MAX_DISK_SIZE, DEFAULT_MAX_MEMORY_SIZE);
+    }
+
+    /**
+     * Creates a new {@link ByteArrayFileCache} instance for a service. Creates a <code>cache</code> folder under
+     * <code>$userdata/cache/$servicePID/</code>.
+     *
+     * @param servicePID PID of the service
+     * @param expiry the days for how long the files stay in the cache valid. Must be positive. 0 to
+     *            disables this functionality.
+     * @param maxDiskSize the maximum size of all files in the cache folder in bytes
+     * @param maxMemorySize the maximum size of the contents kept in memory in bytes
+     */
+    public ByteArrayFileCache(String servicePID, int expiry, long maxDiskSize, long maxMemorySize) {
+        if (expiry < 0) {
+            throw new IllegalArgumentException("Cache expiration time must be greater than or equal to 0");
+        }
+        this.expiry = expiry;
+        this.maxDiskSize = maxDiskSize;
+        this.maxMemorySize = maxMemorySize;
+        // TODO support user specific folder
+        cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), servicePID);
+        if (!cacheFolder.exists()) {
+            logger.debug("Creating cache folder '{}'", cacheFolder.getAbsolutePath());
+            cacheFolder.mkdirs();
+        }
+        logger.debug("Using cache folder '{}'", cacheFolder.getAbsolutePath());
+        loadIndex();
+    }
+
+    /**
+     * Adds a file to the cache. If the cache previously contained a file for the key, the old file is replaced by the
+     * new content.
+     *
+     * @param key the key with which the file is to be associated
+     * @param content the content for the file to be associated with the specified key
+     */
+    public void put(String key, byte[] content) {
+        writeFile(key, getUniqueFile(key), content);
+    }
+
+    /**
+     * Adds a file to the cache.
+     *
+     * @param key the key with which the file is to be associated
+     * @param content the content for the file to be associated with the specified key
+     */
+    public void putIfAbsent(String key, byte[] content) {
+        File fileInCache = getUniqueFile(key);
+        synchronized (this) {
+            FileEntry entry = filesInCache.get(fileInCache.getName());
+            if (entry != null) {
+                logger.debug("File '{}' present in cache", fileInCache.getName());
+                // update time of last use
+                touch(entry);
+                return;
+            }
+        }
+        writeFile(key, fileInCache, content);
+    }
+
+    /**
+     * Adds a file to the cache and returns the content of the file.
+     *
+     * @param key the key with which the file is to be associated
+     * @param content the content for the file to be associated with the specified key
+     * @return the content of the file associated with the given key
+     */
+    public byte[] putIfAbsentAndGet(String key, byte[] content) {
+        putIfAbsent(key, content);
+
+        return content;
+    }
+
+    /**
+     * Writes the given content to the given {@link File}. The content is written to a temporary file first, so
+     * concurrent readers never see a partially written file.
+     *
+     * @param key the key with which the file is to be associated
+     * @param fileInCache the {@link File}
+     * @param content the content to be written
+     */
+    private void writeFile(String key, File fileInCache, byte[] content) {
+        logger.debug("Caching file '{}'", fileInCache.getName());
+        File tempFile = new File(cacheFolder,
+                fileInCache.getName() + TEMP_FILE_SUFFIX + Thread.currentThread().getId());
+        try {
+            Files.write(tempFile.toPath(), content);
+            Files.move(tempFile.toPath(), fileInCache.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write file '{}' to cache", fileInCache.getName(), e);
+            tempFile.delete();
+            return;
+        }
+        synchronized (this) {
+            FileEntry entry = new FileEntry(fileInCache, content.length, System.currentTimeMillis());
+            entry.key = key;
+            FileEntry previous = filesInCache.put(fileInCache.getName(), entry);
+            if (previous != null) {
+                diskSize -= previous.size;
+            }
+            diskSize += entry.size;
+            putInMemory(key, fileInCache.getName(), content);
+            evictFiles();
+        }
+    }
+
+    /**
+     * Checks if the key is present in the cache.
+     *
+     * @param key the key whose presence in the cache is to be tested
+     * @return true if the cache contains a file for the specified key
+     */
+    public boolean containsKey(String key) {
+        synchronized (this) {
+            if (contentsInMemory.containsKey(key)) {
+                return true;
+            }
+        }
+        String uniqueFileName = getUniqueFile(key).getName();
+        synchronized (this) {
+            return filesInCache.containsKey(uniqueFileName);
+        }
+    }
+
+    /**
+     * Removes the file associated with the given key from the cache.
+     *
+     * @param key the key whose associated file is to be removed
+     */
+    public void remove(String key) {
+        File fileInCache = getUniqueFile(key);
+        synchronized (this) {
+            FileEntry entry = filesInCache.remove(fileInCache.getName());
+            if (entry != null) {
+                removeEntry(entry);
+            } else {
+                logger.debug("File '{}' not found in cache", fileInCache.getName());
+            }
+        }
+    }
+
+    /**
+     * Removes all files from the cache.
+     */
+    public synchronized void clear() {
+        if (!filesInCache.isEmpty()) {
+            logger.debug("Deleting all files from cache");
+            filesInCache.values().forEach(entry -> entry.file.delete());
+        }
+        filesInCache.clear();
+        contentsInMemory.clear();
+        diskSize = 0;
+        memorySize = 0;
+    }
+
+    /**
+     * Removes expired files from the cache.
+     */
+    public synchronized void clearExpired() {
+        // exit if expiry is set to 0 (disabled)
+        if (expiry <= 0) {
+            return;
+        }
+        logger.debug("Deleting expired files from cache");
+        Iterator<FileEntry> iterator = filesInCache.values().iterator();
+        while (iterator.hasNext()) {
+            FileEntry entry = iterator.next();
+            if (isExpired(entry.file)) {
+                iterator.remove();
+                removeEntry(entry);
+            }
+        }
+    }
+
+    /**
+     * Checks if the given {@link File} is expired.
+     *
+     * @param fileInCache the {@link File}
+     * @return <code>true</code> if the file is expired, <code>false</code> otherwise
+     */
+    private boolean isExpired(File fileInCache) {
+        // exit if expiry is set to 0 (disabled)
+        if (expiry <= 0) {
+            return false;
+        }
+        return expiry * ONE_DAY_IN_MILLIS < System.currentTimeMillis() - fileInCache.lastModified();
+    }
+
+    /**
+     * Returns the content of the file associated with the given key, if it is present.
+     *
+     * @param key the key whose associated file is to be returned
+     * @return the content of the file associated with the given key or an empty array, if it is not present. The
+     *         array may be shared with other callers and must not be modified.
+     */
+    public byte[] get(String key) {
+        synchronized (this) {
+            MemoryEntry cached = contentsInMemory.get(key);
+            if (cached != null) {
+                FileEntry entry = filesInCache.get(cached.uniqueFileName);
+                if (entry != null) {
+                    touch(entry);
+                }
+                return cached.content;
+            }
+        }
+        File fileInCache = getUniqueFile(key);
+        FileEntry entry;
+        synchronized (this) {
+            entry = filesInCache.get(fileInCache.getName());
+            if (entry == null) {
+                logger.debug("File '{}' not found in cache", fileInCache.getName());
+                return new byte[0];
+            }
+            entry.key = key;
+            touch(entry);
+        }
+        return readFile(key, entry);
+    }
+
+    /**
+     * Reads the content from the given {@link FileEntry}. Small files are kept in memory afterwards.
+     *
+     * @param key the key with which the file is associated
+     * @param entry the {@link FileEntry}
+     * @return the content of the file
+     */
+    private byte[] readFile(String key, FileEntry entry) {
+        logger.debug("Reading file '{}' from cache", entry.file.getName());
+        byte[] content;
+        try {
+            content = Files.readAllBytes(entry.file.toPath());
+        } catch (NoSuchFileException e) {
+            logger.debug("File '{}' has been deleted from cache folder", entry.file.getName());
+            synchronized (this) {
+                if (filesInCache.remove(entry.file.getName(), entry)) {
+                    diskSize -= entry.size;
+                }
+            }
+            return new byte[0];
+        } catch (IOException e) {
+            logger.warn("Could not read file '{}' from cache", entry.file.getName(), e);
+            return new byte[0];
+        }
+        synchronized (this) {
+            if (filesInCache.get(entry.file.getName()) == entry) {
+                putInMemory(key, entry.file.getName(), content);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Returns the size of all files in the cache folder.
+     */
+    public synchronized long getDiskSize() {
+        return diskSize;
+    }
+
+    /**
+     * Returns the size of the contents kept in memory.
+     */
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * Updates the time of last use of the file. It is written to the file system at most once an hour, which is
+     * sufficient for an expiry of days and keeps frequent reads from writing to the disk.
+     *
+     * @param entry the {@link FileEntry}
+     */
+    private void touch(FileEntry entry) {
+        long now = System.currentTimeMillis();
+        if (now - entry.lastModified > TOUCH_INTERVAL_IN_MILLIS) {
+            entry.file.setLastModified(now);
+            entry.lastModified = now;
+        }
+    }
+
+    private void putInMemory(String key, String uniqueFileName, byte[] content) {
+        MemoryEntry previous = contentsInMemory.remove(key);
+        if (previous != null) {
+            memorySize -= previous.content.length;
+        }
+        if (content.length > MAX_MEMORY_ENTRY_SIZE || content.length > maxMemorySize) {
+            return;
+        }
+        contentsInMemory.put(key, new MemoryEntry(uniqueFileName, content));
+        memorySize += content.length;
+        Iterator<MemoryEntry> iterator = contentsInMemory.values().iterator();
+        while (memorySize > maxMemorySize && iterator.hasNext()) {
+            memorySize -= iterator.next().content.length;
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Deletes the least recently used files until the cache folder fits into its size limit. The most recently used
+     * file is kept in any case.
+     */
+    private void evictFiles() {
+        Iterator<FileEntry> iterator = filesInCache.values().iterator();
+        while (diskSize > maxDiskSize && filesInCache.size() > 1 && iterator.hasNext()) {
+            FileEntry entry = iterator.next();
+            iterator.remove();
+            logger.debug("Evicting file '{}' from cache", entry.file.getName());
+            removeEntry(entry);
+        }
+    }
+
+    /**
+     * Deletes the file of an entry, which has already been removed from the index.
+     *
+     * @param entry the {@link FileEntry}
+     */
+    private void removeEntry(FileEntry entry) {
+        diskSize -= entry.size;
+        String key = entry.key;
+        if (key != null) {
+            MemoryEntry cached = contentsInMemory.remove(key);
+            if (cached != null) {
+                memorySize -= cached.content.length;
+            }
+        }
+        logger.debug("Deleting file '{}' from cache", entry.file.getName());
+        entry.file.delete();
+    }
+
+    /**
+     * Reads the files of the cache folder into the index, ordered by their time of last use.
+     */
+    private synchronized void loadIndex() {
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        List<FileEntry> entries = new ArrayList<>(files.length);
+        for (File file : files) {
+            if (file.getName().contains(TEMP_FILE_SUFFIX)) {
+                // left over from an interrupted write
+                file.delete();
+            } else if (file.isFile()) {
+                entries.add(new FileEntry(file, file.length(), file.lastModified()));
+            }
+        }
+        entries.sort(Comparator.comparingLong(entry -> entry.lastModified));
+        for (FileEntry entry : entries) {
+            filesInCache.put(entry.file.getName(), entry);
+            diskSize += entry.size;
+        }
+        logger.debug("Found {} files with {} bytes in cache folder", filesInCache.size(), diskSize);
+        evictFiles();
+    }
+
+    /**
+     * Creates a unique {@link File} from the key with which the file is to be associated.
+     *
+     * @param key the key with which the file is to be associated
+     * @return unique file for the file associated with the given key
+     */
+    File getUniqueFile(String key) {
+        String fileExtension = getFileExtension(key);
+        return new File(cacheFolder,
+                getUniqueFileName(key) + (fileExtension == null ? "" : EXTENSION_SEPARATOR + fileExtension));
+    }
+
+    /**
+     * Gets the extension of a file name.
+     *
+     * @param fileName the file name to retrieve the extension of
+     * @return the extension of the file or null if none exists
+     */
+    @Nullable
+    String getFileExtension(String fileName) {
+        int extensionPos = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+        int lastSeparatorPos = Math.max(fileName.lastIndexOf(UNIX_SEPARATOR), fileName.lastIndexOf(WINDOWS_SEPARATOR));
+        return lastSeparatorPos > extensionPos ? null : fileName.substring(extensionPos + 1).replaceFirst("\\?.*$", "");
+    }
+
+    /**
+     * Creates a unique file name from the key with which the file is to be associated.
+     *
+     * @param key the key with which the file is to be associated
+     * @return unique file name for the file associated with the given key
+     */
+    String getUniqueFileName(String key) {
+        try {
+            MessageDigest md = MessageDigest.getInstance(MD5_ALGORITHM);
+            byte[] bytesOfKey = key.getBytes(StandardCharsets.UTF_8);
+            byte[] md5Hash = md.digest(bytesOfKey);
+            BigInteger bigInt = new BigInteger(1, md5Hash);
+            String fileNameHash = bigInt.toString(16);
+            // We need to zero pad it if you actually want the full 32 chars
+            while (fileNameHash.length() < 32) {
+                fileNameHash = "0" + fileNameHash;
+            }
+            return fileNameHash;
+        } catch (NoSuchAlgorithmException ex) {
+            // should not happen
+            logger.error("Could not create MD5 hash for key '{}'", key, ex);
+            return key;
+        }
+    }
+
+    private static class FileEntry {
+        final File file;
+        final long size;
+        long lastModified;
+        @Nullable
+        String key;
+
+        FileEntry(File file, long size, long lastModified) {
+            this.file = file;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static class MemoryEntry {
+        final String uniqueFileName;
+        final byte[] content;
+
+        MemoryEntry(String uniqueFileName, byte[] content) {
+            this.uniqueFileName = uniqueFileName;
+            this.content = content;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.cache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache for synthesized audio files. Each audio file is accompanied by a .txt file describing its content.
+ * <p>
+ * The folder is scanned once on creation and an index of the files is kept in memory, ordered by last use. When the
+ * files exceed the maximum size or have not been used for the maximum age, the least recently used ones are deleted.
+ * The limits are checked whenever the cache is used and when they are changed, so they also apply to a cache which
+ * only serves files that are already cached. If the same file is requested again while it is still being
+ * synthesized, the request waits for the running synthesis instead of calling the service again. The cached files
+ * are returned as files, so they can be streamed to the audio sink.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSFileCache {
+
+    /**
+     * Provides the audio data of a file which is not in the cache yet.
+     */
+    @FunctionalInterface
+    public interface AudioSupplier {
+        InputStream getAudio() throws IOException;
+    }
+
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final long TOUCH_INTERVAL = TimeUnit.DAYS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TTSFileCache.class);
+
+    private final File cacheFolder;
+    private long maxSize;
+    private long maxAge;
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<File>> pending = new HashMap<>();
+    private long size;
+
+    private static class Entry {
+        final File audioFile;
+        final long size;
+        long lastUsed;
+
+        Entry(File audioFile, long size, long lastUsed) {
+            this.audioFile = audioFile;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    /**
+     * Creates the cache and loads the index of the files in the cache folder. No files are deleted until the cache is
+     * used, so a service can create the cache before it has read the configured limits.
+     *
+     * @param cacheFolder folder of the cached files, created if it does not exist
+     * @param maxSize maximum size of all cached files in bytes
+     * @param maxAge maximum time in milliseconds a file is kept without being used, 0 to keep files regardless of age
+     */
+    public TTSFileCache(File cacheFolder, long maxSize, long maxAge) {
+        this.cacheFolder = cacheFolder;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        loadIndex();
+    }
+
+    /**
+     * Changes the maximum size of the cache. The least recently used files are deleted if the cache is larger.
+     *
+     * @param maxSize maximum size of all cached files in bytes
+     */
+    public synchronized void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+        evict();
+    }
+
+    /**
+     * Changes the maximum age of the cached files. Files which have not been used for this time are deleted.
+     *
+     * @param maxAge maximum time in milliseconds a file is kept without being used, 0 to keep files regardless of age
+     */
+    public synchronized void setMaxAge(long maxAge) {
+        this.maxAge = maxAge;
+        evict();
+    }
+
+    /**
+     * Returns the size of all cached files in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets a unique file name for a text, by creating a MD5 hash of it. It will be preceded by the given prefix.
+     *
+     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3"
+     *
+     * @param prefix prefix of the file name, e.g. the voice or locale
+     * @param text text to create the hash of
+     * @return file name without extension
+     */
+    public static String getUniqueFilenameForText(String prefix, String text) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] md5Hash = md.digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hashText = new StringBuilder(new BigInteger(1, md5Hash).toString(16));
+            // zero pad it to get the full 32 chars
+            while (hashText.length() < 32) {
+                hashText.insert(0, "0");
+            }
+            return prefix + "_" + hashText;
+        } catch (NoSuchAlgorithmException ex) {
+            // every Java platform supports MD5
+            throw new IllegalStateException("MD5 is not supported", ex);
+        }
+    }
+
+    /**
+     * Gets an audio file from the cache. If it is not cached, the audio is fetched from the supplier and stored.
+     *
+     * @param fileName file name of the audio file without extension
+     * @param extension extension of the audio file
+     * @param description content of the .txt file describing the audio file
+     * @param supplier supplier of the audio data, called if the file is not cached
+     * @return the cached audio file
+     * @throws IOException if the audio data can't be fetched or stored
+     */
+    public File get(String fileName, String extension, String description, AudioSupplier supplier)
+            throws IOException {
+        String audioFileName = fileName + "." + extension.toLowerCase();
+        CompletableFuture<File> running;
+        CompletableFuture<File> result = new CompletableFuture<>();
+        synchronized (this) {
+            // aged files are also deleted when no new file is stored
+            evict();
+            Entry entry = entries.get(audioFileName);
+            if (entry != null) {
+                if (entry.audioFile.exists()) {
+                    touch(entry);
+                    logger.debug("Audio file {} was found in cache.", audioFileName);
+                    return entry.audioFile;
+                }
+                remove(audioFileName, entry);
+            }
+            running = pending.putIfAbsent(audioFileName, result);
+        }
+        if (running != null) {
+            logger.debug("Waiting for audio file {} being synthesized by another request.", audioFileName);
+            return await(running);
+        }
+
+        try {
+            File audioFile = store(fileName, audioFileName, description, supplier);
+            result.complete(audioFile);
+            return audioFile;
+        } catch (IOException | RuntimeException ex) {
+            result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            synchronized (this) {
+                pending.remove(audioFileName);
+            }
+        }
+    }
+
+    /**
+     * Deletes all files of the cache.
+     */
+    public synchronized void clear() {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    logger.debug("Could not delete cache file {}", file);
+                }
+            }
+        }
+        entries.clear();
+        size = 0;
+        logger.debug("Cache purged.");
+    }
+
+    private File store(String fileName, String audioFileName, String description, AudioSupplier supplier)
+            throws IOException {
+        File audioFile = new File(cacheFolder, audioFileName);
+        File tempFile = new File(cacheFolder, audioFileName + TEMP_EXTENSION);
+        try (InputStream is = supplier.getAudio(); OutputStream os = new FileOutputStream(tempFile)) {
+            if (is == null) {
+                throw new IOException("No audio data received");
+            }
+            copyStream(is, os);
+        } catch (IOException | RuntimeException ex) {
+            tempFile.delete();
+            throw ex;
+        }
+        if (!tempFile.renameTo(audioFile) && !(audioFile.delete() && tempFile.renameTo(audioFile))) {
+            tempFile.delete();
+            throw new IOException("Could not write " + audioFile + " to cache");
+        }
+
+        // write text to file for transparency too
+        // this allows to know which contents is in which audio file
+        File textFile = new File(cacheFolder, fileName + TEXT_EXTENSION);
+        try (OutputStream os = new FileOutputStream(textFile)) {
+            os.write(description.getBytes(StandardCharsets.UTF_8));
+        }
+        logger.debug("Caching audio file {}", audioFileName);
+
+        synchronized (this) {
+            Entry entry = new Entry(audioFile, audioFile.length() + textFile.length(), System.currentTimeMillis());
+            Entry previous = entries.put(audioFileName, entry);
+            if (previous != null) {
+                size -= previous.size;
+            }
+            size += entry.size;
+            evict();
+        }
+        return audioFile;
+    }
+
+    private File await(CompletableFuture<File> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for audio file");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause != null ? cause.getMessage() : ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Marks an entry as used. The time stamp of the file is only updated once a day, so the order of use survives a
+     * restart without writing to the file system on every use.
+     */
+    private void touch(Entry entry) {
+        long now = System.currentTimeMillis();
+        if (now - entry.lastUsed > TOUCH_INTERVAL) {
+            entry.audioFile.setLastModified(now);
+        }
+        entry.lastUsed = now;
+    }
+
+    /**
+     * Deletes the least recently used files, until the cache fits into the maximum size and contains no aged files.
+     * The newest file is kept in any case.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        int deleted = 0;
+        while (iterator.hasNext() && entries.size() > 1) {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            Entry entry = eldest.getValue();
+            boolean aged = maxAge > 0 && now - entry.lastUsed > maxAge;
+            if (size <= maxSize && !aged) {
+                break;
+            }
+            iterator.remove();
+            deleteFiles(eldest.getKey(), entry);
+            deleted++;
+        }
+        if (deleted > 0) {
+            logger.debug("Deleted {} files from cache, {} files with {} bytes remaining", deleted, entries.size(),
+                    size);
+        }
+    }
+
+    private void remove(String audioFileName, Entry entry) {
+        entries.remove(audioFileName);
+        deleteFiles(audioFileName, entry);
+    }
+
+    private void deleteFiles(String audioFileName, Entry entry) {
+        size -= entry.size;
+        if (entry.audioFile.exists() && !entry.audioFile.delete()) {
+            logger.debug("Could not delete cache file {}", entry.audioFile);
+        }
+        new File(cacheFolder, getBaseName(audioFileName) + TEXT_EXTENSION).delete();
+    }
+
+    /**
+     * Reads the audio files of the cache folder into the index, ordered by the time they have been used last.
+     */
+    private synchronized void loadIndex() {
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+        Map<String, Long> textSizes = new HashMap<>();
+        for (File file : files) {
+            if (file.getName().endsWith(TEXT_EXTENSION)) {
+                textSizes.put(getBaseName(file.getName()), file.length());
+            }
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TEMP_EXTENSION)) {
+                // left over from an interrupted synthesis
+                file.delete();
+            } else if (file.isFile() && !name.endsWith(TEXT_EXTENSION)) {
+                long textSize = textSizes.getOrDefault(getBaseName(name), 0L);
+                Entry entry = new Entry(file, file.length() + textSize, file.lastModified());
+                entries.put(name, entry);
+                size += entry.size;
+            }
+        }
+        logger.debug("Loaded {} cached audio files with {} bytes from {}", entries.size(), size, cacheFolder);
+    }
+
+    private static String getBaseName(String fileName) {
+        int index = fileName.lastIndexOf('.');
+        return index < 0 ? fileName : fileName.substring(0, index);
+    }
+
+    private static void copyStream(InputStream inputStream, OutputStream outputStream) throws IOException {
+        byte[] bytes = new byte[READ_BUFFER_SIZE];
+        int read = inputStream.read(bytes, 0, READ_BUFFER_SIZE);
+        while (read > 0) {
+            outputStream.write(bytes, 0, read);
+            read = inputStream.read(bytes, 0, READ_BUFFER_SIZE);
+        }
+    }
+}
@@ -10,7 +10,7 @@
  *
  * SPDX-License-Identifier: EPL-2.0
  */
-package org.openhab.binding.kodi.internal.utils;
+package org.openhab.io.cache;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
@@ -32,7 +32,7 @@ import org.junit.Test;
  */
 public class ByteArrayFileCacheTest {
 
-    private static final String SERVICE_PID = "org.openhab.binding.kodi";
+    private static final String SERVICE_PID = "org.openhab.io.cache";
 
     private static final File USERDATA_FOLDER = new File(ConfigConstants.getUserDataFolder());
     private static final File CACHE_FOLDER = new File(USERDATA_FOLDER, ByteArrayFileCache.CACHE_FOLDER_NAME);
@@ -40,6 +40,7 @@ public class ByteArrayFileCacheTest {
 
     private static final String MP3_FILE_NAME = SERVICE_CACHE_FOLDER.getAbsolutePath() + "doorbell.mp3";
     private static final String TXT_FILE_NAME = SERVICE_CACHE_FOLDER.getAbsolutePath() + "doorbell.txt";
+    private static final String WAV_FILE_NAME = SERVICE_CACHE_FOLDER.getAbsolutePath() + "doorbell.wav";
 
     private static final byte[] EMPTY_BUFFER = new byte[0];
 
@@ -168,6 +169,46 @@ public class ByteArrayFileCacheTest {
         assertThat(subject.get(MP3_FILE_NAME), is(equalTo(EMPTY_BUFFER)));
     }
 
+    @Test
+    public void leastRecentlyUsedFileIsEvicted() throws IOException {
+        byte[] buffer = readFile();
+        subject = new ByteArrayFileCache(SERVICE_PID, 0, 2 * buffer.length,
+                ByteArrayFileCache.DEFAULT_MAX_MEMORY_SIZE);
+
+        subject.put(MP3_FILE_NAME, buffer);
+        subject.put(TXT_FILE_NAME, buffer);
+        subject.get(MP3_FILE_NAME);
+        subject.put(WAV_FILE_NAME, buffer);
+
+        assertThat(subject.containsKey(MP3_FILE_NAME), is(true));
+        assertThat(subject.containsKey(TXT_FILE_NAME), is(false));
+        assertThat(subject.containsKey(WAV_FILE_NAME), is(true));
+        assertThat(subject.getDiskSize(), is(2L * buffer.length));
+    }
+
+    @Test
+    public void smallContentIsServedFromMemory() {
+        byte[] buffer = new byte[] { 1, 2, 3 };
+        subject.put(TXT_FILE_NAME, buffer);
+        assertThat(subject.getMemorySize(), is(3L));
+
+        // the file is not read again
+        subject.getUniqueFile(TXT_FILE_NAME).delete();
+        assertThat(subject.get(TXT_FILE_NAME), is(equalTo(buffer)));
+    }
+
+    @Test
+    public void indexIsLoadedFromCacheFolder() throws IOException {
+        byte[] buffer = readFile();
+        subject.put(MP3_FILE_NAME, buffer);
+
+        subject = new ByteArrayFileCache(SERVICE_PID);
+
+        assertThat(subject.containsKey(MP3_FILE_NAME), is(true));
+        assertThat(subject.getMemorySize(), is(0L));
+        assertThat(subject.get(MP3_FILE_NAME), is(equalTo(buffer)));
+    }
+
     private byte[] readFile() throws IOException {
         byte[] buffer;
         try (InputStream is = ByteArrayFileCacheTest.class.getResourceAsStream("/sounds/doorbell.mp3")) {
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for the {@link TTSFileCache} class.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSFileCacheTest {
+
+    private static final long NO_MAX_AGE = 0;
+
+    private File cacheFolder;
+    private final AtomicInteger supplierCalls = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFolder = Files.createTempDirectory("ttscache").toFile();
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        cacheFolder.delete();
+    }
+
+    private TTSFileCache.AudioSupplier audio(int length) {
+        return () -> {
+            supplierCalls.incrementAndGet();
+            return new ByteArrayInputStream(new byte[length]);
+        };
+    }
+
+    @Test
+    public void testCachedFileIsReused() throws IOException {
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE);
+
+        File first = cache.get("en_1", "MP3", "hello", audio(10));
+        File second = cache.get("en_1", "MP3", "hello", audio(10));
+
+        assertEquals(1, supplierCalls.get());
+        assertEquals(first, second);
+        assertEquals("en_1.mp3", first.getName());
+        assertEquals(10, first.length());
+        assertEquals("hello",
+                new String(Files.readAllBytes(new File(cacheFolder, "en_1.txt").toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedFileIsEvicted() throws IOException {
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 25, NO_MAX_AGE);
+
+        File a = cache.get("a", "mp3", "", audio(10));
+        File b = cache.get("b", "mp3", "", audio(10));
+        cache.get("a", "mp3", "", audio(10));
+        File c = cache.get("c", "mp3", "", audio(10));
+
+        assertTrue(a.exists());
+        assertFalse(b.exists());
+        assertFalse(new File(cacheFolder, "b.txt").exists());
+        assertTrue(c.exists());
+
+        cache.get("b", "mp3", "", audio(10));
+        assertEquals(4, supplierCalls.get());
+    }
+
+    @Test
+    public void testIndexIsLoadedFromFolder() throws IOException {
+        new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE).get("a", "mp3", "a", audio(10));
+        File leftover = new File(cacheFolder, "b.mp3.tmp");
+        assertTrue(leftover.createNewFile());
+
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE);
+
+        assertFalse(leftover.exists());
+        cache.get("a", "mp3", "a", audio(10));
+        assertEquals(1, supplierCalls.get());
+    }
+
+    @Test
+    public void testReducedMaxSizeIsApplied() throws IOException {
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE);
+        File a = cache.get("a", "mp3", "", audio(10));
+        File b = cache.get("b", "mp3", "", audio(10));
+        File c = cache.get("c", "mp3", "", audio(10));
+        long now = System.currentTimeMillis();
+        assertTrue(a.setLastModified(now - TimeUnit.MINUTES.toMillis(3)));
+        assertTrue(b.setLastModified(now - TimeUnit.MINUTES.toMillis(2)));
+        assertTrue(c.setLastModified(now - TimeUnit.MINUTES.toMillis(1)));
+
+        // the cache is created before the configured size is known, so it doesn't delete files
+        cache = new TTSFileCache(cacheFolder, 15, NO_MAX_AGE);
+        assertTrue(a.exists());
+        assertEquals(30, cache.getSize());
+
+        cache.setMaxSize(15);
+        assertFalse(a.exists());
+        assertFalse(b.exists());
+        assertTrue(c.exists());
+        assertEquals(10, cache.getSize());
+    }
+
+    @Test
+    public void testAgedFilesAreEvictedWithoutStoringAFile() throws IOException {
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE);
+        File a = cache.get("a", "mp3", "", audio(10));
+        File b = cache.get("b", "mp3", "", audio(10));
+        long now = System.currentTimeMillis();
+        assertTrue(a.setLastModified(now - TimeUnit.HOURS.toMillis(3)));
+        assertTrue(b.setLastModified(now - TimeUnit.HOURS.toMillis(2)));
+
+        cache = new TTSFileCache(cacheFolder, 1000, TimeUnit.HOURS.toMillis(1));
+        assertTrue(a.exists());
+
+        // the newest file is kept and served from the cache
+        assertEquals(b, cache.get("b", "mp3", "", audio(10)));
+        assertFalse(a.exists());
+        assertFalse(new File(cacheFolder, "a.txt").exists());
+        assertEquals(2, supplierCalls.get());
+    }
+
+    @Test
+    public void testConcurrentRequestsSynthesizeOnce() throws Exception {
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE);
+        CountDownLatch supplierStarted = new CountDownLatch(1);
+        CountDownLatch releaseSupplier = new CountDownLatch(1);
+        TTSFileCache.AudioSupplier slowAudio = () -> {
+            supplierCalls.incrementAndGet();
+            supplierStarted.countDown();
+            try {
+                releaseSupplier.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ByteArrayInputStream(new byte[10]);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<File> first = executor.submit(() -> cache.get("a", "mp3", "a", slowAudio));
+            assertTrue(supplierStarted.await(5, TimeUnit.SECONDS));
+            Future<File> second = executor.submit(() -> cache.get("a", "mp3", "a", slowAudio));
+            // give the second request time to find the running synthesis
+            Thread.sleep(100);
+            releaseSupplier.countDown();
+
+            assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, supplierCalls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedSynthesisLeavesNoFile() throws IOException {
+        TTSFileCache cache = new TTSFileCache(cacheFolder, 1000, NO_MAX_AGE);
+        TTSFileCache.AudioSupplier brokenAudio = () -> new InputStream() {
+            private int remaining = 5;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining-- > 0) {
+                    return 0;
+                }
+                throw new IOException("connection reset");
+            }
+        };
+
+        try {
+            cache.get("a", "mp3", "a", brokenAudio);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+        assertArrayEquals(new String[0], cacheFolder.list());
+
+        File audioFile = cache.get("a", "mp3", "a", audio(10));
+        assertEquals(10, audioFile.length());
+    }
+}
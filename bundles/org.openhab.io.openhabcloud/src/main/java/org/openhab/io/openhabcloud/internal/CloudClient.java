@@ -19,19 +19,24 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
 import org.eclipse.jetty.client.util.BytesContentProvider;
@@ -39,7 +44,7 @@ import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -53,6 +58,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -67,6 +73,34 @@ import io.socket.engineio.client.Transport;
  */
 
 public class CloudClient {
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
+    /*
+     * Maximum number of items with updates waiting to be sent to the openHAB Cloud
+     */
+    private static final int MAX_PENDING_ITEM_UPDATES = 1000;
+
+    /*
+     * Size of the frames response content is merged into before it is sent to the openHAB Cloud
+     */
+    private static final int RESPONSE_FRAME_SIZE = 64 * 1024;
+
+    /*
+     * Maximum number of response bytes per request which may be queued in the Socket.IO client. When it is
+     * exceeded, no more content is read from the local openHAB until the queued frames have been written.
+     */
+    private static final int MAX_RESPONSE_BYTES_IN_FLIGHT = 4 * RESPONSE_FRAME_SIZE;
+
+    /*
+     * Delay after which a partially filled frame is sent, if no more response content arrives
+     */
+    private static final long RESPONSE_FLUSH_DELAY_MS = 20;
+
+    /*
+     * Maximum number of written response frames which are kept for reuse
+     */
+    private static final int MAX_POOLED_RESPONSE_FRAMES = 8;
+
     /*
      * Logger for this class
      */
@@ -98,9 +132,9 @@ public class CloudClient {
     private final HttpClient jettyClient;
 
     /*
-     * This hashmap holds HTTP requests to local openHAB which are currently running
+     * This map holds HTTP requests to local openHAB which are currently running
      */
-    private Map<Integer, Request> runningRequests;
+    private final Map<Integer, Request> runningRequests = new ConcurrentHashMap<>();
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -131,6 +165,28 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the item updates waiting to be sent to the openHAB Cloud
+     */
+    private final ItemUpdateQueue itemUpdateQueue;
+
+    /*
+     * Response frames which are not used anymore and can be reused for the next responses
+     */
+    private final BlockingQueue<byte[]> pooledFrames = new ArrayBlockingQueue<>(MAX_POOLED_RESPONSE_FRAMES);
+
+    /*
+     * Response frames which have been emitted but not yet written by the transport. The following fields are only
+     * accessed on the Socket.IO event thread.
+     */
+    private final Queue<EmittedFrame> emittedFrames = new ArrayDeque<>();
+
+    /*
+     * Transport the Socket.IO connection currently writes to, and the transport it is being upgraded to
+     */
+    private Transport activeTransport;
+    private Transport probeTransport;
+
     /**
      * Constructor of CloudClient
      *
@@ -138,17 +194,19 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateInterval Time in milliseconds item updates are collected before they are sent
      */
     public CloudClient(HttpClient httpClient, String uuid, String secret, String baseURL, String localBaseUrl,
-            boolean remoteAccessEnabled, Set<String> exposedItems) {
+            boolean remoteAccessEnabled, Set<String> exposedItems, long itemUpdateInterval) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<>();
         this.jettyClient = httpClient;
+        this.itemUpdateQueue = new ItemUpdateQueue(itemUpdateInterval, MAX_PENDING_ITEM_UPDATES, this::emitItemUpdate,
+                ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD));
     }
 
     /**
@@ -170,6 +228,7 @@ public class CloudClient {
             public void call(Object... args) {
                 logger.trace("Manager.EVENT_TRANSPORT");
                 Transport transport = (Transport) args[0];
+                onTransportCreated(transport);
                 transport.on(Transport.EVENT_REQUEST_HEADERS, new Emitter.Listener() {
                     @Override
                     public void call(Object... args) {
@@ -197,6 +256,8 @@ public class CloudClient {
             public void call(Object... args) {
                 logger.debug("Socket.IO disconnected");
                 isConnected = false;
+                // emitted frames may still be buffered by Socket.IO, they are not reused
+                releaseEmittedFrames(false);
                 onDisconnect();
             }
         }).on(Socket.EVENT_ERROR, new Emitter.Listener() {
@@ -231,6 +292,7 @@ public class CloudClient {
     public void onConnect() {
         logger.info("Connected to the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid, this.localBaseUrl);
         isConnected = true;
+        itemUpdateQueue.setConnected(true);
     }
 
     /**
@@ -241,9 +303,12 @@ public class CloudClient {
         logger.info("Disconnected from the openHAB Cloud service (UUID = {}, base URL = {})", this.uuid,
                 this.localBaseUrl);
         isConnected = false;
-        // And clean up the list of running requests
-        if (runningRequests != null) {
-            runningRequests.clear();
+        itemUpdateQueue.setConnected(false);
+        // And abort the running requests, their responses can't be delivered anymore
+        for (Iterator<Request> iterator = runningRequests.values().iterator(); iterator.hasNext();) {
+            Request request = iterator.next();
+            iterator.remove();
+            request.abort(new InterruptedException("openHAB Cloud disconnected"));
         }
     }
 
@@ -335,10 +400,11 @@ public class CloudClient {
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
-            // If successfully submitted request to http client, add it to the list of currently
-            // running requests to be able to cancel it if needed
+            // Add the request to the list of currently running requests before it is sent, to be able to cancel it
+            // if needed. It is removed again when it completes.
             runningRequests.put(requestId, request);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
         } catch (JSONException | IOException | URISyntaxException e) {
             logger.debug("{}", e.getMessage());
         }
@@ -368,10 +434,9 @@ public class CloudClient {
             int requestId = data.getInt("id");
             logger.debug("Received cancel for request {}", requestId);
             // Find and abort running request
-            if (runningRequests.containsKey(requestId)) {
-                Request request = runningRequests.get(requestId);
+            Request request = runningRequests.remove(requestId);
+            if (request != null) {
                 request.abort(new InterruptedException());
-                runningRequests.remove(requestId);
             }
         } catch (JSONException e) {
             logger.debug("{}", e.getMessage());
@@ -469,13 +534,18 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. Updates are collected and sent in batches, only the latest state of an item
+     * is sent.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
+        itemUpdateQueue.add(itemName, itemState);
+    }
+
+    private void emitItemUpdate(String itemName, String itemState) {
         if (isConnected()) {
             logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
             JSONObject itemUpdateMessage = new JSONObject();
@@ -498,11 +568,80 @@ public class CloudClient {
         return isConnected;
     }
 
+    /*
+     * Called on the Socket.IO event thread, when the manager creates a transport for a new connection or for an
+     * upgrade of the current connection
+     */
+    private void onTransportCreated(Transport transport) {
+        if (activeTransport != null && activeTransport.hasListeners(Transport.EVENT_DRAIN)) {
+            // the active transport has not been closed, so this is an upgrade probe
+            probeTransport = transport;
+        } else {
+            activeTransport = transport;
+            probeTransport = null;
+        }
+        transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+            @Override
+            public void call(Object... args) {
+                // let the engine flush its write buffer to the transport first
+                EventThread.nextTick(() -> onTransportDrained(transport));
+            }
+        }).on(Transport.EVENT_CLOSE, new Emitter.Listener() {
+            @Override
+            public void call(Object... args) {
+                if (transport == probeTransport) {
+                    // the upgrade failed, the active transport is kept
+                    probeTransport = null;
+                }
+            }
+        });
+    }
+
+    /*
+     * Called on the Socket.IO event thread, after a transport has written all packets it has been given. If the
+     * transport is still writable after the engine flushed its write buffer, all emitted frames have been written.
+     */
+    private void onTransportDrained(Transport transport) {
+        if (probeTransport != null && !activeTransport.hasListeners(Transport.EVENT_DRAIN)) {
+            // the engine removes all listeners from the previous transport when an upgrade completes
+            activeTransport = probeTransport;
+            probeTransport = null;
+        }
+        // while upgrading, the engine buffers the packets until the probe has replaced the active transport
+        if (transport == activeTransport && probeTransport == null && transport.writable) {
+            releaseEmittedFrames(true);
+        }
+    }
+
+    /*
+     * Called on the Socket.IO event thread after a frame has been emitted
+     */
+    private void onFrameEmitted(ResponseListener responseListener, byte[] body, boolean pooled) {
+        // frames emitted while disconnected are buffered by Socket.IO until the connection is established again
+        emittedFrames.add(new EmittedFrame(responseListener, body, pooled && socket.connected()));
+    }
+
+    private void releaseEmittedFrames(boolean written) {
+        EmittedFrame emittedFrame;
+        while ((emittedFrame = emittedFrames.poll()) != null) {
+            if (written && emittedFrame.pooled) {
+                pooledFrames.offer(emittedFrame.body);
+            }
+            emittedFrame.responseListener.onFrameWritten(emittedFrame.body.length);
+        }
+    }
+
+    private byte[] acquireFrame() {
+        byte[] frame = pooledFrames.poll();
+        return frame != null ? frame : new byte[RESPONSE_FRAME_SIZE];
+    }
+
     /**
      * Disconnect from openHAB Cloud
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        itemUpdateQueue.dispose();
         socket.disconnect();
     }
 
@@ -519,15 +658,42 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * A response frame which has been emitted to the openHAB Cloud
+     */
+    private static class EmittedFrame {
+        private final ResponseListener responseListener;
+        private final byte[] body;
+        private final boolean pooled;
+
+        private EmittedFrame(ResponseListener responseListener, byte[] body, boolean pooled) {
+            this.responseListener = responseListener;
+            this.body = body;
+            this.pooled = pooled;
+        }
+    }
+
+    /*
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Response content is merged into frames of RESPONSE_FRAME_SIZE bytes. Content is only read from the local
+     * openHAB as long as less than MAX_RESPONSE_BYTES_IN_FLIGHT bytes are waiting to be written by the transport.
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
+        private final long startTime = System.currentTimeMillis();
+        private byte[] frame;
+        private int frameLength;
+        private int bytesInFlight;
+        private Callback pendingDemand;
+        private ScheduledFuture<?> flushJob;
+        private boolean completed;
+        private long bytesSent;
+        private int framesSent;
+        private int throttled;
+
         public ResponseListener(int requestId) {
             mRequestId = requestId;
         }
@@ -561,6 +727,23 @@ public class CloudClient {
                 }
             }
 
+            // Send the remaining content and give the frame buffer back
+            Callback demand;
+            synchronized (this) {
+                completed = true;
+                cancelFlush();
+                sendFrame();
+                releaseFrame();
+                demand = pendingDemand;
+                pendingDemand = null;
+                long duration = Math.max(1, System.currentTimeMillis() - startTime);
+                logger.debug("Request {} sent {} bytes in {} frames within {} ms ({} kB/s), throttled {} times",
+                        mRequestId, bytesSent, framesSent, duration, bytesSent / duration, throttled);
+            }
+            if (demand != null) {
+                demand.succeeded();
+            }
+
             /**
              * What is this? In some cases where latency is very low the myopenhab service
              * can receive responseFinished before the headers or content are received and I
@@ -591,17 +774,108 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
-            logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
+            logger.trace("Jetty received response content of size {}", content.remaining());
+            boolean demand;
+            synchronized (this) {
+                while (content.hasRemaining()) {
+                    if (frame == null) {
+                        frame = acquireFrame();
+                    }
+                    int length = Math.min(RESPONSE_FRAME_SIZE - frameLength, content.remaining());
+                    content.get(frame, frameLength, length);
+                    frameLength += length;
+                    if (frameLength == RESPONSE_FRAME_SIZE) {
+                        sendFrame();
+                    }
+                }
+                if (frameLength > 0) {
+                    scheduleFlush();
+                }
+                demand = bytesInFlight <= MAX_RESPONSE_BYTES_IN_FLIGHT;
+                if (!demand) {
+                    // continue reading when the queued frames have been written
+                    pendingDemand = callback;
+                    throttled++;
+                }
+            }
+            if (demand) {
+                callback.succeeded();
+            }
+        }
+
+        /*
+         * Sends the content of the frame buffer, must be called holding the lock of this listener
+         */
+        private void sendFrame() {
+            if (frameLength == 0) {
+                return;
+            }
+            // Socket.IO sends the whole array, so only a full frame can be sent without copying it. It is
+            // given back to the pool once the transport has written it.
+            boolean full = frameLength == RESPONSE_FRAME_SIZE;
+            byte[] body = full ? frame : Arrays.copyOf(frame, frameLength);
+            if (full) {
+                frame = null;
+            }
+            frameLength = 0;
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
                 socket.emit("responseContentBinary", responseJson);
-                logger.debug("Sent content to request {}", mRequestId);
+                logger.trace("Sent content of size {} to request {}", body.length, mRequestId);
             } catch (JSONException e) {
                 logger.debug("{}", e.getMessage());
+                return;
+            }
+            bytesInFlight += body.length;
+            bytesSent += body.length;
+            framesSent++;
+            // Socket.IO emits on its event thread, so the frame is registered after it has been given to the engine
+            EventThread.exec(() -> onFrameEmitted(this, body, full));
+        }
+
+        private void onFrameWritten(int length) {
+            Callback demand = null;
+            synchronized (this) {
+                bytesInFlight -= length;
+                if (pendingDemand != null && bytesInFlight <= MAX_RESPONSE_BYTES_IN_FLIGHT) {
+                    demand = pendingDemand;
+                    pendingDemand = null;
+                }
+            }
+            if (demand != null) {
+                demand.succeeded();
+            }
+        }
+
+        private void scheduleFlush() {
+            if (flushJob == null) {
+                flushJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).schedule(() -> {
+                    synchronized (this) {
+                        flushJob = null;
+                        if (!completed) {
+                            sendFrame();
+                        }
+                    }
+                }, RESPONSE_FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void cancelFlush() {
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                flushJob = null;
+            }
+        }
+
+        private void releaseFrame() {
+            if (frame != null) {
+                pooledFrames.offer(frame);
+                frame = null;
             }
+            frameLength = 0;
         }
 
         @Override
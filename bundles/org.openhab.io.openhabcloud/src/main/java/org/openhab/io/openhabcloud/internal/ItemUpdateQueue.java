@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class collects item updates for the openHAB Cloud and sends them in batches.
+ * Within the update interval only the latest state of an item is kept, and states the openHAB Cloud already has are
+ * not sent again. When the maximum number of items is reached, the updates are sent right away. Updates received while
+ * the connection is down are kept until it is established again, up to the maximum number of items.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateQueue {
+
+    private final Logger logger = LoggerFactory.getLogger(ItemUpdateQueue.class);
+
+    private final long interval;
+    private final int maxPendingUpdates;
+    private final BiConsumer<String, String> sender;
+    private final ScheduledExecutorService scheduler;
+
+    /*
+     * Latest states waiting to be sent, in the order the items have been updated first
+     */
+    private final Map<String, String> pendingUpdates = new LinkedHashMap<>();
+
+    /*
+     * States which have been sent to the openHAB Cloud during the current connection
+     */
+    private final Map<String, String> sentStates = new HashMap<>();
+
+    private ScheduledFuture<?> flushJob;
+    private boolean connected;
+    private boolean disposed;
+
+    private long sentUpdates;
+    private long coalescedUpdates;
+    private long unchangedUpdates;
+    private long droppedUpdates;
+
+    /**
+     * Constructor of ItemUpdateQueue
+     *
+     * @param interval time in milliseconds updates are collected before they are sent, 0 to send them right away
+     * @param maxPendingUpdates maximum number of items with updates waiting to be sent, before they are sent right away
+     * @param sender sends the update of an item to the openHAB Cloud
+     * @param scheduler scheduler to send the updates on
+     */
+    public ItemUpdateQueue(long interval, int maxPendingUpdates, BiConsumer<String, String> sender,
+            ScheduledExecutorService scheduler) {
+        this.interval = interval;
+        this.maxPendingUpdates = maxPendingUpdates;
+        this.sender = sender;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Queues the update of an item. A pending update of the same item is replaced.
+     *
+     * @param itemName the name of the item
+     * @param itemState updated item state
+     */
+    public synchronized void add(String itemName, String itemState) {
+        if (disposed) {
+            return;
+        }
+        if (pendingUpdates.containsKey(itemName)) {
+            coalescedUpdates++;
+            if (itemState.equals(sentStates.get(itemName))) {
+                // the state has changed back to the one already sent
+                pendingUpdates.remove(itemName);
+            } else {
+                pendingUpdates.put(itemName, itemState);
+            }
+            return;
+        }
+        if (itemState.equals(sentStates.get(itemName))) {
+            unchangedUpdates++;
+            return;
+        }
+        if (pendingUpdates.size() >= maxPendingUpdates) {
+            Iterator<String> oldest = pendingUpdates.keySet().iterator();
+            logger.debug("Too many pending item updates, dropping update of item '{}'", oldest.next());
+            oldest.remove();
+            droppedUpdates++;
+        }
+        pendingUpdates.put(itemName, itemState);
+        if (connected && pendingUpdates.size() >= maxPendingUpdates) {
+            flushNow();
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Informs the queue about the state of the connection. Pending updates are sent when the connection is
+     * established. As the openHAB Cloud may have lost states while the connection was down, all states are sent again
+     * after reconnecting.
+     *
+     * @param connected true if the connection to the openHAB Cloud is established
+     */
+    public synchronized void setConnected(boolean connected) {
+        this.connected = connected;
+        if (connected) {
+            scheduleFlush();
+        } else {
+            sentStates.clear();
+        }
+    }
+
+    /**
+     * Stops sending updates and discards the pending ones.
+     */
+    public synchronized void dispose() {
+        disposed = true;
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingUpdates.clear();
+        logger.debug("Sent {} item updates, coalesced {}, skipped {} unchanged and dropped {}", sentUpdates,
+                coalescedUpdates, unchangedUpdates, droppedUpdates);
+    }
+
+    public synchronized long getSentUpdates() {
+        return sentUpdates;
+    }
+
+    public synchronized long getCoalescedUpdates() {
+        return coalescedUpdates;
+    }
+
+    public synchronized long getUnchangedUpdates() {
+        return unchangedUpdates;
+    }
+
+    public synchronized long getDroppedUpdates() {
+        return droppedUpdates;
+    }
+
+    private void scheduleFlush() {
+        if (connected && flushJob == null && !pendingUpdates.isEmpty()) {
+            flushJob = scheduler.schedule(this::flush, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flushNow() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+        }
+        flushJob = scheduler.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        Map<String, String> updates;
+        synchronized (this) {
+            flushJob = null;
+            if (!connected || disposed || pendingUpdates.isEmpty()) {
+                return;
+            }
+            updates = new LinkedHashMap<>(pendingUpdates);
+            pendingUpdates.clear();
+            sentStates.putAll(updates);
+            sentUpdates += updates.size();
+        }
+        logger.debug("Sending {} item updates", updates.size());
+        updates.forEach(sender);
+    }
+}
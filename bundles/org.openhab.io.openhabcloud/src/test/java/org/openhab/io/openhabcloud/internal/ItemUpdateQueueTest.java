@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2010-2020 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.io.openhabcloud.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ItemUpdateQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ItemUpdateQueueTest {
+
+    private static final long WAIT_MILLIS = 2000;
+    private static final long SHORT_INTERVAL = 50;
+    private static final long LONG_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final BlockingQueue<String> sentUpdates = new LinkedBlockingQueue<>();
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private ItemUpdateQueue createQueue(long interval, int maxPendingUpdates) {
+        return new ItemUpdateQueue(interval, maxPendingUpdates,
+                (itemName, itemState) -> sentUpdates.add(itemName + "=" + itemState), scheduler);
+    }
+
+    private String nextSentUpdate() throws InterruptedException {
+        String update = sentUpdates.poll(WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        assertNotNull("No update sent", update);
+        return update;
+    }
+
+    private void assertNothingSent() throws InterruptedException {
+        assertNull(sentUpdates.poll(4 * SHORT_INTERVAL, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testUpdatesOfAnItemAreCoalesced() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(SHORT_INTERVAL, 10);
+        queue.setConnected(true);
+
+        queue.add("a", "1");
+        queue.add("b", "1");
+        queue.add("a", "2");
+
+        assertEquals("a=2", nextSentUpdate());
+        assertEquals("b=1", nextSentUpdate());
+        assertNothingSent();
+        assertEquals(2, queue.getSentUpdates());
+        assertEquals(1, queue.getCoalescedUpdates());
+    }
+
+    @Test
+    public void testSentStateIsNotSentAgain() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(SHORT_INTERVAL, 10);
+        queue.setConnected(true);
+        queue.add("a", "1");
+        assertEquals("a=1", nextSentUpdate());
+
+        queue.add("a", "1");
+        // the state changes back to the sent one within the interval
+        queue.add("a", "2");
+        queue.add("a", "1");
+
+        assertNothingSent();
+        assertEquals(1, queue.getUnchangedUpdates());
+    }
+
+    @Test
+    public void testStatesAreSentAgainAfterReconnect() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(SHORT_INTERVAL, 10);
+        queue.setConnected(true);
+        queue.add("a", "1");
+        assertEquals("a=1", nextSentUpdate());
+
+        queue.setConnected(false);
+        queue.setConnected(true);
+        queue.add("a", "1");
+
+        assertEquals("a=1", nextSentUpdate());
+    }
+
+    @Test
+    public void testUpdatesAreSentAfterInterval() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(4 * SHORT_INTERVAL, 10);
+        queue.setConnected(true);
+
+        queue.add("a", "1");
+
+        assertNull(sentUpdates.poll(SHORT_INTERVAL, TimeUnit.MILLISECONDS));
+        assertEquals("a=1", nextSentUpdate());
+    }
+
+    @Test
+    public void testUpdatesAreSentWhenQueueIsFull() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(LONG_INTERVAL, 2);
+        queue.setConnected(true);
+
+        queue.add("a", "1");
+        assertNothingSent();
+        queue.add("b", "1");
+
+        assertEquals("a=1", nextSentUpdate());
+        assertEquals("b=1", nextSentUpdate());
+        assertEquals(0, queue.getDroppedUpdates());
+    }
+
+    @Test
+    public void testUpdatesAreKeptWhileDisconnected() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(SHORT_INTERVAL, 2);
+
+        queue.add("a", "1");
+        queue.add("b", "1");
+        queue.add("c", "1");
+        assertNothingSent();
+        queue.setConnected(true);
+
+        // the oldest update has been dropped
+        assertEquals("b=1", nextSentUpdate());
+        assertEquals("c=1", nextSentUpdate());
+        assertEquals(1, queue.getDroppedUpdates());
+    }
+
+    @Test
+    public void testDisposeDiscardsPendingUpdates() throws InterruptedException {
+        ItemUpdateQueue queue = createQueue(SHORT_INTERVAL, 10);
+        queue.setConnected(true);
+        queue.add("a", "1");
+
+        queue.dispose();
+        queue.add("b", "1");
+
+        assertNothingSent();
+        assertEquals(0, queue.getSentUpdates());
+    }
+}
@@ -16,17 +16,9 @@ import static java.util.Collections.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,9 +28,9 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 
-import org.apache.commons.io.FilenameUtils;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.io.net.http.HttpRequestBuilder;
+import org.openhab.io.cache.TTSFileCache;
 import org.openhab.voice.googletts.internal.protocol.AudioConfig;
 import org.openhab.voice.googletts.internal.protocol.AudioEncoding;
 import org.openhab.voice.googletts.internal.protocol.ListVoicesResponse;
@@ -63,11 +55,6 @@ import com.google.gson.GsonBuilder;
  * @author Gabor Bicskei - Initial contribution and API
  */
 class GoogleCloudAPI {
-    /**
-     * Default encoding
-     */
-    private static final String UTF_8 = "UTF-8";
-
     /**
      * JSON content type
      */
@@ -104,9 +91,9 @@ class GoogleCloudAPI {
     private final Map<Locale, Set<GoogleTTSVoice>> voices = new HashMap<>();
 
     /**
-     * Cache folder
+     * Cache of the synthesized audio files
      */
-    private File cacheFolder;
+    private final TTSFileCache cache;
 
     /**
      * Configuration
@@ -126,9 +113,19 @@ class GoogleCloudAPI {
      * Constructor.
      *
      * @param cacheFolder Service cache folder
+     * @param maxCacheSize Maximum size of the cached files in bytes
+     */
+    GoogleCloudAPI(File cacheFolder, long maxCacheSize) {
+        this.cache = new TTSFileCache(cacheFolder, maxCacheSize, 0);
+    }
+
+    /**
+     * Changes the maximum size of the cache, the least recently used files are deleted if the cache is larger.
+     *
+     * @param maxCacheSize Maximum size of the cached files in bytes
      */
-    GoogleCloudAPI(File cacheFolder) {
-        this.cacheFolder = cacheFolder;
+    void setMaxCacheSize(long maxCacheSize) {
+        cache.setMaxSize(maxCacheSize);
     }
 
     /**
@@ -156,11 +153,7 @@ class GoogleCloudAPI {
 
         // maintain cache
         if (config.getPurgeCache() != null && config.getPurgeCache()) {
-            File[] files = cacheFolder.listFiles();
-            if (files != null && files.length > 0) {
-                Arrays.stream(files).forEach(File::delete);
-            }
-            logger.debug("Cache purged.");
+            cache.clear();
         }
     }
 
@@ -274,67 +267,36 @@ class GoogleCloudAPI {
         }
     }
 
-    byte[] synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
+    File synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
         String[] format = getFormatForCodec(codec);
-        String fileNameInCache = getUniqueFilenameForText(text, voice.getTechnicalName());
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + format[1]);
+        // Sample: "en-US-Wavenet-A_00a2653ac5f77063bc4ea2fee87318d3"
+        String fileNameInCache = TTSFileCache.getUniqueFilenameForText(voice.getTechnicalName(),
+                config.toConfigString() + text);
+        // @formatter:off
+        String description = new StringBuilder("Config: ")
+                .append(config.toConfigString())
+                .append(",voice=")
+                .append(voice.getTechnicalName())
+                .append(System.lineSeparator())
+                .append("Text: ")
+                .append(text)
+                .append(System.lineSeparator())
+                .toString();
+        // @formatter:on
         try {
-            // check if in cache
-            if (audioFileInCache.exists()) {
-                logger.debug("Audio file {} was found in cache.", audioFileInCache.getName());
-                return Files.readAllBytes(audioFileInCache.toPath());
-            }
-
-            // if not in cache, get audio data and put to cache
-            byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
-            if (audio != null) {
-                saveAudioAndTextToFile(text, audioFileInCache, audio, voice.getTechnicalName());
-            }
-            return audio;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache", audioFileInCache, ex);
-            return null;
+            return cache.get(fileNameInCache, format[1], description, () -> {
+                byte[] audio = synthesizeSpeechByGoogle(text, voice, format[0]);
+                if (audio == null) {
+                    throw new IOException("No audio content received");
+                }
+                return new ByteArrayInputStream(audio);
+            });
         } catch (IOException ex) {
-            logger.error("Could not write {} to cache", audioFileInCache, ex);
+            logger.error("Could not write {} to cache", fileNameInCache, ex);
             return null;
         }
     }
 
-    /**
-     * Create cache entry.
-     *
-     * @param text Converted text.
-     * @param cacheFile Cache entry file.
-     * @param audio Byte array of the audio.
-     * @param voiceName Used voice
-     * @throws IOException in case of file handling exceptions
-     */
-    private void saveAudioAndTextToFile(String text, File cacheFile, byte[] audio, String voiceName)
-            throws IOException {
-        logger.debug("Caching audio file {}", cacheFile.getName());
-        try (FileOutputStream audioFileOutputStream = new FileOutputStream(cacheFile)) {
-            audioFileOutputStream.write(audio);
-        }
-
-        // write text to file for transparency too
-        // this allows to know which contents is in which audio file
-        String textFileName = FilenameUtils.removeExtension(cacheFile.getName()) + ".txt";
-        logger.debug("Caching text file {}", textFileName);
-        try (FileOutputStream textFileOutputStream = new FileOutputStream(new File(cacheFolder, textFileName))) {
-            // @formatter:off
-            StringBuilder sb = new StringBuilder("Config: ")
-                    .append(config.toConfigString())
-                    .append(",voice=")
-                    .append(voiceName)
-                    .append(System.lineSeparator())
-                    .append("Text: ")
-                    .append(text)
-                    .append(System.lineSeparator());
-            // @formatter:on
-            textFileOutputStream.write(sb.toString().getBytes(UTF_8));
-        }
-    }
-
     /**
      * Call Google service to synthesize the required text
      *
@@ -368,31 +330,6 @@ class GoogleCloudAPI {
         return Base64.getDecoder().decode(encodedBytes);
     }
 
-    /**
-     * Gets a unique filename for a give text, by creating a MD5 hash of it. It
-     * will be preceded by the locale.
-     * <p>
-     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3"
-     */
-    private String getUniqueFilenameForText(String text, String voiceName) {
-        try {
-            byte[] bytesOfMessage = (config.toConfigString() + text).getBytes(UTF_8);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] md5Hash = md.digest(bytesOfMessage);
-            BigInteger bigInt = new BigInteger(1, md5Hash);
-            StringBuilder hashText = new StringBuilder(bigInt.toString(16));
-            // Now we need to zero pad it if you actually want the full 32 chars.
-            while (hashText.length() < 32) {
-                hashText.insert(0, "0");
-            }
-            return voiceName + "_" + hashText;
-        } catch (UnsupportedEncodingException | NoSuchAlgorithmException ex) {
-            // should not happen
-            logger.error("Could not create MD5 hash for '{}'", text, ex);
-            return null;
-        }
-    }
-
     boolean isInitialized() {
         return initialized;
     }
@@ -43,6 +43,11 @@ class GoogleTTSConfig {
      */
     private Double volumeGainDb = 0d;
 
+    /**
+     * Maximum size of the cached audio files in MB
+     */
+    private Integer cacheSize = 100;
+
     String getServiceAccountKey() {
         return serviceAccountKey;
     }
@@ -83,11 +88,19 @@ class GoogleTTSConfig {
         this.purgeCache = purgeCache;
     }
 
+    Integer getCacheSize() {
+        return cacheSize;
+    }
+
+    void setCacheSize(Integer cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
     @Override
     public String toString() {
         return "GoogleTTSConfig{" + "serviceAccountKey='" + serviceAccountKey + '\'' + ", pitch=" + pitch
                 + ", speakingRate=" + speakingRate + ", volumeGainDb=" + volumeGainDb + ", purgeCache=" + purgeCache
-                + '}';
+                + ", cacheSize=" + cacheSize + '}';
     }
 
     String toConfigString() {
@@ -22,9 +22,10 @@ import java.util.Set;
 
 import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
-import org.eclipse.smarthome.core.audio.ByteArrayAudioStream;
+import org.eclipse.smarthome.core.audio.FileAudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
@@ -71,6 +72,8 @@ public class GoogleTTSService implements TTSService {
      */
     private static final String CACHE_FOLDER_NAME = "cache";
 
+    private static final long MEGABYTE = 1024L * 1024;
+
     /**
      * Configuration parameters
      */
@@ -79,6 +82,7 @@ public class GoogleTTSService implements TTSService {
     private static final String PARAM_SPEAKING_RATE = "speakingRate";
     private static final String PARAM_VOLUME_GAIN_DB = "volumeGainDb";
     private static final String PARAM_PURGE_CACHE = "purgeCache";
+    private static final String PARAM_CACHE_SIZE = "cacheSize";
 
     /**
      * Logger.
@@ -118,7 +122,7 @@ public class GoogleTTSService implements TTSService {
         }
         logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
 
-        apiImpl = new GoogleCloudAPI(cacheFolder);
+        apiImpl = new GoogleCloudAPI(cacheFolder, this.config.getCacheSize() * MEGABYTE);
         updateConfig(config);
     }
 
@@ -209,6 +213,13 @@ public class GoogleTTSService implements TTSService {
             if (param != null) {
                 config.setPurgeCache(Boolean.parseBoolean(param));
             }
+
+            // cacheSize
+            param = newConfig.containsKey(PARAM_CACHE_SIZE) ? newConfig.get(PARAM_CACHE_SIZE).toString() : null;
+            if (param != null) {
+                config.setCacheSize((int) Double.parseDouble(param));
+            }
+            apiImpl.setMaxCacheSize(config.getCacheSize() * MEGABYTE);
             logger.trace("New configuration: {}", config.toString());
 
             if (config.getServiceAccountKey() != null) {
@@ -306,11 +317,15 @@ public class GoogleTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
-        // create the audio byte array for given text, locale, format
-        byte[] audio = apiImpl.synthesizeSpeech(trimmedText, (GoogleTTSVoice) voice, requestedFormat.getCodec());
+        // get the cached audio file for given text, locale, format
+        File audio = apiImpl.synthesizeSpeech(trimmedText, (GoogleTTSVoice) voice, requestedFormat.getCodec());
         if (audio == null) {
             throw new TTSException("Could not read from Google Cloud TTS Service");
         }
-        return new ByteArrayAudioStream(audio, requestedFormat);
+        try {
+            return new FileAudioStream(audio, requestedFormat);
+        } catch (AudioException ex) {
+            throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
+        }
     }
 }
@@ -77,6 +77,8 @@ public class PollyTTSService implements TTSService {
      */
     private static final String CACHE_FOLDER_NAME = "cache";
 
+    private static final long MEGABYTE = 1024L * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(PollyTTSService.class);
 
     /**
@@ -109,12 +111,10 @@ public class PollyTTSService implements TTSService {
 
             // create cache folder
             File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
-            if (!cacheFolder.exists()) {
-                cacheFolder.mkdirs();
-            }
             logger.info("Using cache folder {}", cacheFolder.getAbsolutePath());
 
-            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cacheFolder);
+            pollyTTSImpl = new CachedPollyTTSCloudImpl(pollyTTSConfig, cacheFolder,
+                    pollyTTSConfig.getCacheSize() * MEGABYTE);
 
             audioFormats.clear();
             audioFormats.addAll(initAudioFormats());
@@ -170,9 +170,6 @@ public class PollyTTSService implements TTSService {
         try {
             File cacheAudioFile = pollyTTSImpl.getTextToSpeechAsFile(text, voice.getLabel(),
                     getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from PollyTTS service");
-            }
             logger.debug("Audio Stream for '{}' in format {}", text, requestedFormat);
             AudioStream audioStream = new PollyTTSAudioStream(cacheAudioFile, requestedFormat);
             return audioStream;
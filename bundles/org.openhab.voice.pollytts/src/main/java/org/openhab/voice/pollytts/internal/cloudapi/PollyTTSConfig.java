@@ -29,13 +29,14 @@ public class PollyTTSConfig {
     private static final String SERVICE_REGION = "serviceRegion";
     private static final String AUDIO_FORMAT = "audioFormat";
     private static final String CACHE_EXPIRATION = "cacheExpiration";
+    private static final String CACHE_SIZE = "cacheSize";
 
     private String accessKey = "";
     private String secretKey = "";
     private String serviceRegion = "eu-west-1";
     private int expireDate = 0;
+    private int cacheSize = 100;
     private String audioFormat = "default";
-    private long lastDelete;
 
     public PollyTTSConfig(Map<String, Object> config) {
         assertValidConfig(config);
@@ -46,6 +47,7 @@ public class PollyTTSConfig {
         audioFormat = config.getOrDefault(AUDIO_FORMAT, audioFormat).toString();
         expireDate = (int) Double
                 .parseDouble(config.getOrDefault(CACHE_EXPIRATION, Double.toString(expireDate)).toString());
+        cacheSize = (int) Double.parseDouble(config.getOrDefault(CACHE_SIZE, Double.toString(cacheSize)).toString());
     }
 
     private void assertValidConfig(Map<String, Object> config) {
@@ -79,24 +81,17 @@ public class PollyTTSConfig {
     }
 
     /**
-     * returns audio format specified for audio
-     */
-    public String getAudioFormat() {
-        return audioFormat;
-    }
-
-    /**
-     * get the date when cache was cleaned last
+     * get the maximum size of the cache files in MB
      */
-    public long getLastDelete() {
-        return lastDelete;
+    public int getCacheSize() {
+        return cacheSize;
     }
 
     /**
-     * set the date when cache was cleaned last
+     * returns audio format specified for audio
      */
-    public void setLastDelete(long lastDelete) {
-        this.lastDelete = lastDelete;
+    public String getAudioFormat() {
+        return audioFormat;
     }
 
     @Override
@@ -104,7 +99,7 @@ public class PollyTTSConfig {
         StringBuilder builder = new StringBuilder();
         builder.append("PollyTTSConfig [accessKey=").append(accessKey).append(", secretKey=").append(secretKey)
                 .append(", serviceRegion=").append(serviceRegion).append(", expireDate=").append(expireDate)
-                .append(", audioFormat=").append(audioFormat).append(", lastDelete=").append(lastDelete).append("]");
+                .append(", cacheSize=").append(cacheSize).append(", audioFormat=").append(audioFormat).append("]");
         return builder.toString();
     }
 }
@@ -50,10 +50,16 @@ public class VoiceRSSTTSService implements TTSService {
     /** Cache folder name is below userdata/voicerss/cache. */
     private static final String CACHE_FOLDER_NAME = "voicerss" + File.separator + "cache";
 
+    private static final long MEGABYTE = 1024L * 1024;
+
     // API Key comes from ConfigAdmin
     private static final String CONFIG_API_KEY = "apiKey";
     private String apiKey;
 
+    // Maximum size of the cached audio files in MB comes from ConfigAdmin
+    private static final String CONFIG_CACHE_SIZE = "cacheSize";
+    private int cacheSize = 100;
+
     private final Logger logger = LoggerFactory.getLogger(VoiceRSSTTSService.class);
 
     /**
@@ -91,6 +97,12 @@ public class VoiceRSSTTSService implements TTSService {
     protected void modified(Map<String, Object> config) {
         if (config != null) {
             apiKey = config.containsKey(CONFIG_API_KEY) ? config.get(CONFIG_API_KEY).toString() : null;
+            if (config.containsKey(CONFIG_CACHE_SIZE)) {
+                cacheSize = (int) Double.parseDouble(config.get(CONFIG_CACHE_SIZE).toString());
+            }
+            if (voiceRssImpl != null) {
+                voiceRssImpl.setMaxCacheSize(cacheSize * MEGABYTE);
+            }
         }
     }
 
@@ -139,9 +151,6 @@ public class VoiceRSSTTSService implements TTSService {
         try {
             File cacheAudioFile = voiceRssImpl.getTextToSpeechAsFile(apiKey, trimmedText,
                     voice.getLocale().toLanguageTag(), getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
-                throw new TTSException("Could not read from VoiceRSS service");
-            }
             return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat);
         } catch (AudioException ex) {
             throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
@@ -215,7 +224,7 @@ public class VoiceRSSTTSService implements TTSService {
     }
 
     private CachedVoiceRSSCloudImpl initVoiceImplementation() {
-        return new CachedVoiceRSSCloudImpl(getCacheFolderName());
+        return new CachedVoiceRSSCloudImpl(getCacheFolderName(), cacheSize * MEGABYTE);
     }
 
     private String getCacheFolderName() {
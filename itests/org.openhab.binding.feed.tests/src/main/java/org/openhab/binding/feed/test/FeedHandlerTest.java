@@ -114,6 +114,8 @@ public class FeedHandlerTest extends JavaOSGiTest {
 
         String feedContent;
         int httpStatus;
+        int requests;
+        int notModifiedResponses;
 
         public FeedServiceMock(String feedContentFile) {
             super();
@@ -129,6 +131,15 @@ public class FeedHandlerTest extends JavaOSGiTest {
         @Override
         protected void doGet(HttpServletRequest request, HttpServletResponse response)
                 throws ServletException, IOException {
+            requests++;
+            // The ETag changes with the content, so conditional requests can be answered with 304 Not Modified
+            String eTag = "\"" + Integer.toHexString(feedContent.hashCode()) + "\"";
+            if (httpStatus == HttpStatus.OK_200 && eTag.equals(request.getHeader("If-None-Match"))) {
+                notModifiedResponses++;
+                response.setStatus(HttpStatus.NOT_MODIFIED_304);
+                return;
+            }
+            response.setHeader("ETag", eTag);
             response.getOutputStream().println(feedContent);
             // Recommended RSS MIME type - http://www.rssboard.org/rss-mime-type-application.txt
             // Atom MIME type is - application/atom+xml
@@ -331,6 +342,51 @@ public class FeedHandlerTest extends JavaOSGiTest {
         testIfItemStateIsUpdated(commandReceived, contentChanged);
     }
 
+    @Test
+    public void assertThatUnchangedFeedIsRequestedConditionally() throws InterruptedException {
+        initializeDefaultFeedHandler();
+
+        waitForAssert(() -> {
+            assertThat(feedThing.getStatus(), is(equalTo(ONLINE)));
+            assertThat(currentItemState, is(notNullValue()));
+        });
+        StringType firstItemState = currentItemState;
+
+        // Before this time has expired, the refresh command will no trigger a request to the server
+        sleep(FeedBindingConstants.MINIMUM_REFRESH_TIME);
+
+        feedHandler.handleCommand(channelUID, RefreshType.REFRESH);
+
+        waitForAssert(() -> {
+            assertThat(servlet.notModifiedResponses, is(1));
+            assertThat(feedThing.getStatus(), is(equalTo(ONLINE)));
+            assertThat(currentItemState, is(equalTo(firstItemState)));
+        });
+    }
+
+    @Test
+    public void assertThatInvalidContentIsNotAcceptedByNotModifiedResponse() throws InterruptedException {
+        servlet.feedContent = "invalid feed content";
+        initializeDefaultFeedHandler();
+
+        waitForAssert(() -> {
+            assertThat(feedThing.getStatus(), is(equalTo(OFFLINE)));
+            assertThat(feedThing.getStatusInfo().getStatusDetail(), is(equalTo(ThingStatusDetail.CONFIGURATION_ERROR)));
+        });
+
+        // Before this time has expired, the refresh command will no trigger a request to the server
+        sleep(FeedBindingConstants.MINIMUM_REFRESH_TIME);
+
+        feedHandler.handleCommand(channelUID, RefreshType.REFRESH);
+
+        // The ETag of the invalid content must not be sent, so the server can't answer with 304 Not Modified
+        waitForAssert(() -> {
+            assertThat(servlet.requests, is(2));
+            assertThat(servlet.notModifiedResponses, is(0));
+            assertThat(feedThing.getStatus(), is(equalTo(OFFLINE)));
+        });
+    }
+
     @Test
     public void assertThatThingsStatusIsUpdatedWhenHTTP500ErrorCodeIsReceived() throws InterruptedException {
         testIfThingStatusIsUpdated(HttpStatus.INTERNAL_SERVER_ERROR_500);